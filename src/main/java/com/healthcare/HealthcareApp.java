@@ -1,28 +1,62 @@
 package com.healthcare;
 
+import com.healthcare.api.ApiServer;
+import com.healthcare.batch.BatchOperation;
+import com.healthcare.batch.BatchReport;
+import com.healthcare.batch.BatchRunner;
 import com.healthcare.exception.*;
 import com.healthcare.model.*;
 import com.healthcare.repository.*;
 import com.healthcare.service.*;
 import com.healthcare.util.DateUtil;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class HealthcareApp {
     private static final Scanner scanner = new Scanner(System.in);
+    private static final int DEFAULT_PORT = 8080;
+    private static final int PAGE_SIZE = 10;
     
     private static PatientService patientService;
     private static DoctorService doctorService;
     private static AppointmentService appointmentService;
     private static PrescriptionService prescriptionService;
     private static MedicalRecordService medicalRecordService;
+    private static StatisticsService statisticsService;
+    private static PatientTimelineService timelineService;
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         initializeServices();
         loadSampleData();
+
+        if (args.length > 0 && args[0].equals("--server")) {
+            startServer(args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--batch")) {
+            runBatch(args);
+            return;
+        }
         
         System.out.println("╔════════════════════════════════════════╗");
         System.out.println("║  HEALTHCARE MANAGEMENT SYSTEM v1.0     ║");
@@ -69,6 +103,58 @@ public class HealthcareApp {
         scanner.close();
     }
 
+    private static void startServer(int port) throws IOException {
+        // Read by the JDK server when the first one is created; see ApiServer.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        ApiServer server = new ApiServer(new InetSocketAddress(port), patientService, doctorService,
+                                         appointmentService, prescriptionService, medicalRecordService);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+        System.out.println("Healthcare API listening on port " + server.getPort());
+    }
+
+    /**
+     * Runs {@code --batch [script|-] [--threads N]}, reading the script from
+     * stdin when no file is given.
+     */
+    private static void runBatch(String[] args) throws IOException {
+        String script = "-";
+        int threads = 1;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else {
+                script = args[i];
+            }
+        }
+
+        BatchRunner runner = new BatchRunner(patientService, doctorService, appointmentService,
+                                             prescriptionService, medicalRecordService, threads);
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+        try (Reader reader = script.equals("-")
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : Files.newBufferedReader(Paths.get(script), StandardCharsets.UTF_8)) {
+            printBatchSummary(out, runner.run(reader, out));
+        }
+        out.flush();
+    }
+
+    private static void printBatchSummary(PrintWriter out, BatchReport report) {
+        out.println();
+        out.println("Batch Summary");
+        out.println("Commands               : " + report.getCommands());
+        for (BatchOperation operation : BatchOperation.values()) {
+            out.printf("  %-21s: %d%n", operation.getLabel(), report.getSucceeded(operation));
+        }
+        out.println("Failed                 : " + report.getFailed());
+        out.println("Threads                : " + report.getThreads());
+        out.printf("Elapsed                : %.3f s%n", report.getElapsed().toNanos() / 1e9);
+        out.printf("Throughput             : %.0f commands/s%n", report.getCommandsPerSecond());
+    }
+
     private static void initializeServices() {
         PatientRepository patientRepo = new PatientRepository();
         DoctorRepository doctorRepo = new DoctorRepository();
@@ -76,11 +162,13 @@ public class HealthcareApp {
         PrescriptionRepository prescriptionRepo = new PrescriptionRepository();
         MedicalRecordRepository recordRepo = new MedicalRecordRepository();
         
-        patientService = new PatientService(patientRepo);
-        doctorService = new DoctorService(doctorRepo);
+        patientService = new PatientService(patientRepo, appointmentRepo, prescriptionRepo, recordRepo);
+        doctorService = new DoctorService(doctorRepo, appointmentRepo, prescriptionRepo, recordRepo);
         appointmentService = new AppointmentService(appointmentRepo, patientService, doctorService);
         prescriptionService = new PrescriptionService(prescriptionRepo, patientService, doctorService);
         medicalRecordService = new MedicalRecordService(recordRepo, patientService, doctorService);
+        statisticsService = new StatisticsService(patientRepo, doctorRepo, appointmentRepo, prescriptionRepo, recordRepo);
+        timelineService = new PatientTimelineService(appointmentService, prescriptionService, medicalRecordService);
     }
 
     private static void loadSampleData() {
@@ -140,6 +228,7 @@ public class HealthcareApp {
         System.out.println("│ 3. Search Patient by ID             │");
         System.out.println("│ 4. Search Patients by Last Name     │");
         System.out.println("│ 5. Search Patients by Blood Group   │");
+        System.out.println("│ 6. View Patient Timeline            │");
         System.out.println("│ 0. Back to Main Menu                │");
         System.out.println("└─────────────────────────────────────┘");
         
@@ -161,6 +250,9 @@ public class HealthcareApp {
             case 5:
                 searchPatientsByBloodGroup();
                 break;
+            case 6:
+                viewPatientTimeline();
+                break;
             case 0:
                 return;
             default:
@@ -196,17 +288,10 @@ public class HealthcareApp {
 
     private static void viewAllPatients() {
         System.out.println("\n--- All Patients ---");
-        List<Patient> patients = patientService.getAllPatients();
-        
-        if (patients.isEmpty()) {
-            System.out.println("No patients found.");
-            return;
-        }
-        
-        System.out.println("Total patients: " + patients.size());
+        System.out.println("Total patients: " + patientService.getTotalPatientCount());
         System.out.println();
-        for (Patient patient : patients) {
-            displayPatientInfo(patient);
+        if (displayPaged(patientService.streamAllPatients(), HealthcareApp::displayPatientInfo) == 0) {
+            System.out.println("No patients found.");
         }
     }
 
@@ -223,16 +308,9 @@ public class HealthcareApp {
 
     private static void searchPatientsByLastName() {
         String lastName = getStringInput("Enter Last Name: ");
-        List<Patient> patients = patientService.getPatientsByLastName(lastName);
-        
-        if (patients.isEmpty()) {
+        if (displayPaged(patientService.streamPatientsByLastName(lastName),
+                         HealthcareApp::displayPatientInfo) == 0) {
             System.out.println("No patients found with last name: " + lastName);
-            return;
-        }
-        
-        System.out.println("\nFound " + patients.size() + " patient(s):");
-        for (Patient patient : patients) {
-            displayPatientInfo(patient);
         }
     }
 
@@ -240,22 +318,39 @@ public class HealthcareApp {
         String bloodGroup = getStringInput("Enter Blood Group: ");
         
         try {
-            List<Patient> patients = patientService.getPatientsByBloodGroup(bloodGroup);
-            
-            if (patients.isEmpty()) {
+            if (displayPaged(patientService.streamPatientsByBloodGroup(bloodGroup),
+                             HealthcareApp::displayPatientInfo) == 0) {
                 System.out.println("No patients found with blood group: " + bloodGroup);
-                return;
-            }
-            
-            System.out.println("\nFound " + patients.size() + " patient(s):");
-            for (Patient patient : patients) {
-                displayPatientInfo(patient);
             }
         } catch (InvalidDataException e) {
             System.out.println("\n✗ " + e.getMessage());
         }
     }
 
+    private static void viewPatientTimeline() {
+        String patientId = getStringInput("Enter Patient ID: ");
+        if (displayPaged(timelineService.streamTimeline(patientId), HealthcareApp::displayTimelineEntry) == 0) {
+            System.out.println("No history found for patient: " + patientId);
+        }
+    }
+
+    private static void displayTimelineEntry(TimelineEntry entry) {
+        String summary;
+        switch (entry.getType()) {
+            case APPOINTMENT:
+                Appointment appointment = entry.getAppointment();
+                summary = "Appointment  " + appointment.getReason() + " [" + appointment.getStatus() + "]";
+                break;
+            case PRESCRIPTION:
+                summary = "Prescription " + entry.getPrescription().getDiagnosis() + " ("
+                        + entry.getPrescription().getMedications().size() + " medications)";
+                break;
+            default:
+                summary = "Record       " + entry.getMedicalRecord().getDiagnosis();
+        }
+        System.out.println(DateUtil.formatDateTime(entry.getTimestamp()) + "  " + summary + "  " + entry.getId());
+    }
+
     private static void displayPatientInfo(Patient patient) {
         System.out.println("─────────────────────────────────────");
         System.out.println("Patient ID    : " + patient.getPatientId());
@@ -333,17 +428,10 @@ public class HealthcareApp {
 
     private static void viewAllDoctors() {
         System.out.println("\n--- All Doctors ---");
-        List<Doctor> doctors = doctorService.getAllDoctors();
-        
-        if (doctors.isEmpty()) {
-            System.out.println("No doctors found.");
-            return;
-        }
-        
-        System.out.println("Total doctors: " + doctors.size());
+        System.out.println("Total doctors: " + doctorService.getTotalDoctorCount());
         System.out.println();
-        for (Doctor doctor : doctors) {
-            displayDoctorInfo(doctor);
+        if (displayPaged(doctorService.streamAllDoctors(), HealthcareApp::displayDoctorInfo) == 0) {
+            System.out.println("No doctors found.");
         }
     }
 
@@ -360,32 +448,16 @@ public class HealthcareApp {
 
     private static void searchDoctorsBySpecialization() {
         String specialization = getStringInput("Enter Specialization: ");
-        List<Doctor> doctors = doctorService.getDoctorsBySpecialization(specialization);
-        
-        if (doctors.isEmpty()) {
+        if (displayPaged(doctorService.streamDoctorsBySpecialization(specialization),
+                         HealthcareApp::displayDoctorInfo) == 0) {
             System.out.println("No doctors found with specialization: " + specialization);
-            return;
-        }
-        
-        System.out.println("\nFound " + doctors.size() + " doctor(s):");
-        for (Doctor doctor : doctors) {
-            displayDoctorInfo(doctor);
         }
     }
 
     private static void viewAvailableDoctors() {
         System.out.println("\n--- Available Doctors ---");
-        List<Doctor> doctors = doctorService.getAvailableDoctors();
-        
-        if (doctors.isEmpty()) {
+        if (displayPaged(doctorService.streamAvailableDoctors(), HealthcareApp::displayDoctorInfo) == 0) {
             System.out.println("No available doctors at the moment.");
-            return;
-        }
-        
-        System.out.println("Total available doctors: " + doctors.size());
-        System.out.println();
-        for (Doctor doctor : doctors) {
-            displayDoctorInfo(doctor);
         }
     }
 
@@ -474,33 +546,21 @@ public class HealthcareApp {
 
     private static void viewAllAppointments() {
         System.out.println("\n--- All Appointments ---");
-        List<Appointment> appointments = appointmentService.getAllAppointments();
-        
-        if (appointments.isEmpty()) {
-            System.out.println("No appointments found.");
-            return;
-        }
-        
-        System.out.println("Total appointments: " + appointments.size());
+        System.out.println("Total appointments: " + appointmentService.getTotalAppointmentCount());
         System.out.println();
-        for (Appointment appointment : appointments) {
-            displayAppointmentInfo(appointment);
+        if (displayPaged(appointmentService.streamAllAppointments(),
+                         appointmentService::getAppointmentViews,
+                         HealthcareApp::displayAppointmentInfo) == 0) {
+            System.out.println("No appointments found.");
         }
     }
 
     private static void viewUpcomingAppointments() {
         System.out.println("\n--- Upcoming Appointments ---");
-        List<Appointment> appointments = appointmentService.getUpcomingAppointments();
-        
-        if (appointments.isEmpty()) {
+        if (displayPaged(appointmentService.streamUpcomingAppointments(),
+                         appointmentService::getAppointmentViews,
+                         HealthcareApp::displayAppointmentInfo) == 0) {
             System.out.println("No upcoming appointments.");
-            return;
-        }
-        
-        System.out.println("Total upcoming appointments: " + appointments.size());
-        System.out.println();
-        for (Appointment appointment : appointments) {
-            displayAppointmentInfo(appointment);
         }
     }
 
@@ -517,31 +577,19 @@ public class HealthcareApp {
 
     private static void viewPatientAppointments() {
         String patientId = getStringInput("Enter Patient ID: ");
-        List<Appointment> appointments = appointmentService.getAppointmentsByPatient(patientId);
-        
-        if (appointments.isEmpty()) {
+        if (displayPaged(appointmentService.streamAppointmentsByPatient(patientId),
+                         appointmentService::getAppointmentViews,
+                         HealthcareApp::displayAppointmentInfo) == 0) {
             System.out.println("No appointments found for patient: " + patientId);
-            return;
-        }
-        
-        System.out.println("\nFound " + appointments.size() + " appointment(s):");
-        for (Appointment appointment : appointments) {
-            displayAppointmentInfo(appointment);
         }
     }
 
     private static void viewDoctorAppointments() {
         String doctorId = getStringInput("Enter Doctor ID: ");
-        List<Appointment> appointments = appointmentService.getAppointmentsByDoctor(doctorId);
-        
-        if (appointments.isEmpty()) {
+        if (displayPaged(appointmentService.streamAppointmentsByDoctor(doctorId),
+                         appointmentService::getAppointmentViews,
+                         HealthcareApp::displayAppointmentInfo) == 0) {
             System.out.println("No appointments found for doctor: " + doctorId);
-            return;
-        }
-        
-        System.out.println("\nFound " + appointments.size() + " appointment(s):");
-        for (Appointment appointment : appointments) {
-            displayAppointmentInfo(appointment);
         }
     }
 
@@ -568,10 +616,15 @@ public class HealthcareApp {
     }
 
     private static void displayAppointmentInfo(Appointment appointment) {
+        displayAppointmentInfo(appointmentService.getAppointmentViews(Collections.singletonList(appointment)).get(0));
+    }
+
+    private static void displayAppointmentInfo(AppointmentView view) {
+        Appointment appointment = view.getAppointment();
         System.out.println("─────────────────────────────────────");
         System.out.println("Appointment ID  : " + appointment.getAppointmentId());
-        System.out.println("Patient ID      : " + appointment.getPatientId());
-        System.out.println("Doctor ID       : " + appointment.getDoctorId());
+        System.out.println("Patient         : " + view.getPatientName() + " (" + appointment.getPatientId() + ")");
+        System.out.println("Doctor          : " + view.getDoctorName() + " (" + appointment.getDoctorId() + ")");
         System.out.println("Date & Time     : " + DateUtil.formatDateTime(appointment.getAppointmentDateTime()));
         System.out.println("Reason          : " + appointment.getReason());
         System.out.println("Duration        : " + appointment.getDurationMinutes() + " minutes");
@@ -645,7 +698,7 @@ public class HealthcareApp {
         
         for (int i = 0; i < medCount; i++) {
             System.out.println("\nMedication " + (i + 1) + ":");
-            String medicineName = getStringInput("  Medicine Name: ");
+            String medicineName = readMedicineName();
             String dosage = getStringInput("  Dosage (e.g., 500mg): ");
             String frequency = getStringInput("  Frequency (e.g., Twice daily): ");
             int durationDays = getIntInput("  Duration (days): ");
@@ -668,19 +721,36 @@ public class HealthcareApp {
         }
     }
 
+    private static String readMedicineName() {
+        while (true) {
+            String input = getStringInput("  Medicine Name (end with ? for suggestions): ").trim();
+            if (!input.endsWith("?")) {
+                return input;
+            }
+            List<Drug> suggestions = prescriptionService.suggestMedications(input.substring(0, input.length() - 1), 10);
+            if (suggestions.isEmpty()) {
+                System.out.println("  No matching medications in the catalog.");
+                continue;
+            }
+            for (int i = 0; i < suggestions.size(); i++) {
+                Drug drug = suggestions.get(i);
+                System.out.println("  " + (i + 1) + ". " + drug.getName() + " " + drug.getStandardStrengths());
+            }
+            int choice = getIntInput("  Choose (0 to type again): ");
+            if (choice >= 1 && choice <= suggestions.size()) {
+                return suggestions.get(choice - 1).getName();
+            }
+        }
+    }
+
     private static void viewAllPrescriptions() {
         System.out.println("\n--- All Prescriptions ---");
-        List<Prescription> prescriptions = prescriptionService.getAllPrescriptions();
-        
-        if (prescriptions.isEmpty()) {
-            System.out.println("No prescriptions found.");
-            return;
-        }
-        
-        System.out.println("Total prescriptions: " + prescriptions.size());
+        System.out.println("Total prescriptions: " + prescriptionService.getTotalPrescriptionCount());
         System.out.println();
-        for (Prescription prescription : prescriptions) {
-            displayPrescriptionInfo(prescription);
+        if (displayPaged(prescriptionService.streamAllPrescriptions(),
+                         prescriptionService::getPrescriptionViews,
+                         HealthcareApp::displayPrescriptionInfo) == 0) {
+            System.out.println("No prescriptions found.");
         }
     }
 
@@ -697,55 +767,42 @@ public class HealthcareApp {
 
     private static void viewPatientPrescriptions() {
         String patientId = getStringInput("Enter Patient ID: ");
-        List<Prescription> prescriptions = prescriptionService.getPrescriptionsByPatient(patientId);
-        
-        if (prescriptions.isEmpty()) {
+        if (displayPaged(prescriptionService.streamPrescriptionsByPatient(patientId),
+                         prescriptionService::getPrescriptionViews,
+                         HealthcareApp::displayPrescriptionInfo) == 0) {
             System.out.println("No prescriptions found for patient: " + patientId);
-            return;
-        }
-        
-        System.out.println("\nFound " + prescriptions.size() + " prescription(s):");
-        for (Prescription prescription : prescriptions) {
-            displayPrescriptionInfo(prescription);
         }
     }
 
     private static void viewDoctorPrescriptions() {
         String doctorId = getStringInput("Enter Doctor ID: ");
-        List<Prescription> prescriptions = prescriptionService.getPrescriptionsByDoctor(doctorId);
-        
-        if (prescriptions.isEmpty()) {
+        if (displayPaged(prescriptionService.streamPrescriptionsByDoctor(doctorId),
+                         prescriptionService::getPrescriptionViews,
+                         HealthcareApp::displayPrescriptionInfo) == 0) {
             System.out.println("No prescriptions found for doctor: " + doctorId);
-            return;
-        }
-        
-        System.out.println("\nFound " + prescriptions.size() + " prescription(s):");
-        for (Prescription prescription : prescriptions) {
-            displayPrescriptionInfo(prescription);
         }
     }
 
     private static void viewValidPrescriptions() {
         System.out.println("\n--- Valid Prescriptions ---");
-        List<Prescription> prescriptions = prescriptionService.getValidPrescriptions();
-        
-        if (prescriptions.isEmpty()) {
+        if (displayPaged(prescriptionService.streamValidPrescriptions(),
+                         prescriptionService::getPrescriptionViews,
+                         HealthcareApp::displayPrescriptionInfo) == 0) {
             System.out.println("No valid prescriptions found.");
-            return;
-        }
-        
-        System.out.println("Total valid prescriptions: " + prescriptions.size());
-        System.out.println();
-        for (Prescription prescription : prescriptions) {
-            displayPrescriptionInfo(prescription);
         }
     }
 
     private static void displayPrescriptionInfo(Prescription prescription) {
+        List<PrescriptionView> views = prescriptionService.getPrescriptionViews(Collections.singletonList(prescription));
+        displayPrescriptionInfo(views.get(0));
+    }
+
+    private static void displayPrescriptionInfo(PrescriptionView view) {
+        Prescription prescription = view.getPrescription();
         System.out.println("─────────────────────────────────────");
         System.out.println("Prescription ID : " + prescription.getPrescriptionId());
-        System.out.println("Patient ID      : " + prescription.getPatientId());
-        System.out.println("Doctor ID       : " + prescription.getDoctorId());
+        System.out.println("Patient         : " + view.getPatientName() + " (" + prescription.getPatientId() + ")");
+        System.out.println("Doctor          : " + view.getDoctorName() + " (" + prescription.getDoctorId() + ")");
         System.out.println("Date            : " + DateUtil.formatDate(prescription.getPrescriptionDate()));
         System.out.println("Diagnosis       : " + prescription.getDiagnosis());
         System.out.println("Valid Until     : " + DateUtil.formatDate(prescription.getExpiryDate()));
@@ -841,17 +898,11 @@ public class HealthcareApp {
 
     private static void viewAllMedicalRecords() {
         System.out.println("\n--- All Medical Records ---");
-        List<MedicalRecord> records = medicalRecordService.getAllMedicalRecords();
-        
-        if (records.isEmpty()) {
-            System.out.println("No medical records found.");
-            return;
-        }
-        
-        System.out.println("Total medical records: " + records.size());
+        System.out.println("Total medical records: " + medicalRecordService.getTotalRecordCount());
         System.out.println();
-        for (MedicalRecord record : records) {
-            displayMedicalRecordInfo(record);
+        if (displayPaged(medicalRecordService.streamAllMedicalRecords(),
+                         HealthcareApp::displayMedicalRecordInfo) == 0) {
+            System.out.println("No medical records found.");
         }
     }
 
@@ -868,31 +919,17 @@ public class HealthcareApp {
 
     private static void viewPatientMedicalRecords() {
         String patientId = getStringInput("Enter Patient ID: ");
-        List<MedicalRecord> records = medicalRecordService.getMedicalRecordsByPatient(patientId);
-        
-        if (records.isEmpty()) {
+        if (displayPaged(medicalRecordService.streamMedicalRecordsByPatient(patientId),
+                         HealthcareApp::displayMedicalRecordInfo) == 0) {
             System.out.println("No medical records found for patient: " + patientId);
-            return;
-        }
-        
-        System.out.println("\nFound " + records.size() + " medical record(s):");
-        for (MedicalRecord record : records) {
-            displayMedicalRecordInfo(record);
         }
     }
 
     private static void viewDoctorMedicalRecords() {
         String doctorId = getStringInput("Enter Doctor ID: ");
-        List<MedicalRecord> records = medicalRecordService.getMedicalRecordsByDoctor(doctorId);
-        
-        if (records.isEmpty()) {
+        if (displayPaged(medicalRecordService.streamMedicalRecordsByDoctor(doctorId),
+                         HealthcareApp::displayMedicalRecordInfo) == 0) {
             System.out.println("No medical records found for doctor: " + doctorId);
-            return;
-        }
-        
-        System.out.println("\nFound " + records.size() + " medical record(s):");
-        for (MedicalRecord record : records) {
-            displayMedicalRecordInfo(record);
         }
     }
 
@@ -926,17 +963,52 @@ public class HealthcareApp {
         System.out.println("║        SYSTEM STATISTICS               ║");
         System.out.println("╚════════════════════════════════════════╝");
         System.out.println();
-        System.out.println("Total Patients         : " + patientService.getTotalPatientCount());
-        System.out.println("Total Doctors          : " + doctorService.getTotalDoctorCount());
-        System.out.println("Total Appointments     : " + appointmentService.getTotalAppointmentCount());
-        System.out.println("Upcoming Appointments  : " + appointmentService.getUpcomingAppointments().size());
-        System.out.println("Total Prescriptions    : " + prescriptionService.getTotalPrescriptionCount());
-        System.out.println("Valid Prescriptions    : " + prescriptionService.getValidPrescriptions().size());
-        System.out.println("Total Medical Records  : " + medicalRecordService.getTotalRecordCount());
-        System.out.println("Available Doctors      : " + doctorService.getAvailableDoctors().size());
+        System.out.println("Total Patients         : " + statisticsService.getTotalPatients());
+        System.out.println("Total Doctors          : " + statisticsService.getTotalDoctors());
+        System.out.println("Total Appointments     : " + statisticsService.getTotalAppointments());
+        System.out.println("Upcoming Appointments  : " + statisticsService.getUpcomingAppointments());
+        System.out.println("Total Prescriptions    : " + statisticsService.getTotalPrescriptions());
+        System.out.println("Valid Prescriptions    : " + statisticsService.getValidPrescriptions());
+        System.out.println("Total Medical Records  : " + statisticsService.getTotalRecords());
+        System.out.println("Records Today          : " + statisticsService.getRecordsToday());
+        System.out.println("Available Doctors      : " + statisticsService.getAvailableDoctors());
         System.out.println();
     }
 
+    /**
+     * Prints the items a page at a time, asking before each further page,
+     * and returns how many were shown.
+     */
+    private static <T> int displayPaged(Stream<T> items, Consumer<T> display) {
+        return displayPaged(items, page -> page, display);
+    }
+
+    /**
+     * Like {@link #displayPaged(Stream, Consumer)}, but converts each page as
+     * a whole before printing it, so related data can be fetched once per
+     * page rather than once per item.
+     */
+    private static <T, V> int displayPaged(Stream<T> items, Function<List<T>, List<V>> convert,
+                                           Consumer<V> display) {
+        Iterator<T> iterator = items.iterator();
+        List<T> page = new ArrayList<>(PAGE_SIZE);
+        int shown = 0;
+        while (iterator.hasNext()) {
+            page.clear();
+            while (page.size() < PAGE_SIZE && iterator.hasNext()) {
+                page.add(iterator.next());
+            }
+            convert.apply(page).forEach(display);
+            shown += page.size();
+            if (iterator.hasNext()
+                    && getStringInput("-- " + shown + " shown. Press Enter for more, or q to stop: ")
+                            .equalsIgnoreCase("q")) {
+                break;
+            }
+        }
+        return shown;
+    }
+
     private static String getStringInput(String prompt) {
         System.out.print(prompt);
         return scanner.nextLine().trim();
@@ -0,0 +1,764 @@
+package com.healthcare.api;
+
+import com.healthcare.exception.AppointmentNotFoundException;
+import com.healthcare.exception.DoctorNotFoundException;
+import com.healthcare.exception.InvalidDataException;
+import com.healthcare.exception.PatientNotFoundException;
+import com.healthcare.model.Appointment;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.MedicalRecord;
+import com.healthcare.model.Patient;
+import com.healthcare.model.Prescription;
+import com.healthcare.service.AppointmentService;
+import com.healthcare.service.DoctorService;
+import com.healthcare.service.MedicalRecordService;
+import com.healthcare.service.PatientService;
+import com.healthcare.service.PatientTimelineService;
+import com.healthcare.service.PrescriptionService;
+import com.healthcare.util.Page;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * JSON over HTTP front end for the service layer, built on the JDK's
+ * {@link HttpServer}. Each request runs on its own virtual thread when the
+ * runtime supports them, and on a cached platform thread pool otherwise.
+ * Responses are encoded as they are produced: a body that fits in a 16 KB
+ * buffer is sent with a {@code Content-Length}, and a larger one switches to
+ * chunked transfer once the buffer fills.
+ * <p>
+ * Resources are {@code /patients}, {@code /doctors}, {@code /appointments},
+ * {@code /prescriptions}, {@code /records} and {@code /medications}. Missing
+ * entities map to 404, validation failures to 400 and unique key conflicts
+ * to 409. Error bodies are {@code {"error": message}}. Unfiltered collection
+ * listings are paged with {@code limit} and the {@code nextCursor} of the
+ * previous page passed as {@code cursor}, as is a patient's chronological
+ * {@code /patients/{id}/timeline}.
+ * <p>
+ * The JDK server writes headers and body separately, so with Nagle's
+ * algorithm on every small response waits out the peer's delayed ACK.
+ * Launch with {@code -Dsun.net.httpserver.nodelay=true} to disable it; the
+ * property is read once, when the first server is created.
+ */
+public class ApiServer {
+    private static final int MAX_BODY_BYTES = 1 << 20;
+    private static final int BACKLOG = 1024;
+    private static final int RESPONSE_BUFFER_BYTES = 16 * 1024;
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+
+    private final PatientService patientService;
+    private final DoctorService doctorService;
+    private final AppointmentService appointmentService;
+    private final PrescriptionService prescriptionService;
+    private final MedicalRecordService recordService;
+    private final PatientTimelineService timelineService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public ApiServer(InetSocketAddress address,
+                     PatientService patientService,
+                     DoctorService doctorService,
+                     AppointmentService appointmentService,
+                     PrescriptionService prescriptionService,
+                     MedicalRecordService recordService) throws IOException {
+        this.patientService = patientService;
+        this.doctorService = doctorService;
+        this.appointmentService = appointmentService;
+        this.prescriptionService = prescriptionService;
+        this.recordService = recordService;
+        this.executor = newRequestExecutor();
+        this.timelineService = new PatientTimelineService(appointmentService, prescriptionService, recordService,
+                                                          executor);
+        this.server = HttpServer.create(address, BACKLOG);
+        this.server.createContext("/", this::dispatch);
+        this.server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns a virtual-thread-per-task executor on Java 21 and later, looked
+     * up reflectively so the build itself does not require it. Setting the
+     * {@code healthcare.api.virtualThreads} system property to {@code false}
+     * selects platform threads.
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            if (!Boolean.parseBoolean(System.getProperty("healthcare.api.virtualThreads", "true"))) {
+                throw new NoSuchMethodException("Virtual threads disabled");
+            }
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threads = new AtomicInteger();
+            ThreadFactory factory = task -> {
+                Thread thread = new Thread(task, "api-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newCachedThreadPool(factory);
+        }
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        Call call = new Call(exchange);
+        try {
+            call.decodeTarget();
+            route(call);
+        } catch (PatientNotFoundException | DoctorNotFoundException | AppointmentNotFoundException e) {
+            call.sendError(404, e.getMessage());
+        } catch (InvalidDataException | IllegalArgumentException e) {
+            call.sendError(400, e.getMessage());
+        } catch (IllegalStateException e) {
+            call.sendError(409, e.getMessage());
+        } catch (RuntimeException e) {
+            call.sendError(500, "Internal server error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(Call call) throws IOException {
+        List<String> path = call.path;
+        if (path.isEmpty()) {
+            call.sendError(404, "No resource at /");
+            return;
+        }
+        switch (path.get(0)) {
+            case "patients":
+                patients(call);
+                break;
+            case "doctors":
+                doctors(call);
+                break;
+            case "appointments":
+                appointments(call);
+                break;
+            case "prescriptions":
+                prescriptions(call);
+                break;
+            case "records":
+                records(call);
+                break;
+            case "medications":
+                medications(call);
+                break;
+            default:
+                call.sendError(404, "No resource at /" + path.get(0));
+        }
+    }
+
+    private void patients(Call call) throws IOException {
+        if (call.path.size() == 1) {
+            if (call.is("GET")) {
+                call.sendListing(findPatients(call), patientService::getAllPatients, patientService::streamAllPatients, EntityJson::write);
+            } else if (call.is("POST")) {
+                call.send(201, patientService.registerPatient(EntityJson.readPatient(call.body())), EntityJson::write);
+            } else {
+                call.notAllowed();
+            }
+            return;
+        }
+        String patientId = call.path.get(1);
+        if (call.path.size() == 2) {
+            if (call.is("GET")) {
+                call.sendFound(patientService.findPatientById(patientId), "Patient", patientId, EntityJson::write);
+            } else if (call.is("PUT")) {
+                call.send(200, patientService.updatePatient(patientId, EntityJson.readPatient(call.body())),
+                          EntityJson::write);
+            } else if (call.is("DELETE")) {
+                patientService.deletePatient(patientId);
+                call.sendNoContent();
+            } else {
+                call.notAllowed();
+            }
+            return;
+        }
+        if (call.path.size() != 3 || !call.is("GET")) {
+            call.notFoundOrNotAllowed(3);
+            return;
+        }
+        switch (call.path.get(2)) {
+            case "appointments":
+                call.sendList(appointmentService.getAppointmentsByPatient(patientId), EntityJson::write);
+                break;
+            case "prescriptions":
+                call.sendList(prescriptionService.getPrescriptionsByPatient(patientId), EntityJson::write);
+                break;
+            case "records":
+                call.sendList(recordService.getMedicalRecordsByPatient(patientId), EntityJson::write);
+                break;
+            case "timeline":
+                call.sendListing(null, (cursor, limit) -> timelineService.getTimeline(patientId, cursor, limit),
+                                 () -> timelineService.streamTimeline(patientId), EntityJson::write);
+                break;
+            case "interactions":
+                call.sendList(prescriptionService.checkInteractions(patientId, call.query("medicine")),
+                              EntityJson::write);
+                break;
+            default:
+                call.notFound();
+        }
+    }
+
+    /**
+     * Returns the matches for a filter query, or {@code null} when no filter
+     * is given.
+     */
+    private List<Patient> findPatients(Call call) {
+        if (call.query("lastName") != null) {
+            return patientService.getPatientsByLastName(call.query("lastName"));
+        }
+        if (call.query("bloodGroup") != null) {
+            return patientService.getPatientsByBloodGroup(call.query("bloodGroup"));
+        }
+        if (call.query("email") != null) {
+            return toList(patientService.findPatientByEmail(call.query("email")));
+        }
+        if (call.query("phone") != null) {
+            return toList(patientService.findPatientByPhone(call.query("phone")));
+        }
+        return null;
+    }
+
+    private void doctors(Call call) throws IOException {
+        if (call.path.size() == 1) {
+            if (call.is("GET")) {
+                call.sendListing(findDoctors(call), doctorService::getAllDoctors, doctorService::streamAllDoctors, EntityJson::write);
+            } else if (call.is("POST")) {
+                call.send(201, doctorService.registerDoctor(EntityJson.readDoctor(call.body())), EntityJson::write);
+            } else {
+                call.notAllowed();
+            }
+            return;
+        }
+        String doctorId = call.path.get(1);
+        if (call.path.size() == 2) {
+            if (call.is("GET")) {
+                call.sendFound(doctorService.findDoctorById(doctorId), "Doctor", doctorId, EntityJson::write);
+            } else if (call.is("PUT")) {
+                call.send(200, doctorService.updateDoctor(doctorId, EntityJson.readDoctor(call.body())),
+                          EntityJson::write);
+            } else if (call.is("DELETE")) {
+                doctorService.deleteDoctor(doctorId);
+                call.sendNoContent();
+            } else {
+                call.notAllowed();
+            }
+            return;
+        }
+        if (call.path.size() != 3) {
+            call.notFound();
+            return;
+        }
+        switch (call.path.get(2)) {
+            case "availability":
+                if (!call.is("PUT")) {
+                    call.notAllowed();
+                    return;
+                }
+                doctorService.setDoctorAvailability(doctorId, EntityJson.bool(call.body(), "available", true));
+                call.send(200, doctorService.getDoctorById(doctorId), EntityJson::write);
+                break;
+            case "appointments":
+                if (call.requireGet()) {
+                    call.sendList(appointmentService.getAppointmentsByDoctor(doctorId), EntityJson::write);
+                }
+                break;
+            case "prescriptions":
+                if (call.requireGet()) {
+                    call.sendList(prescriptionService.getPrescriptionsByDoctor(doctorId), EntityJson::write);
+                }
+                break;
+            case "records":
+                if (call.requireGet()) {
+                    call.sendList(recordService.getMedicalRecordsByDoctor(doctorId), EntityJson::write);
+                }
+                break;
+            default:
+                call.notFound();
+        }
+    }
+
+    /**
+     * Returns the matches for a filter query, or {@code null} when no filter
+     * is given.
+     */
+    private List<Doctor> findDoctors(Call call) {
+        if (call.query("specialization") != null) {
+            return doctorService.getDoctorsBySpecialization(call.query("specialization"));
+        }
+        if ("true".equals(call.query("available"))) {
+            return doctorService.getAvailableDoctors();
+        }
+        return null;
+    }
+
+    private void appointments(Call call) throws IOException {
+        if (call.path.size() == 1) {
+            if (call.is("GET")) {
+                call.sendListing(findAppointments(call), appointmentService::getAllAppointments, appointmentService::streamAllAppointments, EntityJson::write);
+            } else if (call.is("POST")) {
+                call.send(201, appointmentService.scheduleAppointment(EntityJson.readAppointment(call.body())),
+                          EntityJson::write);
+            } else {
+                call.notAllowed();
+            }
+            return;
+        }
+        String appointmentId = call.path.get(1);
+        if (call.path.size() == 2) {
+            if (call.is("GET")) {
+                call.send(200, appointmentService.getAppointmentById(appointmentId), EntityJson::write);
+            } else if (call.is("DELETE")) {
+                appointmentService.deleteAppointment(appointmentId);
+                call.sendNoContent();
+            } else {
+                call.notAllowed();
+            }
+            return;
+        }
+        if (call.path.size() != 3) {
+            call.notFound();
+            return;
+        }
+        switch (call.path.get(2)) {
+            case "status":
+                if (call.is("PUT")) {
+                    String status = EntityJson.string(call.body(), "status");
+                    call.send(200, appointmentService.updateAppointmentStatus(appointmentId,
+                                                                              EntityJson.status(status)),
+                              EntityJson::write);
+                } else {
+                    call.notAllowed();
+                }
+                break;
+            case "reschedule":
+                if (call.is("POST")) {
+                    call.send(200, appointmentService.rescheduleAppointment(appointmentId,
+                                      EntityJson.dateTime(call.body(), "appointmentDateTime")),
+                              EntityJson::write);
+                } else {
+                    call.notAllowed();
+                }
+                break;
+            case "cancel":
+                if (call.is("POST")) {
+                    appointmentService.cancelAppointment(appointmentId);
+                    call.send(200, appointmentService.getAppointmentById(appointmentId), EntityJson::write);
+                } else {
+                    call.notAllowed();
+                }
+                break;
+            case "complete":
+                if (call.is("POST")) {
+                    appointmentService.completeAppointment(appointmentId);
+                    call.send(200, appointmentService.getAppointmentById(appointmentId), EntityJson::write);
+                } else {
+                    call.notAllowed();
+                }
+                break;
+            default:
+                call.notFound();
+        }
+    }
+
+    /**
+     * Returns the matches for a filter query, or {@code null} when no filter
+     * is given.
+     */
+    private List<Appointment> findAppointments(Call call) {
+        if (call.query("status") != null) {
+            return appointmentService.getAppointmentsByStatus(EntityJson.status(call.query("status")));
+        }
+        if (call.query("date") != null) {
+            try {
+                return appointmentService.getAppointmentsByDate(LocalDate.parse(call.query("date")));
+            } catch (DateTimeParseException e) {
+                throw new InvalidDataException("Invalid date: " + call.query("date"), e);
+            }
+        }
+        if ("true".equals(call.query("upcoming"))) {
+            return appointmentService.getUpcomingAppointments();
+        }
+        return null;
+    }
+
+    private void prescriptions(Call call) throws IOException {
+        if (call.path.size() == 1) {
+            if (call.is("GET")) {
+                call.sendListing(findPrescriptions(call), prescriptionService::getAllPrescriptions, prescriptionService::streamAllPrescriptions, EntityJson::write);
+            } else if (call.is("POST")) {
+                call.send(201, prescriptionService.createPrescription(EntityJson.readPrescription(call.body())),
+                          EntityJson::write);
+            } else {
+                call.notAllowed();
+            }
+            return;
+        }
+        String prescriptionId = call.path.get(1);
+        Optional<Prescription> prescription = prescriptionService.findPrescriptionById(prescriptionId);
+        if (prescription.isEmpty()) {
+            call.sendError(404, "Prescription not found with ID: " + prescriptionId);
+            return;
+        }
+        if (call.path.size() == 2) {
+            if (call.is("GET")) {
+                call.send(200, prescription.get(), EntityJson::write);
+            } else if (call.is("DELETE")) {
+                prescriptionService.deletePrescription(prescriptionId);
+                call.sendNoContent();
+            } else {
+                call.notAllowed();
+            }
+        } else if (call.path.size() == 3 && call.path.get(2).equals("medications")) {
+            if (call.is("POST")) {
+                call.send(201, prescriptionService.addMedication(prescriptionId,
+                                                                 EntityJson.readMedication(call.body())),
+                          EntityJson::write);
+            } else {
+                call.notAllowed();
+            }
+        } else {
+            call.notFound();
+        }
+    }
+
+    /**
+     * Returns the matches for a filter query, or {@code null} when no filter
+     * is given.
+     */
+    private List<Prescription> findPrescriptions(Call call) {
+        if ("true".equals(call.query("valid"))) {
+            return prescriptionService.getValidPrescriptions();
+        }
+        if (call.query("drug") != null) {
+            return prescriptionService.getPrescriptionsByDrug(call.query("drug"));
+        }
+        return null;
+    }
+
+    private void records(Call call) throws IOException {
+        if (call.path.size() == 1) {
+            if (call.is("GET")) {
+                call.sendListing(null, recordService::getAllMedicalRecords, recordService::streamAllMedicalRecords,
+                                 EntityJson::write);
+            } else if (call.is("POST")) {
+                call.send(201, recordService.createMedicalRecord(EntityJson.readMedicalRecord(call.body())),
+                          EntityJson::write);
+            } else {
+                call.notAllowed();
+            }
+            return;
+        }
+        if (call.path.size() != 2) {
+            call.notFound();
+            return;
+        }
+        String recordId = call.path.get(1);
+        Optional<MedicalRecord> record = recordService.findMedicalRecordById(recordId);
+        if (record.isEmpty()) {
+            call.sendError(404, "Medical record not found with ID: " + recordId);
+        } else if (call.is("GET")) {
+            call.send(200, record.get(), EntityJson::write);
+        } else if (call.is("PUT")) {
+            call.send(200, recordService.updateMedicalRecord(recordId, EntityJson.readMedicalRecord(call.body())),
+                      EntityJson::write);
+        } else if (call.is("DELETE")) {
+            recordService.deleteMedicalRecord(recordId);
+            call.sendNoContent();
+        } else {
+            call.notAllowed();
+        }
+    }
+
+    private void medications(Call call) throws IOException {
+        if (call.path.size() != 1) {
+            call.notFound();
+        } else if (call.requireGet()) {
+            call.sendList(prescriptionService.suggestMedications(call.query("prefix"), call.limit(10)),
+                          EntityJson::write);
+        }
+    }
+
+    private static <T> List<T> toList(Optional<T> value) {
+        List<T> list = new ArrayList<>(1);
+        value.ifPresent(list::add);
+        return list;
+    }
+
+    interface Encoder<T> {
+        void write(JsonWriter json, T value) throws IOException;
+    }
+
+    interface PageSource<T> {
+        Page<T> get(String cursor, int limit);
+    }
+
+    /**
+     * One request: its decoded path segments and query parameters, and the
+     * response helpers. An error raised while the response is still buffered
+     * replaces it; once headers are out the response is cut short instead.
+     */
+    private static final class Call {
+        private final HttpExchange exchange;
+        private List<String> path;
+        private Map<String, String> query;
+        private ResponseBody response;
+
+        private Call(HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        /**
+         * Decodes the request path and query, rejecting malformed percent
+         * escapes as invalid data.
+         */
+        void decodeTarget() {
+            URI uri = exchange.getRequestURI();
+            try {
+                path = segments(uri.getRawPath());
+                query = parameters(uri.getRawQuery());
+            } catch (IllegalArgumentException e) {
+                throw new InvalidDataException("Malformed percent escape in request URI", e);
+            }
+        }
+
+        boolean is(String method) {
+            return exchange.getRequestMethod().equalsIgnoreCase(method);
+        }
+
+        boolean requireGet() throws IOException {
+            if (!is("GET")) {
+                notAllowed();
+                return false;
+            }
+            return true;
+        }
+
+        String query(String name) {
+            return query.get(name);
+        }
+
+        int limit(int defaultLimit) {
+            String limit = query("limit");
+            try {
+                return limit == null ? defaultLimit : Integer.parseInt(limit);
+            } catch (NumberFormatException e) {
+                throw new InvalidDataException("Invalid limit: " + limit, e);
+            }
+        }
+
+        Map<String, Object> body() throws IOException {
+            InputStream in = exchange.getRequestBody();
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new InvalidDataException("Request body larger than " + MAX_BODY_BYTES + " bytes");
+            }
+            return JsonParser.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        <T> void send(int status, T value, Encoder<T> encoder) throws IOException {
+            JsonWriter json = open(status);
+            encoder.write(json, value);
+            json.close();
+        }
+
+        <T> void sendFound(Optional<T> value, String kind, String id, Encoder<T> encoder) throws IOException {
+            if (value.isPresent()) {
+                send(200, value.get(), encoder);
+            } else {
+                sendError(404, kind + " not found with ID: " + id);
+            }
+        }
+
+        <T> void sendList(List<T> values, Encoder<T> encoder) throws IOException {
+            JsonWriter json = open(200);
+            json.beginArray();
+            for (T value : values) {
+                encoder.write(json, value);
+            }
+            json.endArray();
+            json.close();
+        }
+
+        /**
+         * Sends the filtered matches when there are any, otherwise the whole
+         * collection: one page of it as {@code {"items": [...], "nextCursor":
+         * ...}} when {@code limit} or {@code cursor} is given, or else a plain
+         * array streamed from storage.
+         */
+        <T> void sendListing(List<T> filtered, PageSource<T> pages, Supplier<Stream<T>> all, Encoder<T> encoder)
+                throws IOException {
+            if (filtered != null) {
+                sendList(filtered, encoder);
+                return;
+            }
+            if (query("limit") == null && query("cursor") == null) {
+                try (Stream<T> values = all.get()) {
+                    JsonWriter json = open(200);
+                    json.beginArray();
+                    Iterator<T> iterator = values.iterator();
+                    while (iterator.hasNext()) {
+                        encoder.write(json, iterator.next());
+                    }
+                    json.endArray();
+                    json.close();
+                }
+                return;
+            }
+            Page<T> page = pages.get(query("cursor"), limit(DEFAULT_PAGE_LIMIT));
+            JsonWriter json = open(200);
+            json.beginObject().name("items").beginArray();
+            for (T value : page.getItems()) {
+                encoder.write(json, value);
+            }
+            json.endArray().field("nextCursor", page.getNextCursor()).endObject();
+            json.close();
+        }
+
+        void sendNoContent() throws IOException {
+            response = new ResponseBody(204);
+            response.close();
+        }
+
+        void sendError(int status, String message) throws IOException {
+            if (response != null && response.committed) {
+                return;
+            }
+            JsonWriter json = open(status);
+            json.beginObject().field("error", message).endObject();
+            json.close();
+        }
+
+        void notFound() throws IOException {
+            sendError(404, "No resource at " + exchange.getRequestURI().getPath());
+        }
+
+        void notAllowed() throws IOException {
+            sendError(405, exchange.getRequestMethod() + " is not supported on " + exchange.getRequestURI().getPath());
+        }
+
+        void notFoundOrNotAllowed(int expectedSegments) throws IOException {
+            if (path.size() == expectedSegments) {
+                notAllowed();
+            } else {
+                notFound();
+            }
+        }
+
+        private JsonWriter open(int status) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            response = new ResponseBody(status);
+            return new JsonWriter(response);
+        }
+
+        /**
+         * Holds the body until it outgrows the buffer, then sends headers for
+         * chunked transfer and streams the rest.
+         */
+        private final class ResponseBody extends OutputStream {
+            private final int status;
+            private final byte[] buffer = new byte[RESPONSE_BUFFER_BYTES];
+            private int count;
+            private OutputStream out;
+            private boolean committed;
+
+            private ResponseBody(int status) {
+                this.status = status;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                if (out == null && count + length <= buffer.length) {
+                    System.arraycopy(bytes, offset, buffer, count, length);
+                    count += length;
+                    return;
+                }
+                if (out == null) {
+                    commit(0);
+                    out.write(buffer, 0, count);
+                }
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (out == null) {
+                    commit(count == 0 ? -1 : count);
+                    out.write(buffer, 0, count);
+                }
+                out.close();
+            }
+
+            private void commit(long length) throws IOException {
+                committed = true;
+                exchange.sendResponseHeaders(status, length);
+                out = exchange.getResponseBody();
+            }
+        }
+
+        private static List<String> segments(String rawPath) {
+            List<String> segments = new ArrayList<>();
+            for (String segment : rawPath.split("/")) {
+                if (!segment.isEmpty()) {
+                    segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+                }
+            }
+            return segments;
+        }
+
+        private static Map<String, String> parameters(String rawQuery) {
+            Map<String, String> parameters = new HashMap<>();
+            if (rawQuery == null) {
+                return parameters;
+            }
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+                String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                parameters.putIfAbsent(name, value);
+            }
+            return parameters;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.healthcare.api;
+
+import com.healthcare.exception.InvalidDataException;
+import com.healthcare.model.Appointment;
+import com.healthcare.model.AppointmentStatus;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.Drug;
+import com.healthcare.model.DrugInteraction;
+import com.healthcare.model.MedicalRecord;
+import com.healthcare.model.Patient;
+import com.healthcare.model.Prescription;
+import com.healthcare.model.TimelineEntry;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JSON encoding of the domain model. Dates use ISO-8601, enums their
+ * constant names, and {@code null} members are omitted.
+ */
+final class EntityJson {
+
+    private EntityJson() {
+    }
+
+    static void write(JsonWriter json, Patient patient) throws IOException {
+        json.beginObject()
+                .field("patientId", patient.getPatientId())
+                .field("firstName", patient.getFirstName())
+                .field("lastName", patient.getLastName())
+                .field("dateOfBirth", patient.getDateOfBirth())
+                .field("gender", patient.getGender())
+                .field("phoneNumber", patient.getPhoneNumber())
+                .field("email", patient.getEmail())
+                .field("address", patient.getAddress())
+                .field("bloodGroup", patient.getBloodGroup())
+                .field("registrationDate", patient.getRegistrationDate())
+                .endObject();
+    }
+
+    static void write(JsonWriter json, Doctor doctor) throws IOException {
+        json.beginObject()
+                .field("doctorId", doctor.getDoctorId())
+                .field("firstName", doctor.getFirstName())
+                .field("lastName", doctor.getLastName())
+                .field("specialization", doctor.getSpecialization())
+                .field("phoneNumber", doctor.getPhoneNumber())
+                .field("email", doctor.getEmail())
+                .field("yearsOfExperience", doctor.getYearsOfExperience())
+                .field("qualification", doctor.getQualification())
+                .field("available", doctor.isAvailable())
+                .endObject();
+    }
+
+    static void write(JsonWriter json, Appointment appointment) throws IOException {
+        json.beginObject()
+                .field("appointmentId", appointment.getAppointmentId())
+                .field("patientId", appointment.getPatientId())
+                .field("doctorId", appointment.getDoctorId())
+                .field("appointmentDateTime", appointment.getAppointmentDateTime())
+                .field("reason", appointment.getReason())
+                .field("status", appointment.getStatus())
+                .field("notes", appointment.getNotes())
+                .field("durationMinutes", appointment.getDurationMinutes())
+                .endObject();
+    }
+
+    static void write(JsonWriter json, Prescription prescription) throws IOException {
+        json.beginObject()
+                .field("prescriptionId", prescription.getPrescriptionId())
+                .field("patientId", prescription.getPatientId())
+                .field("doctorId", prescription.getDoctorId())
+                .field("appointmentId", prescription.getAppointmentId())
+                .field("prescriptionDate", prescription.getPrescriptionDate())
+                .field("diagnosis", prescription.getDiagnosis())
+                .field("instructions", prescription.getInstructions())
+                .field("validityDays", prescription.getValidityDays());
+        json.name("medications").beginArray();
+        for (Prescription.Medication medication : prescription.getMedications()) {
+            write(json, medication);
+        }
+        json.endArray().endObject();
+    }
+
+    static void write(JsonWriter json, Prescription.Medication medication) throws IOException {
+        json.beginObject()
+                .field("medicineName", medication.getMedicineName())
+                .field("drugId", medication.getDrug() == null ? null : medication.getDrugId())
+                .field("dosage", medication.getDosage())
+                .field("frequency", medication.getFrequency())
+                .field("durationDays", medication.getDurationDays())
+                .field("instructions", medication.getInstructions())
+                .endObject();
+    }
+
+    static void write(JsonWriter json, MedicalRecord record) throws IOException {
+        json.beginObject()
+                .field("recordId", record.getRecordId())
+                .field("patientId", record.getPatientId())
+                .field("doctorId", record.getDoctorId())
+                .field("appointmentId", record.getAppointmentId())
+                .field("recordDateTime", record.getRecordDateTime())
+                .field("chiefComplaint", record.getChiefComplaint())
+                .field("diagnosis", record.getDiagnosis())
+                .field("treatment", record.getTreatment())
+                .field("vitalSigns", record.getVitalSigns())
+                .field("labResults", record.getLabResults())
+                .field("notes", record.getNotes())
+                .field("followUpInstructions", record.getFollowUpInstructions())
+                .endObject();
+    }
+
+    static void write(JsonWriter json, Drug drug) throws IOException {
+        json.beginObject()
+                .field("drugId", drug.getDrugId())
+                .field("name", drug.getName());
+        json.name("standardStrengths").beginArray();
+        for (String strength : drug.getStandardStrengths()) {
+            json.value(strength);
+        }
+        json.endArray().endObject();
+    }
+
+    static void write(JsonWriter json, DrugInteraction interaction) throws IOException {
+        json.beginObject()
+                .field("first", interaction.getFirst().getName())
+                .field("second", interaction.getSecond().getName())
+                .field("severity", interaction.getSeverity())
+                .field("description", interaction.getDescription())
+                .endObject();
+    }
+
+    static void write(JsonWriter json, TimelineEntry entry) throws IOException {
+        json.beginObject()
+                .field("type", entry.getType())
+                .field("timestamp", entry.getTimestamp())
+                .field("id", entry.getId());
+        switch (entry.getType()) {
+            case APPOINTMENT:
+                write(json.name("appointment"), entry.getAppointment());
+                break;
+            case PRESCRIPTION:
+                write(json.name("prescription"), entry.getPrescription());
+                break;
+            default:
+                write(json.name("medicalRecord"), entry.getMedicalRecord());
+        }
+        json.endObject();
+    }
+
+    static Patient readPatient(Map<String, Object> json) {
+        return new Patient(string(json, "patientId"), string(json, "firstName"), string(json, "lastName"),
+                           date(json, "dateOfBirth"), string(json, "gender"), string(json, "phoneNumber"),
+                           string(json, "email"), string(json, "address"), string(json, "bloodGroup"));
+    }
+
+    static Doctor readDoctor(Map<String, Object> json) {
+        Doctor doctor = new Doctor(string(json, "doctorId"), string(json, "firstName"), string(json, "lastName"),
+                                   string(json, "specialization"), string(json, "phoneNumber"),
+                                   string(json, "email"), integer(json, "yearsOfExperience", 0),
+                                   string(json, "qualification"));
+        doctor.setAvailable(bool(json, "available", true));
+        return doctor;
+    }
+
+    static Appointment readAppointment(Map<String, Object> json) {
+        Appointment appointment = new Appointment(string(json, "appointmentId"), string(json, "patientId"),
+                                                  string(json, "doctorId"), dateTime(json, "appointmentDateTime"),
+                                                  string(json, "reason"));
+        appointment.setNotes(string(json, "notes"));
+        appointment.setDurationMinutes(integer(json, "durationMinutes", appointment.getDurationMinutes()));
+        return appointment;
+    }
+
+    static Prescription readPrescription(Map<String, Object> json) {
+        Prescription prescription = new Prescription(string(json, "prescriptionId"), string(json, "patientId"),
+                                                     string(json, "doctorId"), string(json, "appointmentId"),
+                                                     string(json, "diagnosis"));
+        LocalDate prescriptionDate = date(json, "prescriptionDate");
+        if (prescriptionDate != null) {
+            prescription.setPrescriptionDate(prescriptionDate);
+        }
+        prescription.setInstructions(string(json, "instructions"));
+        prescription.setValidityDays(integer(json, "validityDays", prescription.getValidityDays()));
+        for (Object medication : list(json, "medications")) {
+            prescription.addMedication(readMedication(object(medication, "medications")));
+        }
+        return prescription;
+    }
+
+    static Prescription.Medication readMedication(Map<String, Object> json) {
+        Prescription.Medication medication = new Prescription.Medication(
+                string(json, "medicineName"), string(json, "dosage"), string(json, "frequency"),
+                integer(json, "durationDays", 0));
+        medication.setInstructions(string(json, "instructions"));
+        return medication;
+    }
+
+    static MedicalRecord readMedicalRecord(Map<String, Object> json) {
+        MedicalRecord record = new MedicalRecord(string(json, "recordId"), string(json, "patientId"),
+                                                 string(json, "doctorId"), string(json, "appointmentId"),
+                                                 string(json, "chiefComplaint"), string(json, "diagnosis"));
+        LocalDateTime recordDateTime = dateTime(json, "recordDateTime");
+        if (recordDateTime != null) {
+            record.setRecordDateTime(recordDateTime);
+        }
+        record.setTreatment(string(json, "treatment"));
+        record.setVitalSigns(string(json, "vitalSigns"));
+        record.setLabResults(string(json, "labResults"));
+        record.setNotes(string(json, "notes"));
+        record.setFollowUpInstructions(string(json, "followUpInstructions"));
+        return record;
+    }
+
+    static String string(Map<String, Object> json, String name) {
+        Object value = json.get(name);
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        throw InvalidDataException.of("Expected a string for ", name);
+    }
+
+    static int integer(Map<String, Object> json, String name, int defaultValue) {
+        Object value = json.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Long && (Long) value == ((Long) value).intValue()) {
+            return ((Long) value).intValue();
+        }
+        throw InvalidDataException.of("Expected an integer for ", name);
+    }
+
+    static boolean bool(Map<String, Object> json, String name, boolean defaultValue) {
+        Object value = json.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        throw InvalidDataException.of("Expected a boolean for ", name);
+    }
+
+    static LocalDate date(Map<String, Object> json, String name) {
+        String value = string(json, name);
+        try {
+            return value == null ? null : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidDataException("Invalid date for " + name + ": " + value, e);
+        }
+    }
+
+    static LocalDateTime dateTime(Map<String, Object> json, String name) {
+        String value = string(json, name);
+        try {
+            return value == null ? null : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidDataException("Invalid date-time for " + name + ": " + value, e);
+        }
+    }
+
+    static AppointmentStatus status(String value) {
+        try {
+            return AppointmentStatus.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new InvalidDataException("Invalid appointment status: " + value, e);
+        }
+    }
+
+    private static List<?> list(Map<String, Object> json, String name) {
+        Object value = json.get(name);
+        if (value == null) {
+            return List.of();
+        }
+        if (value instanceof List) {
+            return (List<?>) value;
+        }
+        throw InvalidDataException.of("Expected an array for ", name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> object(Object value, String name) {
+        if (value instanceof Map) {
+            return (Map<String, Object>) value;
+        }
+        throw InvalidDataException.of("Expected objects in ", name);
+    }
+}
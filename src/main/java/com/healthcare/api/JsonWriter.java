@@ -0,0 +1,237 @@
+package com.healthcare.api;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Writes JSON tokens as UTF-8 straight to an {@link OutputStream}, so a
+ * response is encoded as it is produced instead of being built up as a tree
+ * or string first. Encodes into its own buffer rather than going through a
+ * {@code Writer}, whose per-call locking dominates for small tokens. Callers
+ * are responsible for well-formed nesting.
+ */
+public class JsonWriter implements Flushable, Closeable {
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[8192];
+    private int count;
+    private boolean[] hasElements = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    public JsonWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        return open('{');
+    }
+
+    public JsonWriter endObject() throws IOException {
+        return close('}');
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        return open('[');
+    }
+
+    public JsonWriter endArray() throws IOException {
+        return close(']');
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        separate();
+        writeString(name);
+        writeByte(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        separate();
+        writeString(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        separate();
+        writeAscii(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        separate();
+        writeAscii(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter value(LocalDate value) throws IOException {
+        return value(value == null ? null : value.toString());
+    }
+
+    public JsonWriter value(LocalDateTime value) throws IOException {
+        return value(value == null ? null : value.toString());
+    }
+
+    public JsonWriter value(Enum<?> value) throws IOException {
+        return value(value == null ? null : value.name());
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        separate();
+        writeAscii("null");
+        return this;
+    }
+
+    /**
+     * Writes a {@code "name": value} member, skipping it when the value is
+     * {@code null}.
+     */
+    public JsonWriter field(String name, Object value) throws IOException {
+        if (value == null) {
+            return this;
+        }
+        name(name);
+        if (value instanceof String) {
+            return value((String) value);
+        }
+        if (value instanceof Number) {
+            return value(((Number) value).longValue());
+        }
+        if (value instanceof Boolean) {
+            return value((boolean) (Boolean) value);
+        }
+        if (value instanceof Enum) {
+            return value((Enum<?>) value);
+        }
+        return value(value.toString());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+        out.close();
+    }
+
+    private JsonWriter open(char bracket) throws IOException {
+        separate();
+        writeByte(bracket);
+        if (++depth == hasElements.length) {
+            hasElements = Arrays.copyOf(hasElements, depth * 2);
+        }
+        hasElements[depth] = false;
+        return this;
+    }
+
+    private JsonWriter close(char bracket) throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("Nothing to close with '" + bracket + "'");
+        }
+        depth--;
+        writeByte(bracket);
+        return this;
+    }
+
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (hasElements[depth]) {
+            writeByte(',');
+        }
+        hasElements[depth] = true;
+    }
+
+    private void writeString(String value) throws IOException {
+        writeByte('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= ' ' && c != '"' && c != '\\') {
+                    writeByte(c);
+                } else {
+                    writeEscape(c);
+                }
+            } else if (c < 0x800) {
+                writeByte(0xC0 | (c >> 6));
+                writeByte(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                writeByte(0xF0 | (codePoint >> 18));
+                writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+                writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+                writeByte(0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                writeByte('?');
+            } else {
+                writeByte(0xE0 | (c >> 12));
+                writeByte(0x80 | ((c >> 6) & 0x3F));
+                writeByte(0x80 | (c & 0x3F));
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeEscape(char c) throws IOException {
+        writeByte('\\');
+        switch (c) {
+            case '"':
+            case '\\':
+                writeByte(c);
+                break;
+            case '\n':
+                writeByte('n');
+                break;
+            case '\r':
+                writeByte('r');
+                break;
+            case '\t':
+                writeByte('t');
+                break;
+            default:
+                writeByte('u');
+                writeByte('0');
+                writeByte('0');
+                writeByte(HEX[(c >> 4) & 0xF]);
+                writeByte(HEX[c & 0xF]);
+        }
+    }
+
+    private void writeAscii(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            writeByte(value.charAt(i));
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.healthcare.batch;
+
+/**
+ * Commands understood by {@link BatchRunner}, with the number of
+ * {@code |}-separated fields each takes after its keyword.
+ */
+public enum BatchOperation {
+    REGISTER_PATIENT("register-patient", 9),
+    REGISTER_DOCTOR("register-doctor", 8),
+    SCHEDULE("schedule", 5),
+    COMPLETE("complete", 1),
+    PRESCRIBE("prescribe", 6),
+    RECORD("record", 7);
+
+    private final String label;
+    private final int fieldCount;
+
+    BatchOperation(String label, int fieldCount) {
+        this.label = label;
+        this.fieldCount = fieldCount;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+}
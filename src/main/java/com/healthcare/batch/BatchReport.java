@@ -0,0 +1,57 @@
+package com.healthcare.batch;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+public class BatchReport {
+    private final long[] succeeded;
+    private final long failed;
+    private final long elapsedNanos;
+    private final int threads;
+
+    BatchReport(long[] succeeded, long failed, long elapsedNanos, int threads) {
+        this.succeeded = succeeded.clone();
+        this.failed = failed;
+        this.elapsedNanos = elapsedNanos;
+        this.threads = threads;
+    }
+
+    public long getCommands() {
+        return getSucceeded() + failed;
+    }
+
+    public long getSucceeded() {
+        return Arrays.stream(succeeded).sum();
+    }
+
+    public long getSucceeded(BatchOperation operation) {
+        return succeeded[operation.ordinal()];
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public Duration getElapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public double getCommandsPerSecond() {
+        return elapsedNanos == 0 ? 0 : getCommands() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchReport{" +
+                "commands=" + getCommands() +
+                ", succeeded=" + getSucceeded() +
+                ", failed=" + failed +
+                ", elapsedMillis=" + elapsedNanos / 1_000_000 +
+                ", threads=" + threads +
+                '}';
+    }
+}
@@ -0,0 +1,497 @@
+package com.healthcare.batch;
+
+import com.healthcare.exception.InvalidDataException;
+import com.healthcare.model.Appointment;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.MedicalRecord;
+import com.healthcare.model.Patient;
+import com.healthcare.model.Prescription;
+import com.healthcare.service.AppointmentService;
+import com.healthcare.service.DoctorService;
+import com.healthcare.service.MedicalRecordService;
+import com.healthcare.service.PatientService;
+import com.healthcare.service.PrescriptionService;
+import com.healthcare.util.DateUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a script of commands through the services, one per line with
+ * {@code |}-separated fields. Blank lines and lines starting with {@code #}
+ * are skipped, and an empty ID field lets the service generate the ID.
+ * <pre>
+ * register|patient|id|firstName|lastName|dateOfBirth|gender|phone|email|address|bloodGroup
+ * register|doctor|id|firstName|lastName|specialization|phone|email|yearsOfExperience|qualification
+ * schedule|id|patientId|doctorId|dateTime|reason
+ * complete|appointmentId
+ * prescribe|id|patientId|doctorId|appointmentId|diagnosis|name:dosage:frequency:days;...
+ * record|id|patientId|doctorId|appointmentId|chiefComplaint|diagnosis|treatment
+ * </pre>
+ * Dates are written {@code yyyy-MM-dd} and date-times {@code yyyy-MM-dd HH:mm}.
+ * <p>
+ * With more than one thread, commands are partitioned by patient into lanes
+ * that each run in script order, so one patient's commands keep their order
+ * while different patients proceed in parallel. Lines are handed to lanes in
+ * chunks through bounded queues, which keeps memory flat however long the
+ * script is. A doctor registration waits for every earlier command and
+ * finishes before any later one starts, since any patient may refer to it.
+ * <p>
+ * A failed command is reported to the output with its line number and does
+ * not stop the batch.
+ */
+public class BatchRunner {
+    private static final int CHUNK_SIZE = 256;
+    private static final int QUEUED_CHUNKS = 16;
+    private static final List<Command> END = new ArrayList<>(0);
+
+    private final PatientService patientService;
+    private final DoctorService doctorService;
+    private final AppointmentService appointmentService;
+    private final PrescriptionService prescriptionService;
+    private final MedicalRecordService medicalRecordService;
+    private final int threads;
+
+    public BatchRunner(PatientService patientService, DoctorService doctorService,
+                       AppointmentService appointmentService, PrescriptionService prescriptionService,
+                       MedicalRecordService medicalRecordService) {
+        this(patientService, doctorService, appointmentService, prescriptionService, medicalRecordService, 1);
+    }
+
+    public BatchRunner(PatientService patientService, DoctorService doctorService,
+                       AppointmentService appointmentService, PrescriptionService prescriptionService,
+                       MedicalRecordService medicalRecordService, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be at least 1");
+        }
+        this.patientService = patientService;
+        this.doctorService = doctorService;
+        this.appointmentService = appointmentService;
+        this.prescriptionService = prescriptionService;
+        this.medicalRecordService = medicalRecordService;
+        this.threads = threads;
+    }
+
+    /**
+     * Runs every command in the script, writing one line per failure to
+     * {@code out}, and returns the counts once all commands have finished.
+     */
+    public BatchReport run(Reader script, PrintWriter out) throws IOException {
+        long start = System.nanoTime();
+        Map<String, Integer> scheduling = new ConcurrentHashMap<>();
+        Lane local = new Lane(out, scheduling);
+        Lane[] lanes = new Lane[threads == 1 ? 0 : threads];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(out, scheduling);
+        }
+        if (lanes.length == 0) {
+            runInline(script, local);
+        } else {
+            runParallel(script, local, lanes, scheduling);
+        }
+
+        long[] succeeded = local.succeeded.clone();
+        long failed = local.failed;
+        for (Lane lane : lanes) {
+            for (int i = 0; i < succeeded.length; i++) {
+                succeeded[i] += lane.succeeded[i];
+            }
+            failed += lane.failed;
+        }
+        out.flush();
+        return new BatchReport(succeeded, failed, System.nanoTime() - start, threads);
+    }
+
+    private void runInline(Reader script, Lane local) throws IOException {
+        BufferedReader lines = new BufferedReader(script, 1 << 16);
+        int lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            try {
+                Command command = Command.parse(line, lineNumber);
+                if (command != null) {
+                    local.execute(command);
+                }
+            } catch (InvalidDataException e) {
+                local.reject(lineNumber, e.getMessage());
+            }
+        }
+    }
+
+    private void runParallel(Reader script, Lane local, Lane[] lanes, Map<String, Integer> scheduling)
+            throws IOException {
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(lanes.length, task -> {
+            Thread thread = new Thread(task, "batch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> running = new ArrayList<>(lanes.length);
+        for (Lane lane : lanes) {
+            running.add(executor.submit(lane));
+        }
+        try {
+            Dispatcher dispatcher = new Dispatcher(local, lanes, scheduling);
+            BufferedReader lines = new BufferedReader(script, 1 << 16);
+            int lineNumber = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                try {
+                    Command command = Command.parse(line, lineNumber);
+                    if (command != null) {
+                        dispatcher.dispatch(command);
+                    }
+                } catch (InvalidDataException e) {
+                    local.reject(lineNumber, e.getMessage());
+                }
+            }
+            dispatcher.finish();
+            for (Future<?> lane : running) {
+                lane.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running batch", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch lane failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void execute(Command command) {
+        switch (command.operation) {
+            case REGISTER_PATIENT:
+                patientService.registerPatient(new Patient(command.field(0), command.field(1), command.field(2),
+                                                           command.date(3), command.field(4), command.field(5),
+                                                           command.field(6), command.field(7), command.field(8)));
+                break;
+            case REGISTER_DOCTOR:
+                doctorService.registerDoctor(new Doctor(command.field(0), command.field(1), command.field(2),
+                                                        command.field(3), command.field(4), command.field(5),
+                                                        command.integer(6), command.field(7)));
+                break;
+            case SCHEDULE:
+                appointmentService.scheduleAppointment(new Appointment(command.field(0), command.field(1),
+                                                                       command.field(2), command.dateTime(3),
+                                                                       command.field(4)));
+                break;
+            case COMPLETE:
+                appointmentService.completeAppointment(command.field(0));
+                break;
+            case PRESCRIBE:
+                Prescription prescription = new Prescription(command.field(0), command.field(1), command.field(2),
+                                                             command.field(3), command.field(4));
+                for (Prescription.Medication medication : command.medications(5)) {
+                    prescription.addMedication(medication);
+                }
+                prescriptionService.createPrescription(prescription);
+                break;
+            case RECORD:
+                MedicalRecord record = new MedicalRecord(command.field(0), command.field(1), command.field(2),
+                                                         command.field(3), command.field(4), command.field(5));
+                record.setTreatment(command.field(6));
+                medicalRecordService.createMedicalRecord(record);
+                break;
+            default:
+                throw new IllegalStateException("Unhandled operation: " + command.operation);
+        }
+    }
+
+    /**
+     * Routes commands to lanes on the reading thread. Only the patient ID is
+     * looked at here; building entities and calling services happens on the
+     * lanes.
+     * <p>
+     * An appointment's lane is remembered only until its schedule command has
+     * run. After that, a complete finds the lane from the stored
+     * appointment's patient, so the map holds no more than the commands in
+     * flight.
+     */
+    private final class Dispatcher {
+        private final Lane local;
+        private final Lane[] lanes;
+        private final List<List<Command>> pending;
+        private final Map<String, Integer> scheduling;
+        private boolean idle = true;
+
+        Dispatcher(Lane local, Lane[] lanes, Map<String, Integer> scheduling) {
+            this.local = local;
+            this.lanes = lanes;
+            this.scheduling = scheduling;
+            this.pending = new ArrayList<>(lanes.length);
+            for (int i = 0; i < lanes.length; i++) {
+                pending.add(new ArrayList<>(CHUNK_SIZE));
+            }
+        }
+
+        void dispatch(Command command) throws InterruptedException {
+            if (command.operation == BatchOperation.REGISTER_DOCTOR) {
+                if (!idle) {
+                    awaitLanes();
+                }
+                local.execute(command);
+                return;
+            }
+            int lane = laneOf(command);
+            List<Command> chunk = pending.get(lane);
+            chunk.add(command);
+            if (chunk.size() == CHUNK_SIZE) {
+                lanes[lane].queue.put(chunk);
+                pending.set(lane, new ArrayList<>(CHUNK_SIZE));
+            }
+            idle = false;
+        }
+
+        void finish() throws InterruptedException {
+            flush();
+            for (Lane lane : lanes) {
+                lane.queue.put(END);
+            }
+        }
+
+        private int laneOf(Command command) {
+            switch (command.operation) {
+                case REGISTER_PATIENT:
+                    return command.field(0) == null ? command.line % lanes.length : laneOf(command.field(0));
+                case SCHEDULE:
+                    int lane = laneOf(command.field(1));
+                    if (command.field(0) != null) {
+                        scheduling.put(command.field(0), lane);
+                    }
+                    return lane;
+                case COMPLETE:
+                    String appointmentId = command.field(0);
+                    if (appointmentId == null) {
+                        return 0;
+                    }
+                    Integer scheduled = scheduling.get(appointmentId);
+                    if (scheduled != null) {
+                        return scheduled;
+                    }
+                    return appointmentService.findAppointmentById(appointmentId)
+                            .map(appointment -> laneOf(appointment.getPatientId()))
+                            .orElse(0);
+                default:
+                    return laneOf(command.field(1));
+            }
+        }
+
+        private int laneOf(String patientId) {
+            return patientId == null ? 0 : Math.floorMod(patientId.hashCode(), lanes.length);
+        }
+
+        private void flush() throws InterruptedException {
+            for (int i = 0; i < lanes.length; i++) {
+                List<Command> chunk = pending.get(i);
+                if (!chunk.isEmpty()) {
+                    lanes[i].queue.put(chunk);
+                    pending.set(i, new ArrayList<>(CHUNK_SIZE));
+                }
+            }
+        }
+
+        private void awaitLanes() throws InterruptedException {
+            flush();
+            CountDownLatch drained = new CountDownLatch(lanes.length);
+            List<Command> barrier = List.of(Command.barrier(drained));
+            for (Lane lane : lanes) {
+                lane.queue.put(barrier);
+            }
+            drained.await();
+            idle = true;
+        }
+    }
+
+    private final class Lane implements Runnable {
+        private final BlockingQueue<List<Command>> queue = new ArrayBlockingQueue<>(QUEUED_CHUNKS);
+        private final long[] succeeded = new long[BatchOperation.values().length];
+        private final PrintWriter out;
+        private final Map<String, Integer> scheduling;
+        private long failed;
+
+        Lane(PrintWriter out, Map<String, Integer> scheduling) {
+            this.out = out;
+            this.scheduling = scheduling;
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<Command> chunk;
+                while ((chunk = queue.take()) != END) {
+                    for (Command command : chunk) {
+                        if (command.barrier != null) {
+                            command.barrier.countDown();
+                        } else {
+                            execute(command);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void execute(Command command) {
+            try {
+                BatchRunner.this.execute(command);
+                succeeded[command.operation.ordinal()]++;
+            } catch (RuntimeException e) {
+                reject(command.line, command.operation.getLabel() + " failed: "
+                        + (e.getMessage() != null ? e.getMessage() : e.toString()));
+            } finally {
+                if (command.operation == BatchOperation.SCHEDULE && command.field(0) != null) {
+                    scheduling.remove(command.field(0));
+                }
+            }
+        }
+
+        void reject(int line, String message) {
+            failed++;
+            out.println("line " + line + ": " + message);
+        }
+    }
+
+    private static final class Command {
+        private final int line;
+        private final BatchOperation operation;
+        private final String[] fields;
+        private final int offset;
+        private final CountDownLatch barrier;
+
+        private Command(int line, BatchOperation operation, String[] fields, int offset, CountDownLatch barrier) {
+            this.line = line;
+            this.operation = operation;
+            this.fields = fields;
+            this.offset = offset;
+            this.barrier = barrier;
+        }
+
+        static Command barrier(CountDownLatch latch) {
+            return new Command(0, null, null, 0, latch);
+        }
+
+        /**
+         * Returns {@code null} for blank and comment lines.
+         */
+        static Command parse(String line, int lineNumber) {
+            if (line.isBlank() || line.trim().startsWith("#")) {
+                return null;
+            }
+            String[] fields = line.split("\\|", -1);
+            String keyword = fields[0].trim();
+            BatchOperation operation;
+            int offset = 1;
+            switch (keyword) {
+                case "register":
+                    String subject = fields.length > 1 ? fields[1].trim() : "";
+                    if (subject.equals("patient")) {
+                        operation = BatchOperation.REGISTER_PATIENT;
+                    } else if (subject.equals("doctor")) {
+                        operation = BatchOperation.REGISTER_DOCTOR;
+                    } else {
+                        throw new InvalidDataException("Expected 'patient' or 'doctor' after register");
+                    }
+                    offset = 2;
+                    break;
+                case "schedule":
+                    operation = BatchOperation.SCHEDULE;
+                    break;
+                case "complete":
+                    operation = BatchOperation.COMPLETE;
+                    break;
+                case "prescribe":
+                    operation = BatchOperation.PRESCRIBE;
+                    break;
+                case "record":
+                    operation = BatchOperation.RECORD;
+                    break;
+                default:
+                    throw new InvalidDataException("Unknown command: " + keyword);
+            }
+            if (fields.length - offset != operation.getFieldCount()) {
+                throw new InvalidDataException("Expected " + operation.getFieldCount() + " fields for "
+                                                       + operation.getLabel() + ", found " + (fields.length - offset));
+            }
+            return new Command(lineNumber, operation, fields, offset, null);
+        }
+
+        String field(int index) {
+            String value = fields[offset + index].trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        int integer(int index) {
+            String value = field(index);
+            try {
+                return value == null ? 0 : Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new InvalidDataException("Invalid number: " + value, e);
+            }
+        }
+
+        LocalDate date(int index) {
+            String value = field(index);
+            if (value == null) {
+                return null;
+            }
+            long epochDay = DateUtil.parseEpochDay(value, 0, value.length());
+            if (epochDay == DateUtil.INVALID) {
+                throw new InvalidDataException("Invalid date: " + value);
+            }
+            return LocalDate.ofEpochDay(epochDay);
+        }
+
+        LocalDateTime dateTime(int index) {
+            String value = field(index);
+            if (value == null) {
+                return null;
+            }
+            long epochMinute = DateUtil.parseEpochMinute(value, 0, value.length());
+            if (epochMinute == DateUtil.INVALID) {
+                throw new InvalidDataException("Invalid date-time: " + value);
+            }
+            return DateUtil.toLocalDateTime(epochMinute);
+        }
+
+        List<Prescription.Medication> medications(int index) {
+            String value = field(index);
+            List<Prescription.Medication> medications = new ArrayList<>();
+            if (value == null) {
+                return medications;
+            }
+            for (String entry : value.split(";")) {
+                String[] parts = entry.split(":", -1);
+                if (parts.length != 4) {
+                    throw new InvalidDataException("Expected name:dosage:frequency:days for medication: " + entry);
+                }
+                try {
+                    medications.add(new Prescription.Medication(parts[0].trim(), parts[1].trim(), parts[2].trim(),
+                                                                Integer.parseInt(parts[3].trim())));
+                } catch (NumberFormatException e) {
+                    throw new InvalidDataException("Invalid duration for medication: " + entry, e);
+                }
+            }
+            return medications;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.healthcare.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache with a W-TinyLFU eviction policy. New entries enter a
+ * small LRU window; entries leaving the window compete with the main region's
+ * LRU victim and are only admitted if a frequency sketch says they have been
+ * requested more often. The main region is a segmented LRU whose protected
+ * segment holds entries that were hit at least twice.
+ * <p>
+ * Entries live in a concurrent map, so reads never take the lock. Each read
+ * is appended to a lock-free ring buffer instead, and the buffer is replayed
+ * into the sketch and the LRU queues by whichever thread next gets the lock,
+ * or by a reader that finds it filling up and the lock free. Reads that find
+ * the buffer full are dropped; the policy only needs a sample of them.
+ * <p>
+ * Loaders run outside the cache lock. Each load registers a token for its
+ * key, and invalidating the key discards the token. A value whose token is
+ * gone by the time it is stored is returned to the caller but not cached, so
+ * a concurrent write can never be shadowed by the value it replaced.
+ * Invalidating one key leaves loads of other keys alone.
+ */
+public class BoundedCache<K, V> {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final int READ_DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    private final ConcurrentHashMap<K, Node<K, V>> data;
+    private final Queue<K, V>[] queues;
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock;
+    private final AtomicReferenceArray<Object> readBuffer;
+    private final AtomicLong readTail;
+    private volatile long readHead;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final ConcurrentHashMap<K, Object> loading;
+
+    public BoundedCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (maximumSize - windowMaximum) * 4 / 5;
+        this.data = new ConcurrentHashMap<>();
+        this.queues = newQueues();
+        this.sketch = new FrequencySketch(maximumSize);
+        this.lock = new ReentrantLock();
+        this.readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        this.readTail = new AtomicLong();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.loading = new ConcurrentHashMap<>();
+    }
+
+    public V getIfPresent(K key) {
+        Node<K, V> node = data.get(key);
+        afterRead(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return node.value;
+    }
+
+    /**
+     * Returns the cached value or loads, stores and returns it. A {@code null}
+     * result from the loader is returned but not cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Node<K, V> node = data.get(key);
+        afterRead(key);
+        if (node != null) {
+            hits.increment();
+            return node.value;
+        }
+        misses.increment();
+        Object token = new Object();
+        loading.put(key, token);
+
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            loading.remove(key, token);
+            throw e;
+        }
+        if (value == null) {
+            loading.remove(key, token);
+            return null;
+        }
+        lock.lock();
+        try {
+            drainReads();
+            if (loading.remove(key, token) && !data.containsKey(key)) {
+                insert(key, value);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            loading.remove(key);
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                queues[node.queue].unlink(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            loading.clear();
+            data.clear();
+            for (Queue<K, V> queue : queues) {
+                queue.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private void afterRead(K key) {
+        if (recordRead(key) && lock.tryLock()) {
+            try {
+                drainReads();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Claims a slot in the read buffer, dropping the read if the buffer is
+     * full or another reader won the slot. Returns whether the buffer is due
+     * to be drained.
+     */
+    private boolean recordRead(K key) {
+        long head = readHead;
+        long tail = readTail.get();
+        long pending = tail - head;
+        if (pending >= READ_BUFFER_SIZE) {
+            return true;
+        }
+        if (readTail.compareAndSet(tail, tail + 1)) {
+            readBuffer.lazySet((int) (tail & READ_BUFFER_MASK), key);
+            return pending + 1 >= READ_DRAIN_THRESHOLD;
+        }
+        return false;
+    }
+
+    /**
+     * Replays buffered reads into the policy. Stops at a claimed slot whose
+     * key is not published yet; the next drain picks it up. Must hold the
+     * lock.
+     */
+    private void drainReads() {
+        long head = readHead;
+        long tail = readTail.get();
+        for (; head < tail; head++) {
+            int index = (int) (head & READ_BUFFER_MASK);
+            Object key = readBuffer.get(index);
+            if (key == null) {
+                break;
+            }
+            readBuffer.lazySet(index, null);
+            sketch.increment(key);
+            Node<K, V> node = data.get(key);
+            if (node != null) {
+                onHit(node);
+            }
+        }
+        readHead = head;
+    }
+
+    private void onHit(Node<K, V> node) {
+        if (node.queue == PROBATION) {
+            queues[PROBATION].unlink(node);
+            node.queue = PROTECTED;
+            queues[PROTECTED].append(node);
+            if (queues[PROTECTED].size > protectedMaximum) {
+                Node<K, V> demoted = queues[PROTECTED].head();
+                queues[PROTECTED].unlink(demoted);
+                demoted.queue = PROBATION;
+                queues[PROBATION].append(demoted);
+            }
+        } else {
+            queues[node.queue].moveToTail(node);
+        }
+    }
+
+    private void insert(K key, V value) {
+        Node<K, V> node = new Node<>(key, value);
+        data.put(key, node);
+        queues[WINDOW].append(node);
+        if (queues[WINDOW].size <= windowMaximum) {
+            return;
+        }
+
+        Node<K, V> candidate = queues[WINDOW].head();
+        queues[WINDOW].unlink(candidate);
+        candidate.queue = PROBATION;
+        queues[PROBATION].append(candidate);
+        if (data.size() <= maximumSize) {
+            return;
+        }
+
+        Node<K, V> victim = queues[PROBATION].head();
+        if (victim == candidate) {
+            victim = queues[PROTECTED].head();
+        }
+        if (victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            evict(victim);
+        } else {
+            evict(candidate);
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        queues[node.queue].unlink(node);
+        data.remove(node.key);
+        evictions.increment();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Queue<K, V>[] newQueues() {
+        Queue<K, V>[] queues = (Queue<K, V>[]) new Queue<?, ?>[3];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new Queue<>();
+        }
+        return queues;
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private int queue;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.queue = WINDOW;
+        }
+    }
+
+    private static final class Queue<K, V> {
+        private final Node<K, V> sentinel;
+        private int size;
+
+        private Queue() {
+            sentinel = new Node<>(null, null);
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+        }
+
+        private Node<K, V> head() {
+            return size == 0 ? null : sentinel.next;
+        }
+
+        private void append(Node<K, V> node) {
+            node.previous = sentinel.previous;
+            node.next = sentinel;
+            sentinel.previous.next = node;
+            sentinel.previous = node;
+            size++;
+        }
+
+        private void unlink(Node<K, V> node) {
+            node.previous.next = node.next;
+            node.next.previous = node.previous;
+            node.previous = null;
+            node.next = null;
+            size--;
+        }
+
+        private void moveToTail(Node<K, V> node) {
+            unlink(node);
+            append(node);
+        }
+
+        private void clear() {
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.healthcare.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Approximate set of string keys that supports deletion. {@link #mightContain}
+ * never returns {@code false} for a key that was added and not removed, and
+ * returns {@code true} for an absent key with roughly the configured
+ * probability.
+ * <p>
+ * The filter starts sized for the expected number of keys and adds a table of
+ * twice the size, with one more fingerprint bit, each time the current tables
+ * are full. If the next table would exceed the memory budget the filter
+ * saturates: it answers {@code true} for every key until {@link #clear} is
+ * called, so callers fall back to the authoritative store.
+ */
+public class CuckooFilter {
+    private static final int BUCKET_SIZE = 4;
+    private static final int MAX_KICKS = 500;
+    private static final double LOAD_FACTOR = 0.95;
+
+    private final long memoryBudgetBytes;
+    private final int initialBuckets;
+    private final int initialFingerprintBits;
+    private final StampedLock lock;
+    private volatile Table[] tables;
+    private volatile boolean saturated;
+    private long size;
+
+    public CuckooFilter(int expectedKeys, double falsePositiveRate, long memoryBudgetBytes) {
+        if (expectedKeys < 1) {
+            throw new IllegalArgumentException("Expected keys must be positive: " + expectedKeys);
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be in (0, 1): " + falsePositiveRate);
+        }
+        int bits = (int) Math.ceil(Math.log(2.0 * BUCKET_SIZE / falsePositiveRate) / Math.log(2));
+        this.initialFingerprintBits = Math.max(4, Math.min(Table.MAX_FINGERPRINT_BITS - 8, bits));
+        long buckets = (long) Math.ceil(expectedKeys / (BUCKET_SIZE * LOAD_FACTOR));
+        this.initialBuckets = Integer.highestOneBit((int) Math.min(1 << 28, Math.max(2, buckets) - 1)) << 1;
+        if (Table.bytes(initialBuckets, initialFingerprintBits) > memoryBudgetBytes) {
+            throw new IllegalArgumentException("Memory budget of " + memoryBudgetBytes
+                    + " bytes is too small for " + expectedKeys + " keys");
+        }
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.lock = new StampedLock();
+        this.tables = new Table[] {new Table(initialBuckets, initialFingerprintBits)};
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        long stamp = lock.tryOptimisticRead();
+        boolean found = contains(hash);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = contains(hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    public void add(String key) {
+        long hash = hash(key);
+        long stamp = lock.writeLock();
+        try {
+            if (saturated) {
+                return;
+            }
+            Table table = tables[tables.length - 1];
+            if (!table.insert(hash)) {
+                if (memoryBytes() + Table.bytes(table.buckets * 2, table.fingerprintBits + 1) > memoryBudgetBytes) {
+                    saturated = true;
+                    return;
+                }
+                Table next = new Table(table.buckets * 2, table.fingerprintBits + 1);
+                next.insert(hash);
+                Table[] grown = Arrays.copyOf(tables, tables.length + 1);
+                grown[tables.length] = next;
+                tables = grown;
+            }
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes one occurrence of a key. Only keys that were previously added
+     * may be removed; removing any other key can cause false negatives.
+     * <p>
+     * A key can only be deleted from the table it was inserted into, or the
+     * entry removed might belong to another key that happens to share its
+     * fingerprint and bucket in a different table. When the key matches in
+     * more than one table, that table cannot be told apart, so the filter
+     * saturates rather than guess.
+     */
+    public void remove(String key) {
+        long hash = hash(key);
+        long stamp = lock.writeLock();
+        try {
+            if (saturated) {
+                return;
+            }
+            Table owner = null;
+            for (Table table : tables) {
+                if (table.contains(hash)) {
+                    if (owner != null) {
+                        saturated = true;
+                        return;
+                    }
+                    owner = table;
+                }
+            }
+            if (owner != null && owner.delete(hash)) {
+                size--;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            tables = new Table[] {new Table(initialBuckets, initialFingerprintBits)};
+            saturated = false;
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public long size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean isSaturated() {
+        return saturated;
+    }
+
+    public long memoryBytes() {
+        long bytes = 0;
+        for (Table table : tables) {
+            bytes += table.bytes();
+        }
+        return bytes;
+    }
+
+    private boolean contains(long hash) {
+        if (saturated) {
+            return true;
+        }
+        for (Table table : tables) {
+            if (table.contains(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static final class Table {
+        private static final int MAX_FINGERPRINT_BITS = 24;
+
+        private final int buckets;
+        private final int fingerprintBits;
+        private final long fingerprintMask;
+        private final long[] slots;
+
+        private Table(int buckets, int fingerprintBits) {
+            this.buckets = buckets;
+            this.fingerprintBits = Math.min(MAX_FINGERPRINT_BITS, fingerprintBits);
+            this.fingerprintMask = (1L << this.fingerprintBits) - 1;
+            this.slots = new long[(int) ((bits(buckets, this.fingerprintBits) + 63) >>> 6)];
+        }
+
+        private static long bits(int buckets, int fingerprintBits) {
+            return (long) buckets * BUCKET_SIZE * fingerprintBits;
+        }
+
+        private static long bytes(int buckets, int fingerprintBits) {
+            return (bits(buckets, fingerprintBits) + 63) / 64 * 8;
+        }
+
+        private long bytes() {
+            return (long) slots.length * 8;
+        }
+
+        private long fingerprint(long hash) {
+            long fingerprint = (hash >>> 32) & fingerprintMask;
+            return fingerprint == 0 ? 1 : fingerprint;
+        }
+
+        private int index(long hash) {
+            return (int) hash & (buckets - 1);
+        }
+
+        private int alternate(int index, long fingerprint) {
+            return (index ^ (int) (fingerprint * 0x5bd1e995L)) & (buckets - 1);
+        }
+
+        private boolean contains(long hash) {
+            long fingerprint = fingerprint(hash);
+            int first = index(hash);
+            return find(first, fingerprint) >= 0 || find(alternate(first, fingerprint), fingerprint) >= 0;
+        }
+
+        private boolean insert(long hash) {
+            long fingerprint = fingerprint(hash);
+            int first = index(hash);
+            int second = alternate(first, fingerprint);
+            if (tryPut(first, fingerprint) || tryPut(second, fingerprint)) {
+                return true;
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int bucket = random.nextBoolean() ? first : second;
+            long[] undoSlots = new long[MAX_KICKS];
+            long[] undoValues = new long[MAX_KICKS];
+            for (int kick = 0; kick < MAX_KICKS; kick++) {
+                long slot = (long) bucket * BUCKET_SIZE + random.nextInt(BUCKET_SIZE);
+                long evicted = get(slot);
+                set(slot, fingerprint);
+                undoSlots[kick] = slot;
+                undoValues[kick] = evicted;
+                fingerprint = evicted;
+                bucket = alternate(bucket, fingerprint);
+                if (tryPut(bucket, fingerprint)) {
+                    return true;
+                }
+            }
+            for (int kick = MAX_KICKS - 1; kick >= 0; kick--) {
+                set(undoSlots[kick], undoValues[kick]);
+            }
+            return false;
+        }
+
+        private boolean delete(long hash) {
+            long fingerprint = fingerprint(hash);
+            int first = index(hash);
+            int slot = find(first, fingerprint);
+            if (slot < 0) {
+                slot = find(alternate(first, fingerprint), fingerprint);
+            }
+            if (slot < 0) {
+                return false;
+            }
+            set(slot, 0);
+            return true;
+        }
+
+        private boolean tryPut(int bucket, long fingerprint) {
+            int slot = find(bucket, 0);
+            if (slot < 0) {
+                return false;
+            }
+            set(slot, fingerprint);
+            return true;
+        }
+
+        private int find(int bucket, long fingerprint) {
+            int start = bucket * BUCKET_SIZE;
+            for (int slot = start; slot < start + BUCKET_SIZE; slot++) {
+                if (get(slot) == fingerprint) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        private long get(long slot) {
+            long bit = slot * fingerprintBits;
+            int word = (int) (bit >>> 6);
+            int offset = (int) (bit & 63);
+            long value = slots[word] >>> offset;
+            if (offset + fingerprintBits > 64) {
+                value |= slots[word + 1] << (64 - offset);
+            }
+            return value & fingerprintMask;
+        }
+
+        private void set(long slot, long value) {
+            long bit = slot * fingerprintBits;
+            int word = (int) (bit >>> 6);
+            int offset = (int) (bit & 63);
+            slots[word] = (slots[word] & ~(fingerprintMask << offset)) | (value << offset);
+            if (offset + fingerprintBits > 64) {
+                int spill = 64 - offset;
+                slots[word + 1] = (slots[word + 1] & ~(fingerprintMask >>> spill)) | (value >>> spill);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.healthcare.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Collapses concurrent calls for the same key into one execution. The first
+ * caller runs the loader; callers arriving while it is in flight wait for and
+ * share its result. Every caller, the leader included, receives its own copy
+ * made by the copier, so no caller holds the shared instance.
+ * <p>
+ * {@link #forgetAll} detaches in-flight executions so later callers start a
+ * new one. Calling it on every write keeps a caller that arrives after a write
+ * from being handed a result computed before it.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight;
+    private final UnaryOperator<V> copier;
+    private final LongAdder executions;
+    private final LongAdder sharedResults;
+
+    public SingleFlight(UnaryOperator<V> copier) {
+        this.inFlight = new ConcurrentHashMap<>();
+        this.copier = copier;
+        this.executions = new LongAdder();
+        this.sharedResults = new LongAdder();
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            sharedResults.increment();
+            return copier.apply(await(existing));
+        }
+
+        executions.increment();
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return copier.apply(value);
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    public long getSharedResultCount() {
+        return sharedResults.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
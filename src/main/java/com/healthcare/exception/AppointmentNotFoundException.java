@@ -1,11 +1,19 @@
 package com.healthcare.exception;
 
-public class AppointmentNotFoundException extends RuntimeException {
+public class AppointmentNotFoundException extends DomainException {
     public AppointmentNotFoundException(String message) {
-        super(message);
+        super(message, null);
     }
 
     public AppointmentNotFoundException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    private AppointmentNotFoundException(Object head, Object tail) {
+        super(head, tail);
+    }
+
+    public static AppointmentNotFoundException forId(String appointmentId) {
+        return new AppointmentNotFoundException("Appointment not found with ID: ", appointmentId);
+    }
 }
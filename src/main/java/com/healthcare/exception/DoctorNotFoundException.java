@@ -1,11 +1,19 @@
 package com.healthcare.exception;
 
-public class DoctorNotFoundException extends RuntimeException {
+public class DoctorNotFoundException extends DomainException {
     public DoctorNotFoundException(String message) {
-        super(message);
+        super(message, null);
     }
 
     public DoctorNotFoundException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    private DoctorNotFoundException(Object head, Object tail) {
+        super(head, tail);
+    }
+
+    public static DoctorNotFoundException forId(String doctorId) {
+        return new DoctorNotFoundException("Doctor not found with ID: ", doctorId);
+    }
 }
@@ -0,0 +1,51 @@
+package com.healthcare.exception;
+
+/**
+ * Base of the exceptions thrown for expected failures such as missing
+ * entities and invalid input.
+ * <p>
+ * In stackless mode, enabled with the {@code healthcare.exceptions.stackless}
+ * system property or {@link #setStackless}, these exceptions skip capturing a
+ * stack trace. Exceptions created through the subclasses' factory methods
+ * also defer building their message until it is first read.
+ */
+public abstract class DomainException extends RuntimeException {
+    private static volatile boolean stackless = Boolean.getBoolean("healthcare.exceptions.stackless");
+
+    private final Object head;
+    private final Object tail;
+    private String message;
+
+    protected DomainException(String message, Throwable cause) {
+        super(message, cause, true, !stackless);
+        this.head = null;
+        this.tail = null;
+        this.message = message;
+    }
+
+    /**
+     * Creates an exception whose message is {@code head} followed by
+     * {@code tail}, concatenated on first use.
+     */
+    protected DomainException(Object head, Object tail) {
+        super(null, null, true, !stackless);
+        this.head = head;
+        this.tail = tail;
+    }
+
+    public static boolean isStackless() {
+        return stackless;
+    }
+
+    public static void setStackless(boolean enabled) {
+        stackless = enabled;
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null && head != null) {
+            message = String.valueOf(head) + tail;
+        }
+        return message;
+    }
+}
@@ -1,11 +1,19 @@
 package com.healthcare.exception;
 
-public class InvalidDataException extends RuntimeException {
+public class InvalidDataException extends DomainException {
     public InvalidDataException(String message) {
-        super(message);
+        super(message, null);
     }
 
     public InvalidDataException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    private InvalidDataException(Object head, Object tail) {
+        super(head, tail);
+    }
+
+    public static InvalidDataException of(Object head, Object tail) {
+        return new InvalidDataException(head, tail);
+    }
 }
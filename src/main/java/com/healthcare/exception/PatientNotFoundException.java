@@ -1,11 +1,19 @@
 package com.healthcare.exception;
 
-public class PatientNotFoundException extends RuntimeException {
+public class PatientNotFoundException extends DomainException {
     public PatientNotFoundException(String message) {
-        super(message);
+        super(message, null);
     }
 
     public PatientNotFoundException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    private PatientNotFoundException(Object head, Object tail) {
+        super(head, tail);
+    }
+
+    public static PatientNotFoundException forId(String patientId) {
+        return new PatientNotFoundException("Patient not found with ID: ", patientId);
+    }
 }
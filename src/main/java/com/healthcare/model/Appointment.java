@@ -3,7 +3,16 @@ package com.healthcare.model;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
-public class Appointment {
+public class Appointment extends TrackedEntity<Appointment> {
+    public static final long FIELD_APPOINTMENT_ID = 1L << 0;
+    public static final long FIELD_PATIENT_ID = 1L << 1;
+    public static final long FIELD_DOCTOR_ID = 1L << 2;
+    public static final long FIELD_APPOINTMENT_DATE_TIME = 1L << 3;
+    public static final long FIELD_REASON = 1L << 4;
+    public static final long FIELD_STATUS = 1L << 5;
+    public static final long FIELD_NOTES = 1L << 6;
+    public static final long FIELD_DURATION_MINUTES = 1L << 7;
+
     private String appointmentId;
     private String patientId;
     private String doctorId;
@@ -35,6 +44,7 @@ public class Appointment {
 
     public void setAppointmentId(String appointmentId) {
         this.appointmentId = appointmentId;
+        markDirty(FIELD_APPOINTMENT_ID);
     }
 
     public String getPatientId() {
@@ -43,6 +53,7 @@ public class Appointment {
 
     public void setPatientId(String patientId) {
         this.patientId = patientId;
+        markDirty(FIELD_PATIENT_ID);
     }
 
     public String getDoctorId() {
@@ -51,6 +62,7 @@ public class Appointment {
 
     public void setDoctorId(String doctorId) {
         this.doctorId = doctorId;
+        markDirty(FIELD_DOCTOR_ID);
     }
 
     public LocalDateTime getAppointmentDateTime() {
@@ -59,6 +71,7 @@ public class Appointment {
 
     public void setAppointmentDateTime(LocalDateTime appointmentDateTime) {
         this.appointmentDateTime = appointmentDateTime;
+        markDirty(FIELD_APPOINTMENT_DATE_TIME);
     }
 
     public String getReason() {
@@ -67,6 +80,7 @@ public class Appointment {
 
     public void setReason(String reason) {
         this.reason = reason;
+        markDirty(FIELD_REASON);
     }
 
     public AppointmentStatus getStatus() {
@@ -75,6 +89,7 @@ public class Appointment {
 
     public void setStatus(AppointmentStatus status) {
         this.status = status;
+        markDirty(FIELD_STATUS);
     }
 
     public String getNotes() {
@@ -83,6 +98,7 @@ public class Appointment {
 
     public void setNotes(String notes) {
         this.notes = notes;
+        markDirty(FIELD_NOTES);
     }
 
     public int getDurationMinutes() {
@@ -91,15 +107,33 @@ public class Appointment {
 
     public void setDurationMinutes(int durationMinutes) {
         this.durationMinutes = durationMinutes;
+        markDirty(FIELD_DURATION_MINUTES);
     }
 
     public boolean isUpcoming() {
-        return appointmentDateTime.isAfter(LocalDateTime.now()) && 
+        return isUpcoming(LocalDateTime.now());
+    }
+
+    public boolean isUpcoming(LocalDateTime now) {
+        return appointmentDateTime.isAfter(now) && 
                status == AppointmentStatus.SCHEDULED;
     }
 
     public boolean isPast() {
-        return appointmentDateTime.isBefore(LocalDateTime.now());
+        return isPast(LocalDateTime.now());
+    }
+
+    public boolean isPast(LocalDateTime now) {
+        return appointmentDateTime.isBefore(now);
+    }
+
+    @Override
+    public Appointment copy() {
+        Appointment copy = new Appointment(appointmentId, patientId, doctorId, appointmentDateTime, reason);
+        copy.status = status;
+        copy.notes = notes;
+        copy.durationMinutes = durationMinutes;
+        return copyTrackingTo(copy);
     }
 
     @Override
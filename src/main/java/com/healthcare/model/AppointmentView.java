@@ -0,0 +1,40 @@
+package com.healthcare.model;
+
+import java.util.Objects;
+
+/**
+ * Appointment together with its patient and doctor, for rendering without a
+ * lookup per row. The patient or doctor is {@code null} when it no longer
+ * exists.
+ */
+public final class AppointmentView {
+    private final Appointment appointment;
+    private final Patient patient;
+    private final Doctor doctor;
+
+    public AppointmentView(Appointment appointment, Patient patient, Doctor doctor) {
+        this.appointment = Objects.requireNonNull(appointment, "appointment");
+        this.patient = patient;
+        this.doctor = doctor;
+    }
+
+    public Appointment getAppointment() {
+        return appointment;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+
+    public Doctor getDoctor() {
+        return doctor;
+    }
+
+    public String getPatientName() {
+        return patient == null ? appointment.getPatientId() : patient.getFullName();
+    }
+
+    public String getDoctorName() {
+        return doctor == null ? appointment.getDoctorId() : doctor.getFullName();
+    }
+}
@@ -0,0 +1,61 @@
+package com.healthcare.model;
+
+public enum BloodGroup {
+    A_POSITIVE("A+"),
+    A_NEGATIVE("A-"),
+    B_POSITIVE("B+"),
+    B_NEGATIVE("B-"),
+    AB_POSITIVE("AB+"),
+    AB_NEGATIVE("AB-"),
+    O_POSITIVE("O+"),
+    O_NEGATIVE("O-");
+
+    private final String code;
+
+    BloodGroup(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the blood group written exactly as {@code code}, such as
+     * {@code "AB-"}, or {@code null} if there is none.
+     */
+    public static BloodGroup fromCode(String code) {
+        if (code == null || code.length() < 2 || code.length() > 3) {
+            return null;
+        }
+        boolean positive;
+        switch (code.charAt(code.length() - 1)) {
+            case '+':
+                positive = true;
+                break;
+            case '-':
+                positive = false;
+                break;
+            default:
+                return null;
+        }
+        if (code.length() == 3) {
+            return code.charAt(0) == 'A' && code.charAt(1) == 'B' ? (positive ? AB_POSITIVE : AB_NEGATIVE) : null;
+        }
+        switch (code.charAt(0)) {
+            case 'A':
+                return positive ? A_POSITIVE : A_NEGATIVE;
+            case 'B':
+                return positive ? B_POSITIVE : B_NEGATIVE;
+            case 'O':
+                return positive ? O_POSITIVE : O_NEGATIVE;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
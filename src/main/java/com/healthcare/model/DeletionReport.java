@@ -0,0 +1,56 @@
+package com.healthcare.model;
+
+import java.util.Collections;
+import java.util.List;
+
+public class DeletionReport {
+    private final String ownerId;
+    private final boolean dryRun;
+    private final List<String> appointmentIds;
+    private final List<String> prescriptionIds;
+    private final List<String> recordIds;
+
+    public DeletionReport(String ownerId, boolean dryRun, List<String> appointmentIds,
+                          List<String> prescriptionIds, List<String> recordIds) {
+        this.ownerId = ownerId;
+        this.dryRun = dryRun;
+        this.appointmentIds = Collections.unmodifiableList(appointmentIds);
+        this.prescriptionIds = Collections.unmodifiableList(prescriptionIds);
+        this.recordIds = Collections.unmodifiableList(recordIds);
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public List<String> getAppointmentIds() {
+        return appointmentIds;
+    }
+
+    public List<String> getPrescriptionIds() {
+        return prescriptionIds;
+    }
+
+    public List<String> getRecordIds() {
+        return recordIds;
+    }
+
+    public int getTotalDependents() {
+        return appointmentIds.size() + prescriptionIds.size() + recordIds.size();
+    }
+
+    @Override
+    public String toString() {
+        return "DeletionReport{" +
+                "ownerId='" + ownerId + '\'' +
+                ", dryRun=" + dryRun +
+                ", appointments=" + appointmentIds.size() +
+                ", prescriptions=" + prescriptionIds.size() +
+                ", records=" + recordIds.size() +
+                '}';
+    }
+}
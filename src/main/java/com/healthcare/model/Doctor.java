@@ -1,12 +1,31 @@
 package com.healthcare.model;
 
+import com.healthcare.util.StringDictionary;
+import com.healthcare.util.StringPool;
+
+import java.util.Locale;
 import java.util.Objects;
 
-public class Doctor {
+public class Doctor extends TrackedEntity<Doctor> {
+    public static final long FIELD_DOCTOR_ID = 1L << 0;
+    public static final long FIELD_FIRST_NAME = 1L << 1;
+    public static final long FIELD_LAST_NAME = 1L << 2;
+    public static final long FIELD_SPECIALIZATION = 1L << 3;
+    public static final long FIELD_PHONE_NUMBER = 1L << 4;
+    public static final long FIELD_EMAIL = 1L << 5;
+    public static final long FIELD_YEARS_OF_EXPERIENCE = 1L << 6;
+    public static final long FIELD_QUALIFICATION = 1L << 7;
+    public static final long FIELD_AVAILABLE = 1L << 8;
+
+    private static final StringDictionary SPECIALIZATIONS =
+            new StringDictionary(value -> value.toLowerCase(Locale.ROOT));
+    private static final StringPool QUALIFICATIONS = new StringPool(4096);
+
     private String doctorId;
     private String firstName;
     private String lastName;
-    private String specialization;
+    private int specialization = StringDictionary.NONE;
+    private String specializationSpelling;
     private String phoneNumber;
     private String email;
     private int yearsOfExperience;
@@ -23,11 +42,11 @@ public class Doctor {
         this.doctorId = doctorId;
         this.firstName = firstName;
         this.lastName = lastName;
-        this.specialization = specialization;
+        assignSpecialization(specialization);
         this.phoneNumber = phoneNumber;
         this.email = email;
         this.yearsOfExperience = yearsOfExperience;
-        this.qualification = qualification;
+        this.qualification = QUALIFICATIONS.canonical(qualification);
         this.isAvailable = true;
     }
 
@@ -37,6 +56,7 @@ public class Doctor {
 
     public void setDoctorId(String doctorId) {
         this.doctorId = doctorId;
+        markDirty(FIELD_DOCTOR_ID);
     }
 
     public String getFirstName() {
@@ -45,6 +65,7 @@ public class Doctor {
 
     public void setFirstName(String firstName) {
         this.firstName = firstName;
+        markDirty(FIELD_FIRST_NAME);
     }
 
     public String getLastName() {
@@ -53,14 +74,37 @@ public class Doctor {
 
     public void setLastName(String lastName) {
         this.lastName = lastName;
+        markDirty(FIELD_LAST_NAME);
     }
 
+    /**
+     * Returns the specialization as it was given, whichever case it was
+     * written in.
+     */
     public String getSpecialization() {
+        return specializationSpelling != null ? specializationSpelling : SPECIALIZATIONS.decode(specialization);
+    }
+
+    /**
+     * Returns the specialization's dictionary code, shared by every doctor
+     * whose specialization is the same ignoring case, or
+     * {@link StringDictionary#NONE} if there is none.
+     */
+    public int getSpecializationCode() {
         return specialization;
     }
 
     public void setSpecialization(String specialization) {
-        this.specialization = specialization;
+        assignSpecialization(specialization);
+        markDirty(FIELD_SPECIALIZATION);
+    }
+
+    /**
+     * Returns the code doctors in {@code specialization} carry, ignoring case,
+     * or {@link StringDictionary#NONE} if no doctor has ever had it.
+     */
+    public static int specializationCode(String specialization) {
+        return SPECIALIZATIONS.lookup(specialization);
     }
 
     public String getPhoneNumber() {
@@ -69,6 +113,7 @@ public class Doctor {
 
     public void setPhoneNumber(String phoneNumber) {
         this.phoneNumber = phoneNumber;
+        markDirty(FIELD_PHONE_NUMBER);
     }
 
     public String getEmail() {
@@ -77,6 +122,7 @@ public class Doctor {
 
     public void setEmail(String email) {
         this.email = email;
+        markDirty(FIELD_EMAIL);
     }
 
     public int getYearsOfExperience() {
@@ -85,6 +131,7 @@ public class Doctor {
 
     public void setYearsOfExperience(int yearsOfExperience) {
         this.yearsOfExperience = yearsOfExperience;
+        markDirty(FIELD_YEARS_OF_EXPERIENCE);
     }
 
     public String getQualification() {
@@ -92,7 +139,8 @@ public class Doctor {
     }
 
     public void setQualification(String qualification) {
-        this.qualification = qualification;
+        this.qualification = QUALIFICATIONS.canonical(qualification);
+        markDirty(FIELD_QUALIFICATION);
     }
 
     public boolean isAvailable() {
@@ -101,12 +149,35 @@ public class Doctor {
 
     public void setAvailable(boolean available) {
         isAvailable = available;
+        markDirty(FIELD_AVAILABLE);
     }
 
     public String getFullName() {
         return "Dr. " + firstName + " " + lastName;
     }
 
+    private void assignSpecialization(String value) {
+        this.specialization = SPECIALIZATIONS.encode(value);
+        this.specializationSpelling = value == null || value.equals(SPECIALIZATIONS.decode(specialization))
+                ? null : value;
+    }
+
+    @Override
+    public Doctor copy() {
+        Doctor copy = new Doctor();
+        copy.doctorId = doctorId;
+        copy.firstName = firstName;
+        copy.lastName = lastName;
+        copy.specialization = specialization;
+        copy.specializationSpelling = specializationSpelling;
+        copy.phoneNumber = phoneNumber;
+        copy.email = email;
+        copy.yearsOfExperience = yearsOfExperience;
+        copy.qualification = qualification;
+        copy.isAvailable = isAvailable;
+        return copyTrackingTo(copy);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -125,7 +196,7 @@ public class Doctor {
         return "Doctor{" +
                 "doctorId='" + doctorId + '\'' +
                 ", name='" + getFullName() + '\'' +
-                ", specialization='" + specialization + '\'' +
+                ", specialization='" + getSpecialization() + '\'' +
                 ", experience=" + yearsOfExperience + " years" +
                 ", qualification='" + qualification + '\'' +
                 ", available=" + isAvailable +
@@ -0,0 +1,54 @@
+package com.healthcare.model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Medication catalog entry. Instances are shared flyweights: every
+ * prescription line for the same medicine refers to the same {@code Drug}.
+ */
+public final class Drug {
+    private final int drugId;
+    private final String name;
+    private final List<String> standardStrengths;
+
+    public Drug(int drugId, String name, List<String> standardStrengths) {
+        this.drugId = drugId;
+        this.name = name;
+        this.standardStrengths = List.copyOf(standardStrengths);
+    }
+
+    public int getDrugId() {
+        return drugId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getStandardStrengths() {
+        return standardStrengths;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Drug drug = (Drug) o;
+        return drugId == drug.drugId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(drugId);
+    }
+
+    @Override
+    public String toString() {
+        return "Drug{" +
+                "drugId=" + drugId +
+                ", name='" + name + '\'' +
+                ", standardStrengths=" + standardStrengths +
+                '}';
+    }
+}
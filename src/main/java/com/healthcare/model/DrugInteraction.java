@@ -0,0 +1,52 @@
+package com.healthcare.model;
+
+import java.util.Objects;
+
+/**
+ * Known interaction between two catalog drugs.
+ */
+public final class DrugInteraction {
+    private final Drug first;
+    private final Drug second;
+    private final Severity severity;
+    private final String description;
+
+    public DrugInteraction(Drug first, Drug second, Severity severity, String description) {
+        this.first = Objects.requireNonNull(first, "first");
+        this.second = Objects.requireNonNull(second, "second");
+        this.severity = Objects.requireNonNull(severity, "severity");
+        this.description = description;
+    }
+
+    public Drug getFirst() {
+        return first;
+    }
+
+    public Drug getSecond() {
+        return second;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean involves(Drug drug) {
+        return first.equals(drug) || second.equals(drug);
+    }
+
+    @Override
+    public String toString() {
+        return first.getName() + " + " + second.getName() + " (" + severity + ")"
+                + (description == null || description.isEmpty() ? "" : ": " + description);
+    }
+
+    public enum Severity {
+        MINOR,
+        MODERATE,
+        MAJOR
+    }
+}
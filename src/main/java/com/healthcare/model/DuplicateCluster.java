@@ -0,0 +1,73 @@
+package com.healthcare.model;
+
+import java.util.Collections;
+import java.util.List;
+
+public class DuplicateCluster {
+    private final String survivorId;
+    private final List<String> patientIds;
+    private final List<Match> matches;
+    private final double score;
+
+    public DuplicateCluster(String survivorId, List<String> patientIds, List<Match> matches, double score) {
+        this.survivorId = survivorId;
+        this.patientIds = Collections.unmodifiableList(patientIds);
+        this.matches = Collections.unmodifiableList(matches);
+        this.score = score;
+    }
+
+    public String getSurvivorId() {
+        return survivorId;
+    }
+
+    public List<String> getPatientIds() {
+        return patientIds;
+    }
+
+    public List<Match> getMatches() {
+        return matches;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "DuplicateCluster{" +
+                "survivorId='" + survivorId + '\'' +
+                ", patientIds=" + patientIds +
+                ", score=" + String.format("%.3f", score) +
+                '}';
+    }
+
+    public static class Match {
+        private final String firstPatientId;
+        private final String secondPatientId;
+        private final double score;
+
+        public Match(String firstPatientId, String secondPatientId, double score) {
+            this.firstPatientId = firstPatientId;
+            this.secondPatientId = secondPatientId;
+            this.score = score;
+        }
+
+        public String getFirstPatientId() {
+            return firstPatientId;
+        }
+
+        public String getSecondPatientId() {
+            return secondPatientId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return "Match{" + firstPatientId + " ~ " + secondPatientId +
+                    ", score=" + String.format("%.3f", score) + '}';
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.healthcare.model;
+
+public enum Gender {
+    MALE("Male"),
+    FEMALE("Female"),
+    OTHER("Other");
+
+    private static final Gender[] VALUES = values();
+
+    private final String displayName;
+
+    Gender(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the gender named by {@code value}, ignoring case, or
+     * {@code null} if it names none.
+     */
+    public static Gender fromString(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (Gender gender : VALUES) {
+            if (gender.displayName.equalsIgnoreCase(value)) {
+                return gender;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -3,7 +3,20 @@ package com.healthcare.model;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
-public class MedicalRecord {
+public class MedicalRecord extends TrackedEntity<MedicalRecord> {
+    public static final long FIELD_RECORD_ID = 1L << 0;
+    public static final long FIELD_PATIENT_ID = 1L << 1;
+    public static final long FIELD_DOCTOR_ID = 1L << 2;
+    public static final long FIELD_APPOINTMENT_ID = 1L << 3;
+    public static final long FIELD_RECORD_DATE_TIME = 1L << 4;
+    public static final long FIELD_CHIEF_COMPLAINT = 1L << 5;
+    public static final long FIELD_DIAGNOSIS = 1L << 6;
+    public static final long FIELD_TREATMENT = 1L << 7;
+    public static final long FIELD_VITAL_SIGNS = 1L << 8;
+    public static final long FIELD_LAB_RESULTS = 1L << 9;
+    public static final long FIELD_NOTES = 1L << 10;
+    public static final long FIELD_FOLLOW_UP_INSTRUCTIONS = 1L << 11;
+
     private String recordId;
     private String patientId;
     private String doctorId;
@@ -38,6 +51,7 @@ public class MedicalRecord {
 
     public void setRecordId(String recordId) {
         this.recordId = recordId;
+        markDirty(FIELD_RECORD_ID);
     }
 
     public String getPatientId() {
@@ -46,6 +60,7 @@ public class MedicalRecord {
 
     public void setPatientId(String patientId) {
         this.patientId = patientId;
+        markDirty(FIELD_PATIENT_ID);
     }
 
     public String getDoctorId() {
@@ -54,6 +69,7 @@ public class MedicalRecord {
 
     public void setDoctorId(String doctorId) {
         this.doctorId = doctorId;
+        markDirty(FIELD_DOCTOR_ID);
     }
 
     public String getAppointmentId() {
@@ -62,6 +78,7 @@ public class MedicalRecord {
 
     public void setAppointmentId(String appointmentId) {
         this.appointmentId = appointmentId;
+        markDirty(FIELD_APPOINTMENT_ID);
     }
 
     public LocalDateTime getRecordDateTime() {
@@ -70,6 +87,7 @@ public class MedicalRecord {
 
     public void setRecordDateTime(LocalDateTime recordDateTime) {
         this.recordDateTime = recordDateTime;
+        markDirty(FIELD_RECORD_DATE_TIME);
     }
 
     public String getChiefComplaint() {
@@ -78,6 +96,7 @@ public class MedicalRecord {
 
     public void setChiefComplaint(String chiefComplaint) {
         this.chiefComplaint = chiefComplaint;
+        markDirty(FIELD_CHIEF_COMPLAINT);
     }
 
     public String getDiagnosis() {
@@ -86,6 +105,7 @@ public class MedicalRecord {
 
     public void setDiagnosis(String diagnosis) {
         this.diagnosis = diagnosis;
+        markDirty(FIELD_DIAGNOSIS);
     }
 
     public String getTreatment() {
@@ -94,6 +114,7 @@ public class MedicalRecord {
 
     public void setTreatment(String treatment) {
         this.treatment = treatment;
+        markDirty(FIELD_TREATMENT);
     }
 
     public String getVitalSigns() {
@@ -102,6 +123,7 @@ public class MedicalRecord {
 
     public void setVitalSigns(String vitalSigns) {
         this.vitalSigns = vitalSigns;
+        markDirty(FIELD_VITAL_SIGNS);
     }
 
     public String getLabResults() {
@@ -110,6 +132,7 @@ public class MedicalRecord {
 
     public void setLabResults(String labResults) {
         this.labResults = labResults;
+        markDirty(FIELD_LAB_RESULTS);
     }
 
     public String getNotes() {
@@ -118,6 +141,7 @@ public class MedicalRecord {
 
     public void setNotes(String notes) {
         this.notes = notes;
+        markDirty(FIELD_NOTES);
     }
 
     public String getFollowUpInstructions() {
@@ -126,6 +150,20 @@ public class MedicalRecord {
 
     public void setFollowUpInstructions(String followUpInstructions) {
         this.followUpInstructions = followUpInstructions;
+        markDirty(FIELD_FOLLOW_UP_INSTRUCTIONS);
+    }
+
+    @Override
+    public MedicalRecord copy() {
+        MedicalRecord copy = new MedicalRecord(recordId, patientId, doctorId,
+                                               appointmentId, chiefComplaint, diagnosis);
+        copy.recordDateTime = recordDateTime;
+        copy.treatment = treatment;
+        copy.vitalSigns = vitalSigns;
+        copy.labResults = labResults;
+        copy.notes = notes;
+        copy.followUpInstructions = followUpInstructions;
+        return copyTrackingTo(copy);
     }
 
     @Override
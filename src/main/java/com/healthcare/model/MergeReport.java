@@ -0,0 +1,56 @@
+package com.healthcare.model;
+
+import java.util.Collections;
+import java.util.List;
+
+public class MergeReport {
+    private final String survivorId;
+    private final String duplicateId;
+    private final List<String> appointmentIds;
+    private final List<String> prescriptionIds;
+    private final List<String> recordIds;
+
+    public MergeReport(String survivorId, String duplicateId, List<String> appointmentIds,
+                       List<String> prescriptionIds, List<String> recordIds) {
+        this.survivorId = survivorId;
+        this.duplicateId = duplicateId;
+        this.appointmentIds = Collections.unmodifiableList(appointmentIds);
+        this.prescriptionIds = Collections.unmodifiableList(prescriptionIds);
+        this.recordIds = Collections.unmodifiableList(recordIds);
+    }
+
+    public String getSurvivorId() {
+        return survivorId;
+    }
+
+    public String getDuplicateId() {
+        return duplicateId;
+    }
+
+    public List<String> getAppointmentIds() {
+        return appointmentIds;
+    }
+
+    public List<String> getPrescriptionIds() {
+        return prescriptionIds;
+    }
+
+    public List<String> getRecordIds() {
+        return recordIds;
+    }
+
+    public int getTotalMoved() {
+        return appointmentIds.size() + prescriptionIds.size() + recordIds.size();
+    }
+
+    @Override
+    public String toString() {
+        return "MergeReport{" +
+                "survivorId='" + survivorId + '\'' +
+                ", duplicateId='" + duplicateId + '\'' +
+                ", appointments=" + appointmentIds.size() +
+                ", prescriptions=" + prescriptionIds.size() +
+                ", records=" + recordIds.size() +
+                '}';
+    }
+}
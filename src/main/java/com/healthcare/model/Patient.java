@@ -3,16 +3,29 @@ package com.healthcare.model;
 import java.time.LocalDate;
 import java.util.Objects;
 
-public class Patient {
+public class Patient extends TrackedEntity<Patient> {
+    public static final long FIELD_PATIENT_ID = 1L << 0;
+    public static final long FIELD_FIRST_NAME = 1L << 1;
+    public static final long FIELD_LAST_NAME = 1L << 2;
+    public static final long FIELD_DATE_OF_BIRTH = 1L << 3;
+    public static final long FIELD_GENDER = 1L << 4;
+    public static final long FIELD_PHONE_NUMBER = 1L << 5;
+    public static final long FIELD_EMAIL = 1L << 6;
+    public static final long FIELD_ADDRESS = 1L << 7;
+    public static final long FIELD_BLOOD_GROUP = 1L << 8;
+    public static final long FIELD_REGISTRATION_DATE = 1L << 9;
+
     private String patientId;
     private String firstName;
     private String lastName;
     private LocalDate dateOfBirth;
-    private String gender;
+    private Gender gender;
+    private String genderSpelling;
     private String phoneNumber;
     private String email;
     private String address;
-    private String bloodGroup;
+    private BloodGroup bloodGroup;
+    private String unrecognizedBloodGroup;
     private LocalDate registrationDate;
 
     public Patient() {
@@ -26,11 +39,11 @@ public class Patient {
         this.firstName = firstName;
         this.lastName = lastName;
         this.dateOfBirth = dateOfBirth;
-        this.gender = gender;
+        assignGender(gender);
         this.phoneNumber = phoneNumber;
         this.email = email;
         this.address = address;
-        this.bloodGroup = bloodGroup;
+        assignBloodGroup(bloodGroup);
         this.registrationDate = LocalDate.now();
     }
 
@@ -40,6 +53,7 @@ public class Patient {
 
     public void setPatientId(String patientId) {
         this.patientId = patientId;
+        markDirty(FIELD_PATIENT_ID);
     }
 
     public String getFirstName() {
@@ -48,6 +62,7 @@ public class Patient {
 
     public void setFirstName(String firstName) {
         this.firstName = firstName;
+        markDirty(FIELD_FIRST_NAME);
     }
 
     public String getLastName() {
@@ -56,6 +71,7 @@ public class Patient {
 
     public void setLastName(String lastName) {
         this.lastName = lastName;
+        markDirty(FIELD_LAST_NAME);
     }
 
     public LocalDate getDateOfBirth() {
@@ -64,14 +80,24 @@ public class Patient {
 
     public void setDateOfBirth(LocalDate dateOfBirth) {
         this.dateOfBirth = dateOfBirth;
+        markDirty(FIELD_DATE_OF_BIRTH);
     }
 
+    /**
+     * Returns the gender as it was given, whichever case it was written in.
+     * Use {@link #getGenderCode()} to compare genders.
+     */
     public String getGender() {
+        return gender != null && genderSpelling == null ? gender.getDisplayName() : genderSpelling;
+    }
+
+    public Gender getGenderCode() {
         return gender;
     }
 
     public void setGender(String gender) {
-        this.gender = gender;
+        assignGender(gender);
+        markDirty(FIELD_GENDER);
     }
 
     public String getPhoneNumber() {
@@ -80,6 +106,7 @@ public class Patient {
 
     public void setPhoneNumber(String phoneNumber) {
         this.phoneNumber = phoneNumber;
+        markDirty(FIELD_PHONE_NUMBER);
     }
 
     public String getEmail() {
@@ -88,6 +115,7 @@ public class Patient {
 
     public void setEmail(String email) {
         this.email = email;
+        markDirty(FIELD_EMAIL);
     }
 
     public String getAddress() {
@@ -96,14 +124,24 @@ public class Patient {
 
     public void setAddress(String address) {
         this.address = address;
+        markDirty(FIELD_ADDRESS);
     }
 
+    /**
+     * Returns the blood group's code, or the value as given if it is not a
+     * valid {@link BloodGroup} code.
+     */
     public String getBloodGroup() {
+        return bloodGroup != null ? bloodGroup.getCode() : unrecognizedBloodGroup;
+    }
+
+    public BloodGroup getBloodGroupCode() {
         return bloodGroup;
     }
 
     public void setBloodGroup(String bloodGroup) {
-        this.bloodGroup = bloodGroup;
+        assignBloodGroup(bloodGroup);
+        markDirty(FIELD_BLOOD_GROUP);
     }
 
     public LocalDate getRegistrationDate() {
@@ -112,6 +150,7 @@ public class Patient {
 
     public void setRegistrationDate(LocalDate registrationDate) {
         this.registrationDate = registrationDate;
+        markDirty(FIELD_REGISTRATION_DATE);
     }
 
     public String getFullName() {
@@ -119,10 +158,36 @@ public class Patient {
     }
 
     public int getAge() {
+        return getAge(LocalDate.now());
+    }
+
+    public int getAge(LocalDate today) {
         if (dateOfBirth == null) {
             return 0;
         }
-        return LocalDate.now().getYear() - dateOfBirth.getYear();
+        return today.getYear() - dateOfBirth.getYear();
+    }
+
+    private void assignGender(String value) {
+        this.gender = Gender.fromString(value);
+        this.genderSpelling = gender == null || !value.equals(gender.getDisplayName()) ? value : null;
+    }
+
+    private void assignBloodGroup(String value) {
+        this.bloodGroup = BloodGroup.fromCode(value);
+        this.unrecognizedBloodGroup = this.bloodGroup == null ? value : null;
+    }
+
+    @Override
+    public Patient copy() {
+        Patient copy = new Patient(patientId, firstName, lastName, dateOfBirth, null,
+                                   phoneNumber, email, address, null);
+        copy.gender = gender;
+        copy.genderSpelling = genderSpelling;
+        copy.bloodGroup = bloodGroup;
+        copy.unrecognizedBloodGroup = unrecognizedBloodGroup;
+        copy.registrationDate = registrationDate;
+        return copyTrackingTo(copy);
     }
 
     @Override
@@ -144,10 +209,10 @@ public class Patient {
                 "patientId='" + patientId + '\'' +
                 ", name='" + getFullName() + '\'' +
                 ", dateOfBirth=" + dateOfBirth +
-                ", gender='" + gender + '\'' +
+                ", gender='" + getGender() + '\'' +
                 ", phoneNumber='" + phoneNumber + '\'' +
                 ", email='" + email + '\'' +
-                ", bloodGroup='" + bloodGroup + '\'' +
+                ", bloodGroup='" + getBloodGroup() + '\'' +
                 '}';
     }
 }
@@ -1,11 +1,24 @@
 package com.healthcare.model;
 
+import com.healthcare.util.StringPool;
+
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
-public class Prescription {
+public class Prescription extends TrackedEntity<Prescription> {
+    public static final long FIELD_PRESCRIPTION_ID = 1L << 0;
+    public static final long FIELD_PATIENT_ID = 1L << 1;
+    public static final long FIELD_DOCTOR_ID = 1L << 2;
+    public static final long FIELD_APPOINTMENT_ID = 1L << 3;
+    public static final long FIELD_PRESCRIPTION_DATE = 1L << 4;
+    public static final long FIELD_MEDICATIONS = 1L << 5;
+    public static final long FIELD_DIAGNOSIS = 1L << 6;
+    public static final long FIELD_INSTRUCTIONS = 1L << 7;
+    public static final long FIELD_VALIDITY_DAYS = 1L << 8;
+
     private String prescriptionId;
     private String patientId;
     private String doctorId;
@@ -40,6 +53,7 @@ public class Prescription {
 
     public void setPrescriptionId(String prescriptionId) {
         this.prescriptionId = prescriptionId;
+        markDirty(FIELD_PRESCRIPTION_ID);
     }
 
     public String getPatientId() {
@@ -48,6 +62,7 @@ public class Prescription {
 
     public void setPatientId(String patientId) {
         this.patientId = patientId;
+        markDirty(FIELD_PATIENT_ID);
     }
 
     public String getDoctorId() {
@@ -56,6 +71,7 @@ public class Prescription {
 
     public void setDoctorId(String doctorId) {
         this.doctorId = doctorId;
+        markDirty(FIELD_DOCTOR_ID);
     }
 
     public String getAppointmentId() {
@@ -64,6 +80,7 @@ public class Prescription {
 
     public void setAppointmentId(String appointmentId) {
         this.appointmentId = appointmentId;
+        markDirty(FIELD_APPOINTMENT_ID);
     }
 
     public LocalDate getPrescriptionDate() {
@@ -72,18 +89,21 @@ public class Prescription {
 
     public void setPrescriptionDate(LocalDate prescriptionDate) {
         this.prescriptionDate = prescriptionDate;
+        markDirty(FIELD_PRESCRIPTION_DATE);
     }
 
     public List<Medication> getMedications() {
-        return medications;
+        return Collections.unmodifiableList(medications);
     }
 
     public void setMedications(List<Medication> medications) {
-        this.medications = medications;
+        this.medications = medications == null ? new ArrayList<>() : new ArrayList<>(medications);
+        markDirty(FIELD_MEDICATIONS);
     }
 
     public void addMedication(Medication medication) {
         this.medications.add(medication);
+        markDirty(FIELD_MEDICATIONS);
     }
 
     public String getDiagnosis() {
@@ -92,6 +112,7 @@ public class Prescription {
 
     public void setDiagnosis(String diagnosis) {
         this.diagnosis = diagnosis;
+        markDirty(FIELD_DIAGNOSIS);
     }
 
     public String getInstructions() {
@@ -100,6 +121,7 @@ public class Prescription {
 
     public void setInstructions(String instructions) {
         this.instructions = instructions;
+        markDirty(FIELD_INSTRUCTIONS);
     }
 
     public int getValidityDays() {
@@ -108,17 +130,52 @@ public class Prescription {
 
     public void setValidityDays(int validityDays) {
         this.validityDays = validityDays;
+        markDirty(FIELD_VALIDITY_DAYS);
     }
 
     public boolean isValid() {
-        LocalDate expiryDate = prescriptionDate.plusDays(validityDays);
-        return LocalDate.now().isBefore(expiryDate) || LocalDate.now().isEqual(expiryDate);
+        return isValid(LocalDate.now());
+    }
+
+    public boolean isValid(LocalDate today) {
+        return !today.isAfter(getExpiryDate());
     }
 
     public LocalDate getExpiryDate() {
         return prescriptionDate.plusDays(validityDays);
     }
 
+    @Override
+    public long getDirtyFields() {
+        long fields = super.getDirtyFields();
+        for (Medication medication : medications) {
+            if (medication.modified) {
+                fields |= FIELD_MEDICATIONS;
+            }
+        }
+        return fields;
+    }
+
+    @Override
+    public void markClean(long version) {
+        super.markClean(version);
+        for (Medication medication : medications) {
+            medication.modified = false;
+        }
+    }
+
+    @Override
+    public Prescription copy() {
+        Prescription copy = new Prescription(prescriptionId, patientId, doctorId, appointmentId, diagnosis);
+        copy.prescriptionDate = prescriptionDate;
+        copy.instructions = instructions;
+        copy.validityDays = validityDays;
+        for (Medication medication : medications) {
+            copy.medications.add(medication.copy());
+        }
+        return copyTrackingTo(copy);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -146,27 +203,62 @@ public class Prescription {
     }
 
     public static class Medication {
+        private static final StringPool DOSAGES = new StringPool(4096);
+        private static final StringPool FREQUENCIES = new StringPool(1024);
+
+        private Drug drug;
         private String medicineName;
         private String dosage;
         private String frequency;
         private int durationDays;
         private String instructions;
+        private boolean modified = true;
 
         public Medication() {}
 
         public Medication(String medicineName, String dosage, String frequency, int durationDays) {
             this.medicineName = medicineName;
-            this.dosage = dosage;
-            this.frequency = frequency;
+            this.dosage = DOSAGES.canonical(dosage);
+            this.frequency = FREQUENCIES.canonical(frequency);
             this.durationDays = durationDays;
         }
 
+        public Medication(Drug drug, String dosage, String frequency, int durationDays) {
+            this((String) null, dosage, frequency, durationDays);
+            this.drug = drug;
+        }
+
         public String getMedicineName() {
-            return medicineName;
+            return drug != null ? drug.getName() : medicineName;
         }
 
         public void setMedicineName(String medicineName) {
             this.medicineName = medicineName;
+            this.drug = null;
+            modified = true;
+        }
+
+        /**
+         * Returns the shared catalog entry, or {@code null} for a free-form
+         * medicine name that matched nothing in the catalog.
+         */
+        public Drug getDrug() {
+            return drug;
+        }
+
+        public int getDrugId() {
+            return drug == null ? -1 : drug.getDrugId();
+        }
+
+        /**
+         * Links the medication to a catalog entry, or unlinks it when
+         * {@code drug} is {@code null}, keeping the entry's name as a
+         * free-form medicine name.
+         */
+        public void setDrug(Drug drug) {
+            this.medicineName = drug == null ? getMedicineName() : null;
+            this.drug = drug;
+            modified = true;
         }
 
         public String getDosage() {
@@ -174,7 +266,8 @@ public class Prescription {
         }
 
         public void setDosage(String dosage) {
-            this.dosage = dosage;
+            this.dosage = DOSAGES.canonical(dosage);
+            modified = true;
         }
 
         public String getFrequency() {
@@ -182,7 +275,8 @@ public class Prescription {
         }
 
         public void setFrequency(String frequency) {
-            this.frequency = frequency;
+            this.frequency = FREQUENCIES.canonical(frequency);
+            modified = true;
         }
 
         public int getDurationDays() {
@@ -191,6 +285,7 @@ public class Prescription {
 
         public void setDurationDays(int durationDays) {
             this.durationDays = durationDays;
+            modified = true;
         }
 
         public String getInstructions() {
@@ -199,12 +294,25 @@ public class Prescription {
 
         public void setInstructions(String instructions) {
             this.instructions = instructions;
+            modified = true;
+        }
+
+        public Medication copy() {
+            Medication copy = new Medication();
+            copy.drug = drug;
+            copy.medicineName = medicineName;
+            copy.dosage = dosage;
+            copy.frequency = frequency;
+            copy.durationDays = durationDays;
+            copy.instructions = instructions;
+            copy.modified = modified;
+            return copy;
         }
 
         @Override
         public String toString() {
             return "Medication{" +
-                    "medicine='" + medicineName + '\'' +
+                    "medicine='" + getMedicineName() + '\'' +
                     ", dosage='" + dosage + '\'' +
                     ", frequency='" + frequency + '\'' +
                     ", duration=" + durationDays + " days" +
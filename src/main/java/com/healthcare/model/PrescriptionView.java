@@ -0,0 +1,40 @@
+package com.healthcare.model;
+
+import java.util.Objects;
+
+/**
+ * Prescription together with its patient and doctor, for rendering without a
+ * lookup per row. The patient or doctor is {@code null} when it no longer
+ * exists.
+ */
+public final class PrescriptionView {
+    private final Prescription prescription;
+    private final Patient patient;
+    private final Doctor doctor;
+
+    public PrescriptionView(Prescription prescription, Patient patient, Doctor doctor) {
+        this.prescription = Objects.requireNonNull(prescription, "prescription");
+        this.patient = patient;
+        this.doctor = doctor;
+    }
+
+    public Prescription getPrescription() {
+        return prescription;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+
+    public Doctor getDoctor() {
+        return doctor;
+    }
+
+    public String getPatientName() {
+        return patient == null ? prescription.getPatientId() : patient.getFullName();
+    }
+
+    public String getDoctorName() {
+        return doctor == null ? prescription.getDoctorId() : doctor.getFullName();
+    }
+}
@@ -0,0 +1,82 @@
+package com.healthcare.model;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * One event on a patient's chart: an appointment at its scheduled time, a
+ * prescription at the start of the day it was written, or a medical record
+ * at the time it was taken.
+ */
+public final class TimelineEntry {
+    /** Orders entries by time, then by type and ID so that ties are stable. */
+    public static final Comparator<TimelineEntry> CHRONOLOGICAL = Comparator
+            .comparing(TimelineEntry::getTimestamp)
+            .thenComparing(TimelineEntry::getType)
+            .thenComparing(TimelineEntry::getId);
+
+    private final Type type;
+    private final LocalDateTime timestamp;
+    private final String id;
+    private final Object entity;
+
+    private TimelineEntry(Type type, LocalDateTime timestamp, String id, Object entity) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    public static TimelineEntry of(Appointment appointment) {
+        return new TimelineEntry(Type.APPOINTMENT, appointment.getAppointmentDateTime(),
+                                 appointment.getAppointmentId(), appointment);
+    }
+
+    public static TimelineEntry of(Prescription prescription) {
+        return new TimelineEntry(Type.PRESCRIPTION, prescription.getPrescriptionDate().atStartOfDay(),
+                                 prescription.getPrescriptionId(), prescription);
+    }
+
+    public static TimelineEntry of(MedicalRecord record) {
+        return new TimelineEntry(Type.MEDICAL_RECORD, record.getRecordDateTime(), record.getRecordId(), record);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Appointment getAppointment() {
+        return type == Type.APPOINTMENT ? (Appointment) entity : null;
+    }
+
+    public Prescription getPrescription() {
+        return type == Type.PRESCRIPTION ? (Prescription) entity : null;
+    }
+
+    public MedicalRecord getMedicalRecord() {
+        return type == Type.MEDICAL_RECORD ? (MedicalRecord) entity : null;
+    }
+
+    @Override
+    public String toString() {
+        return "TimelineEntry{" +
+                "type=" + type +
+                ", timestamp=" + timestamp +
+                ", id='" + id + '\'' +
+                '}';
+    }
+
+    public enum Type {
+        APPOINTMENT,
+        PRESCRIPTION,
+        MEDICAL_RECORD
+    }
+}
@@ -0,0 +1,55 @@
+package com.healthcare.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for entities whose setters record which fields were modified.
+ * Repositories read the dirty mask to re-index only the fields that changed
+ * since the entity was loaded or last saved, and compare versions to detect
+ * instances that were not derived from the currently stored state.
+ */
+public abstract class TrackedEntity<T extends TrackedEntity<T>> {
+    public static final long ALL_FIELDS = -1L;
+
+    private long dirtyFields = ALL_FIELDS;
+    private long version;
+
+    protected void markDirty(long fields) {
+        dirtyFields |= fields;
+    }
+
+    public long getDirtyFields() {
+        return dirtyFields;
+    }
+
+    public boolean isDirty() {
+        return getDirtyFields() != 0;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void markClean(long version) {
+        this.dirtyFields = 0;
+        this.version = version;
+    }
+
+    protected T copyTrackingTo(T copy) {
+        TrackedEntity<?> target = copy;
+        target.dirtyFields = dirtyFields;
+        target.version = version;
+        return copy;
+    }
+
+    public abstract T copy();
+
+    public static <T extends TrackedEntity<T>> List<T> copyAll(List<T> entities) {
+        List<T> copies = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            copies.add(entity.copy());
+        }
+        return copies;
+    }
+}
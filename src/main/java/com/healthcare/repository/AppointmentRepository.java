@@ -4,73 +4,89 @@ import com.healthcare.model.Appointment;
 import com.healthcare.model.AppointmentStatus;
 
 import java.time.LocalDate;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
-public class AppointmentRepository {
-    private final Map<String, Appointment> appointments;
+public class AppointmentRepository extends IndexedRepository<String, Appointment> {
+    private final MultiIndex<String> byPatientId;
+    private final MultiIndex<String> byDoctorId;
+    private final MultiIndex<AppointmentStatus> byStatus;
+    private final SortedIndex<LocalDateTime> byDateTime;
+    private final SortedIndex<LocalDateTime> byScheduledDateTime;
 
     public AppointmentRepository() {
-        this.appointments = new HashMap<>();
+        super(Appointment::getAppointmentId);
+        this.byPatientId = multiIndex(Appointment.FIELD_PATIENT_ID, Appointment::getPatientId);
+        this.byDoctorId = multiIndex(Appointment.FIELD_DOCTOR_ID, Appointment::getDoctorId);
+        this.byStatus = multiIndex(Appointment.FIELD_STATUS, Appointment::getStatus);
+        this.byDateTime = sortedIndex(Appointment.FIELD_APPOINTMENT_DATE_TIME, Appointment::getAppointmentDateTime);
+        this.byScheduledDateTime = sortedIndex(
+                Appointment.FIELD_STATUS | Appointment.FIELD_APPOINTMENT_DATE_TIME,
+                a -> a.getStatus() == AppointmentStatus.SCHEDULED ? a.getAppointmentDateTime() : null);
     }
 
-    public Appointment save(Appointment appointment) {
-        appointments.put(appointment.getAppointmentId(), appointment);
-        return appointment;
+    public List<Appointment> findByPatientId(String patientId) {
+        return byPatientId.find(patientId);
     }
 
-    public Optional<Appointment> findById(String appointmentId) {
-        return Optional.ofNullable(appointments.get(appointmentId));
+    public List<Appointment> findByPatientId(String patientId, String afterId, int limit) {
+        return byPatientId.find(patientId, afterId, limit);
     }
 
-    public List<Appointment> findAll() {
-        return new ArrayList<>(appointments.values());
+    public Stream<Appointment> streamByPatientId(String patientId) {
+        return byPatientId.stream(patientId);
     }
 
-    public List<Appointment> findByPatientId(String patientId) {
-        return appointments.values().stream()
-                .filter(a -> a.getPatientId().equals(patientId))
-                .collect(Collectors.toList());
+    public List<String> findIdsByPatientId(String patientId) {
+        return byPatientId.findIds(patientId);
+    }
+
+    public List<String> findIdsByDoctorId(String doctorId) {
+        return byDoctorId.findIds(doctorId);
     }
 
     public List<Appointment> findByDoctorId(String doctorId) {
-        return appointments.values().stream()
-                .filter(a -> a.getDoctorId().equals(doctorId))
-                .collect(Collectors.toList());
+        return byDoctorId.find(doctorId);
+    }
+
+    public List<Appointment> findByDoctorId(String doctorId, String afterId, int limit) {
+        return byDoctorId.find(doctorId, afterId, limit);
+    }
+
+    public Stream<Appointment> streamByDoctorId(String doctorId) {
+        return byDoctorId.stream(doctorId);
     }
 
     public List<Appointment> findByStatus(AppointmentStatus status) {
-        return appointments.values().stream()
-                .filter(a -> a.getStatus() == status)
-                .collect(Collectors.toList());
+        return byStatus.find(status);
     }
 
-    public List<Appointment> findByDate(LocalDate date) {
-        return appointments.values().stream()
-                .filter(a -> a.getAppointmentDateTime().toLocalDate().equals(date))
-                .collect(Collectors.toList());
+    public List<Appointment> findByStatus(AppointmentStatus status, String afterId, int limit) {
+        return byStatus.find(status, afterId, limit);
     }
 
-    public List<Appointment> findUpcomingAppointments() {
-        return appointments.values().stream()
-                .filter(Appointment::isUpcoming)
-                .sorted(Comparator.comparing(Appointment::getAppointmentDateTime))
-                .collect(Collectors.toList());
+    public Stream<Appointment> streamByStatus(AppointmentStatus status) {
+        return byStatus.stream(status);
     }
 
-    public boolean existsById(String appointmentId) {
-        return appointments.containsKey(appointmentId);
+    public List<Appointment> findByDate(LocalDate date) {
+        return byDateTime.range(date.atStartOfDay(), true, date.plusDays(1).atStartOfDay(), false);
     }
 
-    public void deleteById(String appointmentId) {
-        appointments.remove(appointmentId);
+    public Stream<Appointment> streamByDate(LocalDate date) {
+        return byDateTime.streamRange(date.atStartOfDay(), true, date.plusDays(1).atStartOfDay(), false);
+    }
+
+    public List<Appointment> findUpcomingAppointments() {
+        return findUpcomingAppointments(LocalDateTime.now());
     }
 
-    public long count() {
-        return appointments.size();
+    public List<Appointment> findUpcomingAppointments(LocalDateTime now) {
+        return byScheduledDateTime.tail(now, false);
     }
 
-    public void clear() {
-        appointments.clear();
+    public Stream<Appointment> streamUpcomingAppointments(LocalDateTime now) {
+        return byScheduledDateTime.streamTail(now, false);
     }
 }
@@ -1,55 +1,76 @@
 package com.healthcare.repository;
 
 import com.healthcare.model.Doctor;
+import com.healthcare.util.StringDictionary;
+import com.healthcare.util.ValidationUtil;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public class DoctorRepository {
-    private final Map<String, Doctor> doctors;
+public class DoctorRepository extends IndexedRepository<String, Doctor> {
+    private final UniqueIndex<String> byEmail;
+    private final UniqueIndex<String> byPhone;
+    private final MultiIndex<Integer> bySpecialization;
+    private final MultiIndex<Boolean> byAvailability;
 
     public DoctorRepository() {
-        this.doctors = new HashMap<>();
+        super(Doctor::getDoctorId);
+        this.byEmail = uniqueIndex(Doctor.FIELD_EMAIL, d -> ValidationUtil.normalizeEmail(d.getEmail()));
+        this.byPhone = uniqueIndex(Doctor.FIELD_PHONE_NUMBER, d -> ValidationUtil.normalizePhoneNumber(d.getPhoneNumber()));
+        this.bySpecialization = multiIndex(Doctor.FIELD_SPECIALIZATION, Doctor::getSpecializationCode);
+        this.byAvailability = multiIndex(Doctor.FIELD_AVAILABLE, Doctor::isAvailable);
     }
 
-    public Doctor save(Doctor doctor) {
-        doctors.put(doctor.getDoctorId(), doctor);
-        return doctor;
+    public List<Doctor> findBySpecialization(String specialization) {
+        return findBySpecialization(Doctor.specializationCode(specialization));
     }
 
-    public Optional<Doctor> findById(String doctorId) {
-        return Optional.ofNullable(doctors.get(doctorId));
+    /**
+     * Finds doctors by {@link Doctor#getSpecializationCode() specialization
+     * code}.
+     */
+    public List<Doctor> findBySpecialization(int specializationCode) {
+        if (specializationCode == StringDictionary.NONE) {
+            return new ArrayList<>();
+        }
+        return bySpecialization.find(specializationCode);
     }
 
-    public List<Doctor> findAll() {
-        return new ArrayList<>(doctors.values());
+    public List<Doctor> findBySpecialization(String specialization, String afterId, int limit) {
+        int code = Doctor.specializationCode(specialization);
+        if (code == StringDictionary.NONE) {
+            return new ArrayList<>();
+        }
+        return bySpecialization.find(code, afterId, limit);
     }
 
-    public List<Doctor> findBySpecialization(String specialization) {
-        return doctors.values().stream()
-                .filter(d -> d.getSpecialization().equalsIgnoreCase(specialization))
-                .collect(Collectors.toList());
+    public Stream<Doctor> streamBySpecialization(String specialization) {
+        int code = Doctor.specializationCode(specialization);
+        if (code == StringDictionary.NONE) {
+            return Stream.empty();
+        }
+        return bySpecialization.stream(code);
     }
 
     public List<Doctor> findAvailableDoctors() {
-        return doctors.values().stream()
-                .filter(Doctor::isAvailable)
-                .collect(Collectors.toList());
+        return byAvailability.find(Boolean.TRUE);
     }
 
-    public boolean existsById(String doctorId) {
-        return doctors.containsKey(doctorId);
+    public List<Doctor> findAvailableDoctors(String afterId, int limit) {
+        return byAvailability.find(Boolean.TRUE, afterId, limit);
     }
 
-    public void deleteById(String doctorId) {
-        doctors.remove(doctorId);
+    public Stream<Doctor> streamAvailableDoctors() {
+        return byAvailability.stream(Boolean.TRUE);
     }
 
-    public long count() {
-        return doctors.size();
+    public Optional<Doctor> findByEmail(String email) {
+        return byEmail.find(ValidationUtil.normalizeEmail(email));
     }
 
-    public void clear() {
-        doctors.clear();
+    public Optional<Doctor> findByPhone(String phoneNumber) {
+        return byPhone.find(ValidationUtil.normalizePhoneNumber(phoneNumber));
     }
 }
@@ -0,0 +1,708 @@
+package com.healthcare.repository;
+
+import com.healthcare.model.TrackedEntity;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * In-memory entity store with secondary indexes that are kept in sync on every
+ * save and delete. Subclasses declare their indexes in the constructor as key
+ * extractor functions and answer their finders with index lookups.
+ * <p>
+ * The repository stores and hands out copies, so callers cannot change stored
+ * state without going through {@link #save}. Each index declares the entity
+ * fields it is derived from; when a saved instance was loaded from the current
+ * version, only indexes over its dirty fields are recomputed. Otherwise every
+ * key is recomputed and compared with the keys the entity was last indexed
+ * under. A {@code null} key means the entity is not present in that index.
+ * <p>
+ * Listings and multi-valued index lookups are ordered by ID, which lets them
+ * be read a page at a time after a given ID. The {@code stream} methods walk
+ * the same order in chunks, copying each chunk under a short read lock, so a
+ * stream holds no lock while it is consumed and, like a weakly consistent
+ * iterator, may or may not see writes made meanwhile.
+ */
+public class IndexedRepository<ID extends Comparable<? super ID>, T extends TrackedEntity<T>> {
+    private static final int STREAM_CHUNK_SIZE = 256;
+
+    private final Function<T, ID> idExtractor;
+    private final Map<ID, T> entities;
+    private final NavigableSet<ID> order;
+    private final Map<ID, Object[]> indexedKeys;
+    private final List<Index<?>> indexes;
+    private final List<RepositoryListener<ID, T>> listeners;
+    private final ReadWriteLock lock;
+
+    protected IndexedRepository(Function<T, ID> idExtractor) {
+        this.idExtractor = idExtractor;
+        this.entities = new HashMap<>();
+        this.order = new TreeSet<>();
+        this.indexedKeys = new HashMap<>();
+        this.indexes = new ArrayList<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    protected <K> UniqueIndex<K> uniqueIndex(long fields, Function<T, K> keyExtractor) {
+        return register(new UniqueIndex<>(fields, keyExtractor));
+    }
+
+    protected <K> MultiIndex<K> multiIndex(long fields, Function<T, K> keyExtractor) {
+        return register(new MultiIndex<>(fields, keyExtractor));
+    }
+
+    /**
+     * Indexes each entity under every key in the extracted set, for fields
+     * that hold a collection.
+     */
+    protected <K> MultiValueIndex<K> multiValueIndex(long fields, Function<T, Set<K>> keysExtractor) {
+        return register(new MultiValueIndex<>(fields, keysExtractor));
+    }
+
+    protected <K extends Comparable<? super K>> SortedIndex<K> sortedIndex(long fields, Function<T, K> keyExtractor) {
+        return register(new SortedIndex<>(fields, keyExtractor));
+    }
+
+    private <I extends Index<?>> I register(I index) {
+        if (!entities.isEmpty()) {
+            throw new IllegalStateException("Indexes must be declared before any entity is saved");
+        }
+        Index<?> registered = index;
+        registered.position = indexes.size();
+        indexes.add(registered);
+        return index;
+    }
+
+    public void addListener(RepositoryListener<ID, T> listener) {
+        listeners.add(listener);
+    }
+
+    public T save(T entity) {
+        ID id = idExtractor.apply(entity);
+
+        lock.writeLock().lock();
+        try {
+            T current = entities.get(id);
+            Object[] oldKeys = indexedKeys.get(id);
+            long changedFields = current != null && current.getVersion() == entity.getVersion()
+                    ? entity.getDirtyFields()
+                    : TrackedEntity.ALL_FIELDS;
+
+            Object[] newKeys = oldKeys == null ? new Object[indexes.size()] : oldKeys.clone();
+            for (Index<?> index : indexes) {
+                if (oldKeys == null || (index.fields & changedFields) != 0) {
+                    newKeys[index.position] = index.keyExtractor.apply(entity);
+                }
+            }
+            for (Index<?> index : indexes) {
+                if (oldKeys == null || !Objects.equals(oldKeys[index.position], newKeys[index.position])) {
+                    index.checkConstraint(newKeys[index.position], id);
+                }
+            }
+            for (Index<?> index : indexes) {
+                Object newKey = newKeys[index.position];
+                if (oldKeys == null) {
+                    index.linkKey(newKey, id);
+                } else if (!Objects.equals(oldKeys[index.position], newKey)) {
+                    index.unlinkKey(oldKeys[index.position], id);
+                    index.linkKey(newKey, id);
+                }
+            }
+
+            long version = current == null ? 1 : current.getVersion() + 1;
+            T snapshot = entity.copy();
+            snapshot.markClean(version);
+            entity.markClean(version);
+            if (entities.put(id, snapshot) == null) {
+                order.add(id);
+            }
+            indexedKeys.put(id, newKeys);
+            for (RepositoryListener<ID, T> listener : listeners) {
+                listener.saved(id, current, snapshot);
+            }
+            return entity;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<T> findById(ID id) {
+        lock.readLock().lock();
+        try {
+            T entity = entities.get(id);
+            return entity == null ? Optional.empty() : Optional.of(entity.copy());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Looks up several entities under one read lock. The result follows the
+     * order of {@code ids}, without duplicates, and leaves out IDs that are
+     * not stored.
+     */
+    public Map<ID, T> findAllById(Collection<? extends ID> ids) {
+        Map<ID, T> result = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (ID id : ids) {
+                T entity = entities.get(id);
+                if (entity != null && !result.containsKey(id)) {
+                    result.put(id, entity.copy());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public List<T> findAll() {
+        lock.readLock().lock();
+        try {
+            return resolve(order);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} entities in ID order, starting after
+     * {@code afterId}, or from the first entity when it is {@code null}.
+     */
+    public List<T> findAll(ID afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            return resolve(afterId == null ? order : order.tailSet(afterId, false), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Stream<T> streamAll() {
+        return chunked(last -> findAll(last == null ? null : idExtractor.apply(last), STREAM_CHUNK_SIZE));
+    }
+
+    /**
+     * Maps every stored entity without copying it first. The mapper sees the
+     * stored instance and must neither modify nor retain it.
+     */
+    public <R> List<R> mapAll(Function<? super T, R> mapper) {
+        lock.readLock().lock();
+        try {
+            List<R> result = new ArrayList<>(entities.size());
+            for (T entity : entities.values()) {
+                result.add(mapper.apply(entity));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean existsById(ID id) {
+        lock.readLock().lock();
+        try {
+            return entities.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void deleteById(ID id) {
+        lock.writeLock().lock();
+        try {
+            T previous = entities.remove(id);
+            if (previous != null) {
+                order.remove(id);
+            }
+            Object[] oldKeys = indexedKeys.remove(id);
+            if (oldKeys != null) {
+                for (Index<?> index : indexes) {
+                    index.unlinkKey(oldKeys[index.position], id);
+                }
+            }
+            if (previous != null) {
+                for (RepositoryListener<ID, T> listener : listeners) {
+                    listener.deleted(id, previous);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void deleteAllById(Collection<ID> ids) {
+        lock.writeLock().lock();
+        try {
+            for (ID id : ids) {
+                deleteById(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the mutator to a copy of each stored entity and saves it under a
+     * single write lock. Only indexes over the fields the mutator changed are
+     * updated. Unknown IDs are skipped; returns the number of entities saved.
+     */
+    public int updateAll(Collection<ID> ids, Consumer<? super T> mutator) {
+        lock.writeLock().lock();
+        try {
+            int updated = 0;
+            for (ID id : ids) {
+                T current = entities.get(id);
+                if (current != null) {
+                    T working = current.copy();
+                    mutator.accept(working);
+                    save(working);
+                    updated++;
+                }
+            }
+            return updated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public <R> R atomically(Supplier<R> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs {@code action} under the read lock, so that nothing is written to
+     * this repository until it returns. Reads from other threads can still
+     * run alongside it. The action must not write to this repository.
+     */
+    public <R> R withReadLock(Supplier<R> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return entities.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entities.clear();
+            order.clear();
+            indexedKeys.clear();
+            for (Index<?> index : indexes) {
+                index.clear();
+            }
+            for (RepositoryListener<ID, T> listener : listeners) {
+                listener.cleared();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected static String foldCase(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private List<T> resolve(Collection<ID> ids) {
+        List<T> result = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            result.add(entities.get(id).copy());
+        }
+        return result;
+    }
+
+    private List<T> resolve(Collection<ID> ids, int limit) {
+        List<T> result = new ArrayList<>(Math.min(ids.size(), limit));
+        for (ID id : ids) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(entities.get(id).copy());
+        }
+        return result;
+    }
+
+    /**
+     * Streams entities fetched a chunk at a time. The fetcher is given the
+     * last entity of the previous chunk, or {@code null} for the first one,
+     * and a chunk shorter than {@link #STREAM_CHUNK_SIZE} ends the stream.
+     */
+    private Stream<T> chunked(Function<T, List<T>> fetcher) {
+        Spliterator<T> chunks = new Spliterators.AbstractSpliterator<T>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private List<T> chunk = Collections.emptyList();
+            private int next;
+            private boolean exhausted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (next == chunk.size()) {
+                    if (exhausted) {
+                        return false;
+                    }
+                    chunk = fetcher.apply(chunk.isEmpty() ? null : chunk.get(chunk.size() - 1));
+                    next = 0;
+                    exhausted = chunk.size() < STREAM_CHUNK_SIZE;
+                    if (chunk.isEmpty()) {
+                        return false;
+                    }
+                }
+                action.accept(chunk.get(next++));
+                return true;
+            }
+        };
+        return StreamSupport.stream(chunks, false);
+    }
+
+    public abstract class Index<K> {
+        private final long fields;
+        private final Function<T, K> keyExtractor;
+        private int position;
+
+        private Index(long fields, Function<T, K> keyExtractor) {
+            this.fields = fields;
+            this.keyExtractor = keyExtractor;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void linkKey(Object key, ID id) {
+            if (key != null) {
+                link((K) key, id);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void unlinkKey(Object key, ID id) {
+            if (key != null) {
+                unlink((K) key, id);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void checkConstraint(Object key, ID id) {
+            if (key != null) {
+                check((K) key, id);
+            }
+        }
+
+        void check(K key, ID id) {
+        }
+
+        abstract void link(K key, ID id);
+
+        abstract void unlink(K key, ID id);
+
+        abstract void clear();
+    }
+
+    public final class UniqueIndex<K> extends Index<K> {
+        private final Map<K, ID> ids = new HashMap<>();
+
+        private UniqueIndex(long fields, Function<T, K> keyExtractor) {
+            super(fields, keyExtractor);
+        }
+
+        @Override
+        void check(K key, ID id) {
+            ID owner = ids.get(key);
+            if (owner != null && !owner.equals(id)) {
+                throw new IllegalStateException("Duplicate key '" + key + "' already used by " + owner);
+            }
+        }
+
+        @Override
+        void link(K key, ID id) {
+            ids.put(key, id);
+        }
+
+        @Override
+        void unlink(K key, ID id) {
+            ids.remove(key, id);
+        }
+
+        @Override
+        void clear() {
+            ids.clear();
+        }
+
+        public Optional<T> find(K key) {
+            lock.readLock().lock();
+            try {
+                ID id = key == null ? null : ids.get(key);
+                return id == null ? Optional.empty() : Optional.of(entities.get(id).copy());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        public boolean contains(K key) {
+            lock.readLock().lock();
+            try {
+                return key != null && ids.containsKey(key);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    public final class MultiIndex<K> extends Index<K> {
+        private final Map<K, NavigableSet<ID>> ids = new HashMap<>();
+
+        private MultiIndex(long fields, Function<T, K> keyExtractor) {
+            super(fields, keyExtractor);
+        }
+
+        @Override
+        void link(K key, ID id) {
+            ids.computeIfAbsent(key, k -> new TreeSet<>()).add(id);
+        }
+
+        @Override
+        void unlink(K key, ID id) {
+            NavigableSet<ID> bucket = ids.get(key);
+            if (bucket != null && bucket.remove(id) && bucket.isEmpty()) {
+                ids.remove(key);
+            }
+        }
+
+        @Override
+        void clear() {
+            ids.clear();
+        }
+
+        public List<T> find(K key) {
+            lock.readLock().lock();
+            try {
+                Set<ID> bucket = key == null ? null : ids.get(key);
+                return bucket == null ? new ArrayList<>() : resolve(bucket);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Returns up to {@code limit} entities under the key in ID order,
+         * starting after {@code afterId}, or from the first when it is
+         * {@code null}.
+         */
+        public List<T> find(K key, ID afterId, int limit) {
+            lock.readLock().lock();
+            try {
+                NavigableSet<ID> bucket = key == null ? null : ids.get(key);
+                if (bucket == null) {
+                    return new ArrayList<>();
+                }
+                return resolve(afterId == null ? bucket : bucket.tailSet(afterId, false), limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        public Stream<T> stream(K key) {
+            return chunked(last -> find(key, last == null ? null : idExtractor.apply(last), STREAM_CHUNK_SIZE));
+        }
+
+        public List<ID> findIds(K key) {
+            lock.readLock().lock();
+            try {
+                Set<ID> bucket = key == null ? null : ids.get(key);
+                return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        public int count(K key) {
+            lock.readLock().lock();
+            try {
+                Set<ID> bucket = key == null ? null : ids.get(key);
+                return bucket == null ? 0 : bucket.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    public final class MultiValueIndex<K> extends Index<Set<K>> {
+        private final MultiIndex<K> ids;
+
+        private MultiValueIndex(long fields, Function<T, Set<K>> keysExtractor) {
+            super(fields, keysExtractor);
+            this.ids = new MultiIndex<>(fields, null);
+        }
+
+        @Override
+        void link(Set<K> keys, ID id) {
+            for (K key : keys) {
+                ids.link(key, id);
+            }
+        }
+
+        @Override
+        void unlink(Set<K> keys, ID id) {
+            for (K key : keys) {
+                ids.unlink(key, id);
+            }
+        }
+
+        @Override
+        void clear() {
+            ids.clear();
+        }
+
+        public List<T> find(K key) {
+            return ids.find(key);
+        }
+
+        public List<T> find(K key, ID afterId, int limit) {
+            return ids.find(key, afterId, limit);
+        }
+
+        public Stream<T> stream(K key) {
+            return ids.stream(key);
+        }
+
+        public List<ID> findIds(K key) {
+            return ids.findIds(key);
+        }
+
+        public int count(K key) {
+            return ids.count(key);
+        }
+    }
+
+    public final class SortedIndex<K extends Comparable<? super K>> extends Index<K> {
+        private final NavigableMap<K, NavigableSet<ID>> ids = new TreeMap<>();
+
+        private SortedIndex(long fields, Function<T, K> keyExtractor) {
+            super(fields, keyExtractor);
+        }
+
+        @Override
+        void link(K key, ID id) {
+            ids.computeIfAbsent(key, k -> new TreeSet<>()).add(id);
+        }
+
+        @Override
+        void unlink(K key, ID id) {
+            NavigableSet<ID> bucket = ids.get(key);
+            if (bucket != null && bucket.remove(id) && bucket.isEmpty()) {
+                ids.remove(key);
+            }
+        }
+
+        @Override
+        void clear() {
+            ids.clear();
+        }
+
+        public List<T> range(K from, boolean fromInclusive, K to, boolean toInclusive) {
+            lock.readLock().lock();
+            try {
+                return flatten(ids.subMap(from, fromInclusive, to, toInclusive));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        public List<T> tail(K from, boolean inclusive) {
+            lock.readLock().lock();
+            try {
+                return flatten(ids.tailMap(from, inclusive));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        public List<T> head(K to, boolean inclusive) {
+            lock.readLock().lock();
+            try {
+                return flatten(ids.headMap(to, inclusive));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Streams the range ordered by key, then by ID within a key.
+         */
+        public Stream<T> streamRange(K from, boolean fromInclusive, K to, boolean toInclusive) {
+            return chunked(last -> after(ids.subMap(from, fromInclusive, to, toInclusive), last));
+        }
+
+        /**
+         * Streams the range ordered by key from the highest, then by ID
+         * within a key.
+         */
+        public Stream<T> streamRangeDescending(K from, boolean fromInclusive, K to, boolean toInclusive) {
+            return chunked(last -> after(ids.subMap(from, fromInclusive, to, toInclusive).descendingMap(), last));
+        }
+
+        public Stream<T> streamTail(K from, boolean inclusive) {
+            return chunked(last -> after(ids.tailMap(from, inclusive), last));
+        }
+
+        private List<T> flatten(Map<K, ? extends Set<ID>> view) {
+            List<T> result = new ArrayList<>();
+            for (Set<ID> bucket : view.values()) {
+                result.addAll(resolve(bucket));
+            }
+            return result;
+        }
+
+        /**
+         * Returns the next chunk of the view after the position of the given
+         * entity, which was copied while it was indexed under its current
+         * key, so that key is still within the view.
+         */
+        private List<T> after(NavigableMap<K, NavigableSet<ID>> view, T last) {
+            lock.readLock().lock();
+            try {
+                List<T> result = new ArrayList<>();
+                Map<K, NavigableSet<ID>> rest = view;
+                if (last != null) {
+                    K key = super.keyExtractor.apply(last);
+                    NavigableSet<ID> bucket = view.get(key);
+                    if (bucket != null) {
+                        result.addAll(resolve(bucket.tailSet(idExtractor.apply(last), false), STREAM_CHUNK_SIZE));
+                    }
+                    rest = view.tailMap(key, false);
+                }
+                for (NavigableSet<ID> bucket : rest.values()) {
+                    if (result.size() == STREAM_CHUNK_SIZE) {
+                        break;
+                    }
+                    result.addAll(resolve(bucket, STREAM_CHUNK_SIZE - result.size()));
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
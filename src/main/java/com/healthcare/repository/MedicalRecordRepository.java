@@ -2,61 +2,107 @@ package com.healthcare.repository;
 
 import com.healthcare.model.MedicalRecord;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public class MedicalRecordRepository {
-    private final Map<String, MedicalRecord> records;
+public class MedicalRecordRepository extends IndexedRepository<String, MedicalRecord> {
+    private final MultiIndex<String> byPatientId;
+    private final MultiIndex<String> byDoctorId;
+    private final MultiIndex<String> byAppointmentId;
+    private final SortedIndex<PatientRecordTime> byPatientRecordTime;
 
     public MedicalRecordRepository() {
-        this.records = new HashMap<>();
+        super(MedicalRecord::getRecordId);
+        this.byPatientId = multiIndex(MedicalRecord.FIELD_PATIENT_ID, MedicalRecord::getPatientId);
+        this.byDoctorId = multiIndex(MedicalRecord.FIELD_DOCTOR_ID, MedicalRecord::getDoctorId);
+        this.byAppointmentId = multiIndex(MedicalRecord.FIELD_APPOINTMENT_ID, MedicalRecord::getAppointmentId);
+        this.byPatientRecordTime = sortedIndex(
+                MedicalRecord.FIELD_PATIENT_ID | MedicalRecord.FIELD_RECORD_DATE_TIME,
+                r -> r.getPatientId() == null || r.getRecordDateTime() == null
+                        ? null : new PatientRecordTime(r.getPatientId(), r.getRecordDateTime()));
     }
 
-    public MedicalRecord save(MedicalRecord record) {
-        records.put(record.getRecordId(), record);
-        return record;
+    public List<MedicalRecord> findByPatientId(String patientId) {
+        List<MedicalRecord> records = byPatientId.find(patientId);
+        records.sort(Comparator.comparing(MedicalRecord::getRecordDateTime).reversed());
+        return records;
     }
 
-    public Optional<MedicalRecord> findById(String recordId) {
-        return Optional.ofNullable(records.get(recordId));
+    /**
+     * Pages through the patient's records in ID order, unlike
+     * {@link #findByPatientId(String)}, which sorts them newest first.
+     */
+    public List<MedicalRecord> findByPatientId(String patientId, String afterId, int limit) {
+        return byPatientId.find(patientId, afterId, limit);
     }
 
-    public List<MedicalRecord> findAll() {
-        return new ArrayList<>(records.values());
+    public Stream<MedicalRecord> streamByPatientId(String patientId) {
+        return byPatientId.stream(patientId);
     }
 
-    public List<MedicalRecord> findByPatientId(String patientId) {
-        return records.values().stream()
-                .filter(r -> r.getPatientId().equals(patientId))
-                .sorted(Comparator.comparing(MedicalRecord::getRecordDateTime).reversed())
-                .collect(Collectors.toList());
+    /**
+     * Streams the patient's records newest first, in the order of
+     * {@link #findByPatientId(String)}, without copying them all up front.
+     */
+    public Stream<MedicalRecord> streamByPatientIdNewestFirst(String patientId) {
+        return byPatientRecordTime.streamRangeDescending(new PatientRecordTime(patientId, LocalDateTime.MIN), true,
+                                                         new PatientRecordTime(patientId, LocalDateTime.MAX), true);
     }
 
-    public List<MedicalRecord> findByDoctorId(String doctorId) {
-        return records.values().stream()
-                .filter(r -> r.getDoctorId().equals(doctorId))
-                .collect(Collectors.toList());
+    public List<String> findIdsByPatientId(String patientId) {
+        return byPatientId.findIds(patientId);
     }
 
-    public Optional<MedicalRecord> findByAppointmentId(String appointmentId) {
-        return records.values().stream()
-                .filter(r -> r.getAppointmentId().equals(appointmentId))
-                .findFirst();
+    public List<String> findIdsByDoctorId(String doctorId) {
+        return byDoctorId.findIds(doctorId);
+    }
+
+    public List<MedicalRecord> findByDoctorId(String doctorId) {
+        return byDoctorId.find(doctorId);
     }
 
-    public boolean existsById(String recordId) {
-        return records.containsKey(recordId);
+    public List<MedicalRecord> findByDoctorId(String doctorId, String afterId, int limit) {
+        return byDoctorId.find(doctorId, afterId, limit);
     }
 
-    public void deleteById(String recordId) {
-        records.remove(recordId);
+    public Stream<MedicalRecord> streamByDoctorId(String doctorId) {
+        return byDoctorId.stream(doctorId);
     }
 
-    public long count() {
-        return records.size();
+    public Optional<MedicalRecord> findByAppointmentId(String appointmentId) {
+        return byAppointmentId.find(appointmentId).stream().findFirst();
     }
 
-    public void clear() {
-        records.clear();
+    private static final class PatientRecordTime implements Comparable<PatientRecordTime> {
+        private final String patientId;
+        private final LocalDateTime recordDateTime;
+
+        private PatientRecordTime(String patientId, LocalDateTime recordDateTime) {
+            this.patientId = patientId;
+            this.recordDateTime = recordDateTime;
+        }
+
+        @Override
+        public int compareTo(PatientRecordTime other) {
+            int byPatient = patientId.compareTo(other.patientId);
+            return byPatient != 0 ? byPatient : recordDateTime.compareTo(other.recordDateTime);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PatientRecordTime)) return false;
+            PatientRecordTime that = (PatientRecordTime) o;
+            return patientId.equals(that.patientId) && recordDateTime.equals(that.recordDateTime);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(patientId, recordDateTime);
+        }
     }
 }
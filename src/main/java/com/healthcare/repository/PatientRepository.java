@@ -1,55 +1,65 @@
 package com.healthcare.repository;
 
+import com.healthcare.model.BloodGroup;
 import com.healthcare.model.Patient;
+import com.healthcare.util.ValidationUtil;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public class PatientRepository {
-    private final Map<String, Patient> patients;
+public class PatientRepository extends IndexedRepository<String, Patient> {
+    private final UniqueIndex<String> byEmail;
+    private final UniqueIndex<String> byPhone;
+    private final MultiIndex<String> byLastName;
+    private final MultiIndex<BloodGroup> byBloodGroup;
 
     public PatientRepository() {
-        this.patients = new HashMap<>();
+        super(Patient::getPatientId);
+        this.byEmail = uniqueIndex(Patient.FIELD_EMAIL, p -> ValidationUtil.normalizeEmail(p.getEmail()));
+        this.byPhone = uniqueIndex(Patient.FIELD_PHONE_NUMBER, p -> ValidationUtil.normalizePhoneNumber(p.getPhoneNumber()));
+        this.byLastName = multiIndex(Patient.FIELD_LAST_NAME, p -> foldCase(p.getLastName()));
+        this.byBloodGroup = multiIndex(Patient.FIELD_BLOOD_GROUP, Patient::getBloodGroupCode);
     }
 
-    public Patient save(Patient patient) {
-        patients.put(patient.getPatientId(), patient);
-        return patient;
+    public List<Patient> findByLastName(String lastName) {
+        return byLastName.find(foldCase(lastName));
     }
 
-    public Optional<Patient> findById(String patientId) {
-        return Optional.ofNullable(patients.get(patientId));
+    public List<Patient> findByLastName(String lastName, String afterId, int limit) {
+        return byLastName.find(foldCase(lastName), afterId, limit);
     }
 
-    public List<Patient> findAll() {
-        return new ArrayList<>(patients.values());
+    public Stream<Patient> streamByLastName(String lastName) {
+        return byLastName.stream(foldCase(lastName));
     }
 
-    public List<Patient> findByLastName(String lastName) {
-        return patients.values().stream()
-                .filter(p -> p.getLastName().equalsIgnoreCase(lastName))
-                .collect(Collectors.toList());
+    public List<Patient> findByBloodGroup(String bloodGroup) {
+        return byBloodGroup.find(bloodGroupKey(bloodGroup));
     }
 
-    public List<Patient> findByBloodGroup(String bloodGroup) {
-        return patients.values().stream()
-                .filter(p -> p.getBloodGroup().equalsIgnoreCase(bloodGroup))
-                .collect(Collectors.toList());
+    public List<Patient> findByBloodGroup(BloodGroup bloodGroup) {
+        return byBloodGroup.find(bloodGroup);
+    }
+
+    public List<Patient> findByBloodGroup(String bloodGroup, String afterId, int limit) {
+        return byBloodGroup.find(bloodGroupKey(bloodGroup), afterId, limit);
     }
 
-    public boolean existsById(String patientId) {
-        return patients.containsKey(patientId);
+    public Stream<Patient> streamByBloodGroup(String bloodGroup) {
+        return byBloodGroup.stream(bloodGroupKey(bloodGroup));
     }
 
-    public void deleteById(String patientId) {
-        patients.remove(patientId);
+    public Optional<Patient> findByEmail(String email) {
+        return byEmail.find(ValidationUtil.normalizeEmail(email));
     }
 
-    public long count() {
-        return patients.size();
+    public Optional<Patient> findByPhone(String phoneNumber) {
+        return byPhone.find(ValidationUtil.normalizePhoneNumber(phoneNumber));
     }
 
-    public void clear() {
-        patients.clear();
+    private static BloodGroup bloodGroupKey(String bloodGroup) {
+        return BloodGroup.fromCode(bloodGroup == null ? null : bloodGroup.toUpperCase(Locale.ROOT));
     }
 }
@@ -2,60 +2,95 @@ package com.healthcare.repository;
 
 import com.healthcare.model.Prescription;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public class PrescriptionRepository {
-    private final Map<String, Prescription> prescriptions;
+public class PrescriptionRepository extends IndexedRepository<String, Prescription> {
+    private final MultiIndex<String> byPatientId;
+    private final MultiIndex<String> byDoctorId;
+    private final SortedIndex<LocalDate> byExpiryDate;
+    private final MultiValueIndex<Integer> byDrugId;
 
     public PrescriptionRepository() {
-        this.prescriptions = new HashMap<>();
+        super(Prescription::getPrescriptionId);
+        this.byPatientId = multiIndex(Prescription.FIELD_PATIENT_ID, Prescription::getPatientId);
+        this.byDoctorId = multiIndex(Prescription.FIELD_DOCTOR_ID, Prescription::getDoctorId);
+        this.byExpiryDate = sortedIndex(
+                Prescription.FIELD_PRESCRIPTION_DATE | Prescription.FIELD_VALIDITY_DAYS,
+                p -> p.getPrescriptionDate() == null ? null : p.getExpiryDate());
+        this.byDrugId = multiValueIndex(Prescription.FIELD_MEDICATIONS, PrescriptionRepository::drugIds);
     }
 
-    public Prescription save(Prescription prescription) {
-        prescriptions.put(prescription.getPrescriptionId(), prescription);
-        return prescription;
+    public List<Prescription> findByPatientId(String patientId) {
+        return byPatientId.find(patientId);
     }
 
-    public Optional<Prescription> findById(String prescriptionId) {
-        return Optional.ofNullable(prescriptions.get(prescriptionId));
+    public List<Prescription> findByPatientId(String patientId, String afterId, int limit) {
+        return byPatientId.find(patientId, afterId, limit);
     }
 
-    public List<Prescription> findAll() {
-        return new ArrayList<>(prescriptions.values());
+    public Stream<Prescription> streamByPatientId(String patientId) {
+        return byPatientId.stream(patientId);
     }
 
-    public List<Prescription> findByPatientId(String patientId) {
-        return prescriptions.values().stream()
-                .filter(p -> p.getPatientId().equals(patientId))
-                .collect(Collectors.toList());
+    public List<String> findIdsByPatientId(String patientId) {
+        return byPatientId.findIds(patientId);
+    }
+
+    public List<String> findIdsByDoctorId(String doctorId) {
+        return byDoctorId.findIds(doctorId);
     }
 
     public List<Prescription> findByDoctorId(String doctorId) {
-        return prescriptions.values().stream()
-                .filter(p -> p.getDoctorId().equals(doctorId))
-                .collect(Collectors.toList());
+        return byDoctorId.find(doctorId);
     }
 
-    public List<Prescription> findValidPrescriptions() {
-        return prescriptions.values().stream()
-                .filter(Prescription::isValid)
-                .collect(Collectors.toList());
+    public List<Prescription> findByDoctorId(String doctorId, String afterId, int limit) {
+        return byDoctorId.find(doctorId, afterId, limit);
+    }
+
+    public Stream<Prescription> streamByDoctorId(String doctorId) {
+        return byDoctorId.stream(doctorId);
+    }
+
+    public List<Prescription> findByDrugId(int drugId) {
+        return byDrugId.find(drugId);
+    }
+
+    public List<Prescription> findByDrugId(int drugId, String afterId, int limit) {
+        return byDrugId.find(drugId, afterId, limit);
+    }
+
+    public Stream<Prescription> streamByDrugId(int drugId) {
+        return byDrugId.stream(drugId);
+    }
+
+    public int countByDrugId(int drugId) {
+        return byDrugId.count(drugId);
     }
 
-    public boolean existsById(String prescriptionId) {
-        return prescriptions.containsKey(prescriptionId);
+    public List<Prescription> findValidPrescriptions() {
+        return findValidPrescriptions(LocalDate.now());
     }
 
-    public void deleteById(String prescriptionId) {
-        prescriptions.remove(prescriptionId);
+    public List<Prescription> findValidPrescriptions(LocalDate today) {
+        return byExpiryDate.tail(today, true);
     }
 
-    public long count() {
-        return prescriptions.size();
+    public Stream<Prescription> streamValidPrescriptions(LocalDate today) {
+        return byExpiryDate.streamTail(today, true);
     }
 
-    public void clear() {
-        prescriptions.clear();
+    private static Set<Integer> drugIds(Prescription prescription) {
+        Set<Integer> ids = new HashSet<>();
+        for (Prescription.Medication medication : prescription.getMedications()) {
+            if (medication.getDrug() != null) {
+                ids.add(medication.getDrugId());
+            }
+        }
+        return ids.isEmpty() ? null : ids;
     }
 }
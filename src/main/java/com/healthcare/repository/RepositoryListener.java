@@ -0,0 +1,89 @@
+package com.healthcare.repository;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Receives every change applied to an {@link IndexedRepository}. Callbacks run
+ * while the repository's write lock is held, after the change is applied, so
+ * they must be short and must not call back into a different repository. The
+ * entities passed in are stored snapshots and must not be modified.
+ */
+public interface RepositoryListener<ID, T> {
+
+    default void saved(ID id, T previous, T current) {
+    }
+
+    default void deleted(ID id, T previous) {
+    }
+
+    default void cleared() {
+    }
+
+    static <ID, T> RepositoryListener<ID, T> invalidating(Consumer<ID> invalidate, Runnable invalidateAll) {
+        return new RepositoryListener<ID, T>() {
+            @Override
+            public void saved(ID id, T previous, T current) {
+                invalidate.accept(id);
+            }
+
+            @Override
+            public void deleted(ID id, T previous) {
+                invalidate.accept(id);
+            }
+
+            @Override
+            public void cleared() {
+                invalidateAll.run();
+            }
+        };
+    }
+
+    /**
+     * Invalidates the query keys an entity contributed to before and after
+     * each change, as computed by {@code keyOf}.
+     */
+    static <ID, T, K> RepositoryListener<ID, T> invalidatingKeys(Function<T, K> keyOf, Consumer<K> invalidate,
+                                                                 Runnable invalidateAll) {
+        return new RepositoryListener<ID, T>() {
+            @Override
+            public void saved(ID id, T previous, T current) {
+                if (previous != null) {
+                    invalidate.accept(keyOf.apply(previous));
+                }
+                invalidate.accept(keyOf.apply(current));
+            }
+
+            @Override
+            public void deleted(ID id, T previous) {
+                invalidate.accept(keyOf.apply(previous));
+            }
+
+            @Override
+            public void cleared() {
+                invalidateAll.run();
+            }
+        };
+    }
+
+    static <ID, T> RepositoryListener<ID, T> tracking(Consumer<ID> added, Consumer<ID> removed, Runnable reset) {
+        return new RepositoryListener<ID, T>() {
+            @Override
+            public void saved(ID id, T previous, T current) {
+                if (previous == null) {
+                    added.accept(id);
+                }
+            }
+
+            @Override
+            public void deleted(ID id, T previous) {
+                removed.accept(id);
+            }
+
+            @Override
+            public void cleared() {
+                reset.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,142 @@
+package com.healthcare.service;
+
+import com.healthcare.model.Drug;
+import com.healthcare.model.Prescription;
+import com.healthcare.repository.RepositoryListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catalog drugs each patient has been prescribed, kept in sync with the
+ * prescription repository as a listener. A patient's entries are held in an
+ * array sorted by expiry date, latest first, and replaced on every change, so
+ * readers never lock and stop at the first expired entry. Entries that have
+ * expired by the clock's date are dropped whenever the array is rebuilt.
+ */
+class ActiveMedicationIndex implements RepositoryListener<String, Prescription> {
+    private static final Entry[] NONE = new Entry[0];
+
+    private final Clock clock;
+    private final Map<String, Entry[]> byPatient = new ConcurrentHashMap<>();
+
+    ActiveMedicationIndex(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void saved(String id, Prescription previous, Prescription current) {
+        if (previous != null && !Objects.equals(previous.getPatientId(), current.getPatientId())) {
+            remove(previous.getPatientId(), id);
+        }
+        add(current);
+    }
+
+    @Override
+    public void deleted(String id, Prescription previous) {
+        remove(previous.getPatientId(), id);
+    }
+
+    @Override
+    public void cleared() {
+        byPatient.clear();
+    }
+
+    /**
+     * Replaces the entries of the given prescription with its current drugs.
+     */
+    void add(Prescription prescription) {
+        String prescriptionId = prescription.getPrescriptionId();
+        if (prescription.getPrescriptionDate() == null) {
+            remove(prescription.getPatientId(), prescriptionId);
+            return;
+        }
+        if (prescription.getPatientId() == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        LocalDate expiry = prescription.getExpiryDate();
+        List<Entry> added = new ArrayList<>();
+        if (!today.isAfter(expiry)) {
+            for (Prescription.Medication medication : prescription.getMedications()) {
+                if (medication.getDrug() != null) {
+                    added.add(new Entry(medication.getDrug(), prescriptionId, expiry));
+                }
+            }
+        }
+        byPatient.compute(prescription.getPatientId(), (patientId, entries) -> {
+            List<Entry> merged = new ArrayList<>(added);
+            for (Entry entry : entries == null ? NONE : entries) {
+                if (today.isAfter(entry.expiryDate)) {
+                    break;
+                }
+                if (!entry.prescriptionId.equals(prescriptionId)) {
+                    merged.add(entry);
+                }
+            }
+            if (merged.isEmpty()) {
+                return null;
+            }
+            Entry[] sorted = merged.toArray(NONE);
+            Arrays.sort(sorted, (a, b) -> b.expiryDate.compareTo(a.expiryDate));
+            return sorted;
+        });
+    }
+
+    /**
+     * Calls the visitor with each drug on one of the patient's prescriptions
+     * that is still valid on {@code today}, skipping the given prescription.
+     */
+    void forEachActive(String patientId, LocalDate today, String excludedPrescriptionId, ActiveDrugVisitor visitor) {
+        Entry[] entries = patientId == null ? NONE : byPatient.getOrDefault(patientId, NONE);
+        for (Entry entry : entries) {
+            if (today.isAfter(entry.expiryDate)) {
+                return;
+            }
+            if (!entry.prescriptionId.equals(excludedPrescriptionId)) {
+                visitor.visit(entry.drug, entry.prescriptionId);
+            }
+        }
+    }
+
+    private void remove(String patientId, String prescriptionId) {
+        if (patientId == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        byPatient.computeIfPresent(patientId, (key, entries) -> {
+            List<Entry> kept = new ArrayList<>(entries.length);
+            for (Entry entry : entries) {
+                if (today.isAfter(entry.expiryDate)) {
+                    break;
+                }
+                if (!entry.prescriptionId.equals(prescriptionId)) {
+                    kept.add(entry);
+                }
+            }
+            return kept.isEmpty() ? null : kept.toArray(NONE);
+        });
+    }
+
+    interface ActiveDrugVisitor {
+        void visit(Drug drug, String prescriptionId);
+    }
+
+    private static final class Entry {
+        private final Drug drug;
+        private final String prescriptionId;
+        private final LocalDate expiryDate;
+
+        private Entry(Drug drug, String prescriptionId, LocalDate expiryDate) {
+            this.drug = drug;
+            this.prescriptionId = prescriptionId;
+            this.expiryDate = expiryDate;
+        }
+    }
+}
@@ -1,86 +1,191 @@
 package com.healthcare.service;
 
+import com.healthcare.cache.BoundedCache;
+import com.healthcare.cache.SingleFlight;
 import com.healthcare.exception.AppointmentNotFoundException;
 import com.healthcare.exception.InvalidDataException;
 import com.healthcare.model.Appointment;
 import com.healthcare.model.AppointmentStatus;
+import com.healthcare.model.AppointmentView;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.Patient;
+import com.healthcare.model.TrackedEntity;
 import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.RepositoryListener;
 import com.healthcare.util.DateUtil;
+import com.healthcare.util.IdGenerator;
+import com.healthcare.util.Page;
 import com.healthcare.util.ValidationUtil;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class AppointmentService {
+    private static final int LISTING_CACHE_SIZE = 256;
+
     private final AppointmentRepository appointmentRepository;
     private final PatientService patientService;
     private final DoctorService doctorService;
+    private final Clock clock;
+    private final IdGenerator idGenerator;
+    private final SingleFlight<List<Object>, List<Appointment>> reads;
+    private final BoundedCache<AppointmentStatus, List<Appointment>> byStatus;
 
     public AppointmentService(AppointmentRepository appointmentRepository, 
                               PatientService patientService, 
                               DoctorService doctorService) {
+        this(appointmentRepository, patientService, doctorService, Clock.systemDefaultZone());
+    }
+
+    public AppointmentService(AppointmentRepository appointmentRepository,
+                              PatientService patientService,
+                              DoctorService doctorService,
+                              Clock clock) {
+        this(appointmentRepository, patientService, doctorService, clock, IdGenerator.timeOrdered());
+    }
+
+    public AppointmentService(AppointmentRepository appointmentRepository,
+                              PatientService patientService,
+                              DoctorService doctorService,
+                              Clock clock,
+                              IdGenerator idGenerator) {
         this.appointmentRepository = appointmentRepository;
         this.patientService = patientService;
         this.doctorService = doctorService;
+        this.clock = clock;
+        this.idGenerator = idGenerator;
+        this.reads = new SingleFlight<>(TrackedEntity::copyAll);
+        this.byStatus = new BoundedCache<>(LISTING_CACHE_SIZE);
+        appointmentRepository.addListener(RepositoryListener.invalidating(id -> reads.forgetAll(), reads::forgetAll));
+        appointmentRepository.addListener(RepositoryListener.invalidatingKeys(Appointment::getStatus,
+                                                                              byStatus::invalidate,
+                                                                              byStatus::invalidateAll));
     }
 
     public Appointment scheduleAppointment(Appointment appointment) {
         validateAppointment(appointment);
         
-        if (!patientService.patientExists(appointment.getPatientId())) {
-            throw new InvalidDataException("Patient not found with ID: " + appointment.getPatientId());
-        }
-        
-        if (!doctorService.doctorExists(appointment.getDoctorId())) {
-            throw new InvalidDataException("Doctor not found with ID: " + appointment.getDoctorId());
-        }
-        
-        if (!DateUtil.isFutureDateTime(appointment.getAppointmentDateTime())) {
-            throw new InvalidDataException("Appointment date must be in the future");
-        }
-        
-        if (appointment.getAppointmentId() == null || appointment.getAppointmentId().isEmpty()) {
-            appointment.setAppointmentId(generateAppointmentId());
-        }
-        
-        appointment.setStatus(AppointmentStatus.SCHEDULED);
-        return appointmentRepository.save(appointment);
+        return patientService.whilePatientExists(appointment.getPatientId(), () ->
+                doctorService.whileDoctorExists(appointment.getDoctorId(), () -> {
+                    if (!DateUtil.isFutureDateTime(appointment.getAppointmentDateTime(), LocalDateTime.now(clock))) {
+                        throw new InvalidDataException("Appointment date must be in the future");
+                    }
+                    
+                    if (appointment.getAppointmentId() == null || appointment.getAppointmentId().isEmpty()) {
+                        appointment.setAppointmentId(generateAppointmentId());
+                    }
+                    
+                    appointment.setStatus(AppointmentStatus.SCHEDULED);
+                    return appointmentRepository.save(appointment);
+                }));
     }
 
     public Appointment getAppointmentById(String appointmentId) {
         ValidationUtil.validateNotEmpty(appointmentId, "Appointment ID");
         return appointmentRepository.findById(appointmentId)
-                .orElseThrow(() -> new AppointmentNotFoundException("Appointment not found with ID: " + appointmentId));
+                .orElseThrow(() -> AppointmentNotFoundException.forId(appointmentId));
+    }
+
+    public Optional<Appointment> findAppointmentById(String appointmentId) {
+        return appointmentId == null ? Optional.empty() : appointmentRepository.findById(appointmentId);
     }
 
     public List<Appointment> getAllAppointments() {
         return appointmentRepository.findAll();
     }
 
+    public Page<Appointment> getAllAppointments(String cursor, int limit) {
+        return Page.fetch(cursor, limit, appointmentRepository::findAll, Appointment::getAppointmentId);
+    }
+
+    public Stream<Appointment> streamAllAppointments() {
+        return appointmentRepository.streamAll();
+    }
+
     public List<Appointment> getAppointmentsByPatient(String patientId) {
         ValidationUtil.validateNotEmpty(patientId, "Patient ID");
-        return appointmentRepository.findByPatientId(patientId);
+        return reads.execute(List.of("patient", patientId), () -> appointmentRepository.findByPatientId(patientId));
+    }
+
+    public Page<Appointment> getAppointmentsByPatient(String patientId, String cursor, int limit) {
+        ValidationUtil.validateNotEmpty(patientId, "Patient ID");
+        return Page.fetch(cursor, limit,
+                          (after, count) -> appointmentRepository.findByPatientId(patientId, after, count),
+                          Appointment::getAppointmentId);
+    }
+
+    public Stream<Appointment> streamAppointmentsByPatient(String patientId) {
+        ValidationUtil.validateNotEmpty(patientId, "Patient ID");
+        return appointmentRepository.streamByPatientId(patientId);
     }
 
     public List<Appointment> getAppointmentsByDoctor(String doctorId) {
         ValidationUtil.validateNotEmpty(doctorId, "Doctor ID");
-        return appointmentRepository.findByDoctorId(doctorId);
+        return reads.execute(List.of("doctor", doctorId), () -> appointmentRepository.findByDoctorId(doctorId));
+    }
+
+    public Page<Appointment> getAppointmentsByDoctor(String doctorId, String cursor, int limit) {
+        ValidationUtil.validateNotEmpty(doctorId, "Doctor ID");
+        return Page.fetch(cursor, limit,
+                          (after, count) -> appointmentRepository.findByDoctorId(doctorId, after, count),
+                          Appointment::getAppointmentId);
+    }
+
+    public Stream<Appointment> streamAppointmentsByDoctor(String doctorId) {
+        ValidationUtil.validateNotEmpty(doctorId, "Doctor ID");
+        return appointmentRepository.streamByDoctorId(doctorId);
     }
 
     public List<Appointment> getAppointmentsByDate(LocalDate date) {
         ValidationUtil.validateNotNull(date, "Date");
-        return appointmentRepository.findByDate(date);
+        return reads.execute(List.of("date", date), () -> appointmentRepository.findByDate(date));
+    }
+
+    /**
+     * Streams the day's appointments in time order.
+     */
+    public Stream<Appointment> streamAppointmentsByDate(LocalDate date) {
+        ValidationUtil.validateNotNull(date, "Date");
+        return appointmentRepository.streamByDate(date);
     }
 
     public List<Appointment> getUpcomingAppointments() {
-        return appointmentRepository.findUpcomingAppointments();
+        return reads.execute(List.of("upcoming"),
+                () -> appointmentRepository.findUpcomingAppointments(LocalDateTime.now(clock)));
     }
 
+    public Stream<Appointment> streamUpcomingAppointments() {
+        return appointmentRepository.streamUpcomingAppointments(LocalDateTime.now(clock));
+    }
+
+    /**
+     * Served from a snapshot that is cached until an appointment with this
+     * status is written. Each caller gets its own copies of the appointments.
+     */
     public List<Appointment> getAppointmentsByStatus(AppointmentStatus status) {
         ValidationUtil.validateNotNull(status, "Status");
-        return appointmentRepository.findByStatus(status);
+        return TrackedEntity.copyAll(byStatus.get(status, key -> Collections.unmodifiableList(
+                reads.execute(List.of("status", key), () -> appointmentRepository.findByStatus(key)))));
+    }
+
+    public Page<Appointment> getAppointmentsByStatus(AppointmentStatus status, String cursor, int limit) {
+        ValidationUtil.validateNotNull(status, "Status");
+        return Page.fetch(cursor, limit, (after, count) -> appointmentRepository.findByStatus(status, after, count),
+                          Appointment::getAppointmentId);
+    }
+
+    public Stream<Appointment> streamAppointmentsByStatus(AppointmentStatus status) {
+        ValidationUtil.validateNotNull(status, "Status");
+        return appointmentRepository.streamByStatus(status);
     }
 
     public Appointment updateAppointmentStatus(String appointmentId, AppointmentStatus status) {
@@ -92,7 +197,7 @@ public class AppointmentService {
     public Appointment rescheduleAppointment(String appointmentId, LocalDateTime newDateTime) {
         Appointment appointment = getAppointmentById(appointmentId);
         
-        if (!DateUtil.isFutureDateTime(newDateTime)) {
+        if (!DateUtil.isFutureDateTime(newDateTime, LocalDateTime.now(clock))) {
             throw new InvalidDataException("New appointment date must be in the future");
         }
         
@@ -126,11 +231,32 @@ public class AppointmentService {
     public void deleteAppointment(String appointmentId) {
         ValidationUtil.validateNotEmpty(appointmentId, "Appointment ID");
         if (!appointmentRepository.existsById(appointmentId)) {
-            throw new AppointmentNotFoundException("Appointment not found with ID: " + appointmentId);
+            throw AppointmentNotFoundException.forId(appointmentId);
         }
         appointmentRepository.deleteById(appointmentId);
     }
 
+    /**
+     * Joins each appointment with its patient and doctor, fetching all of them
+     * with one batch lookup per side instead of one lookup per appointment.
+     */
+    public List<AppointmentView> getAppointmentViews(List<Appointment> appointments) {
+        Set<String> patientIds = new HashSet<>();
+        Set<String> doctorIds = new HashSet<>();
+        for (Appointment appointment : appointments) {
+            patientIds.add(appointment.getPatientId());
+            doctorIds.add(appointment.getDoctorId());
+        }
+        Map<String, Patient> patients = patientService.getPatientsByIds(patientIds);
+        Map<String, Doctor> doctors = doctorService.getDoctorsByIds(doctorIds);
+        List<AppointmentView> views = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            views.add(new AppointmentView(appointment, patients.get(appointment.getPatientId()),
+                                          doctors.get(appointment.getDoctorId())));
+        }
+        return views;
+    }
+
     public long getTotalAppointmentCount() {
         return appointmentRepository.count();
     }
@@ -145,6 +271,6 @@ public class AppointmentService {
     }
 
     private String generateAppointmentId() {
-        return "APT" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return idGenerator.nextId("APT");
     }
 }
@@ -0,0 +1,505 @@
+package com.healthcare.service;
+
+import com.healthcare.model.Appointment;
+import com.healthcare.model.AppointmentStatus;
+import com.healthcare.model.AppointmentView;
+import com.healthcare.model.DeletionReport;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.DrugInteraction;
+import com.healthcare.model.MedicalRecord;
+import com.healthcare.model.MergeReport;
+import com.healthcare.model.Patient;
+import com.healthcare.model.Prescription;
+import com.healthcare.model.PrescriptionView;
+import com.healthcare.model.TimelineEntry;
+import com.healthcare.util.Page;
+import com.healthcare.util.ValidationResult;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking front end for the services. Every call runs on the executor
+ * and returns a {@link CompletableFuture} straight away, so independent
+ * operations can overlap and dependent ones can be chained with
+ * {@code thenCompose} without holding a thread per step.
+ * <p>
+ * Every service operation that reads or writes the repositories has a
+ * variant here. The {@code stream} methods are left out because their
+ * results are lazy and would do their work on whichever thread consumes
+ * them. Counters and other in-memory accessors are also left out. Use
+ * {@link #call} for anything else.
+ * <p>
+ * A future that has not completed within the timeout fails with a
+ * {@link java.util.concurrent.TimeoutException}. A call cancelled or timed out
+ * before it starts never runs. One that has already started runs to
+ * completion, because the services are not interruptible, but its result
+ * is discarded.
+ * <p>
+ * The timeline fans out on its own executor rather than this one, so a call
+ * waiting on its lookups cannot starve a small pool.
+ */
+public class AsyncServices {
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final PatientService patientService;
+    private final DoctorService doctorService;
+    private final AppointmentService appointmentService;
+    private final PrescriptionService prescriptionService;
+    private final MedicalRecordService medicalRecordService;
+    private final PatientTimelineService timelineService;
+    private final Executor executor;
+    private final Duration timeout;
+
+    /**
+     * Runs the timeline's lookups on a cached pool of daemon threads that is
+     * never shut down. Pass a timeline executor to control its lifecycle.
+     */
+    public AsyncServices(PatientService patientService,
+                         DoctorService doctorService,
+                         AppointmentService appointmentService,
+                         PrescriptionService prescriptionService,
+                         MedicalRecordService medicalRecordService,
+                         Executor executor) {
+        this(patientService, doctorService, appointmentService, prescriptionService, medicalRecordService,
+             new PatientTimelineService(appointmentService, prescriptionService, medicalRecordService),
+             executor, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Runs the timeline's lookups on {@code timelineExecutor}. If
+     * {@code executor} is bounded, this must be a different executor, or
+     * timeline calls can wait on lookups that never get a thread.
+     */
+    public AsyncServices(PatientService patientService,
+                         DoctorService doctorService,
+                         AppointmentService appointmentService,
+                         PrescriptionService prescriptionService,
+                         MedicalRecordService medicalRecordService,
+                         Executor executor,
+                         Executor timelineExecutor) {
+        this(patientService, doctorService, appointmentService, prescriptionService, medicalRecordService,
+             new PatientTimelineService(appointmentService, prescriptionService, medicalRecordService,
+                                        timelineExecutor),
+             executor, DEFAULT_TIMEOUT);
+    }
+
+    private AsyncServices(PatientService patientService,
+                          DoctorService doctorService,
+                          AppointmentService appointmentService,
+                          PrescriptionService prescriptionService,
+                          MedicalRecordService medicalRecordService,
+                          PatientTimelineService timelineService,
+                          Executor executor,
+                          Duration timeout) {
+        this.patientService = patientService;
+        this.doctorService = doctorService;
+        this.appointmentService = appointmentService;
+        this.prescriptionService = prescriptionService;
+        this.medicalRecordService = medicalRecordService;
+        this.timelineService = timelineService;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns a view of these services whose calls time out after
+     * {@code timeout} instead, or never when it is {@code null}.
+     */
+    public AsyncServices withTimeout(Duration timeout) {
+        if (timeout != null && (timeout.isZero() || timeout.isNegative())) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+        return new AsyncServices(patientService, doctorService, appointmentService, prescriptionService,
+                                 medicalRecordService, timelineService, executor, timeout);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Runs any other service call asynchronously, with the same timeout and
+     * cancellation as the named methods.
+     */
+    public <T> CompletableFuture<T> call(Supplier<T> action) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(action.get());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return timeout == null ? future : future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public CompletableFuture<Void> run(Runnable action) {
+        return call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public CompletableFuture<Patient> registerPatient(Patient patient) {
+        return call(() -> patientService.registerPatient(patient));
+    }
+
+    public CompletableFuture<ValidationResult> checkPatient(Patient patient) {
+        return call(() -> patientService.checkPatient(patient));
+    }
+
+    public CompletableFuture<Patient> getPatientById(String patientId) {
+        return call(() -> patientService.getPatientById(patientId));
+    }
+
+    public CompletableFuture<Optional<Patient>> findPatientById(String patientId) {
+        return call(() -> patientService.findPatientById(patientId));
+    }
+
+    public CompletableFuture<Map<String, Patient>> getPatientsByIds(Collection<String> patientIds) {
+        return call(() -> patientService.getPatientsByIds(patientIds));
+    }
+
+    public CompletableFuture<Optional<Patient>> findPatientByEmail(String email) {
+        return call(() -> patientService.findPatientByEmail(email));
+    }
+
+    public CompletableFuture<Optional<Patient>> findPatientByPhone(String phoneNumber) {
+        return call(() -> patientService.findPatientByPhone(phoneNumber));
+    }
+
+    public CompletableFuture<List<Patient>> getAllPatients() {
+        return call(patientService::getAllPatients);
+    }
+
+    public CompletableFuture<Page<Patient>> getAllPatients(String cursor, int limit) {
+        return call(() -> patientService.getAllPatients(cursor, limit));
+    }
+
+    public CompletableFuture<List<Patient>> getPatientsByLastName(String lastName) {
+        return call(() -> patientService.getPatientsByLastName(lastName));
+    }
+
+    public CompletableFuture<Page<Patient>> getPatientsByLastName(String lastName, String cursor, int limit) {
+        return call(() -> patientService.getPatientsByLastName(lastName, cursor, limit));
+    }
+
+    public CompletableFuture<List<Patient>> getPatientsByBloodGroup(String bloodGroup) {
+        return call(() -> patientService.getPatientsByBloodGroup(bloodGroup));
+    }
+
+    public CompletableFuture<Page<Patient>> getPatientsByBloodGroup(String bloodGroup, String cursor, int limit) {
+        return call(() -> patientService.getPatientsByBloodGroup(bloodGroup, cursor, limit));
+    }
+
+    public CompletableFuture<Boolean> patientExists(String patientId) {
+        return call(() -> patientService.patientExists(patientId));
+    }
+
+    public CompletableFuture<Patient> updatePatient(String patientId, Patient updatedPatient) {
+        return call(() -> patientService.updatePatient(patientId, updatedPatient));
+    }
+
+    public CompletableFuture<Void> deletePatient(String patientId) {
+        return run(() -> patientService.deletePatient(patientId));
+    }
+
+    public CompletableFuture<DeletionReport> deletePatient(String patientId, boolean dryRun) {
+        return call(() -> patientService.deletePatient(patientId, dryRun));
+    }
+
+    public CompletableFuture<MergeReport> mergePatients(String survivorId, String duplicateId) {
+        return call(() -> patientService.mergePatients(survivorId, duplicateId));
+    }
+
+    public CompletableFuture<Page<TimelineEntry>> getTimeline(String patientId, String cursor, int limit) {
+        return call(() -> timelineService.getTimeline(patientId, cursor, limit));
+    }
+
+    public CompletableFuture<Doctor> registerDoctor(Doctor doctor) {
+        return call(() -> doctorService.registerDoctor(doctor));
+    }
+
+    public CompletableFuture<ValidationResult> checkDoctor(Doctor doctor) {
+        return call(() -> doctorService.checkDoctor(doctor));
+    }
+
+    public CompletableFuture<Doctor> getDoctorById(String doctorId) {
+        return call(() -> doctorService.getDoctorById(doctorId));
+    }
+
+    public CompletableFuture<Optional<Doctor>> findDoctorById(String doctorId) {
+        return call(() -> doctorService.findDoctorById(doctorId));
+    }
+
+    public CompletableFuture<Map<String, Doctor>> getDoctorsByIds(Collection<String> doctorIds) {
+        return call(() -> doctorService.getDoctorsByIds(doctorIds));
+    }
+
+    public CompletableFuture<Optional<Doctor>> findDoctorByEmail(String email) {
+        return call(() -> doctorService.findDoctorByEmail(email));
+    }
+
+    public CompletableFuture<Optional<Doctor>> findDoctorByPhone(String phoneNumber) {
+        return call(() -> doctorService.findDoctorByPhone(phoneNumber));
+    }
+
+    public CompletableFuture<List<Doctor>> getAllDoctors() {
+        return call(doctorService::getAllDoctors);
+    }
+
+    public CompletableFuture<Page<Doctor>> getAllDoctors(String cursor, int limit) {
+        return call(() -> doctorService.getAllDoctors(cursor, limit));
+    }
+
+    public CompletableFuture<List<Doctor>> getDoctorsBySpecialization(String specialization) {
+        return call(() -> doctorService.getDoctorsBySpecialization(specialization));
+    }
+
+    public CompletableFuture<Page<Doctor>> getDoctorsBySpecialization(String specialization, String cursor,
+                                                                      int limit) {
+        return call(() -> doctorService.getDoctorsBySpecialization(specialization, cursor, limit));
+    }
+
+    public CompletableFuture<List<Doctor>> getAvailableDoctors() {
+        return call(doctorService::getAvailableDoctors);
+    }
+
+    public CompletableFuture<Page<Doctor>> getAvailableDoctors(String cursor, int limit) {
+        return call(() -> doctorService.getAvailableDoctors(cursor, limit));
+    }
+
+    public CompletableFuture<Boolean> doctorExists(String doctorId) {
+        return call(() -> doctorService.doctorExists(doctorId));
+    }
+
+    public CompletableFuture<Doctor> updateDoctor(String doctorId, Doctor updatedDoctor) {
+        return call(() -> doctorService.updateDoctor(doctorId, updatedDoctor));
+    }
+
+    public CompletableFuture<Void> setDoctorAvailability(String doctorId, boolean available) {
+        return run(() -> doctorService.setDoctorAvailability(doctorId, available));
+    }
+
+    public CompletableFuture<Void> deleteDoctor(String doctorId) {
+        return run(() -> doctorService.deleteDoctor(doctorId));
+    }
+
+    public CompletableFuture<DeletionReport> deleteDoctor(String doctorId, boolean dryRun) {
+        return call(() -> doctorService.deleteDoctor(doctorId, dryRun));
+    }
+
+    public CompletableFuture<Appointment> scheduleAppointment(Appointment appointment) {
+        return call(() -> appointmentService.scheduleAppointment(appointment));
+    }
+
+    public CompletableFuture<Appointment> getAppointmentById(String appointmentId) {
+        return call(() -> appointmentService.getAppointmentById(appointmentId));
+    }
+
+    public CompletableFuture<Optional<Appointment>> findAppointmentById(String appointmentId) {
+        return call(() -> appointmentService.findAppointmentById(appointmentId));
+    }
+
+    public CompletableFuture<List<Appointment>> getAllAppointments() {
+        return call(appointmentService::getAllAppointments);
+    }
+
+    public CompletableFuture<Page<Appointment>> getAllAppointments(String cursor, int limit) {
+        return call(() -> appointmentService.getAllAppointments(cursor, limit));
+    }
+
+    public CompletableFuture<List<Appointment>> getAppointmentsByPatient(String patientId) {
+        return call(() -> appointmentService.getAppointmentsByPatient(patientId));
+    }
+
+    public CompletableFuture<Page<Appointment>> getAppointmentsByPatient(String patientId, String cursor,
+                                                                         int limit) {
+        return call(() -> appointmentService.getAppointmentsByPatient(patientId, cursor, limit));
+    }
+
+    public CompletableFuture<List<Appointment>> getAppointmentsByDoctor(String doctorId) {
+        return call(() -> appointmentService.getAppointmentsByDoctor(doctorId));
+    }
+
+    public CompletableFuture<Page<Appointment>> getAppointmentsByDoctor(String doctorId, String cursor, int limit) {
+        return call(() -> appointmentService.getAppointmentsByDoctor(doctorId, cursor, limit));
+    }
+
+    public CompletableFuture<List<Appointment>> getAppointmentsByDate(LocalDate date) {
+        return call(() -> appointmentService.getAppointmentsByDate(date));
+    }
+
+    public CompletableFuture<List<Appointment>> getUpcomingAppointments() {
+        return call(appointmentService::getUpcomingAppointments);
+    }
+
+    public CompletableFuture<List<Appointment>> getAppointmentsByStatus(AppointmentStatus status) {
+        return call(() -> appointmentService.getAppointmentsByStatus(status));
+    }
+
+    public CompletableFuture<Page<Appointment>> getAppointmentsByStatus(AppointmentStatus status, String cursor,
+                                                                        int limit) {
+        return call(() -> appointmentService.getAppointmentsByStatus(status, cursor, limit));
+    }
+
+    public CompletableFuture<List<AppointmentView>> getAppointmentViews(List<Appointment> appointments) {
+        return call(() -> appointmentService.getAppointmentViews(appointments));
+    }
+
+    public CompletableFuture<Appointment> updateAppointmentStatus(String appointmentId, AppointmentStatus status) {
+        return call(() -> appointmentService.updateAppointmentStatus(appointmentId, status));
+    }
+
+    public CompletableFuture<Appointment> rescheduleAppointment(String appointmentId, LocalDateTime newDateTime) {
+        return call(() -> appointmentService.rescheduleAppointment(appointmentId, newDateTime));
+    }
+
+    public CompletableFuture<Void> completeAppointment(String appointmentId) {
+        return run(() -> appointmentService.completeAppointment(appointmentId));
+    }
+
+    public CompletableFuture<Void> cancelAppointment(String appointmentId) {
+        return run(() -> appointmentService.cancelAppointment(appointmentId));
+    }
+
+    public CompletableFuture<Void> deleteAppointment(String appointmentId) {
+        return run(() -> appointmentService.deleteAppointment(appointmentId));
+    }
+
+    public CompletableFuture<Prescription> createPrescription(Prescription prescription) {
+        return call(() -> prescriptionService.createPrescription(prescription));
+    }
+
+    public CompletableFuture<Prescription> getPrescriptionById(String prescriptionId) {
+        return call(() -> prescriptionService.getPrescriptionById(prescriptionId));
+    }
+
+    public CompletableFuture<Optional<Prescription>> findPrescriptionById(String prescriptionId) {
+        return call(() -> prescriptionService.findPrescriptionById(prescriptionId));
+    }
+
+    public CompletableFuture<List<Prescription>> getAllPrescriptions() {
+        return call(prescriptionService::getAllPrescriptions);
+    }
+
+    public CompletableFuture<Page<Prescription>> getAllPrescriptions(String cursor, int limit) {
+        return call(() -> prescriptionService.getAllPrescriptions(cursor, limit));
+    }
+
+    public CompletableFuture<List<Prescription>> getPrescriptionsByPatient(String patientId) {
+        return call(() -> prescriptionService.getPrescriptionsByPatient(patientId));
+    }
+
+    public CompletableFuture<Page<Prescription>> getPrescriptionsByPatient(String patientId, String cursor,
+                                                                           int limit) {
+        return call(() -> prescriptionService.getPrescriptionsByPatient(patientId, cursor, limit));
+    }
+
+    public CompletableFuture<List<Prescription>> getPrescriptionsByDoctor(String doctorId) {
+        return call(() -> prescriptionService.getPrescriptionsByDoctor(doctorId));
+    }
+
+    public CompletableFuture<Page<Prescription>> getPrescriptionsByDoctor(String doctorId, String cursor,
+                                                                          int limit) {
+        return call(() -> prescriptionService.getPrescriptionsByDoctor(doctorId, cursor, limit));
+    }
+
+    public CompletableFuture<List<Prescription>> getValidPrescriptions() {
+        return call(prescriptionService::getValidPrescriptions);
+    }
+
+    public CompletableFuture<List<Prescription>> getPrescriptionsByDrug(String medicineName) {
+        return call(() -> prescriptionService.getPrescriptionsByDrug(medicineName));
+    }
+
+    public CompletableFuture<Page<Prescription>> getPrescriptionsByDrug(String medicineName, String cursor,
+                                                                        int limit) {
+        return call(() -> prescriptionService.getPrescriptionsByDrug(medicineName, cursor, limit));
+    }
+
+    public CompletableFuture<List<DrugInteraction>> checkInteractions(String patientId,
+                                                                     List<Prescription.Medication> medications) {
+        return call(() -> prescriptionService.checkInteractions(patientId, medications));
+    }
+
+    public CompletableFuture<List<DrugInteraction>> checkInteractions(String patientId, String medicineName) {
+        return call(() -> prescriptionService.checkInteractions(patientId, medicineName));
+    }
+
+    public CompletableFuture<List<PrescriptionView>> getPrescriptionViews(List<Prescription> prescriptions) {
+        return call(() -> prescriptionService.getPrescriptionViews(prescriptions));
+    }
+
+    public CompletableFuture<Prescription> addMedication(String prescriptionId, Prescription.Medication medication) {
+        return call(() -> prescriptionService.addMedication(prescriptionId, medication));
+    }
+
+    public CompletableFuture<Void> deletePrescription(String prescriptionId) {
+        return run(() -> prescriptionService.deletePrescription(prescriptionId));
+    }
+
+    public CompletableFuture<MedicalRecord> createMedicalRecord(MedicalRecord record) {
+        return call(() -> medicalRecordService.createMedicalRecord(record));
+    }
+
+    public CompletableFuture<MedicalRecord> getMedicalRecordById(String recordId) {
+        return call(() -> medicalRecordService.getMedicalRecordById(recordId));
+    }
+
+    public CompletableFuture<Optional<MedicalRecord>> findMedicalRecordById(String recordId) {
+        return call(() -> medicalRecordService.findMedicalRecordById(recordId));
+    }
+
+    public CompletableFuture<List<MedicalRecord>> getAllMedicalRecords() {
+        return call(medicalRecordService::getAllMedicalRecords);
+    }
+
+    public CompletableFuture<Page<MedicalRecord>> getAllMedicalRecords(String cursor, int limit) {
+        return call(() -> medicalRecordService.getAllMedicalRecords(cursor, limit));
+    }
+
+    public CompletableFuture<List<MedicalRecord>> getMedicalRecordsByPatient(String patientId) {
+        return call(() -> medicalRecordService.getMedicalRecordsByPatient(patientId));
+    }
+
+    public CompletableFuture<Page<MedicalRecord>> getMedicalRecordsByPatient(String patientId, String cursor,
+                                                                             int limit) {
+        return call(() -> medicalRecordService.getMedicalRecordsByPatient(patientId, cursor, limit));
+    }
+
+    public CompletableFuture<List<MedicalRecord>> getMedicalRecordsByDoctor(String doctorId) {
+        return call(() -> medicalRecordService.getMedicalRecordsByDoctor(doctorId));
+    }
+
+    public CompletableFuture<Page<MedicalRecord>> getMedicalRecordsByDoctor(String doctorId, String cursor,
+                                                                            int limit) {
+        return call(() -> medicalRecordService.getMedicalRecordsByDoctor(doctorId, cursor, limit));
+    }
+
+    public CompletableFuture<MedicalRecord> updateMedicalRecord(String recordId, MedicalRecord updatedRecord) {
+        return call(() -> medicalRecordService.updateMedicalRecord(recordId, updatedRecord));
+    }
+
+    public CompletableFuture<Void> deleteMedicalRecord(String recordId) {
+        return run(() -> medicalRecordService.deleteMedicalRecord(recordId));
+    }
+}
@@ -0,0 +1,87 @@
+package com.healthcare.service;
+
+import com.healthcare.model.DeletionReport;
+import com.healthcare.model.MergeReport;
+import com.healthcare.model.TrackedEntity;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.IndexedRepository;
+import com.healthcare.repository.MedicalRecordRepository;
+import com.healthcare.repository.PrescriptionRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Finds, removes or reassigns the appointments, prescriptions and medical
+ * records that reference a patient or doctor, using the repositories' reverse
+ * indexes.
+ * Write locks are always taken in the order appointments, prescriptions,
+ * records, after the owner's repository. Creating a dependent read-locks the
+ * patient repository, then the doctor repository, before its own, so a
+ * delete cannot run between the owner check and the save.
+ */
+class DependentRecords {
+    static final int BATCH_SIZE = 500;
+
+    private final AppointmentRepository appointmentRepository;
+    private final PrescriptionRepository prescriptionRepository;
+    private final MedicalRecordRepository recordRepository;
+
+    DependentRecords(AppointmentRepository appointmentRepository,
+                     PrescriptionRepository prescriptionRepository,
+                     MedicalRecordRepository recordRepository) {
+        this.appointmentRepository = appointmentRepository;
+        this.prescriptionRepository = prescriptionRepository;
+        this.recordRepository = recordRepository;
+    }
+
+    static DeletionReport none(String ownerId, boolean dryRun) {
+        return new DeletionReport(ownerId, dryRun, new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    }
+
+    DeletionReport ofPatient(String patientId, boolean dryRun) {
+        return new DeletionReport(patientId, dryRun,
+                appointmentRepository.findIdsByPatientId(patientId),
+                prescriptionRepository.findIdsByPatientId(patientId),
+                recordRepository.findIdsByPatientId(patientId));
+    }
+
+    DeletionReport ofDoctor(String doctorId, boolean dryRun) {
+        return new DeletionReport(doctorId, dryRun,
+                appointmentRepository.findIdsByDoctorId(doctorId),
+                prescriptionRepository.findIdsByDoctorId(doctorId),
+                recordRepository.findIdsByDoctorId(doctorId));
+    }
+
+    void delete(DeletionReport report) {
+        appointmentRepository.deleteAllById(report.getAppointmentIds());
+        prescriptionRepository.deleteAllById(report.getPrescriptionIds());
+        recordRepository.deleteAllById(report.getRecordIds());
+    }
+
+    MergeReport reassignPatient(String duplicateId, String survivorId) {
+        MergeReport report = new MergeReport(survivorId, duplicateId,
+                appointmentRepository.findIdsByPatientId(duplicateId),
+                prescriptionRepository.findIdsByPatientId(duplicateId),
+                recordRepository.findIdsByPatientId(duplicateId));
+        updateInBatches(appointmentRepository, report.getAppointmentIds(), a -> a.setPatientId(survivorId));
+        updateInBatches(prescriptionRepository, report.getPrescriptionIds(), p -> p.setPatientId(survivorId));
+        updateInBatches(recordRepository, report.getRecordIds(), r -> r.setPatientId(survivorId));
+        return report;
+    }
+
+    private static <T extends TrackedEntity<T>> void updateInBatches(
+            IndexedRepository<String, T> repository, List<String> ids, Consumer<? super T> mutator) {
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            repository.updateAll(ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE)), mutator);
+        }
+    }
+
+    <R> R atomically(Supplier<R> action) {
+        return appointmentRepository.atomically(() ->
+                prescriptionRepository.atomically(() ->
+                        recordRepository.atomically(action)));
+    }
+}
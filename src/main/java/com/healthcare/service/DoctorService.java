@@ -1,19 +1,102 @@
 package com.healthcare.service;
 
+import com.healthcare.cache.BoundedCache;
+import com.healthcare.cache.CacheStats;
+import com.healthcare.cache.CuckooFilter;
 import com.healthcare.exception.DoctorNotFoundException;
 import com.healthcare.exception.InvalidDataException;
+import com.healthcare.model.DeletionReport;
 import com.healthcare.model.Doctor;
+import com.healthcare.model.TrackedEntity;
+import com.healthcare.repository.AppointmentRepository;
 import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.MedicalRecordRepository;
+import com.healthcare.repository.PrescriptionRepository;
+import com.healthcare.repository.RepositoryListener;
+import com.healthcare.util.IdGenerator;
+import com.healthcare.util.Page;
+import com.healthcare.util.StringDictionary;
+import com.healthcare.util.ValidationResult;
 import com.healthcare.util.ValidationUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class DoctorService {
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+    private static final int DEFAULT_FILTER_KEYS = 100_000;
+    private static final double DEFAULT_FILTER_FALSE_POSITIVE_RATE = 0.01;
+    private static final long DEFAULT_FILTER_MEMORY_BYTES = 8L * 1024 * 1024;
+    private static final int LISTING_CACHE_SIZE = 256;
+
     private final DoctorRepository doctorRepository;
+    private final DependentRecords dependents;
+    private final BoundedCache<String, Doctor> cache;
+    private final CuckooFilter existenceFilter;
+    private final IdGenerator idGenerator;
+    private final BoundedCache<Integer, List<Doctor>> bySpecialization;
 
     public DoctorService(DoctorRepository doctorRepository) {
+        this(doctorRepository, null, new BoundedCache<>(DEFAULT_CACHE_SIZE), defaultFilter(),
+             IdGenerator.timeOrdered());
+    }
+
+    public DoctorService(DoctorRepository doctorRepository,
+                         AppointmentRepository appointmentRepository,
+                         PrescriptionRepository prescriptionRepository,
+                         MedicalRecordRepository recordRepository) {
+        this(doctorRepository, appointmentRepository, prescriptionRepository, recordRepository,
+             new BoundedCache<>(DEFAULT_CACHE_SIZE), defaultFilter());
+    }
+
+    public DoctorService(DoctorRepository doctorRepository,
+                         AppointmentRepository appointmentRepository,
+                         PrescriptionRepository prescriptionRepository,
+                         MedicalRecordRepository recordRepository,
+                         BoundedCache<String, Doctor> cache,
+                         CuckooFilter existenceFilter) {
+        this(doctorRepository, appointmentRepository, prescriptionRepository, recordRepository, cache, existenceFilter,
+             IdGenerator.timeOrdered());
+    }
+
+    public DoctorService(DoctorRepository doctorRepository,
+                         AppointmentRepository appointmentRepository,
+                         PrescriptionRepository prescriptionRepository,
+                         MedicalRecordRepository recordRepository,
+                         BoundedCache<String, Doctor> cache,
+                         CuckooFilter existenceFilter,
+                         IdGenerator idGenerator) {
+        this(doctorRepository, new DependentRecords(appointmentRepository, prescriptionRepository, recordRepository),
+             cache, existenceFilter, idGenerator);
+    }
+
+    private DoctorService(DoctorRepository doctorRepository, DependentRecords dependents,
+                          BoundedCache<String, Doctor> cache, CuckooFilter existenceFilter,
+                          IdGenerator idGenerator) {
         this.doctorRepository = doctorRepository;
+        this.dependents = dependents;
+        this.cache = cache;
+        this.existenceFilter = existenceFilter;
+        this.idGenerator = idGenerator;
+        this.bySpecialization = new BoundedCache<>(LISTING_CACHE_SIZE);
+        doctorRepository.addListener(RepositoryListener.invalidatingKeys(Doctor::getSpecializationCode,
+                                                                         bySpecialization::invalidate,
+                                                                         bySpecialization::invalidateAll));
+        doctorRepository.atomically(() -> {
+            existenceFilter.clear();
+            doctorRepository.mapAll(Doctor::getDoctorId).forEach(existenceFilter::add);
+            doctorRepository.addListener(RepositoryListener.invalidating(cache::invalidate, cache::invalidateAll));
+            doctorRepository.addListener(RepositoryListener.tracking(existenceFilter::add, existenceFilter::remove,
+                                                                existenceFilter::clear));
+            return null;
+        });
     }
 
     public Doctor registerDoctor(Doctor doctor) {
@@ -23,32 +106,120 @@ public class DoctorService {
             doctor.setDoctorId(generateDoctorId());
         }
         
-        if (doctorRepository.existsById(doctor.getDoctorId())) {
-            throw new InvalidDataException("Doctor with ID " + doctor.getDoctorId() + " already exists");
-        }
-        
-        return doctorRepository.save(doctor);
+        return doctorRepository.atomically(() -> {
+            if (doctorRepository.existsById(doctor.getDoctorId())) {
+                throw new InvalidDataException("Doctor with ID " + doctor.getDoctorId() + " already exists");
+            }
+            checkContactDetailsAvailable(doctor, null);
+            return doctorRepository.save(doctor);
+        });
     }
 
     public Doctor getDoctorById(String doctorId) {
         ValidationUtil.validateNotEmpty(doctorId, "Doctor ID");
-        return doctorRepository.findById(doctorId)
-                .orElseThrow(() -> new DoctorNotFoundException("Doctor not found with ID: " + doctorId));
+        return findDoctorById(doctorId).orElseThrow(() -> DoctorNotFoundException.forId(doctorId));
+    }
+
+    public Optional<Doctor> findDoctorById(String doctorId) {
+        if (doctorId == null) {
+            return Optional.empty();
+        }
+        Doctor cached = cache.get(doctorId, this::load);
+        return cached == null ? Optional.empty() : Optional.of(cached.copy());
+    }
+
+    /**
+     * Looks up several doctors at once, keyed by ID in the order given. Cached
+     * doctors come from the cache and the rest are read from the repository in
+     * one lookup. Unknown IDs are left out.
+     */
+    public Map<String, Doctor> getDoctorsByIds(Collection<String> doctorIds) {
+        Map<String, Doctor> result = new LinkedHashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String doctorId : doctorIds) {
+            if (doctorId == null || result.containsKey(doctorId)) {
+                continue;
+            }
+            Doctor cached = cache.getIfPresent(doctorId);
+            if (cached != null) {
+                result.put(doctorId, cached.copy());
+            } else if (existenceFilter.mightContain(doctorId)) {
+                result.put(doctorId, null);
+                uncached.add(doctorId);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            Map<String, Doctor> loaded = doctorRepository.findAllById(uncached);
+            for (String doctorId : uncached) {
+                Doctor doctor = loaded.get(doctorId);
+                if (doctor == null) {
+                    result.remove(doctorId);
+                } else {
+                    result.put(doctorId, doctor);
+                }
+            }
+        }
+        return result;
+    }
+
+    public Optional<Doctor> findDoctorByEmail(String email) {
+        return doctorRepository.findByEmail(email);
+    }
+
+    public Optional<Doctor> findDoctorByPhone(String phoneNumber) {
+        return doctorRepository.findByPhone(phoneNumber);
     }
 
     public List<Doctor> getAllDoctors() {
         return doctorRepository.findAll();
     }
 
+    public Page<Doctor> getAllDoctors(String cursor, int limit) {
+        return Page.fetch(cursor, limit, doctorRepository::findAll, Doctor::getDoctorId);
+    }
+
+    public Stream<Doctor> streamAllDoctors() {
+        return doctorRepository.streamAll();
+    }
+
+    /**
+     * Served from a snapshot that is cached until a doctor in this
+     * specialization is written. Each caller gets its own copies of the doctors.
+     */
     public List<Doctor> getDoctorsBySpecialization(String specialization) {
         ValidationUtil.validateNotEmpty(specialization, "Specialization");
-        return doctorRepository.findBySpecialization(specialization);
+        int code = Doctor.specializationCode(specialization);
+        if (code == StringDictionary.NONE) {
+            return new ArrayList<>();
+        }
+        return TrackedEntity.copyAll(bySpecialization.get(code,
+                key -> Collections.unmodifiableList(doctorRepository.findBySpecialization(key))));
+    }
+
+    public Page<Doctor> getDoctorsBySpecialization(String specialization, String cursor, int limit) {
+        ValidationUtil.validateNotEmpty(specialization, "Specialization");
+        return Page.fetch(cursor, limit,
+                          (after, count) -> doctorRepository.findBySpecialization(specialization, after, count),
+                          Doctor::getDoctorId);
+    }
+
+    public Stream<Doctor> streamDoctorsBySpecialization(String specialization) {
+        ValidationUtil.validateNotEmpty(specialization, "Specialization");
+        return doctorRepository.streamBySpecialization(specialization);
     }
 
     public List<Doctor> getAvailableDoctors() {
         return doctorRepository.findAvailableDoctors();
     }
 
+    public Page<Doctor> getAvailableDoctors(String cursor, int limit) {
+        return Page.fetch(cursor, limit, doctorRepository::findAvailableDoctors, Doctor::getDoctorId);
+    }
+
+    public Stream<Doctor> streamAvailableDoctors() {
+        return doctorRepository.streamAvailableDoctors();
+    }
+
     public Doctor updateDoctor(String doctorId, Doctor updatedDoctor) {
         ValidationUtil.validateNotEmpty(doctorId, "Doctor ID");
         getDoctorById(doctorId); // Ensure doctor exists
@@ -56,7 +227,10 @@ public class DoctorService {
         validateDoctor(updatedDoctor);
         updatedDoctor.setDoctorId(doctorId);
         
-        return doctorRepository.save(updatedDoctor);
+        return doctorRepository.atomically(() -> {
+            checkContactDetailsAvailable(updatedDoctor, doctorId);
+            return doctorRepository.save(updatedDoctor);
+        });
     }
 
     public void setDoctorAvailability(String doctorId, boolean available) {
@@ -66,33 +240,107 @@ public class DoctorService {
     }
 
     public void deleteDoctor(String doctorId) {
+        deleteDoctor(doctorId, false);
+    }
+
+    public DeletionReport deleteDoctor(String doctorId, boolean dryRun) {
         ValidationUtil.validateNotEmpty(doctorId, "Doctor ID");
-        if (!doctorRepository.existsById(doctorId)) {
-            throw new DoctorNotFoundException("Doctor not found with ID: " + doctorId);
-        }
-        doctorRepository.deleteById(doctorId);
+        return doctorRepository.atomically(() -> {
+            if (!doctorRepository.existsById(doctorId)) {
+                throw DoctorNotFoundException.forId(doctorId);
+            }
+            if (dependents == null) {
+                if (!dryRun) {
+                    doctorRepository.deleteById(doctorId);
+                }
+                return DependentRecords.none(doctorId, dryRun);
+            }
+            return dependents.atomically(() -> {
+                DeletionReport report = dependents.ofDoctor(doctorId, dryRun);
+                if (!dryRun) {
+                    dependents.delete(report);
+                    doctorRepository.deleteById(doctorId);
+                }
+                return report;
+            });
+        });
+    }
+
+    /**
+     * Checks that the doctor exists and runs {@code action} without letting
+     * the doctor be deleted until it returns. Call this after
+     * {@link PatientService#whilePatientExists} and before locking any
+     * dependent repository.
+     *
+     * @throws InvalidDataException if there is no such doctor
+     */
+    <R> R whileDoctorExists(String doctorId, Supplier<R> action) {
+        return doctorRepository.withReadLock(() -> {
+            if (doctorId == null || !doctorRepository.existsById(doctorId)) {
+                throw new InvalidDataException("Doctor not found with ID: " + doctorId);
+            }
+            return action.get();
+        });
     }
 
     public boolean doctorExists(String doctorId) {
-        return doctorId != null && doctorRepository.existsById(doctorId);
+        return doctorId != null && cache.get(doctorId, this::load) != null;
+    }
+
+    /**
+     * Validates every field of {@code doctor} without throwing, collecting all
+     * errors rather than stopping at the first.
+     */
+    public ValidationResult checkDoctor(Doctor doctor) {
+        ValidationResult result = new ValidationResult();
+        if (!ValidationUtil.checkNotNull(doctor, "Doctor", result)) {
+            return result;
+        }
+        ValidationUtil.checkNotEmpty(doctor.getFirstName(), "First name", result);
+        ValidationUtil.checkNotEmpty(doctor.getLastName(), "Last name", result);
+        ValidationUtil.checkNotEmpty(doctor.getSpecialization(), "Specialization", result);
+        ValidationUtil.checkPhoneNumber(doctor.getPhoneNumber(), result);
+        ValidationUtil.checkEmail(doctor.getEmail(), result);
+        ValidationUtil.checkNonNegativeNumber(doctor.getYearsOfExperience(), "Years of experience", result);
+        ValidationUtil.checkNotEmpty(doctor.getQualification(), "Qualification", result);
+        return result;
+    }
+
+    public CacheStats getCacheStats() {
+        return cache.stats();
     }
 
     public long getTotalDoctorCount() {
         return doctorRepository.count();
     }
 
+    private Doctor load(String doctorId) {
+        if (!existenceFilter.mightContain(doctorId)) {
+            return null;
+        }
+        return doctorRepository.findById(doctorId).orElse(null);
+    }
+
+    private static CuckooFilter defaultFilter() {
+        return new CuckooFilter(DEFAULT_FILTER_KEYS, DEFAULT_FILTER_FALSE_POSITIVE_RATE, DEFAULT_FILTER_MEMORY_BYTES);
+    }
+
     private void validateDoctor(Doctor doctor) {
-        ValidationUtil.validateNotNull(doctor, "Doctor");
-        ValidationUtil.validateNotEmpty(doctor.getFirstName(), "First name");
-        ValidationUtil.validateNotEmpty(doctor.getLastName(), "Last name");
-        ValidationUtil.validateNotEmpty(doctor.getSpecialization(), "Specialization");
-        ValidationUtil.validatePhoneNumber(doctor.getPhoneNumber());
-        ValidationUtil.validateEmail(doctor.getEmail());
-        ValidationUtil.validateNonNegativeNumber(doctor.getYearsOfExperience(), "Years of experience");
-        ValidationUtil.validateNotEmpty(doctor.getQualification(), "Qualification");
+        checkDoctor(doctor).throwIfInvalid();
+    }
+
+    private void checkContactDetailsAvailable(Doctor doctor, String ownerId) {
+        Optional<Doctor> byEmail = doctorRepository.findByEmail(doctor.getEmail());
+        if (byEmail.isPresent() && !byEmail.get().getDoctorId().equals(ownerId)) {
+            throw new InvalidDataException("Doctor with email " + doctor.getEmail() + " already exists");
+        }
+        Optional<Doctor> byPhone = doctorRepository.findByPhone(doctor.getPhoneNumber());
+        if (byPhone.isPresent() && !byPhone.get().getDoctorId().equals(ownerId)) {
+            throw new InvalidDataException("Doctor with phone number " + doctor.getPhoneNumber() + " already exists");
+        }
     }
 
     private String generateDoctorId() {
-        return "DOC" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return idGenerator.nextId("DOC");
     }
 }
@@ -0,0 +1,141 @@
+package com.healthcare.service;
+
+import com.healthcare.model.Drug;
+import com.healthcare.model.DrugInteraction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Immutable set of interacting drug pairs. Each pair is packed into a single
+ * {@code long} of the two drug IDs and stored in an open-addressing table, so
+ * a lookup is one hash probe without allocation.
+ */
+public final class DrugInteractionTable {
+    private static final String DEFAULT_RESOURCE = "/drug-interactions.txt";
+    private static final DrugInteractionTable EMPTY = new DrugInteractionTable(List.of());
+
+    private final long[] keys;
+    private final DrugInteraction[] interactions;
+    private final int mask;
+    private final int size;
+
+    private DrugInteractionTable(List<DrugInteraction> entries) {
+        int capacity = Integer.highestOneBit(Math.max(2, entries.size() * 2) - 1) << 1;
+        this.keys = new long[capacity];
+        this.interactions = new DrugInteraction[capacity];
+        this.mask = capacity - 1;
+        int count = 0;
+        for (DrugInteraction interaction : entries) {
+            long key = pair(interaction.getFirst().getDrugId(), interaction.getSecond().getDrugId());
+            int slot = slot(key);
+            if (interactions[slot] == null) {
+                count++;
+            }
+            keys[slot] = key;
+            interactions[slot] = interaction;
+        }
+        this.size = count;
+    }
+
+    public static DrugInteractionTable of(List<DrugInteraction> interactions) {
+        return new DrugInteractionTable(interactions);
+    }
+
+    public static DrugInteractionTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the table from the {@code drug-interactions.txt} resource, with
+     * names resolved against the given catalog.
+     */
+    public static DrugInteractionTable loadDefault(MedicationCatalog catalog) {
+        InputStream in = DrugInteractionTable.class.getResourceAsStream(DEFAULT_RESOURCE);
+        if (in == null) {
+            return EMPTY;
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return load(reader, catalog);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + DEFAULT_RESOURCE, e);
+        }
+    }
+
+    /**
+     * Reads one {@code drug|drug|severity|description} line per interaction.
+     * Blank lines and lines starting with {@code #} are skipped, as are pairs
+     * naming a drug that is not in the catalog.
+     */
+    public static DrugInteractionTable load(Reader reader, MedicationCatalog catalog) throws IOException {
+        List<DrugInteraction> entries = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\|", 4);
+            if (fields.length < 3) {
+                throw new IllegalArgumentException("Malformed interaction on line " + lineNumber + ": " + line);
+            }
+            DrugInteraction.Severity severity;
+            try {
+                severity = DrugInteraction.Severity.valueOf(fields[2].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown severity on line " + lineNumber + ": " + fields[2], e);
+            }
+            Optional<Drug> first = catalog.findByName(fields[0]);
+            Optional<Drug> second = catalog.findByName(fields[1]);
+            if (first.isPresent() && second.isPresent()) {
+                String description = fields.length > 3 ? fields[3].trim() : null;
+                entries.add(new DrugInteraction(first.get(), second.get(), severity, description));
+            }
+        }
+        return new DrugInteractionTable(entries);
+    }
+
+    /**
+     * Returns the interaction between two drugs in either order, or
+     * {@code null} if they do not interact.
+     */
+    public DrugInteraction find(int drugId, int otherDrugId) {
+        if (drugId < 0 || otherDrugId < 0) {
+            return null;
+        }
+        return interactions[slot(pair(drugId, otherDrugId))];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        int slot = (int) (mix(key) & mask);
+        while (interactions[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static long pair(int drugId, int otherDrugId) {
+        return ((long) Math.min(drugId, otherDrugId) << 32) | Math.max(drugId, otherDrugId);
+    }
+
+    private static long mix(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return key ^ (key >>> 32);
+    }
+}
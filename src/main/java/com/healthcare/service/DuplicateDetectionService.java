@@ -0,0 +1,231 @@
+package com.healthcare.service;
+
+import com.healthcare.model.DuplicateCluster;
+import com.healthcare.model.Patient;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.util.StringSimilarity;
+import com.healthcare.util.ValidationUtil;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Batch job that finds charts likely to belong to the same person. Patients
+ * are grouped into blocks by soundex(lastName) + birth year and by
+ * soundex(firstName) + date of birth, and only patients sharing a block are
+ * compared. Blocks larger than the configured limit are compared with a
+ * sorted-neighbourhood window instead of all pairs.
+ */
+public class DuplicateDetectionService {
+    public static final double DEFAULT_THRESHOLD = 0.75;
+    private static final int DEFAULT_MAX_BLOCK_SIZE = 500;
+    private static final int WINDOW_SIZE = 25;
+
+    private final PatientRepository patientRepository;
+    private final ForkJoinPool pool;
+    private final int maxBlockSize;
+
+    public DuplicateDetectionService(PatientRepository patientRepository) {
+        this(patientRepository, ForkJoinPool.commonPool(), DEFAULT_MAX_BLOCK_SIZE);
+    }
+
+    public DuplicateDetectionService(PatientRepository patientRepository, ForkJoinPool pool, int maxBlockSize) {
+        this.patientRepository = patientRepository;
+        this.pool = pool;
+        this.maxBlockSize = maxBlockSize;
+    }
+
+    public List<DuplicateCluster> findDuplicateClusters() {
+        return findDuplicateClusters(DEFAULT_THRESHOLD);
+    }
+
+    public List<DuplicateCluster> findDuplicateClusters(double threshold) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("Threshold must be in (0, 1]: " + threshold);
+        }
+        List<Candidate> candidates = patientRepository.mapAll(Candidate::new);
+        List<DuplicateCluster.Match> matches;
+        try {
+            matches = pool.submit(() -> findMatches(candidates, threshold)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Duplicate detection was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Duplicate detection failed", e.getCause());
+        }
+        return cluster(candidates, matches);
+    }
+
+    static double score(Candidate a, Candidate b) {
+        double score = 0.2 * StringSimilarity.jaroWinkler(a.firstName, b.firstName)
+                + 0.25 * StringSimilarity.jaroWinkler(a.lastName, b.lastName);
+        if (a.dateOfBirth != null && a.dateOfBirth.equals(b.dateOfBirth)) {
+            score += 0.35;
+        } else if (a.dateOfBirth != null && b.dateOfBirth != null
+                && a.dateOfBirth.getYear() == b.dateOfBirth.getYear()
+                && a.dateOfBirth.getMonthValue() == b.dateOfBirth.getDayOfMonth()
+                && a.dateOfBirth.getDayOfMonth() == b.dateOfBirth.getMonthValue()) {
+            score += 0.175;
+        }
+        if (a.phoneNumber != null && a.phoneNumber.equals(b.phoneNumber)) {
+            score += 0.1;
+        }
+        if (a.email != null && a.email.equals(b.email)) {
+            score += 0.1;
+        } else if (a.emailLocalPart != null && a.emailLocalPart.equals(b.emailLocalPart)) {
+            score += 0.05;
+        }
+        return score;
+    }
+
+    private List<DuplicateCluster.Match> findMatches(List<Candidate> candidates, double threshold) {
+        Map<String, List<Candidate>> blocks = candidates.parallelStream()
+                .flatMap(c -> Stream.of(
+                        new AbstractMap.SimpleImmutableEntry<>(c.lastNameBlock(), c),
+                        new AbstractMap.SimpleImmutableEntry<>(c.firstNameBlock(), c)))
+                .collect(Collectors.groupingByConcurrent(Map.Entry::getKey,
+                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+
+        return blocks.values().parallelStream()
+                .filter(block -> block.size() > 1)
+                .flatMap(block -> compareBlock(block, threshold).stream())
+                .collect(Collectors.toConcurrentMap(
+                        m -> m.getFirstPatientId() + '\u0000' + m.getSecondPatientId(),
+                        m -> m,
+                        (first, second) -> first))
+                .values().stream()
+                .collect(Collectors.toList());
+    }
+
+    private List<DuplicateCluster.Match> compareBlock(List<Candidate> block, double threshold) {
+        List<DuplicateCluster.Match> matches = new ArrayList<>();
+        if (block.size() <= maxBlockSize) {
+            for (int i = 0; i < block.size(); i++) {
+                for (int j = i + 1; j < block.size(); j++) {
+                    addIfMatch(block.get(i), block.get(j), threshold, matches);
+                }
+            }
+            return matches;
+        }
+
+        List<Candidate> sorted = new ArrayList<>(block);
+        sorted.sort(Comparator.comparing((Candidate c) -> c.sortKey));
+        for (int i = 0; i < sorted.size(); i++) {
+            for (int j = i + 1; j < Math.min(sorted.size(), i + 1 + WINDOW_SIZE); j++) {
+                addIfMatch(sorted.get(i), sorted.get(j), threshold, matches);
+            }
+        }
+        return matches;
+    }
+
+    private void addIfMatch(Candidate a, Candidate b, double threshold, List<DuplicateCluster.Match> matches) {
+        if (a.patientId.equals(b.patientId)) {
+            return;
+        }
+        double score = score(a, b);
+        if (score >= threshold) {
+            boolean ordered = a.patientId.compareTo(b.patientId) < 0;
+            matches.add(new DuplicateCluster.Match(
+                    ordered ? a.patientId : b.patientId,
+                    ordered ? b.patientId : a.patientId,
+                    score));
+        }
+    }
+
+    private List<DuplicateCluster> cluster(List<Candidate> candidates, List<DuplicateCluster.Match> matches) {
+        Map<String, Candidate> byId = new HashMap<>();
+        for (Candidate candidate : candidates) {
+            byId.put(candidate.patientId, candidate);
+        }
+
+        Map<String, String> parent = new HashMap<>();
+        for (DuplicateCluster.Match match : matches) {
+            union(parent, match.getFirstPatientId(), match.getSecondPatientId());
+        }
+
+        Map<String, List<String>> members = new HashMap<>();
+        Map<String, List<DuplicateCluster.Match>> clusterMatches = new HashMap<>();
+        for (String patientId : new ArrayList<>(parent.keySet())) {
+            members.computeIfAbsent(find(parent, patientId), k -> new ArrayList<>()).add(patientId);
+        }
+        for (DuplicateCluster.Match match : matches) {
+            clusterMatches.computeIfAbsent(find(parent, match.getFirstPatientId()), k -> new ArrayList<>()).add(match);
+        }
+
+        Comparator<Candidate> survivorOrder = Comparator
+                .comparing((Candidate c) -> c.registrationDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(c -> c.patientId);
+
+        List<DuplicateCluster> clusters = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : members.entrySet()) {
+            List<String> ids = entry.getValue();
+            ids.sort(Comparator.naturalOrder());
+            Candidate survivor = ids.stream().map(byId::get).min(survivorOrder).orElseThrow();
+            List<DuplicateCluster.Match> links = clusterMatches.get(entry.getKey());
+            double score = links.stream().mapToDouble(DuplicateCluster.Match::getScore).min().orElse(0);
+            clusters.add(new DuplicateCluster(survivor.patientId, ids, links, score));
+        }
+        clusters.sort(Comparator.comparingDouble(DuplicateCluster::getScore).reversed()
+                .thenComparing(DuplicateCluster::getSurvivorId));
+        return clusters;
+    }
+
+    private static void union(Map<String, String> parent, String a, String b) {
+        String rootA = find(parent, a);
+        String rootB = find(parent, b);
+        if (!rootA.equals(rootB)) {
+            parent.put(rootB, rootA);
+        }
+    }
+
+    private static String find(Map<String, String> parent, String id) {
+        String root = parent.computeIfAbsent(id, k -> k);
+        while (!root.equals(parent.get(root))) {
+            root = parent.get(root);
+        }
+        String current = id;
+        while (!current.equals(root)) {
+            String next = parent.get(current);
+            parent.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+    static final class Candidate {
+        private final String patientId;
+        private final String firstName;
+        private final String lastName;
+        private final LocalDate dateOfBirth;
+        private final String phoneNumber;
+        private final String email;
+        private final String emailLocalPart;
+        private final LocalDate registrationDate;
+        private final String sortKey;
+
+        Candidate(Patient patient) {
+            this.patientId = patient.getPatientId();
+            this.firstName = patient.getFirstName();
+            this.lastName = patient.getLastName();
+            this.dateOfBirth = patient.getDateOfBirth();
+            this.phoneNumber = ValidationUtil.normalizePhoneNumber(patient.getPhoneNumber());
+            this.email = ValidationUtil.normalizeEmail(patient.getEmail());
+            int at = email == null ? -1 : email.indexOf('@');
+            this.emailLocalPart = at > 0 ? email.substring(0, at) : null;
+            this.registrationDate = patient.getRegistrationDate();
+            this.sortKey = (lastName + " " + firstName).toLowerCase(Locale.ROOT);
+        }
+
+        String lastNameBlock() {
+            return "L" + StringSimilarity.soundex(lastName) + (dateOfBirth == null ? "" : dateOfBirth.getYear());
+        }
+
+        String firstNameBlock() {
+            return "F" + StringSimilarity.soundex(firstName) + (dateOfBirth == null ? "" : dateOfBirth);
+        }
+    }
+}
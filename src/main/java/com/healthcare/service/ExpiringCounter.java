@@ -0,0 +1,69 @@
+package com.healthcare.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts items that stop counting once a point in time passes, such as
+ * upcoming appointments or unexpired prescriptions. Items are bucketed by the
+ * key at which they expire; buckets are dropped as reads move past them, so
+ * each item is expired at most once and reads are amortised O(1).
+ */
+final class ExpiringCounter<K extends Comparable<? super K>> {
+    private final ConcurrentSkipListMap<K, LongAdder> buckets;
+    private final LongAdder total;
+    private final boolean expiresAtKey;
+    private K expiredThrough;
+
+    /**
+     * @param expiresAtKey whether an item stops counting when the clock
+     *                     reaches its key, or only once the clock is past it
+     */
+    ExpiringCounter(boolean expiresAtKey) {
+        this.buckets = new ConcurrentSkipListMap<>();
+        this.total = new LongAdder();
+        this.expiresAtKey = expiresAtKey;
+    }
+
+    synchronized void add(K key, long delta) {
+        if (key == null || (expiredThrough != null && isExpired(key, expiredThrough))) {
+            return;
+        }
+        LongAdder bucket = buckets.computeIfAbsent(key, k -> new LongAdder());
+        bucket.add(delta);
+        total.add(delta);
+        if (bucket.sum() == 0) {
+            buckets.remove(key);
+        }
+    }
+
+    long count(K now) {
+        Map.Entry<K, LongAdder> first = buckets.firstEntry();
+        if (first != null && isExpired(first.getKey(), now)) {
+            expire(now);
+        }
+        return total.sum();
+    }
+
+    synchronized void clear() {
+        buckets.clear();
+        total.reset();
+    }
+
+    private synchronized void expire(K now) {
+        Map.Entry<K, LongAdder> first;
+        while ((first = buckets.firstEntry()) != null && isExpired(first.getKey(), now)) {
+            total.add(-first.getValue().sum());
+            buckets.remove(first.getKey());
+        }
+        if (expiredThrough == null || expiredThrough.compareTo(now) < 0) {
+            expiredThrough = now;
+        }
+    }
+
+    private boolean isExpired(K key, K now) {
+        int comparison = key.compareTo(now);
+        return expiresAtKey ? comparison <= 0 : comparison < 0;
+    }
+}
@@ -1,62 +1,116 @@
 package com.healthcare.service;
 
+import com.healthcare.cache.SingleFlight;
 import com.healthcare.exception.InvalidDataException;
 import com.healthcare.model.MedicalRecord;
+import com.healthcare.model.TrackedEntity;
 import com.healthcare.repository.MedicalRecordRepository;
+import com.healthcare.repository.RepositoryListener;
+import com.healthcare.util.IdGenerator;
+import com.healthcare.util.Page;
 import com.healthcare.util.ValidationUtil;
 
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public class MedicalRecordService {
     private final MedicalRecordRepository recordRepository;
     private final PatientService patientService;
     private final DoctorService doctorService;
+    private final IdGenerator idGenerator;
+    private final SingleFlight<List<Object>, List<MedicalRecord>> reads;
 
     public MedicalRecordService(MedicalRecordRepository recordRepository, 
                                 PatientService patientService, 
                                 DoctorService doctorService) {
+        this(recordRepository, patientService, doctorService, IdGenerator.timeOrdered());
+    }
+
+    public MedicalRecordService(MedicalRecordRepository recordRepository,
+                                PatientService patientService,
+                                DoctorService doctorService,
+                                IdGenerator idGenerator) {
         this.recordRepository = recordRepository;
         this.patientService = patientService;
         this.doctorService = doctorService;
+        this.idGenerator = idGenerator;
+        this.reads = new SingleFlight<>(TrackedEntity::copyAll);
+        recordRepository.addListener(RepositoryListener.invalidating(id -> reads.forgetAll(), reads::forgetAll));
     }
 
     public MedicalRecord createMedicalRecord(MedicalRecord record) {
         validateMedicalRecord(record);
         
-        if (!patientService.patientExists(record.getPatientId())) {
-            throw new InvalidDataException("Patient not found with ID: " + record.getPatientId());
-        }
-        
-        if (!doctorService.doctorExists(record.getDoctorId())) {
-            throw new InvalidDataException("Doctor not found with ID: " + record.getDoctorId());
-        }
-        
-        if (record.getRecordId() == null || record.getRecordId().isEmpty()) {
-            record.setRecordId(generateRecordId());
-        }
-        
-        return recordRepository.save(record);
+        return patientService.whilePatientExists(record.getPatientId(), () ->
+                doctorService.whileDoctorExists(record.getDoctorId(), () -> {
+                    if (record.getRecordId() == null || record.getRecordId().isEmpty()) {
+                        record.setRecordId(generateRecordId());
+                    }
+                    return recordRepository.save(record);
+                }));
     }
 
     public MedicalRecord getMedicalRecordById(String recordId) {
         ValidationUtil.validateNotEmpty(recordId, "Record ID");
         return recordRepository.findById(recordId)
-                .orElseThrow(() -> new InvalidDataException("Medical record not found with ID: " + recordId));
+                .orElseThrow(() -> InvalidDataException.of("Medical record not found with ID: ", recordId));
+    }
+
+    public Optional<MedicalRecord> findMedicalRecordById(String recordId) {
+        return recordId == null ? Optional.empty() : recordRepository.findById(recordId);
     }
 
     public List<MedicalRecord> getAllMedicalRecords() {
         return recordRepository.findAll();
     }
 
+    public Page<MedicalRecord> getAllMedicalRecords(String cursor, int limit) {
+        return Page.fetch(cursor, limit, recordRepository::findAll, MedicalRecord::getRecordId);
+    }
+
+    public Stream<MedicalRecord> streamAllMedicalRecords() {
+        return recordRepository.streamAll();
+    }
+
     public List<MedicalRecord> getMedicalRecordsByPatient(String patientId) {
         ValidationUtil.validateNotEmpty(patientId, "Patient ID");
-        return recordRepository.findByPatientId(patientId);
+        return reads.execute(List.of("patient", patientId), () -> recordRepository.findByPatientId(patientId));
+    }
+
+    /**
+     * Pages through the patient's records in ID order rather than newest
+     * first.
+     */
+    public Page<MedicalRecord> getMedicalRecordsByPatient(String patientId, String cursor, int limit) {
+        ValidationUtil.validateNotEmpty(patientId, "Patient ID");
+        return Page.fetch(cursor, limit, (after, count) -> recordRepository.findByPatientId(patientId, after, count),
+                          MedicalRecord::getRecordId);
+    }
+
+    /**
+     * Streams the patient's records newest first, like
+     * {@link #getMedicalRecordsByPatient(String)}.
+     */
+    public Stream<MedicalRecord> streamMedicalRecordsByPatient(String patientId) {
+        ValidationUtil.validateNotEmpty(patientId, "Patient ID");
+        return recordRepository.streamByPatientIdNewestFirst(patientId);
     }
 
     public List<MedicalRecord> getMedicalRecordsByDoctor(String doctorId) {
         ValidationUtil.validateNotEmpty(doctorId, "Doctor ID");
-        return recordRepository.findByDoctorId(doctorId);
+        return reads.execute(List.of("doctor", doctorId), () -> recordRepository.findByDoctorId(doctorId));
+    }
+
+    public Page<MedicalRecord> getMedicalRecordsByDoctor(String doctorId, String cursor, int limit) {
+        ValidationUtil.validateNotEmpty(doctorId, "Doctor ID");
+        return Page.fetch(cursor, limit, (after, count) -> recordRepository.findByDoctorId(doctorId, after, count),
+                          MedicalRecord::getRecordId);
+    }
+
+    public Stream<MedicalRecord> streamMedicalRecordsByDoctor(String doctorId) {
+        ValidationUtil.validateNotEmpty(doctorId, "Doctor ID");
+        return recordRepository.streamByDoctorId(doctorId);
     }
 
     public MedicalRecord updateMedicalRecord(String recordId, MedicalRecord updatedRecord) {
@@ -91,6 +145,6 @@ public class MedicalRecordService {
     }
 
     private String generateRecordId() {
-        return "REC" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return idGenerator.nextId("REC");
     }
 }
@@ -0,0 +1,159 @@
+package com.healthcare.service;
+
+import com.healthcare.model.Drug;
+import com.healthcare.model.Prescription;
+import com.healthcare.util.PrefixTrie;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Known medications, each a shared {@link Drug} with a compact integer ID.
+ * Names are matched case-insensitively and can be completed from a prefix.
+ */
+public class MedicationCatalog {
+    private static final String DEFAULT_RESOURCE = "/medications.txt";
+
+    private final List<Drug> drugs;
+    private final PrefixTrie<Drug> byName;
+    private final ReadWriteLock lock;
+
+    public MedicationCatalog() {
+        this.drugs = new ArrayList<>();
+        this.byName = new PrefixTrie<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Returns a catalog loaded from the {@code medications.txt} resource.
+     */
+    public static MedicationCatalog loadDefault() {
+        MedicationCatalog catalog = new MedicationCatalog();
+        InputStream in = MedicationCatalog.class.getResourceAsStream(DEFAULT_RESOURCE);
+        if (in == null) {
+            return catalog;
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            catalog.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + DEFAULT_RESOURCE, e);
+        }
+        return catalog;
+    }
+
+    /**
+     * Registers one drug per {@code name|strength,strength} line. Blank lines
+     * and lines starting with {@code #} are skipped.
+     */
+    public void load(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('|');
+            String name = separator < 0 ? line : line.substring(0, separator);
+            List<String> strengths = new ArrayList<>();
+            if (separator >= 0) {
+                for (String strength : line.substring(separator + 1).split(",")) {
+                    if (!strength.trim().isEmpty()) {
+                        strengths.add(strength.trim());
+                    }
+                }
+            }
+            register(name, strengths);
+        }
+    }
+
+    /**
+     * Adds a drug, or returns the existing one if the name is already known.
+     */
+    public Drug register(String name, List<String> standardStrengths) {
+        String key = key(name);
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("Drug name cannot be empty");
+        }
+        lock.writeLock().lock();
+        try {
+            Drug existing = byName.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            Drug drug = new Drug(drugs.size(), name.trim(), standardStrengths);
+            drugs.add(drug);
+            byName.put(key, drug);
+            return drug;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Drug> findById(int drugId) {
+        lock.readLock().lock();
+        try {
+            return drugId >= 0 && drugId < drugs.size() ? Optional.of(drugs.get(drugId)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Drug> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(byName.get(key(name)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Drug> complete(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return byName.complete(prefix == null ? "" : key(prefix), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Links a medication to its catalog entry when its name matches one, so
+     * it stops holding its own copy of the name. Returns whether it matched.
+     */
+    public boolean resolve(Prescription.Medication medication) {
+        if (medication.getDrug() != null) {
+            return true;
+        }
+        Optional<Drug> drug = findByName(medication.getMedicineName());
+        drug.ifPresent(medication::setDrug);
+        return drug.isPresent();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return drugs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
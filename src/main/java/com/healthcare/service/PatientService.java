@@ -1,19 +1,94 @@
 package com.healthcare.service;
 
+import com.healthcare.cache.BoundedCache;
+import com.healthcare.cache.CacheStats;
+import com.healthcare.cache.CuckooFilter;
 import com.healthcare.exception.InvalidDataException;
 import com.healthcare.exception.PatientNotFoundException;
+import com.healthcare.model.DeletionReport;
+import com.healthcare.model.MergeReport;
 import com.healthcare.model.Patient;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.MedicalRecordRepository;
 import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.PrescriptionRepository;
+import com.healthcare.repository.RepositoryListener;
+import com.healthcare.util.IdGenerator;
+import com.healthcare.util.Page;
+import com.healthcare.util.ValidationResult;
 import com.healthcare.util.ValidationUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class PatientService {
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+    private static final int DEFAULT_FILTER_KEYS = 100_000;
+    private static final double DEFAULT_FILTER_FALSE_POSITIVE_RATE = 0.01;
+    private static final long DEFAULT_FILTER_MEMORY_BYTES = 8L * 1024 * 1024;
+
     private final PatientRepository patientRepository;
+    private final DependentRecords dependents;
+    private final BoundedCache<String, Patient> cache;
+    private final CuckooFilter existenceFilter;
+    private final IdGenerator idGenerator;
 
     public PatientService(PatientRepository patientRepository) {
+        this(patientRepository, null, new BoundedCache<>(DEFAULT_CACHE_SIZE), defaultFilter(),
+             IdGenerator.timeOrdered());
+    }
+
+    public PatientService(PatientRepository patientRepository,
+                          AppointmentRepository appointmentRepository,
+                          PrescriptionRepository prescriptionRepository,
+                          MedicalRecordRepository recordRepository) {
+        this(patientRepository, appointmentRepository, prescriptionRepository, recordRepository,
+             new BoundedCache<>(DEFAULT_CACHE_SIZE), defaultFilter());
+    }
+
+    public PatientService(PatientRepository patientRepository,
+                          AppointmentRepository appointmentRepository,
+                          PrescriptionRepository prescriptionRepository,
+                          MedicalRecordRepository recordRepository,
+                          BoundedCache<String, Patient> cache,
+                          CuckooFilter existenceFilter) {
+        this(patientRepository, appointmentRepository, prescriptionRepository, recordRepository, cache, existenceFilter,
+             IdGenerator.timeOrdered());
+    }
+
+    public PatientService(PatientRepository patientRepository,
+                          AppointmentRepository appointmentRepository,
+                          PrescriptionRepository prescriptionRepository,
+                          MedicalRecordRepository recordRepository,
+                          BoundedCache<String, Patient> cache,
+                          CuckooFilter existenceFilter,
+                          IdGenerator idGenerator) {
+        this(patientRepository, new DependentRecords(appointmentRepository, prescriptionRepository, recordRepository),
+             cache, existenceFilter, idGenerator);
+    }
+
+    private PatientService(PatientRepository patientRepository, DependentRecords dependents,
+                           BoundedCache<String, Patient> cache, CuckooFilter existenceFilter,
+                           IdGenerator idGenerator) {
         this.patientRepository = patientRepository;
+        this.dependents = dependents;
+        this.cache = cache;
+        this.existenceFilter = existenceFilter;
+        this.idGenerator = idGenerator;
+        patientRepository.atomically(() -> {
+            existenceFilter.clear();
+            patientRepository.mapAll(Patient::getPatientId).forEach(existenceFilter::add);
+            patientRepository.addListener(RepositoryListener.invalidating(cache::invalidate, cache::invalidateAll));
+            patientRepository.addListener(RepositoryListener.tracking(existenceFilter::add, existenceFilter::remove,
+                                                                existenceFilter::clear));
+            return null;
+        });
     }
 
     public Patient registerPatient(Patient patient) {
@@ -23,33 +98,115 @@ public class PatientService {
             patient.setPatientId(generatePatientId());
         }
         
-        if (patientRepository.existsById(patient.getPatientId())) {
-            throw new InvalidDataException("Patient with ID " + patient.getPatientId() + " already exists");
-        }
-        
-        return patientRepository.save(patient);
+        return patientRepository.atomically(() -> {
+            if (patientRepository.existsById(patient.getPatientId())) {
+                throw new InvalidDataException("Patient with ID " + patient.getPatientId() + " already exists");
+            }
+            checkContactDetailsAvailable(patient, null);
+            return patientRepository.save(patient);
+        });
     }
 
     public Patient getPatientById(String patientId) {
         ValidationUtil.validateNotEmpty(patientId, "Patient ID");
-        return patientRepository.findById(patientId)
-                .orElseThrow(() -> new PatientNotFoundException("Patient not found with ID: " + patientId));
+        return findPatientById(patientId).orElseThrow(() -> PatientNotFoundException.forId(patientId));
+    }
+
+    public Optional<Patient> findPatientById(String patientId) {
+        if (patientId == null) {
+            return Optional.empty();
+        }
+        Patient cached = cache.get(patientId, this::load);
+        return cached == null ? Optional.empty() : Optional.of(cached.copy());
+    }
+
+    /**
+     * Looks up several patients at once, keyed by ID in the order given. Cached
+     * patients come from the cache and the rest are read from the repository in
+     * one lookup. Unknown IDs are left out.
+     */
+    public Map<String, Patient> getPatientsByIds(Collection<String> patientIds) {
+        Map<String, Patient> result = new LinkedHashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String patientId : patientIds) {
+            if (patientId == null || result.containsKey(patientId)) {
+                continue;
+            }
+            Patient cached = cache.getIfPresent(patientId);
+            if (cached != null) {
+                result.put(patientId, cached.copy());
+            } else if (existenceFilter.mightContain(patientId)) {
+                result.put(patientId, null);
+                uncached.add(patientId);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            Map<String, Patient> loaded = patientRepository.findAllById(uncached);
+            for (String patientId : uncached) {
+                Patient patient = loaded.get(patientId);
+                if (patient == null) {
+                    result.remove(patientId);
+                } else {
+                    result.put(patientId, patient);
+                }
+            }
+        }
+        return result;
+    }
+
+    public Optional<Patient> findPatientByEmail(String email) {
+        return patientRepository.findByEmail(email);
+    }
+
+    public Optional<Patient> findPatientByPhone(String phoneNumber) {
+        return patientRepository.findByPhone(phoneNumber);
     }
 
     public List<Patient> getAllPatients() {
         return patientRepository.findAll();
     }
 
+    public Page<Patient> getAllPatients(String cursor, int limit) {
+        return Page.fetch(cursor, limit, patientRepository::findAll, Patient::getPatientId);
+    }
+
+    public Stream<Patient> streamAllPatients() {
+        return patientRepository.streamAll();
+    }
+
     public List<Patient> getPatientsByLastName(String lastName) {
         ValidationUtil.validateNotEmpty(lastName, "Last name");
         return patientRepository.findByLastName(lastName);
     }
 
+    public Page<Patient> getPatientsByLastName(String lastName, String cursor, int limit) {
+        ValidationUtil.validateNotEmpty(lastName, "Last name");
+        return Page.fetch(cursor, limit, (after, count) -> patientRepository.findByLastName(lastName, after, count),
+                          Patient::getPatientId);
+    }
+
+    public Stream<Patient> streamPatientsByLastName(String lastName) {
+        ValidationUtil.validateNotEmpty(lastName, "Last name");
+        return patientRepository.streamByLastName(lastName);
+    }
+
     public List<Patient> getPatientsByBloodGroup(String bloodGroup) {
         ValidationUtil.validateBloodGroup(bloodGroup);
         return patientRepository.findByBloodGroup(bloodGroup);
     }
 
+    public Page<Patient> getPatientsByBloodGroup(String bloodGroup, String cursor, int limit) {
+        ValidationUtil.validateBloodGroup(bloodGroup);
+        return Page.fetch(cursor, limit,
+                          (after, count) -> patientRepository.findByBloodGroup(bloodGroup, after, count),
+                          Patient::getPatientId);
+    }
+
+    public Stream<Patient> streamPatientsByBloodGroup(String bloodGroup) {
+        ValidationUtil.validateBloodGroup(bloodGroup);
+        return patientRepository.streamByBloodGroup(bloodGroup);
+    }
+
     public Patient updatePatient(String patientId, Patient updatedPatient) {
         ValidationUtil.validateNotEmpty(patientId, "Patient ID");
         Patient existingPatient = getPatientById(patientId);
@@ -59,38 +216,149 @@ public class PatientService {
         updatedPatient.setPatientId(patientId);
         updatedPatient.setRegistrationDate(existingPatient.getRegistrationDate());
         
-        return patientRepository.save(updatedPatient);
+        return patientRepository.atomically(() -> {
+            checkContactDetailsAvailable(updatedPatient, patientId);
+            return patientRepository.save(updatedPatient);
+        });
     }
 
     public void deletePatient(String patientId) {
+        deletePatient(patientId, false);
+    }
+
+    public DeletionReport deletePatient(String patientId, boolean dryRun) {
         ValidationUtil.validateNotEmpty(patientId, "Patient ID");
-        if (!patientRepository.existsById(patientId)) {
-            throw new PatientNotFoundException("Patient not found with ID: " + patientId);
+        return patientRepository.atomically(() -> {
+            if (!patientRepository.existsById(patientId)) {
+                throw PatientNotFoundException.forId(patientId);
+            }
+            if (dependents == null) {
+                if (!dryRun) {
+                    patientRepository.deleteById(patientId);
+                }
+                return DependentRecords.none(patientId, dryRun);
+            }
+            return dependents.atomically(() -> {
+                DeletionReport report = dependents.ofPatient(patientId, dryRun);
+                if (!dryRun) {
+                    dependents.delete(report);
+                    patientRepository.deleteById(patientId);
+                }
+                return report;
+            });
+        });
+    }
+
+    /**
+     * Moves the duplicate's appointments, prescriptions and medical records to
+     * the survivor and deletes the duplicate, as one step. A dependent being
+     * created for the duplicate at the same time either lands before the
+     * merge and is moved, or fails because the duplicate no longer exists.
+     */
+    public MergeReport mergePatients(String survivorId, String duplicateId) {
+        ValidationUtil.validateNotEmpty(survivorId, "Survivor patient ID");
+        ValidationUtil.validateNotEmpty(duplicateId, "Duplicate patient ID");
+        if (survivorId.equals(duplicateId)) {
+            throw new InvalidDataException("Cannot merge patient " + survivorId + " into itself");
         }
-        patientRepository.deleteById(patientId);
+        return patientRepository.atomically(() -> {
+            for (String patientId : new String[] {survivorId, duplicateId}) {
+                if (!patientRepository.existsById(patientId)) {
+                    throw PatientNotFoundException.forId(patientId);
+                }
+            }
+            if (dependents == null) {
+                patientRepository.deleteById(duplicateId);
+                return new MergeReport(survivorId, duplicateId, new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            }
+            return dependents.atomically(() -> {
+                MergeReport report = dependents.reassignPatient(duplicateId, survivorId);
+                patientRepository.deleteById(duplicateId);
+                return report;
+            });
+        });
+    }
+
+    /**
+     * Checks that the patient exists and runs {@code action} without letting
+     * the patient be deleted or merged away until it returns. Callers that
+     * also lock other repositories must call this first, to take locks in
+     * the same order as the cascading delete.
+     *
+     * @throws InvalidDataException if there is no such patient
+     */
+    <R> R whilePatientExists(String patientId, Supplier<R> action) {
+        return patientRepository.withReadLock(() -> {
+            if (patientId == null || !patientRepository.existsById(patientId)) {
+                throw new InvalidDataException("Patient not found with ID: " + patientId);
+            }
+            return action.get();
+        });
     }
 
     public boolean patientExists(String patientId) {
-        return patientId != null && patientRepository.existsById(patientId);
+        return patientId != null && cache.get(patientId, this::load) != null;
+    }
+
+    /**
+     * Validates every field of {@code patient} without throwing, collecting all
+     * errors rather than stopping at the first.
+     */
+    public ValidationResult checkPatient(Patient patient) {
+        ValidationResult result = new ValidationResult();
+        if (!ValidationUtil.checkNotNull(patient, "Patient", result)) {
+            return result;
+        }
+        ValidationUtil.checkNotEmpty(patient.getFirstName(), "First name", result);
+        ValidationUtil.checkNotEmpty(patient.getLastName(), "Last name", result);
+        ValidationUtil.checkNotNull(patient.getDateOfBirth(), "Date of birth", result);
+        if (patient.getGenderCode() == null) {
+            ValidationUtil.checkGender(patient.getGender(), result);
+        }
+        ValidationUtil.checkPhoneNumber(patient.getPhoneNumber(), result);
+        ValidationUtil.checkEmail(patient.getEmail(), result);
+        if (patient.getBloodGroupCode() == null) {
+            ValidationUtil.checkBloodGroup(patient.getBloodGroup(), result);
+        }
+        ValidationUtil.checkNotEmpty(patient.getAddress(), "Address", result);
+        return result;
+    }
+
+    public CacheStats getCacheStats() {
+        return cache.stats();
     }
 
     public long getTotalPatientCount() {
         return patientRepository.count();
     }
 
+    private Patient load(String patientId) {
+        if (!existenceFilter.mightContain(patientId)) {
+            return null;
+        }
+        return patientRepository.findById(patientId).orElse(null);
+    }
+
+    private static CuckooFilter defaultFilter() {
+        return new CuckooFilter(DEFAULT_FILTER_KEYS, DEFAULT_FILTER_FALSE_POSITIVE_RATE, DEFAULT_FILTER_MEMORY_BYTES);
+    }
+
     private void validatePatient(Patient patient) {
-        ValidationUtil.validateNotNull(patient, "Patient");
-        ValidationUtil.validateNotEmpty(patient.getFirstName(), "First name");
-        ValidationUtil.validateNotEmpty(patient.getLastName(), "Last name");
-        ValidationUtil.validateNotNull(patient.getDateOfBirth(), "Date of birth");
-        ValidationUtil.validateGender(patient.getGender());
-        ValidationUtil.validatePhoneNumber(patient.getPhoneNumber());
-        ValidationUtil.validateEmail(patient.getEmail());
-        ValidationUtil.validateBloodGroup(patient.getBloodGroup());
-        ValidationUtil.validateNotEmpty(patient.getAddress(), "Address");
+        checkPatient(patient).throwIfInvalid();
+    }
+
+    private void checkContactDetailsAvailable(Patient patient, String ownerId) {
+        Optional<Patient> byEmail = patientRepository.findByEmail(patient.getEmail());
+        if (byEmail.isPresent() && !byEmail.get().getPatientId().equals(ownerId)) {
+            throw new InvalidDataException("Patient with email " + patient.getEmail() + " already exists");
+        }
+        Optional<Patient> byPhone = patientRepository.findByPhone(patient.getPhoneNumber());
+        if (byPhone.isPresent() && !byPhone.get().getPatientId().equals(ownerId)) {
+            throw new InvalidDataException("Patient with phone number " + patient.getPhoneNumber() + " already exists");
+        }
     }
 
     private String generatePatientId() {
-        return "PAT" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return idGenerator.nextId("PAT");
     }
 }
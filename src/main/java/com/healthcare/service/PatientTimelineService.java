@@ -0,0 +1,221 @@
+package com.healthcare.service;
+
+import com.healthcare.exception.InvalidDataException;
+import com.healthcare.model.TimelineEntry;
+import com.healthcare.util.Page;
+import com.healthcare.util.ValidationUtil;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A patient's appointments, prescriptions and medical records as one
+ * chronological timeline. The three lookups run concurrently, two on the
+ * executor and one on the calling thread, so a chart takes as long as its
+ * slowest source. Each source is sorted on its own and the results are
+ * merged lazily, so a page only walks as far as it needs to.
+ */
+public class PatientTimelineService {
+    private final AppointmentService appointmentService;
+    private final PrescriptionService prescriptionService;
+    private final MedicalRecordService medicalRecordService;
+    private final Executor executor;
+
+    public PatientTimelineService(AppointmentService appointmentService,
+                                  PrescriptionService prescriptionService,
+                                  MedicalRecordService medicalRecordService) {
+        this(appointmentService, prescriptionService, medicalRecordService, defaultExecutor());
+    }
+
+    public PatientTimelineService(AppointmentService appointmentService,
+                                  PrescriptionService prescriptionService,
+                                  MedicalRecordService medicalRecordService,
+                                  Executor executor) {
+        this.appointmentService = appointmentService;
+        this.prescriptionService = prescriptionService;
+        this.medicalRecordService = medicalRecordService;
+        this.executor = executor;
+    }
+
+    public Stream<TimelineEntry> streamTimeline(String patientId) {
+        ValidationUtil.validateNotEmpty(patientId, "Patient ID");
+        return merge(fetch(patientId, null));
+    }
+
+    /**
+     * Returns up to {@code limit} entries, oldest first, following on from
+     * the cursor of a previous page.
+     */
+    public Page<TimelineEntry> getTimeline(String patientId, String cursor, int limit) {
+        ValidationUtil.validateNotEmpty(patientId, "Patient ID");
+        return Page.fetch(cursor, limit,
+                          (after, count) -> merge(fetch(patientId, Position.parse(after)))
+                                  .limit(count)
+                                  .collect(Collectors.toList()),
+                          PatientTimelineService::positionOf);
+    }
+
+    private List<List<TimelineEntry>> fetch(String patientId, Position after) {
+        CompletableFuture<List<TimelineEntry>> appointments = CompletableFuture.supplyAsync(
+                () -> entries(appointmentService.getAppointmentsByPatient(patientId), TimelineEntry::of, after),
+                executor);
+        CompletableFuture<List<TimelineEntry>> prescriptions = CompletableFuture.supplyAsync(
+                () -> entries(prescriptionService.getPrescriptionsByPatient(patientId), TimelineEntry::of, after),
+                executor);
+        List<TimelineEntry> records = entries(medicalRecordService.getMedicalRecordsByPatient(patientId),
+                                              TimelineEntry::of, after);
+        return List.of(join(appointments), join(prescriptions), records);
+    }
+
+    private static <E> List<TimelineEntry> entries(List<E> items, Function<? super E, TimelineEntry> toEntry,
+                                                   Position after) {
+        List<TimelineEntry> entries = new ArrayList<>(items.size());
+        for (E item : items) {
+            TimelineEntry entry = toEntry.apply(item);
+            if (after == null || after.isBefore(entry)) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(TimelineEntry.CHRONOLOGICAL);
+        return entries;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * K-way merge of sorted sources, keeping only the head of each source in
+     * the heap.
+     */
+    private static Stream<TimelineEntry> merge(List<List<TimelineEntry>> sources) {
+        PriorityQueue<Run> heads = new PriorityQueue<>(
+                sources.size(), Comparator.comparing(Run::peek, TimelineEntry.CHRONOLOGICAL));
+        for (List<TimelineEntry> source : sources) {
+            if (!source.isEmpty()) {
+                heads.add(new Run(source));
+            }
+        }
+        Iterator<TimelineEntry> merged = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public TimelineEntry next() {
+                Run run = heads.poll();
+                if (run == null) {
+                    throw new NoSuchElementException();
+                }
+                TimelineEntry entry = run.next();
+                if (run.hasNext()) {
+                    heads.add(run);
+                }
+                return entry;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                merged, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static String positionOf(TimelineEntry entry) {
+        return entry.getTimestamp() + "|" + entry.getType() + "|" + entry.getId();
+    }
+
+    private static Executor defaultExecutor() {
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "timeline-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class Run {
+        private final List<TimelineEntry> entries;
+        private int next;
+
+        Run(List<TimelineEntry> entries) {
+            this.entries = entries;
+        }
+
+        TimelineEntry peek() {
+            return entries.get(next);
+        }
+
+        TimelineEntry next() {
+            return entries.get(next++);
+        }
+
+        boolean hasNext() {
+            return next < entries.size();
+        }
+    }
+
+    /**
+     * Place in the timeline recorded by a cursor, compared the same way as
+     * {@link TimelineEntry#CHRONOLOGICAL}.
+     */
+    private static final class Position {
+        private final LocalDateTime timestamp;
+        private final TimelineEntry.Type type;
+        private final String id;
+
+        private Position(LocalDateTime timestamp, TimelineEntry.Type type, String id) {
+            this.timestamp = timestamp;
+            this.type = type;
+            this.id = id;
+        }
+
+        static Position parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            String[] parts = value.split("\\|", 3);
+            if (parts.length != 3) {
+                throw new InvalidDataException("Invalid timeline cursor");
+            }
+            try {
+                return new Position(LocalDateTime.parse(parts[0]), TimelineEntry.Type.valueOf(parts[1]), parts[2]);
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new InvalidDataException("Invalid timeline cursor", e);
+            }
+        }
+
+        boolean isBefore(TimelineEntry entry) {
+            int result = timestamp.compareTo(entry.getTimestamp());
+            if (result == 0) {
+                result = type.compareTo(entry.getType());
+            }
+            if (result == 0) {
+                result = id.compareTo(entry.getId());
+            }
+            return result < 0;
+        }
+    }
+}
@@ -1,73 +1,268 @@
 package com.healthcare.service;
 
+import com.healthcare.cache.BoundedCache;
+import com.healthcare.cache.SingleFlight;
 import com.healthcare.exception.InvalidDataException;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.Drug;
+import com.healthcare.model.DrugInteraction;
+import com.healthcare.model.Patient;
 import com.healthcare.model.Prescription;
+import com.healthcare.model.PrescriptionView;
+import com.healthcare.model.TrackedEntity;
 import com.healthcare.repository.PrescriptionRepository;
+import com.healthcare.repository.RepositoryListener;
+import com.healthcare.util.IdGenerator;
+import com.healthcare.util.Page;
 import com.healthcare.util.ValidationUtil;
 
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class PrescriptionService {
+    private static final int LISTING_CACHE_SIZE = 256;
+
     private final PrescriptionRepository prescriptionRepository;
     private final PatientService patientService;
     private final DoctorService doctorService;
+    private final Clock clock;
+    private final IdGenerator idGenerator;
+    private final MedicationCatalog catalog;
+    private final DrugInteractionTable interactions;
+    private final ActiveMedicationIndex activeMedications;
+    private final SingleFlight<List<Object>, List<Prescription>> reads;
+    private final BoundedCache<String, List<Prescription>> byDoctor;
 
     public PrescriptionService(PrescriptionRepository prescriptionRepository, 
                                PatientService patientService, 
                                DoctorService doctorService) {
+        this(prescriptionRepository, patientService, doctorService, Clock.systemDefaultZone());
+    }
+
+    public PrescriptionService(PrescriptionRepository prescriptionRepository,
+                               PatientService patientService,
+                               DoctorService doctorService,
+                               Clock clock) {
+        this(prescriptionRepository, patientService, doctorService, clock, IdGenerator.timeOrdered());
+    }
+
+    public PrescriptionService(PrescriptionRepository prescriptionRepository,
+                               PatientService patientService,
+                               DoctorService doctorService,
+                               Clock clock,
+                               IdGenerator idGenerator) {
+        this(prescriptionRepository, patientService, doctorService, clock, idGenerator, MedicationCatalog.loadDefault());
+    }
+
+    public PrescriptionService(PrescriptionRepository prescriptionRepository,
+                               PatientService patientService,
+                               DoctorService doctorService,
+                               Clock clock,
+                               IdGenerator idGenerator,
+                               MedicationCatalog catalog) {
+        this(prescriptionRepository, patientService, doctorService, clock, idGenerator, catalog,
+             DrugInteractionTable.loadDefault(catalog));
+    }
+
+    public PrescriptionService(PrescriptionRepository prescriptionRepository,
+                               PatientService patientService,
+                               DoctorService doctorService,
+                               Clock clock,
+                               IdGenerator idGenerator,
+                               MedicationCatalog catalog,
+                               DrugInteractionTable interactions) {
         this.prescriptionRepository = prescriptionRepository;
         this.patientService = patientService;
         this.doctorService = doctorService;
+        this.clock = clock;
+        this.idGenerator = idGenerator;
+        this.catalog = catalog;
+        this.interactions = interactions;
+        this.activeMedications = new ActiveMedicationIndex(clock);
+        this.reads = new SingleFlight<>(TrackedEntity::copyAll);
+        this.byDoctor = new BoundedCache<>(LISTING_CACHE_SIZE);
+        prescriptionRepository.addListener(RepositoryListener.invalidating(id -> reads.forgetAll(), reads::forgetAll));
+        prescriptionRepository.addListener(RepositoryListener.invalidatingKeys(Prescription::getDoctorId,
+                                                                               byDoctor::invalidate,
+                                                                               byDoctor::invalidateAll));
+        prescriptionRepository.addListener(activeMedications);
+        prescriptionRepository.mapAll(prescription -> {
+            activeMedications.add(prescription);
+            return null;
+        });
     }
 
+    /**
+     * Saves a new prescription, rejecting it if two of its drugs, or one of
+     * them and a drug on the patient's valid prescriptions, have a major
+     * interaction.
+     */
     public Prescription createPrescription(Prescription prescription) {
         validatePrescription(prescription);
         
-        if (!patientService.patientExists(prescription.getPatientId())) {
-            throw new InvalidDataException("Patient not found with ID: " + prescription.getPatientId());
-        }
-        
-        if (!doctorService.doctorExists(prescription.getDoctorId())) {
-            throw new InvalidDataException("Doctor not found with ID: " + prescription.getDoctorId());
+        for (Prescription.Medication medication : prescription.getMedications()) {
+            catalog.resolve(medication);
         }
         
         if (prescription.getPrescriptionId() == null || prescription.getPrescriptionId().isEmpty()) {
             prescription.setPrescriptionId(generatePrescriptionId());
         }
         
-        return prescriptionRepository.save(prescription);
+        return patientService.whilePatientExists(prescription.getPatientId(), () ->
+                doctorService.whileDoctorExists(prescription.getDoctorId(), () ->
+                        prescriptionRepository.atomically(() -> {
+                            rejectMajorInteractions(findInteractions(prescription.getPatientId(),
+                                                                     prescription.getPrescriptionId(),
+                                                                     prescription.getMedications()));
+                            return prescriptionRepository.save(prescription);
+                        })));
     }
 
     public Prescription getPrescriptionById(String prescriptionId) {
         ValidationUtil.validateNotEmpty(prescriptionId, "Prescription ID");
         return prescriptionRepository.findById(prescriptionId)
-                .orElseThrow(() -> new InvalidDataException("Prescription not found with ID: " + prescriptionId));
+                .orElseThrow(() -> InvalidDataException.of("Prescription not found with ID: ", prescriptionId));
+    }
+
+    public Optional<Prescription> findPrescriptionById(String prescriptionId) {
+        return prescriptionId == null ? Optional.empty() : prescriptionRepository.findById(prescriptionId);
     }
 
     public List<Prescription> getAllPrescriptions() {
         return prescriptionRepository.findAll();
     }
 
+    public Page<Prescription> getAllPrescriptions(String cursor, int limit) {
+        return Page.fetch(cursor, limit, prescriptionRepository::findAll, Prescription::getPrescriptionId);
+    }
+
+    public Stream<Prescription> streamAllPrescriptions() {
+        return prescriptionRepository.streamAll();
+    }
+
     public List<Prescription> getPrescriptionsByPatient(String patientId) {
         ValidationUtil.validateNotEmpty(patientId, "Patient ID");
-        return prescriptionRepository.findByPatientId(patientId);
+        return reads.execute(List.of("patient", patientId), () -> prescriptionRepository.findByPatientId(patientId));
+    }
+
+    public Page<Prescription> getPrescriptionsByPatient(String patientId, String cursor, int limit) {
+        ValidationUtil.validateNotEmpty(patientId, "Patient ID");
+        return Page.fetch(cursor, limit,
+                          (after, count) -> prescriptionRepository.findByPatientId(patientId, after, count),
+                          Prescription::getPrescriptionId);
     }
 
+    public Stream<Prescription> streamPrescriptionsByPatient(String patientId) {
+        ValidationUtil.validateNotEmpty(patientId, "Patient ID");
+        return prescriptionRepository.streamByPatientId(patientId);
+    }
+
+    /**
+     * Served from a snapshot that is cached until one of the doctor's
+     * prescriptions is written. Each caller gets its own copies of the
+     * prescriptions.
+     */
     public List<Prescription> getPrescriptionsByDoctor(String doctorId) {
         ValidationUtil.validateNotEmpty(doctorId, "Doctor ID");
-        return prescriptionRepository.findByDoctorId(doctorId);
+        return TrackedEntity.copyAll(byDoctor.get(doctorId, key -> Collections.unmodifiableList(
+                reads.execute(List.of("doctor", key), () -> prescriptionRepository.findByDoctorId(key)))));
+    }
+
+    public Page<Prescription> getPrescriptionsByDoctor(String doctorId, String cursor, int limit) {
+        ValidationUtil.validateNotEmpty(doctorId, "Doctor ID");
+        return Page.fetch(cursor, limit,
+                          (after, count) -> prescriptionRepository.findByDoctorId(doctorId, after, count),
+                          Prescription::getPrescriptionId);
+    }
+
+    public Stream<Prescription> streamPrescriptionsByDoctor(String doctorId) {
+        ValidationUtil.validateNotEmpty(doctorId, "Doctor ID");
+        return prescriptionRepository.streamByDoctorId(doctorId);
     }
 
     public List<Prescription> getValidPrescriptions() {
-        return prescriptionRepository.findValidPrescriptions();
+        LocalDate today = LocalDate.now(clock);
+        return reads.execute(List.of("valid", today), () -> prescriptionRepository.findValidPrescriptions(today));
+    }
+
+    /**
+     * Streams valid prescriptions, soonest to expire first.
+     */
+    public Stream<Prescription> streamValidPrescriptions() {
+        return prescriptionRepository.streamValidPrescriptions(LocalDate.now(clock));
     }
 
+    /**
+     * Returns prescriptions containing the catalog drug with the given name,
+     * or an empty list if the name is not in the catalog.
+     */
+    public List<Prescription> getPrescriptionsByDrug(String medicineName) {
+        ValidationUtil.validateNotEmpty(medicineName, "Medicine name");
+        return catalog.findByName(medicineName)
+                .map(drug -> prescriptionRepository.findByDrugId(drug.getDrugId()))
+                .orElseGet(ArrayList::new);
+    }
+
+    public Page<Prescription> getPrescriptionsByDrug(String medicineName, String cursor, int limit) {
+        ValidationUtil.validateNotEmpty(medicineName, "Medicine name");
+        int drugId = catalog.findByName(medicineName).map(Drug::getDrugId).orElse(-1);
+        return Page.fetch(cursor, limit, (after, count) -> prescriptionRepository.findByDrugId(drugId, after, count),
+                          Prescription::getPrescriptionId);
+    }
+
+    public Stream<Prescription> streamPrescriptionsByDrug(String medicineName) {
+        ValidationUtil.validateNotEmpty(medicineName, "Medicine name");
+        return catalog.findByName(medicineName)
+                .map(drug -> prescriptionRepository.streamByDrugId(drug.getDrugId()))
+                .orElseGet(Stream::empty);
+    }
+
+    public List<Drug> suggestMedications(String prefix, int limit) {
+        return catalog.complete(prefix, limit);
+    }
+
+    public MedicationCatalog getMedicationCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Returns every known interaction between the given medications and each
+     * other or the drugs on the patient's valid prescriptions. Medications
+     * that are not in the catalog are not checked.
+     */
+    public List<DrugInteraction> checkInteractions(String patientId, List<Prescription.Medication> medications) {
+        ValidationUtil.validateNotEmpty(patientId, "Patient ID");
+        ValidationUtil.validateNotNull(medications, "Medications");
+        return findInteractions(patientId, null, medications);
+    }
+
+    public List<DrugInteraction> checkInteractions(String patientId, String medicineName) {
+        ValidationUtil.validateNotEmpty(medicineName, "Medicine name");
+        return checkInteractions(patientId, List.of(new Prescription.Medication(medicineName, null, null, 0)));
+    }
+
+    /**
+     * Adds a medication to an existing prescription, rejecting it if it has a
+     * major interaction with one of the patient's active drugs.
+     */
     public Prescription addMedication(String prescriptionId, Prescription.Medication medication) {
-        Prescription prescription = getPrescriptionById(prescriptionId);
+        ValidationUtil.validateNotEmpty(prescriptionId, "Prescription ID");
         validateMedication(medication);
-        prescription.addMedication(medication);
-        return prescriptionRepository.save(prescription);
+        catalog.resolve(medication);
+        return prescriptionRepository.atomically(() -> {
+            Prescription prescription = getPrescriptionById(prescriptionId);
+            rejectMajorInteractions(findInteractions(prescription.getPatientId(), null, List.of(medication)));
+            prescription.addMedication(medication);
+            return prescriptionRepository.save(prescription);
+        });
     }
 
     public void deletePrescription(String prescriptionId) {
@@ -78,10 +273,76 @@ public class PrescriptionService {
         prescriptionRepository.deleteById(prescriptionId);
     }
 
+    /**
+     * Joins each prescription with its patient and doctor, fetching all of them
+     * with one batch lookup per side instead of one lookup per prescription.
+     */
+    public List<PrescriptionView> getPrescriptionViews(List<Prescription> prescriptions) {
+        Set<String> patientIds = new HashSet<>();
+        Set<String> doctorIds = new HashSet<>();
+        for (Prescription prescription : prescriptions) {
+            patientIds.add(prescription.getPatientId());
+            doctorIds.add(prescription.getDoctorId());
+        }
+        Map<String, Patient> patients = patientService.getPatientsByIds(patientIds);
+        Map<String, Doctor> doctors = doctorService.getDoctorsByIds(doctorIds);
+        List<PrescriptionView> views = new ArrayList<>(prescriptions.size());
+        for (Prescription prescription : prescriptions) {
+            views.add(new PrescriptionView(prescription, patients.get(prescription.getPatientId()),
+                                           doctors.get(prescription.getDoctorId())));
+        }
+        return views;
+    }
+
     public long getTotalPrescriptionCount() {
         return prescriptionRepository.count();
     }
 
+    private List<DrugInteraction> findInteractions(String patientId, String excludedPrescriptionId,
+                                                   List<Prescription.Medication> medications) {
+        List<DrugInteraction> found = new ArrayList<>();
+        if (interactions.size() == 0) {
+            return found;
+        }
+        List<Drug> drugs = new ArrayList<>(medications.size());
+        for (Prescription.Medication medication : medications) {
+            Drug drug = medication.getDrug() != null
+                    ? medication.getDrug()
+                    : catalog.findByName(medication.getMedicineName()).orElse(null);
+            if (drug == null) {
+                continue;
+            }
+            for (Drug earlier : drugs) {
+                addInteraction(found, drug, earlier);
+            }
+            drugs.add(drug);
+        }
+        if (!drugs.isEmpty()) {
+            activeMedications.forEachActive(patientId, LocalDate.now(clock), excludedPrescriptionId,
+                    (active, prescriptionId) -> {
+                        for (Drug drug : drugs) {
+                            addInteraction(found, drug, active);
+                        }
+                    });
+        }
+        return found;
+    }
+
+    private void addInteraction(List<DrugInteraction> found, Drug drug, Drug other) {
+        DrugInteraction interaction = interactions.find(drug.getDrugId(), other.getDrugId());
+        if (interaction != null && !found.contains(interaction)) {
+            found.add(interaction);
+        }
+    }
+
+    private static void rejectMajorInteractions(List<DrugInteraction> found) {
+        for (DrugInteraction interaction : found) {
+            if (interaction.getSeverity() == DrugInteraction.Severity.MAJOR) {
+                throw InvalidDataException.of("Drug interaction: ", interaction);
+            }
+        }
+    }
+
     private void validatePrescription(Prescription prescription) {
         ValidationUtil.validateNotNull(prescription, "Prescription");
         ValidationUtil.validateNotEmpty(prescription.getPatientId(), "Patient ID");
@@ -99,6 +360,6 @@ public class PrescriptionService {
     }
 
     private String generatePrescriptionId() {
-        return "PRE" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return idGenerator.nextId("PRE");
     }
 }
@@ -0,0 +1,283 @@
+package com.healthcare.service;
+
+import com.healthcare.model.Appointment;
+import com.healthcare.model.AppointmentStatus;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.MedicalRecord;
+import com.healthcare.model.Patient;
+import com.healthcare.model.Prescription;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.MedicalRecordRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.PrescriptionRepository;
+import com.healthcare.repository.RepositoryListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters maintained from the repositories' write paths, so reading a
+ * statistic never scans stored data. Counters are seeded from the current
+ * contents when the service is created.
+ */
+public class StatisticsService {
+    private static final int RECORD_RETENTION_DAYS = 90;
+
+    private final LongAdder patients = new LongAdder();
+    private final LongAdder doctors = new LongAdder();
+    private final LongAdder availableDoctors = new LongAdder();
+    private final LongAdder appointments = new LongAdder();
+    private final Map<AppointmentStatus, LongAdder> appointmentsByStatus = new EnumMap<>(AppointmentStatus.class);
+    private final ExpiringCounter<LocalDateTime> upcomingAppointments = new ExpiringCounter<>(true);
+    private final LongAdder prescriptions = new LongAdder();
+    private final ExpiringCounter<LocalDate> validPrescriptions = new ExpiringCounter<>(false);
+    private final LongAdder records = new LongAdder();
+    private final Map<LocalDate, LongAdder> recordsByDay = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private volatile LocalDate recordsPrunedOn;
+
+    public StatisticsService(PatientRepository patientRepository,
+                             DoctorRepository doctorRepository,
+                             AppointmentRepository appointmentRepository,
+                             PrescriptionRepository prescriptionRepository,
+                             MedicalRecordRepository recordRepository) {
+        this(patientRepository, doctorRepository, appointmentRepository, prescriptionRepository,
+             recordRepository, Clock.systemDefaultZone());
+    }
+
+    public StatisticsService(PatientRepository patientRepository,
+                             DoctorRepository doctorRepository,
+                             AppointmentRepository appointmentRepository,
+                             PrescriptionRepository prescriptionRepository,
+                             MedicalRecordRepository recordRepository,
+                             Clock clock) {
+        this.clock = clock;
+        for (AppointmentStatus status : AppointmentStatus.values()) {
+            appointmentsByStatus.put(status, new LongAdder());
+        }
+
+        patientRepository.atomically(() -> {
+            patients.add(patientRepository.count());
+            patientRepository.addListener(new RepositoryListener<String, Patient>() {
+                @Override
+                public void saved(String id, Patient previous, Patient current) {
+                    if (previous == null) {
+                        patients.increment();
+                    }
+                }
+
+                @Override
+                public void deleted(String id, Patient previous) {
+                    patients.decrement();
+                }
+
+                @Override
+                public void cleared() {
+                    patients.reset();
+                }
+            });
+            return null;
+        });
+
+        doctorRepository.atomically(() -> {
+            doctorRepository.mapAll(d -> d).forEach(d -> countDoctor(d, 1));
+            doctorRepository.addListener(new RepositoryListener<String, Doctor>() {
+                @Override
+                public void saved(String id, Doctor previous, Doctor current) {
+                    countDoctor(previous, -1);
+                    countDoctor(current, 1);
+                }
+
+                @Override
+                public void deleted(String id, Doctor previous) {
+                    countDoctor(previous, -1);
+                }
+
+                @Override
+                public void cleared() {
+                    doctors.reset();
+                    availableDoctors.reset();
+                }
+            });
+            return null;
+        });
+
+        appointmentRepository.atomically(() -> {
+            appointmentRepository.mapAll(a -> a).forEach(a -> countAppointment(a, 1));
+            appointmentRepository.addListener(new RepositoryListener<String, Appointment>() {
+                @Override
+                public void saved(String id, Appointment previous, Appointment current) {
+                    countAppointment(previous, -1);
+                    countAppointment(current, 1);
+                }
+
+                @Override
+                public void deleted(String id, Appointment previous) {
+                    countAppointment(previous, -1);
+                }
+
+                @Override
+                public void cleared() {
+                    appointments.reset();
+                    appointmentsByStatus.values().forEach(LongAdder::reset);
+                    upcomingAppointments.clear();
+                }
+            });
+            return null;
+        });
+
+        prescriptionRepository.atomically(() -> {
+            prescriptionRepository.mapAll(p -> p).forEach(p -> countPrescription(p, 1));
+            prescriptionRepository.addListener(new RepositoryListener<String, Prescription>() {
+                @Override
+                public void saved(String id, Prescription previous, Prescription current) {
+                    countPrescription(previous, -1);
+                    countPrescription(current, 1);
+                }
+
+                @Override
+                public void deleted(String id, Prescription previous) {
+                    countPrescription(previous, -1);
+                }
+
+                @Override
+                public void cleared() {
+                    prescriptions.reset();
+                    validPrescriptions.clear();
+                }
+            });
+            return null;
+        });
+
+        recordRepository.atomically(() -> {
+            recordRepository.mapAll(r -> r).forEach(r -> countRecord(r, 1));
+            recordRepository.addListener(new RepositoryListener<String, MedicalRecord>() {
+                @Override
+                public void saved(String id, MedicalRecord previous, MedicalRecord current) {
+                    countRecord(previous, -1);
+                    countRecord(current, 1);
+                }
+
+                @Override
+                public void deleted(String id, MedicalRecord previous) {
+                    countRecord(previous, -1);
+                }
+
+                @Override
+                public void cleared() {
+                    records.reset();
+                    recordsByDay.clear();
+                }
+            });
+            return null;
+        });
+    }
+
+    public long getTotalPatients() {
+        return patients.sum();
+    }
+
+    public long getTotalDoctors() {
+        return doctors.sum();
+    }
+
+    public long getAvailableDoctors() {
+        return availableDoctors.sum();
+    }
+
+    public long getTotalAppointments() {
+        return appointments.sum();
+    }
+
+    public long getAppointmentCount(AppointmentStatus status) {
+        return appointmentsByStatus.get(status).sum();
+    }
+
+    public long getUpcomingAppointments() {
+        return upcomingAppointments.count(LocalDateTime.now(clock));
+    }
+
+    public long getTotalPrescriptions() {
+        return prescriptions.sum();
+    }
+
+    public long getValidPrescriptions() {
+        return validPrescriptions.count(LocalDate.now(clock));
+    }
+
+    public long getTotalRecords() {
+        return records.sum();
+    }
+
+    public long getRecordsOn(LocalDate date) {
+        pruneRecordDays(LocalDate.now(clock));
+        LongAdder count = recordsByDay.get(date);
+        return count == null ? 0 : count.sum();
+    }
+
+    public long getRecordsToday() {
+        return getRecordsOn(LocalDate.now(clock));
+    }
+
+    private void countDoctor(Doctor doctor, int delta) {
+        if (doctor == null) {
+            return;
+        }
+        doctors.add(delta);
+        if (doctor.isAvailable()) {
+            availableDoctors.add(delta);
+        }
+    }
+
+    private void countAppointment(Appointment appointment, int delta) {
+        if (appointment == null) {
+            return;
+        }
+        appointments.add(delta);
+        if (appointment.getStatus() != null) {
+            appointmentsByStatus.get(appointment.getStatus()).add(delta);
+        }
+        if (appointment.getStatus() == AppointmentStatus.SCHEDULED) {
+            upcomingAppointments.add(appointment.getAppointmentDateTime(), delta);
+        }
+    }
+
+    private void countPrescription(Prescription prescription, int delta) {
+        if (prescription == null) {
+            return;
+        }
+        prescriptions.add(delta);
+        if (prescription.getPrescriptionDate() != null) {
+            validPrescriptions.add(prescription.getExpiryDate(), delta);
+        }
+    }
+
+    private void countRecord(MedicalRecord record, int delta) {
+        if (record == null) {
+            return;
+        }
+        records.add(delta);
+        if (record.getRecordDateTime() == null) {
+            return;
+        }
+        LocalDate day = record.getRecordDateTime().toLocalDate();
+        if (!day.isBefore(LocalDate.now(clock).minusDays(RECORD_RETENTION_DAYS))) {
+            recordsByDay.computeIfAbsent(day, d -> new LongAdder()).add(delta);
+        }
+    }
+
+    private void pruneRecordDays(LocalDate today) {
+        if (today.equals(recordsPrunedOn)) {
+            return;
+        }
+        LocalDate cutoff = today.minusDays(RECORD_RETENTION_DAYS);
+        recordsByDay.keySet().removeIf(day -> day.isBefore(cutoff));
+        recordsPrunedOn = today;
+    }
+}
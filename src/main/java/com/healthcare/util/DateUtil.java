@@ -2,109 +2,304 @@ package com.healthcare.util;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 public class DateUtil {
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int DATE_LENGTH = 10;
+    private static final int DATETIME_LENGTH = 16;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final long DAYS_0000_TO_1970 = 719528;
+
+    /**
+     * Returned by the {@code parseEpochDay} and {@code parseEpochMinute}
+     * methods when the input is not a valid date or date-time.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
 
     public static LocalDate parseDate(String dateStr) {
-        if (dateStr == null || dateStr.trim().isEmpty()) {
+        if (dateStr == null || isBlank(dateStr)) {
             return null;
         }
-        try {
-            return LocalDate.parse(dateStr.trim(), DATE_FORMATTER);
-        } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException("Invalid date format. Expected format: yyyy-MM-dd", e);
+        long epochDay = parseEpochDay(dateStr, 0, dateStr.length());
+        if (epochDay == INVALID) {
+            throw new IllegalArgumentException("Invalid date format. Expected format: yyyy-MM-dd");
         }
+        return LocalDate.ofEpochDay(epochDay);
     }
 
     public static LocalDateTime parseDateTime(String dateTimeStr) {
-        if (dateTimeStr == null || dateTimeStr.trim().isEmpty()) {
+        if (dateTimeStr == null || isBlank(dateTimeStr)) {
             return null;
         }
-        try {
-            return LocalDateTime.parse(dateTimeStr.trim(), DATETIME_FORMATTER);
-        } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException("Invalid datetime format. Expected format: yyyy-MM-dd HH:mm", e);
+        long epochMinute = parseEpochMinute(dateTimeStr, 0, dateTimeStr.length());
+        if (epochMinute == INVALID) {
+            throw new IllegalArgumentException("Invalid datetime format. Expected format: yyyy-MM-dd HH:mm");
+        }
+        return toLocalDateTime(epochMinute);
+    }
+
+    /**
+     * Parses a {@code yyyy-MM-dd} date from {@code text[start, end)}, ignoring
+     * surrounding whitespace, without allocating. As with the formatter, a day
+     * past the end of the month resolves to the month's last day.
+     *
+     * @return the epoch day, or {@link #INVALID}
+     */
+    public static long parseEpochDay(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != DATE_LENGTH) {
+            return INVALID;
+        }
+        return dateAt(text, start);
+    }
+
+    public static long parseEpochDay(byte[] bytes, int offset, int length) {
+        int start = offset;
+        int end = offset + length;
+        while (start < end && (bytes[start] & 0xff) <= ' ') {
+            start++;
+        }
+        while (end > start && (bytes[end - 1] & 0xff) <= ' ') {
+            end--;
+        }
+        if (end - start != DATE_LENGTH) {
+            return INVALID;
         }
+        return dateAt(bytes, start);
+    }
+
+    /**
+     * Parses a {@code yyyy-MM-dd HH:mm} date-time from {@code text[start, end)},
+     * ignoring surrounding whitespace, without allocating.
+     *
+     * @return minutes since 1970-01-01 00:00, or {@link #INVALID}
+     */
+    public static long parseEpochMinute(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != DATETIME_LENGTH || text.charAt(start + 10) != ' ' || text.charAt(start + 13) != ':') {
+            return INVALID;
+        }
+        return epochMinute(dateAt(text, start), number(text, start + 11, 2), number(text, start + 14, 2));
+    }
+
+    public static long parseEpochMinute(byte[] bytes, int offset, int length) {
+        int start = offset;
+        int end = offset + length;
+        while (start < end && (bytes[start] & 0xff) <= ' ') {
+            start++;
+        }
+        while (end > start && (bytes[end - 1] & 0xff) <= ' ') {
+            end--;
+        }
+        if (end - start != DATETIME_LENGTH || bytes[start + 10] != ' ' || bytes[start + 13] != ':') {
+            return INVALID;
+        }
+        return epochMinute(dateAt(bytes, start), number(bytes, start + 11, 2), number(bytes, start + 14, 2));
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochMinute) {
+        return LocalDateTime.of(LocalDate.ofEpochDay(Math.floorDiv(epochMinute, MINUTES_PER_DAY)),
+                                LocalTime.ofSecondOfDay(Math.floorMod(epochMinute, MINUTES_PER_DAY) * 60L));
     }
 
     public static String formatDate(LocalDate date) {
         if (date == null) {
             return "";
         }
-        return date.format(DATE_FORMATTER);
+        return appendDate(new StringBuilder(DATE_LENGTH), date).toString();
     }
 
     public static String formatDateTime(LocalDateTime dateTime) {
         if (dateTime == null) {
             return "";
         }
-        return dateTime.format(DATETIME_FORMATTER);
+        return appendDateTime(new StringBuilder(DATETIME_LENGTH), dateTime).toString();
     }
 
-    public static boolean isValidDate(String dateStr) {
-        if (dateStr == null || dateStr.trim().isEmpty()) {
-            return false;
+    /**
+     * Appends {@code date} as {@code yyyy-MM-dd}. Appends nothing for
+     * {@code null}.
+     */
+    public static StringBuilder appendDate(StringBuilder out, LocalDate date) {
+        if (date == null) {
+            return out;
         }
-        try {
-            parseDate(dateStr);
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
+        if (date.getYear() < 1 || date.getYear() > 9999) {
+            DATE_FORMATTER.formatTo(date, out);
+            return out;
         }
+        appendDigits(out, date.getYear(), 4).append('-');
+        appendDigits(out, date.getMonthValue(), 2).append('-');
+        return appendDigits(out, date.getDayOfMonth(), 2);
+    }
+
+    /**
+     * Appends {@code dateTime} as {@code yyyy-MM-dd HH:mm}. Appends nothing for
+     * {@code null}.
+     */
+    public static StringBuilder appendDateTime(StringBuilder out, LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return out;
+        }
+        if (dateTime.getYear() < 1 || dateTime.getYear() > 9999) {
+            DATETIME_FORMATTER.formatTo(dateTime, out);
+            return out;
+        }
+        appendDate(out, dateTime.toLocalDate()).append(' ');
+        appendDigits(out, dateTime.getHour(), 2).append(':');
+        return appendDigits(out, dateTime.getMinute(), 2);
+    }
+
+    public static boolean isValidDate(String dateStr) {
+        return dateStr != null && parseEpochDay(dateStr, 0, dateStr.length()) != INVALID;
     }
 
 
     public static boolean isValidDateTime(String dateTimeStr) {
-        if (dateTimeStr == null || dateTimeStr.trim().isEmpty()) {
-            return false;
+        return dateTimeStr != null && parseEpochMinute(dateTimeStr, 0, dateTimeStr.length()) != INVALID;
+    }
+
+    private static boolean isBlank(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
         }
-        try {
-            parseDateTime(dateTimeStr);
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
+        return true;
+    }
+
+    private static long dateAt(CharSequence text, int start) {
+        if (text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-') {
+            return INVALID;
+        }
+        return epochDay(number(text, start, 4), number(text, start + 5, 2), number(text, start + 8, 2));
+    }
+
+    private static long dateAt(byte[] bytes, int start) {
+        if (bytes[start + 4] != '-' || bytes[start + 7] != '-') {
+            return INVALID;
+        }
+        return epochDay(number(bytes, start, 4), number(bytes, start + 5, 2), number(bytes, start + 8, 2));
+    }
+
+    private static int number(CharSequence text, int start, int digits) {
+        int value = 0;
+        for (int i = start; i < start + digits; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int number(byte[] bytes, int start, int digits) {
+        int value = 0;
+        for (int i = start; i < start + digits; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static long epochDay(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return INVALID;
+        }
+        boolean leap = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+        day = Math.min(day, month == 2 ? (leap ? 29 : 28) : (month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31));
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            total -= leap ? 1 : 2;
         }
+        return total - DAYS_0000_TO_1970;
     }
 
+    private static long epochMinute(long epochDay, int hour, int minute) {
+        if (epochDay == INVALID || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return INVALID;
+        }
+        return epochDay * MINUTES_PER_DAY + hour * 60 + minute;
+    }
+
+    private static StringBuilder appendDigits(StringBuilder out, int value, int digits) {
+        for (int divisor = digits == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+        return out;
+    }
 
     public static boolean isFutureDate(LocalDate date) {
+        return isFutureDate(date, LocalDate.now());
+    }
+
+    public static boolean isFutureDate(LocalDate date, LocalDate today) {
         if (date == null) {
             return false;
         }
-        return date.isAfter(LocalDate.now());
+        return date.isAfter(today);
     }
 
     public static boolean isFutureDateTime(LocalDateTime dateTime) {
+        return isFutureDateTime(dateTime, LocalDateTime.now());
+    }
+
+    public static boolean isFutureDateTime(LocalDateTime dateTime, LocalDateTime now) {
         if (dateTime == null) {
             return false;
         }
-        return dateTime.isAfter(LocalDateTime.now());
+        return dateTime.isAfter(now);
     }
 
     public static boolean isPastDate(LocalDate date) {
+        return isPastDate(date, LocalDate.now());
+    }
+
+    public static boolean isPastDate(LocalDate date, LocalDate today) {
         if (date == null) {
             return false;
         }
-        return date.isBefore(LocalDate.now());
+        return date.isBefore(today);
     }
 
     public static boolean isPastDateTime(LocalDateTime dateTime) {
+        return isPastDateTime(dateTime, LocalDateTime.now());
+    }
+
+    public static boolean isPastDateTime(LocalDateTime dateTime, LocalDateTime now) {
         if (dateTime == null) {
             return false;
         }
-        return dateTime.isBefore(LocalDateTime.now());
+        return dateTime.isBefore(now);
     }
 
     public static int calculateAge(LocalDate birthDate) {
+        return calculateAge(birthDate, LocalDate.now());
+    }
+
+    public static int calculateAge(LocalDate birthDate, LocalDate today) {
         if (birthDate == null) {
             return 0;
         }
-        LocalDate today = LocalDate.now();
         int age = today.getYear() - birthDate.getYear();
         if (today.getMonthValue() < birthDate.getMonthValue() ||
             (today.getMonthValue() == birthDate.getMonthValue() && today.getDayOfMonth() < birthDate.getDayOfMonth())) {
@@ -0,0 +1,18 @@
+package com.healthcare.util;
+
+/**
+ * Source of entity IDs. Implementations must be safe for concurrent use and
+ * never return the same ID twice for a prefix.
+ */
+public interface IdGenerator {
+
+    String nextId(String prefix);
+
+    /**
+     * The process-wide {@link TimeOrderedIdGenerator} the services use by
+     * default.
+     */
+    static IdGenerator timeOrdered() {
+        return TimeOrderedIdGenerator.SHARED;
+    }
+}
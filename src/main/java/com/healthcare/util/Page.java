@@ -0,0 +1,79 @@
+package com.healthcare.util;
+
+import com.healthcare.exception.InvalidDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * One page of a listing ordered by ID. The next cursor is opaque to callers
+ * and is {@code null} on the last page. Because it records a position rather
+ * than an offset, pages stay stable while entities are added or removed.
+ */
+public final class Page<T> {
+    public static final int MAX_LIMIT = 1000;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    private Page(List<T> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Fetches the page after the cursor, asking the fetcher for one item more
+     * than the limit to tell whether another page follows. The fetcher takes
+     * the ID to continue after, {@code null} for the first page, and a count.
+     */
+    public static <T> Page<T> fetch(String cursor, int limit, BiFunction<String, Integer, List<T>> fetcher,
+                                    Function<? super T, String> idOf) {
+        validateLimit(limit);
+        return of(fetcher.apply(decodeCursor(cursor), limit + 1), limit, idOf);
+    }
+
+    static <T> Page<T> of(List<T> fetched, int limit, Function<? super T, String> idOf) {
+        if (fetched.size() <= limit) {
+            return new Page<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new Page<>(items, encodeCursor(idOf.apply(items.get(limit - 1))));
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidDataException("Page limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("Invalid page cursor: " + cursor, e);
+        }
+    }
+
+    static String encodeCursor(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
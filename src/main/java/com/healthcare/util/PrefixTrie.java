@@ -0,0 +1,102 @@
+package com.healthcare.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Map from strings to values that lists the values under a key prefix in key
+ * order. Children are kept in sorted parallel arrays, which is compact for
+ * the small fan-out of natural-language keys. Not thread-safe.
+ */
+public class PrefixTrie<V> {
+    private final Node<V> root = new Node<>();
+    private int size;
+
+    public V put(String key, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+        V previous = node.value;
+        node.value = value;
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    public V get(String key) {
+        Node<V> node = find(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Returns up to {@code limit} values whose keys start with
+     * {@code prefix}, ordered by key.
+     */
+    public List<V> complete(String prefix, int limit) {
+        List<V> result = new ArrayList<>(Math.min(limit, 16));
+        Node<V> node = find(prefix);
+        if (node != null && limit > 0) {
+            collect(node, limit, result);
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private Node<V> find(String key) {
+        Node<V> node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    private static <V> void collect(Node<V> node, int limit, List<V> result) {
+        if (node.value != null) {
+            result.add(node.value);
+        }
+        for (int i = 0; i < node.count && result.size() < limit; i++) {
+            collect(node.children[i], limit, result);
+        }
+    }
+
+    private static final class Node<V> {
+        private static final char[] NO_KEYS = new char[0];
+
+        private char[] keys = NO_KEYS;
+        private Node<V>[] children;
+        private int count;
+        private V value;
+
+        private Node<V> child(char c) {
+            int index = Arrays.binarySearch(keys, 0, count, c);
+            return index < 0 ? null : children[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        private Node<V> childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, 0, count, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (count == keys.length) {
+                int capacity = Math.max(2, count * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = children == null ? (Node<V>[]) new Node<?>[capacity] : Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, count - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, count - insertAt);
+            Node<V> node = new Node<>();
+            keys[insertAt] = c;
+            children[insertAt] = node;
+            count++;
+            return node;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.healthcare.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Assigns each distinct value a small int code, so that a field repeated
+ * across many records can be stored, compared and indexed as an int. Values
+ * are normalized before they are coded, so values that differ only in ways
+ * the normalizer removes share a code; {@link #decode} returns the first
+ * spelling seen for it.
+ * <p>
+ * Codes are dense, start at zero and are never reused, so the dictionary
+ * holds one entry per distinct normalized value for its whole life.
+ */
+public class StringDictionary {
+    public static final int NONE = -1;
+
+    private final UnaryOperator<String> normalizer;
+    private final ConcurrentMap<String, Integer> codes;
+    private volatile String[] values;
+    private int size;
+
+    public StringDictionary() {
+        this(UnaryOperator.identity());
+    }
+
+    public StringDictionary(UnaryOperator<String> normalizer) {
+        this.normalizer = normalizer;
+        this.codes = new ConcurrentHashMap<>();
+        this.values = new String[16];
+    }
+
+    /**
+     * Returns the code for {@code value}, assigning the next one if the value
+     * is new, or {@link #NONE} for {@code null}.
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        String key = normalizer.apply(value);
+        Integer code = codes.get(key);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(key);
+            if (code != null) {
+                return code;
+            }
+            String[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = value;
+            values = current;
+            codes.put(key, size);
+            return size++;
+        }
+    }
+
+    /**
+     * Returns the code for {@code value} without assigning one, or
+     * {@link #NONE} if it has never been encoded.
+     */
+    public int lookup(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codes.get(normalizer.apply(value));
+        return code == null ? NONE : code;
+    }
+
+    /**
+     * Returns the first value encoded as {@code code}, or {@code null} for
+     * {@link #NONE}.
+     */
+    public String decode(int code) {
+        if (code == NONE) {
+            return null;
+        }
+        String[] current = values;
+        if (code < 0 || code >= current.length || current[code] == null) {
+            throw new IllegalArgumentException("Unknown code: " + code);
+        }
+        return current[code];
+    }
+
+    public int size() {
+        return codes.size();
+    }
+}
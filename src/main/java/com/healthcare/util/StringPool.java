@@ -0,0 +1,42 @@
+package com.healthcare.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonicalizes equal strings to one shared instance, like
+ * {@link String#intern} but scoped to one field and bounded. Once the pool
+ * holds its maximum number of distinct values, new values are returned as
+ * given rather than added.
+ */
+public class StringPool {
+    private final ConcurrentMap<String, String> values;
+    private final int maximumSize;
+
+    public StringPool(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.values = new ConcurrentHashMap<>();
+        this.maximumSize = maximumSize;
+    }
+
+    public String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = values.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (values.size() >= maximumSize) {
+            return value;
+        }
+        pooled = values.putIfAbsent(value, value);
+        return pooled == null ? value : pooled;
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,99 @@
+package com.healthcare.util;
+
+import java.util.Locale;
+
+public class StringSimilarity {
+
+    private static final String SOUNDEX_CODES = "01230120022455012623010202";
+
+    public static String soundex(String value) {
+        if (value == null) {
+            return "";
+        }
+        char[] code = new char[4];
+        int length = 0;
+        char previous = 0;
+        for (int i = 0; i < value.length() && length < 4; i++) {
+            char c = Character.toUpperCase(value.charAt(i));
+            if (c < 'A' || c > 'Z') {
+                continue;
+            }
+            char digit = SOUNDEX_CODES.charAt(c - 'A');
+            if (length == 0) {
+                code[length++] = c;
+                previous = digit;
+            } else if (c == 'H' || c == 'W') {
+                continue;
+            } else {
+                if (digit != '0' && digit != previous) {
+                    code[length++] = digit;
+                }
+                previous = digit;
+            }
+        }
+        if (length == 0) {
+            return "";
+        }
+        while (length < 4) {
+            code[length++] = '0';
+        }
+        return new String(code);
+    }
+
+    public static double jaroWinkler(String first, String second) {
+        if (first == null || second == null) {
+            return 0.0;
+        }
+        String a = first.trim().toLowerCase(Locale.ROOT);
+        String b = second.trim().toLowerCase(Locale.ROOT);
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+        if (a.equals(b)) {
+            return 1.0;
+        }
+
+        int window = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] matchedA = new boolean[a.length()];
+        boolean[] matchedB = new boolean[b.length()];
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(b.length() - 1, i + window);
+            for (int j = from; j <= to; j++) {
+                if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (!matchedA[i]) {
+                continue;
+            }
+            while (!matchedB[j]) {
+                j++;
+            }
+            if (a.charAt(i) != b.charAt(j)) {
+                transpositions++;
+            }
+            j++;
+        }
+
+        double m = matches;
+        double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3.0;
+
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(a.length(), b.length())) && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1.0 - jaro);
+    }
+}
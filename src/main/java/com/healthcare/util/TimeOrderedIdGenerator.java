@@ -0,0 +1,63 @@
+package com.healthcare.util;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Snowflake-style IDs: 41 bits of milliseconds since 2024-01-01, a 6-bit
+ * stripe chosen by the calling thread, and a 16-bit sequence, written as 13
+ * Crockford base32 characters after the prefix. IDs with the same prefix
+ * sort by creation time to the millisecond.
+ * <p>
+ * Each stripe keeps its last timestamp and sequence in one long advanced by
+ * compare-and-set, so threads on different stripes never contend and IDs
+ * from one stripe strictly increase. A stripe that exhausts its sequence
+ * within a millisecond, or sees the clock go backwards, carries on from its
+ * last value rather than waiting.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+    static final TimeOrderedIdGenerator SHARED = new TimeOrderedIdGenerator(Clock.systemUTC());
+
+    private static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    private static final int STRIPE_BITS = 6;
+    private static final int SEQUENCE_BITS = 16;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int PADDING = 8;
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final Clock clock;
+    private final AtomicLongArray stripes;
+
+    public TimeOrderedIdGenerator(Clock clock) {
+        this.clock = clock;
+        this.stripes = new AtomicLongArray(STRIPES * PADDING);
+    }
+
+    @Override
+    public String nextId(String prefix) {
+        char[] chars = new char[prefix.length() + ENCODED_LENGTH];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        long value = nextValue();
+        for (int i = chars.length - 1; i >= prefix.length(); i--) {
+            chars[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    long nextValue() {
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        long candidate = Math.max(0, clock.millis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long last;
+        long next;
+        do {
+            last = stripes.get(stripe * PADDING);
+            next = Math.max(candidate, last + 1);
+        } while (!stripes.compareAndSet(stripe * PADDING, last, next));
+        return (next >>> SEQUENCE_BITS) << (STRIPE_BITS + SEQUENCE_BITS)
+                | (long) stripe << SEQUENCE_BITS
+                | (next & SEQUENCE_MASK);
+    }
+}
@@ -0,0 +1,68 @@
+package com.healthcare.util;
+
+import com.healthcare.exception.InvalidDataException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Field errors collected while validating one entity. Nothing is allocated
+ * until the first error is added.
+ */
+public class ValidationResult {
+    private List<FieldError> errors;
+
+    public void addError(String field, String message) {
+        if (errors == null) {
+            errors = new ArrayList<>(4);
+        }
+        errors.add(new FieldError(field, message));
+    }
+
+    public boolean isValid() {
+        return errors == null;
+    }
+
+    public List<FieldError> getErrors() {
+        return errors == null ? Collections.emptyList() : Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Throws an {@link InvalidDataException} carrying the first error's
+     * message, as the throwing validators would have.
+     */
+    public void throwIfInvalid() {
+        if (errors != null) {
+            throw new InvalidDataException(errors.get(0).getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationResult{errors=" + getErrors() + "}";
+    }
+
+    public static class FieldError {
+        private final String field;
+        private final String message;
+
+        public FieldError(String field, String message) {
+            this.field = field;
+            this.message = message;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return field + ": " + message;
+        }
+    }
+}
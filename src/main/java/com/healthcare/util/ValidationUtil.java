@@ -2,65 +2,57 @@ package com.healthcare.util;
 
 import com.healthcare.exception.InvalidDataException;
 
-import java.util.regex.Pattern;
+import java.util.Locale;
 
 public class ValidationUtil {
 
-    private static final Pattern EMAIL_PATTERN = 
-        Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
-    
-    private static final Pattern PHONE_PATTERN = 
-        Pattern.compile("^[0-9]{10}$");
-    
-    private static final Pattern BLOOD_GROUP_PATTERN = 
-        Pattern.compile("^(A|B|AB|O)[+-]$");
+    private static final String BLOOD_GROUP_MESSAGE =
+        "Invalid blood group. Must be A+, A-, B+, B-, AB+, AB-, O+, or O-: ";
 
     public static void validateNotNull(Object value, String fieldName) {
         if (value == null) {
-            throw new InvalidDataException(fieldName + " cannot be null");
+            throw InvalidDataException.of(fieldName, " cannot be null");
         }
     }
 
     public static void validateNotEmpty(String value, String fieldName) {
-        if (value == null || value.trim().isEmpty()) {
-            throw new InvalidDataException(fieldName + " cannot be empty");
+        if (isBlank(value)) {
+            throw InvalidDataException.of(fieldName, " cannot be empty");
         }
     }
 
     public static void validateEmail(String email) {
-        if (email == null || !EMAIL_PATTERN.matcher(email).matches()) {
-            throw new InvalidDataException("Invalid email format: " + email);
+        if (!isValidEmail(email)) {
+            throw InvalidDataException.of("Invalid email format: ", email);
         }
     }
 
     public static void validatePhoneNumber(String phoneNumber) {
-        if (phoneNumber == null || !PHONE_PATTERN.matcher(phoneNumber).matches()) {
-            throw new InvalidDataException("Invalid phone number. Must be 10 digits: " + phoneNumber);
+        if (!isValidPhoneNumber(phoneNumber)) {
+            throw InvalidDataException.of("Invalid phone number. Must be 10 digits: ", phoneNumber);
         }
     }
 
     public static void validateBloodGroup(String bloodGroup) {
-        if (bloodGroup == null || !BLOOD_GROUP_PATTERN.matcher(bloodGroup).matches()) {
-            throw new InvalidDataException("Invalid blood group. Must be A+, A-, B+, B-, AB+, AB-, O+, or O-: " + bloodGroup);
+        if (!isValidBloodGroup(bloodGroup)) {
+            throw InvalidDataException.of(BLOOD_GROUP_MESSAGE, bloodGroup);
         }
     }
 
     public static void validatePositiveNumber(int number, String fieldName) {
         if (number <= 0) {
-            throw new InvalidDataException(fieldName + " must be a positive number");
+            throw InvalidDataException.of(fieldName, " must be a positive number");
         }
     }
 
     public static void validateNonNegativeNumber(int number, String fieldName) {
         if (number < 0) {
-            throw new InvalidDataException(fieldName + " cannot be negative");
+            throw InvalidDataException.of(fieldName, " cannot be negative");
         }
     }
 
     public static void validateGender(String gender) {
-        if (gender == null || (!gender.equalsIgnoreCase("Male") && 
-                               !gender.equalsIgnoreCase("Female") && 
-                               !gender.equalsIgnoreCase("Other"))) {
+        if (!isValidGender(gender)) {
             throw new InvalidDataException("Invalid gender. Must be Male, Female, or Other");
         }
     }
@@ -68,19 +60,180 @@ public class ValidationUtil {
     public static void validateIdFormat(String id, String idType) {
         validateNotEmpty(id, idType);
         if (id.length() < 3) {
-            throw new InvalidDataException(idType + " must be at least 3 characters long");
+            throw InvalidDataException.of(idType, " must be at least 3 characters long");
         }
     }
 
+    public static boolean checkNotNull(Object value, String fieldName, ValidationResult result) {
+        if (value == null) {
+            result.addError(fieldName, fieldName + " cannot be null");
+            return false;
+        }
+        return true;
+    }
+
+    public static boolean checkNotEmpty(String value, String fieldName, ValidationResult result) {
+        if (isBlank(value)) {
+            result.addError(fieldName, fieldName + " cannot be empty");
+            return false;
+        }
+        return true;
+    }
+
+    public static boolean checkEmail(String email, ValidationResult result) {
+        if (!isValidEmail(email)) {
+            result.addError("Email", "Invalid email format: " + email);
+            return false;
+        }
+        return true;
+    }
+
+    public static boolean checkPhoneNumber(String phoneNumber, ValidationResult result) {
+        if (!isValidPhoneNumber(phoneNumber)) {
+            result.addError("Phone number", "Invalid phone number. Must be 10 digits: " + phoneNumber);
+            return false;
+        }
+        return true;
+    }
+
+    public static boolean checkBloodGroup(String bloodGroup, ValidationResult result) {
+        if (!isValidBloodGroup(bloodGroup)) {
+            result.addError("Blood group", BLOOD_GROUP_MESSAGE + bloodGroup);
+            return false;
+        }
+        return true;
+    }
+
+    public static boolean checkPositiveNumber(int number, String fieldName, ValidationResult result) {
+        if (number <= 0) {
+            result.addError(fieldName, fieldName + " must be a positive number");
+            return false;
+        }
+        return true;
+    }
+
+    public static boolean checkNonNegativeNumber(int number, String fieldName, ValidationResult result) {
+        if (number < 0) {
+            result.addError(fieldName, fieldName + " cannot be negative");
+            return false;
+        }
+        return true;
+    }
+
+    public static boolean checkGender(String gender, ValidationResult result) {
+        if (!isValidGender(gender)) {
+            result.addError("Gender", "Invalid gender. Must be Male, Female, or Other");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Same language as {@code [A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}},
+     * checked in one pass.
+     */
     public static boolean isValidEmail(String email) {
-        return email != null && EMAIL_PATTERN.matcher(email).matches();
+        if (email == null) {
+            return false;
+        }
+        int at = -1;
+        int lastDot = -1;
+        int length = email.length();
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            } else if (c == '.') {
+                if (at >= 0) {
+                    lastDot = i;
+                }
+            } else if (!isAsciiLetterOrDigit(c) && c != '-' && (at >= 0 || (c != '+' && c != '_'))) {
+                return false;
+            }
+        }
+        if (at < 1 || lastDot < at + 2 || length - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < length; i++) {
+            char c = email.charAt(i);
+            if ((c < 'A' || c > 'Z') && (c < 'a' || c > 'z')) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public static boolean isValidPhoneNumber(String phoneNumber) {
-        return phoneNumber != null && PHONE_PATTERN.matcher(phoneNumber).matches();
+        if (phoneNumber == null || phoneNumber.length() != 10) {
+            return false;
+        }
+        for (int i = 0; i < 10; i++) {
+            char c = phoneNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     public static boolean isValidBloodGroup(String bloodGroup) {
-        return bloodGroup != null && BLOOD_GROUP_PATTERN.matcher(bloodGroup).matches();
+        if (bloodGroup == null || bloodGroup.length() < 2 || bloodGroup.length() > 3) {
+            return false;
+        }
+        char sign = bloodGroup.charAt(bloodGroup.length() - 1);
+        if (sign != '+' && sign != '-') {
+            return false;
+        }
+        char first = bloodGroup.charAt(0);
+        if (bloodGroup.length() == 3) {
+            return first == 'A' && bloodGroup.charAt(1) == 'B';
+        }
+        return first == 'A' || first == 'B' || first == 'O';
+    }
+
+    public static boolean isValidGender(String gender) {
+        return gender != null && (gender.equalsIgnoreCase("Male") ||
+                                  gender.equalsIgnoreCase("Female") ||
+                                  gender.equalsIgnoreCase("Other"));
+    }
+
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    public static String normalizeEmail(String email) {
+        if (email == null || email.trim().isEmpty()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static String normalizePhoneNumber(String phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phoneNumber.length());
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.length() == 0 ? null : digits.toString();
     }
 }
@@ -0,0 +1,203 @@
+package com.healthcare.api;
+
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.MedicalRecordRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.PrescriptionRepository;
+import com.healthcare.service.AppointmentService;
+import com.healthcare.service.DoctorService;
+import com.healthcare.service.MedicalRecordService;
+import com.healthcare.service.PatientService;
+import com.healthcare.service.PrescriptionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiServerTest {
+
+    private ApiServer server;
+    private HttpClient client;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        PatientRepository patientRepo = new PatientRepository();
+        DoctorRepository doctorRepo = new DoctorRepository();
+        AppointmentRepository appointmentRepo = new AppointmentRepository();
+        PrescriptionRepository prescriptionRepo = new PrescriptionRepository();
+        MedicalRecordRepository recordRepo = new MedicalRecordRepository();
+        PatientService patientService = new PatientService(patientRepo, appointmentRepo, prescriptionRepo, recordRepo);
+        DoctorService doctorService = new DoctorService(doctorRepo, appointmentRepo, prescriptionRepo, recordRepo);
+
+        server = new ApiServer(new InetSocketAddress("127.0.0.1", 0), patientService, doctorService,
+                               new AppointmentService(appointmentRepo, patientService, doctorService),
+                               new PrescriptionService(prescriptionRepo, patientService, doctorService),
+                               new MedicalRecordService(recordRepo, patientService, doctorService));
+        server.start();
+        client = HttpClient.newHttpClient();
+        baseUrl = "http://127.0.0.1:" + server.getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should register, fetch, list and delete a patient")
+    void testPatients_Crud() throws Exception {
+        HttpResponse<String> created = send("POST", "/patients", patientJson("john@example.com", "9876543210"));
+        assertEquals(201, created.statusCode());
+        String patientId = (String) JsonParser.parseObject(created.body()).get("patientId");
+        assertTrue(patientId.startsWith("PAT"));
+
+        HttpResponse<String> fetched = send("GET", "/patients/" + patientId, null);
+        assertEquals(200, fetched.statusCode());
+        assertEquals("application/json; charset=utf-8", fetched.headers().firstValue("Content-Type").orElse(null));
+        Map<String, Object> patient = JsonParser.parseObject(fetched.body());
+        assertEquals("Doe", patient.get("lastName"));
+        assertEquals("1990-01-01", patient.get("dateOfBirth"));
+        assertEquals("A+", patient.get("bloodGroup"));
+
+        assertEquals(1, ((List<?>) JsonParser.parse(send("GET", "/patients?lastName=doe", null).body())).size());
+        assertEquals(1, ((List<?>) JsonParser.parse(send("GET", "/patients?bloodGroup=A%2B", null).body())).size());
+
+        assertEquals(204, send("DELETE", "/patients/" + patientId, null).statusCode());
+        HttpResponse<String> missing = send("GET", "/patients/" + patientId, null);
+        assertEquals(404, missing.statusCode());
+        assertTrue(((String) JsonParser.parseObject(missing.body()).get("error")).contains(patientId));
+    }
+
+    @Test
+    @DisplayName("Should map validation errors, conflicts and unknown routes to status codes")
+    void testErrors_StatusCodes() throws Exception {
+        assertEquals(201, send("POST", "/patients", patientJson("john@example.com", "9876543210")).statusCode());
+
+        assertEquals(400, send("POST", "/patients", patientJson("not-an-email", "9876543211")).statusCode());
+        assertEquals(400, send("POST", "/patients", "{\"firstName\":").statusCode());
+        assertEquals(400, send("POST", "/patients", patientJson("john@example.com", "9876543211")).statusCode());
+        assertEquals(404, send("GET", "/doctors/DOC999", null).statusCode());
+        assertEquals(404, send("GET", "/unknown", null).statusCode());
+        assertEquals(405, send("PATCH", "/patients", "{}").statusCode());
+        assertEquals(404, send("GET", "/appointments/APT999", null).statusCode());
+        assertEquals(404, send("DELETE", "/prescriptions/PRE999", null).statusCode());
+    }
+
+    @Test
+    @DisplayName("Should schedule and complete an appointment and prescribe medication")
+    void testAppointmentsAndPrescriptions() throws Exception {
+        String patientId = idOf(send("POST", "/patients", patientJson("john@example.com", "9876543210")), "patientId");
+        String doctorId = idOf(send("POST", "/doctors", "{\"firstName\":\"Jane\",\"lastName\":\"Smith\","
+                + "\"specialization\":\"Cardiology\",\"phoneNumber\":\"9876543211\","
+                + "\"email\":\"jane@hospital.com\",\"yearsOfExperience\":10,\"qualification\":\"MBBS, MD\"}"),
+                "doctorId");
+
+        String appointmentId = idOf(send("POST", "/appointments", "{\"patientId\":\"" + patientId
+                + "\",\"doctorId\":\"" + doctorId + "\",\"appointmentDateTime\":\""
+                + LocalDateTime.now().plusDays(3).withNano(0) + "\",\"reason\":\"Checkup\"}"), "appointmentId");
+        HttpResponse<String> completed = send("POST", "/appointments/" + appointmentId + "/complete", null);
+        assertEquals(200, completed.statusCode());
+        assertEquals("COMPLETED", JsonParser.parseObject(completed.body()).get("status"));
+        assertEquals(1, ((List<?>) JsonParser.parse(
+                send("GET", "/doctors/" + doctorId + "/appointments", null).body())).size());
+
+        HttpResponse<String> prescribed = send("POST", "/prescriptions", "{\"patientId\":\"" + patientId
+                + "\",\"doctorId\":\"" + doctorId + "\",\"diagnosis\":\"Clot risk\",\"medications\":["
+                + "{\"medicineName\":\"warfarin\",\"dosage\":\"5mg\",\"frequency\":\"Daily\",\"durationDays\":30}]}");
+        assertEquals(201, prescribed.statusCode());
+
+        List<?> interactions = (List<?>) JsonParser.parse(
+                send("GET", "/patients/" + patientId + "/interactions?medicine=Aspirin", null).body());
+        assertEquals(1, interactions.size());
+        assertEquals("MAJOR", ((Map<?, ?>) interactions.get(0)).get("severity"));
+
+        List<?> suggestions = (List<?>) JsonParser.parse(send("GET", "/medications?prefix=war", null).body());
+        assertEquals("Warfarin", ((Map<?, ?>) suggestions.get(0)).get("name"));
+        assertEquals(1, ((List<?>) JsonParser.parse(send("GET", "/prescriptions?drug=Warfarin", null).body())).size());
+
+        List<?> timeline = (List<?>) JsonParser.parse(send("GET", "/patients/" + patientId + "/timeline", null).body());
+        assertEquals(2, timeline.size());
+        assertEquals("PRESCRIPTION", ((Map<?, ?>) timeline.get(0)).get("type"));
+        assertEquals(appointmentId, ((Map<?, ?>) timeline.get(1)).get("id"));
+    }
+
+    @Test
+    @DisplayName("Should page listings when a limit or cursor is given")
+    void testPatients_Paged() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(201, send("POST", "/patients", patientJson("p" + i + "@example.com", "987654321" + i))
+                    .statusCode());
+        }
+        assertEquals(3, ((List<?>) JsonParser.parse(send("GET", "/patients", null).body())).size());
+
+        Map<String, Object> first = JsonParser.parseObject(send("GET", "/patients?limit=2", null).body());
+        assertEquals(2, ((List<?>) first.get("items")).size());
+        String cursor = (String) first.get("nextCursor");
+        assertNotNull(cursor);
+
+        Map<String, Object> second = JsonParser.parseObject(
+                send("GET", "/patients?limit=2&cursor=" + cursor, null).body());
+        assertEquals(1, ((List<?>) second.get("items")).size());
+        assertNull(second.get("nextCursor"));
+
+        assertEquals(400, send("GET", "/patients?limit=0", null).statusCode());
+    }
+
+    @Test
+    @DisplayName("Should answer a malformed percent escape with 400")
+    void testErrors_MalformedEscape() throws Exception {
+        assertTrue(sendRaw("GET /patients/%zz HTTP/1.1").startsWith("HTTP/1.1 400 "));
+        assertTrue(sendRaw("GET /patients?lastName=%zz HTTP/1.1").startsWith("HTTP/1.1 400 "));
+        assertEquals(200, send("GET", "/patients", null).statusCode());
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).method(method, publisher).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Sends a request line as is, for targets that {@link URI} would reject.
+     */
+    private String sendRaw(String requestLine) throws IOException {
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            out.write((requestLine + "\r\nHost: 127.0.0.1\r\nConnection: close\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            return new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String idOf(HttpResponse<String> response, String field) {
+        assertEquals(201, response.statusCode(), response.body());
+        return (String) JsonParser.parseObject(response.body()).get(field);
+    }
+
+    private static String patientJson(String email, String phone) {
+        return "{\"firstName\":\"John\",\"lastName\":\"Doe\",\"dateOfBirth\":\"1990-01-01\",\"gender\":\"Male\","
+                + "\"phoneNumber\":\"" + phone + "\",\"email\":\"" + email + "\",\"address\":\"123 Main St\","
+                + "\"bloodGroup\":\"A+\"}";
+    }
+}
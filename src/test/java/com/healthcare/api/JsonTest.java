@@ -0,0 +1,81 @@
+package com.healthcare.api;
+
+import com.healthcare.exception.InvalidDataException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTest {
+
+    @Test
+    @DisplayName("Should write nested structures with separators and escapes")
+    void testJsonWriter_Nested() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriter json = new JsonWriter(out);
+
+        json.beginObject()
+                .field("name", "Line \"one\"\n\ttab\\")
+                .field("missing", null)
+                .field("count", 3)
+                .field("active", true)
+                .field("date", LocalDate.of(2024, 2, 29));
+        json.name("items").beginArray().value(1).nullValue().beginObject().endObject().value("\u0001").endArray();
+        json.endObject().flush();
+
+        assertEquals("{\"name\":\"Line \\\"one\\\"\\n\\ttab\\\\\",\"count\":3,\"active\":true,"
+                + "\"date\":\"2024-02-29\",\"items\":[1,null,{},\"\\u0001\"]}", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should parse what the writer produces")
+    void testJsonParser_RoundTrip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JsonWriter(out).beginObject()
+                .field("text", "Caf\u00e9 \"quoted\"\n")
+                .field("number", -42)
+                .field("wide", "\u20ac \ud83d\ude00 \u0416")
+                .field("long", "x".repeat(20000))
+                .name("list").beginArray().value(false).nullValue().endArray()
+                .endObject().flush();
+
+        Map<String, Object> parsed = JsonParser.parseObject(out.toString(StandardCharsets.UTF_8));
+
+        assertEquals("Caf\u00e9 \"quoted\"\n", parsed.get("text"));
+        assertEquals(-42L, parsed.get("number"));
+        assertEquals("\u20ac \ud83d\ude00 \u0416", parsed.get("wide"));
+        assertEquals(20000, ((String) parsed.get("long")).length());
+        assertEquals(java.util.Arrays.asList(false, null), parsed.get("list"));
+    }
+
+    @Test
+    @DisplayName("Should parse numbers, unicode escapes and whitespace")
+    void testJsonParser_Values() {
+        Object parsed = JsonParser.parse(" [ 1.5e2 , 7 , \"\\u0041\\/\" , {\"a\" : {}} ] ");
+
+        assertEquals(List.of(150.0, 7L, "A/", Map.of("a", Map.of())), parsed);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed JSON")
+    void testJsonParser_Malformed() {
+        for (String text : List.of("", "{", "{\"a\" 1}", "[1,]", "\"open", "{\"a\":1} x", "tru", "[\"\\x\"]")) {
+            assertThrows(InvalidDataException.class, () -> {
+                JsonParser.parse(text);
+            }, text);
+        }
+        assertThrows(InvalidDataException.class, () -> {
+            JsonParser.parseObject("[1]");
+        });
+        assertThrows(InvalidDataException.class, () -> {
+            JsonParser.parse("[".repeat(100) + "]".repeat(100));
+        });
+    }
+}
@@ -0,0 +1,137 @@
+package com.healthcare.batch;
+
+import com.healthcare.model.AppointmentStatus;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.MedicalRecordRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.PrescriptionRepository;
+import com.healthcare.service.AppointmentService;
+import com.healthcare.service.DoctorService;
+import com.healthcare.service.MedicalRecordService;
+import com.healthcare.service.PatientService;
+import com.healthcare.service.PrescriptionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRunnerTest {
+
+    private PatientService patientService;
+    private DoctorService doctorService;
+    private AppointmentService appointmentService;
+    private PrescriptionService prescriptionService;
+    private MedicalRecordService medicalRecordService;
+
+    @BeforeEach
+    void setUp() {
+        PatientRepository patientRepo = new PatientRepository();
+        DoctorRepository doctorRepo = new DoctorRepository();
+        AppointmentRepository appointmentRepo = new AppointmentRepository();
+        PrescriptionRepository prescriptionRepo = new PrescriptionRepository();
+        MedicalRecordRepository recordRepo = new MedicalRecordRepository();
+
+        patientService = new PatientService(patientRepo, appointmentRepo, prescriptionRepo, recordRepo);
+        doctorService = new DoctorService(doctorRepo, appointmentRepo, prescriptionRepo, recordRepo);
+        appointmentService = new AppointmentService(appointmentRepo, patientService, doctorService);
+        prescriptionService = new PrescriptionService(prescriptionRepo, patientService, doctorService);
+        medicalRecordService = new MedicalRecordService(recordRepo, patientService, doctorService);
+    }
+
+    @Test
+    @DisplayName("Should run every kind of command in order")
+    void testRun_AllCommands() throws IOException {
+        String script = "# nightly load\n"
+                + "register|doctor|DOC100|Jane|Smith|Cardiology|9876543211|jane@hospital.com|10|MBBS\n"
+                + "\n"
+                + "register|patient|PAT100|John|Doe|1990-01-01|Male|9876543210|john@example.com|1 Main St|A+\n"
+                + "schedule|APT100|PAT100|DOC100|2099-01-01 10:00|Checkup\n"
+                + "complete|APT100\n"
+                + "prescribe|RX100|PAT100|DOC100|APT100|Infection|Amoxicillin:500mg:3x daily:7;Ibuprofen:200mg:as needed:5\n"
+                + "record|REC100|PAT100|DOC100|APT100|Fever|Infection|Rest\n";
+
+        StringWriter out = new StringWriter();
+        BatchReport report = runner(1).run(new StringReader(script), new PrintWriter(out));
+
+        assertEquals(6, report.getCommands());
+        assertEquals(0, report.getFailed(), out.toString());
+        assertEquals(1, report.getSucceeded(BatchOperation.PRESCRIBE));
+        assertEquals(AppointmentStatus.COMPLETED, appointmentService.getAppointmentById("APT100").getStatus());
+        assertEquals(2, prescriptionService.getPrescriptionById("RX100").getMedications().size());
+        assertEquals("Rest", medicalRecordService.getMedicalRecordById("REC100").getTreatment());
+    }
+
+    @Test
+    @DisplayName("Should report failed and malformed lines and keep going")
+    void testRun_Failures() throws IOException {
+        String script = "register|patient|PAT100|John|Doe|1990-01-01|Male|9876543210|john@example.com|1 Main St|A+\n"
+                + "admit|PAT100\n"
+                + "schedule|APT100|PAT100\n"
+                + "schedule|APT100|PAT100|DOC404|2099-01-01 10:00|Checkup\n"
+                + "register|patient|PAT101|Ann|Lee|not-a-date|Female|9876543212|ann@example.com|2 Main St|B+\n"
+                + "register|patient|PAT102|Ann|Lee|1990-01-01|Female|9876543213|ann@example.com|2 Main St|B+\n"
+                + "schedule|APT101|PAT100|DOC404|2099-01-01T10:00|Checkup\n";
+
+        StringWriter out = new StringWriter();
+        BatchReport report = runner(1).run(new StringReader(script), new PrintWriter(out));
+
+        assertEquals(7, report.getCommands());
+        assertEquals(2, report.getSucceeded());
+        assertEquals(5, report.getFailed());
+        assertTrue(out.toString().contains("line 2: Unknown command: admit"));
+        assertTrue(out.toString().contains("line 3: Expected 5 fields for schedule, found 2"));
+        assertTrue(out.toString().contains("line 4: schedule failed: Doctor not found with ID: DOC404"));
+        assertTrue(out.toString().contains("line 5: register-patient failed: Invalid date: not-a-date"));
+        assertTrue(out.toString().contains("line 7: schedule failed: Invalid date-time: 2099-01-01T10:00"));
+    }
+
+    @Test
+    @DisplayName("Should keep each patient's commands in order across threads")
+    void testRun_Parallel() throws IOException {
+        StringBuilder script = new StringBuilder();
+        script.append("register|doctor|DOC100|Jane|Smith|Cardiology|9876543211|jane@hospital.com|10|MBBS\n");
+        int patients = 500;
+        for (int i = 0; i < patients; i++) {
+            String patientId = "PAT" + i;
+            script.append("register|patient|").append(patientId).append("|John|Doe|1990-01-01|Male|9")
+                    .append(String.format("%09d", i)).append("|p").append(i).append("@example.com|1 Main St|A+\n");
+            script.append("schedule|APT").append(i).append('|').append(patientId)
+                    .append("|DOC100|2099-01-01 10:00|Checkup\n");
+            script.append("complete|APT").append(i).append('\n');
+            script.append("record||").append(patientId).append("|DOC100|APT").append(i).append("|Fever|Flu|Rest\n");
+        }
+        script.append("register|doctor|DOC101|Amy|Jones|Pediatrics|9876543299|amy@hospital.com|5|MBBS\n");
+        script.append("schedule|APT-LAST|PAT0|DOC101|2099-01-02 10:00|Follow-up\n");
+
+        StringWriter out = new StringWriter();
+        BatchReport report = runner(4).run(new StringReader(script.toString()), new PrintWriter(out));
+
+        assertEquals(0, report.getFailed(), out.toString());
+        assertEquals(patients * 4L + 3, report.getSucceeded());
+        assertEquals(4, report.getThreads());
+        for (int i = 0; i < patients; i++) {
+            assertEquals(AppointmentStatus.COMPLETED, appointmentService.getAppointmentById("APT" + i).getStatus());
+        }
+        assertEquals("DOC101", appointmentService.getAppointmentById("APT-LAST").getDoctorId());
+    }
+
+    @Test
+    @DisplayName("Should reject fewer than one thread")
+    void testConstructor_InvalidThreads() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            runner(0);
+        });
+    }
+
+    private BatchRunner runner(int threads) {
+        return new BatchRunner(patientService, doctorService, appointmentService, prescriptionService,
+                               medicalRecordService, threads);
+    }
+}
@@ -0,0 +1,111 @@
+package com.healthcare.benchmark;
+
+import com.healthcare.api.ApiServer;
+import com.healthcare.model.Appointment;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.Patient;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.MedicalRecordRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.PrescriptionRepository;
+import com.healthcare.service.AppointmentService;
+import com.healthcare.service.DoctorService;
+import com.healthcare.service.MedicalRecordService;
+import com.healthcare.service.PatientService;
+import com.healthcare.service.PrescriptionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for the HTTP API: 16 client threads issue a read-heavy mix of
+ * single-patient lookups and a doctor's appointment listing against a server
+ * holding 1,000 patients. Throughput mode reports requests per second; sample
+ * mode reports the latency distribution, including p99. Runs once on virtual
+ * and once on platform request threads; virtual threads need Java 21.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(16)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ApiServerBenchmark {
+    private static final int PATIENTS = 1_000;
+
+    @Param({"true", "false"})
+    public String virtualThreads;
+
+    private ApiServer server;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        System.setProperty("healthcare.api.virtualThreads", virtualThreads);
+        PatientRepository patientRepo = new PatientRepository();
+        DoctorRepository doctorRepo = new DoctorRepository();
+        AppointmentRepository appointmentRepo = new AppointmentRepository();
+        PrescriptionRepository prescriptionRepo = new PrescriptionRepository();
+        MedicalRecordRepository recordRepo = new MedicalRecordRepository();
+        PatientService patientService = new PatientService(patientRepo, appointmentRepo, prescriptionRepo, recordRepo);
+        DoctorService doctorService = new DoctorService(doctorRepo, appointmentRepo, prescriptionRepo, recordRepo);
+        AppointmentService appointmentService = new AppointmentService(appointmentRepo, patientService, doctorService);
+
+        doctorService.registerDoctor(new Doctor("DOC001", "John", "Smith", "Cardiology",
+                                                "9876543210", "john.smith@hospital.com", 15, "MBBS, MD"));
+        for (int i = 0; i < PATIENTS; i++) {
+            patientService.registerPatient(new Patient(String.format("PAT%04d", i), "Patient", "Number" + i,
+                                                       LocalDate.of(1990, 1, 1), "Female",
+                                                       String.format("9%09d", i), "patient" + i + "@example.com",
+                                                       "123 Main St", "O+"));
+        }
+        for (int i = 0; i < 40; i++) {
+            appointmentService.scheduleAppointment(new Appointment(null, String.format("PAT%04d", i), "DOC001",
+                    LocalDateTime.now().plusDays(1).plusMinutes(15L * i), "Checkup"));
+        }
+
+        server = new ApiServer(new InetSocketAddress("127.0.0.1", 0), patientService, doctorService,
+                               appointmentService, new PrescriptionService(prescriptionRepo, patientService, doctorService),
+                               new MedicalRecordService(recordRepo, patientService, doctorService));
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://127.0.0.1:" + server.getPort();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public int getPatient() throws Exception {
+        int patient = ThreadLocalRandom.current().nextInt(PATIENTS);
+        return get(String.format("/patients/PAT%04d", patient));
+    }
+
+    @Benchmark
+    public int listDoctorAppointments() throws Exception {
+        return get("/doctors/DOC001/appointments");
+    }
+
+    private int get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,118 @@
+package com.healthcare.benchmark;
+
+import com.healthcare.util.DateUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses and formats 1024 import-style date-times, one in ten of them
+ * malformed. The formatter methods reproduce the previous DateUtil
+ * implementation: trim, DateTimeFormatter, and exceptions for bad input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateUtilBenchmark {
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int ROWS = 1024;
+
+    private String[] texts;
+    private byte[] bytes;
+    private int[] offsets;
+    private LocalDateTime[] values;
+    private StringBuilder out;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        texts = new String[ROWS];
+        values = new LocalDateTime[ROWS];
+        offsets = new int[ROWS + 1];
+        StringBuilder all = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            values[i] = LocalDateTime.of(1950, 1, 1, 0, 0)
+                    .plusDays(random.nextInt(30_000))
+                    .plusMinutes(random.nextInt(24 * 60));
+            texts[i] = i % 10 == 0 ? "2024-13-45 25:70" : values[i].format(DATETIME_FORMATTER);
+            offsets[i] = all.length();
+            all.append(texts[i]);
+        }
+        offsets[ROWS] = all.length();
+        bytes = all.toString().getBytes(StandardCharsets.US_ASCII);
+        out = new StringBuilder(ROWS * 17);
+    }
+
+    @Benchmark
+    public void parseFormatter(Blackhole blackhole) {
+        for (String text : texts) {
+            try {
+                blackhole.consume(LocalDateTime.parse(text.trim(), DATETIME_FORMATTER));
+            } catch (DateTimeParseException e) {
+                blackhole.consume(new IllegalArgumentException("Invalid datetime format", e));
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseCharSequence(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(DateUtil.parseEpochMinute(text, 0, text.length()));
+        }
+    }
+
+    @Benchmark
+    public void parseBytes(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(DateUtil.parseEpochMinute(bytes, offsets[i], offsets[i + 1] - offsets[i]));
+        }
+    }
+
+    @Benchmark
+    public void validateFormatter(Blackhole blackhole) {
+        for (String text : texts) {
+            boolean valid;
+            try {
+                LocalDateTime.parse(text.trim(), DATETIME_FORMATTER);
+                valid = true;
+            } catch (DateTimeParseException e) {
+                valid = false;
+            }
+            blackhole.consume(valid);
+        }
+    }
+
+    @Benchmark
+    public void validateFastPath(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(DateUtil.isValidDateTime(text));
+        }
+    }
+
+    @Benchmark
+    public int formatFormatter() {
+        out.setLength(0);
+        for (LocalDateTime value : values) {
+            out.append(value.format(DATETIME_FORMATTER));
+        }
+        return out.length();
+    }
+
+    @Benchmark
+    public int formatAppend() {
+        out.setLength(0);
+        for (LocalDateTime value : values) {
+            DateUtil.appendDateTime(out, value);
+        }
+        return out.length();
+    }
+}
@@ -0,0 +1,84 @@
+package com.healthcare.benchmark;
+
+import com.healthcare.exception.DomainException;
+import com.healthcare.exception.PatientNotFoundException;
+import com.healthcare.model.Patient;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.service.PatientService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up 1000 patient IDs, one in ten of them unknown, from a few frames
+ * deep so a captured stack trace has realistic depth. Compares throwing
+ * lookups with and without stack traces against the Optional lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionBenchmark {
+    private static final int LOOKUPS = 1000;
+
+    @Param({"false", "true"})
+    public boolean stackless;
+
+    private PatientService patientService;
+    private String[] ids;
+
+    @Setup
+    public void setUp() {
+        DomainException.setStackless(stackless);
+        PatientRepository repository = new PatientRepository();
+        patientService = new PatientService(repository);
+        ids = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String id = String.format("PAT%04d", i);
+            if (i % 10 == 0) {
+                ids[i] = "MISSING" + i;
+            } else {
+                ids[i] = id;
+                repository.save(new Patient(id, "John", "Doe", LocalDate.of(1990, 1, 1), "Male",
+                                            String.format("98765%05d", i), "john" + i + "@example.com",
+                                            "123 Main St", "O+"));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        DomainException.setStackless(false);
+    }
+
+    @Benchmark
+    public void throwing(Blackhole blackhole) {
+        for (String id : ids) {
+            blackhole.consume(nested(id, 8));
+        }
+    }
+
+    @Benchmark
+    public void optional(Blackhole blackhole) {
+        for (String id : ids) {
+            Optional<Patient> patient = patientService.findPatientById(id);
+            blackhole.consume(patient.orElse(null));
+        }
+    }
+
+    private Patient nested(String id, int depth) {
+        if (depth > 0) {
+            return nested(id, depth - 1);
+        }
+        try {
+            return patientService.getPatientById(id);
+        } catch (PatientNotFoundException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.healthcare.benchmark;
+
+import com.healthcare.model.Appointment;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.Patient;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.service.AppointmentService;
+import com.healthcare.service.DoctorService;
+import com.healthcare.service.PatientService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sixteen threads read the same doctor's schedule from a repository that
+ * simulates 200us of storage latency per query. Compares calling the
+ * repository directly with going through the coalescing service; the
+ * teardown prints how many backend queries each request cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(16)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SingleFlightBenchmark {
+    private static final long BACKEND_LATENCY_NANOS = 200_000;
+
+    private SlowAppointmentRepository repository;
+    private AppointmentService appointmentService;
+    private LongAdder requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PatientRepository patientRepository = new PatientRepository();
+        DoctorRepository doctorRepository = new DoctorRepository();
+        repository = new SlowAppointmentRepository();
+        appointmentService = new AppointmentService(repository, new PatientService(patientRepository),
+                                                    new DoctorService(doctorRepository));
+        patientRepository.save(new Patient("PAT001", "John", "Doe", LocalDate.of(1990, 1, 1), "Male",
+                                           "9876543210", "john.doe@example.com", "123 Main St", "O+"));
+        doctorRepository.save(new Doctor("DOC001", "John", "Smith", "Cardiology",
+                                         "9876543210", "john.smith@hospital.com", 15, "MBBS, MD"));
+        for (int i = 0; i < 40; i++) {
+            repository.save(new Appointment(String.format("APT%03d", i), "PAT001", "DOC001",
+                                            LocalDateTime.now().plusDays(1).plusMinutes(15L * i), "Checkup"));
+        }
+        requests = new LongAdder();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        repository.calls.reset();
+        requests.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.printf("%n  backend queries: %d, requests: %d, queries per request: %.4f%n",
+                          repository.calls.sum(), requests.sum(),
+                          (double) repository.calls.sum() / Math.max(1, requests.sum()));
+    }
+
+    @Benchmark
+    public List<Appointment> direct() {
+        requests.increment();
+        return repository.findByDoctorId("DOC001");
+    }
+
+    @Benchmark
+    public List<Appointment> coalesced() {
+        requests.increment();
+        return appointmentService.getAppointmentsByDoctor("DOC001");
+    }
+
+    static class SlowAppointmentRepository extends AppointmentRepository {
+        private final LongAdder calls = new LongAdder();
+
+        @Override
+        public List<Appointment> findByDoctorId(String doctorId) {
+            calls.increment();
+            LockSupport.parkNanos(BACKEND_LATENCY_NANOS);
+            return super.findByDoctorId(doctorId);
+        }
+    }
+}
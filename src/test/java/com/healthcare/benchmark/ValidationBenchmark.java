@@ -0,0 +1,110 @@
+package com.healthcare.benchmark;
+
+import com.healthcare.exception.InvalidDataException;
+import com.healthcare.util.ValidationResult;
+import com.healthcare.util.ValidationUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Validates the email, phone and blood group of 1000 import rows, 5% of
+ * them bad. The regex method reproduces the previous ValidationUtil:
+ * pattern matching, and an exception for every rejected row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    private static final Pattern EMAIL_PATTERN =
+        Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^[0-9]{10}$");
+    private static final Pattern BLOOD_GROUP_PATTERN = Pattern.compile("^(A|B|AB|O)[+-]$");
+    private static final String[] BLOOD_GROUPS = {"A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-"};
+    private static final int ROWS = 1000;
+
+    private String[] emails;
+    private String[] phones;
+    private String[] bloodGroups;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        emails = new String[ROWS];
+        phones = new String[ROWS];
+        bloodGroups = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            emails[i] = "patient.number" + i + "@clinic-" + random.nextInt(50) + ".example.org";
+            phones[i] = String.valueOf(9_000_000_000L + random.nextInt(999_999_999));
+            bloodGroups[i] = BLOOD_GROUPS[random.nextInt(BLOOD_GROUPS.length)];
+            if (i % 20 == 0) {
+                switch (random.nextInt(3)) {
+                    case 0:
+                        emails[i] = "patient.number" + i + "@clinic";
+                        break;
+                    case 1:
+                        phones[i] = "98765-4321";
+                        break;
+                    default:
+                        bloodGroups[i] = "C+";
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int regexThrowing() {
+        int invalid = 0;
+        for (int i = 0; i < ROWS; i++) {
+            try {
+                if (!EMAIL_PATTERN.matcher(emails[i]).matches()) {
+                    throw new InvalidDataException("Invalid email format: " + emails[i]);
+                }
+                if (!PHONE_PATTERN.matcher(phones[i]).matches()) {
+                    throw new InvalidDataException("Invalid phone number. Must be 10 digits: " + phones[i]);
+                }
+                if (!BLOOD_GROUP_PATTERN.matcher(bloodGroups[i]).matches()) {
+                    throw new InvalidDataException("Invalid blood group: " + bloodGroups[i]);
+                }
+            } catch (InvalidDataException e) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    @Benchmark
+    public int handWrittenThrowing() {
+        int invalid = 0;
+        for (int i = 0; i < ROWS; i++) {
+            try {
+                ValidationUtil.validateEmail(emails[i]);
+                ValidationUtil.validatePhoneNumber(phones[i]);
+                ValidationUtil.validateBloodGroup(bloodGroups[i]);
+            } catch (InvalidDataException e) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    @Benchmark
+    public int handWrittenCollecting() {
+        int invalid = 0;
+        for (int i = 0; i < ROWS; i++) {
+            ValidationResult result = new ValidationResult();
+            ValidationUtil.checkEmail(emails[i], result);
+            ValidationUtil.checkPhoneNumber(phones[i], result);
+            ValidationUtil.checkBloodGroup(bloodGroups[i], result);
+            if (!result.isValid()) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+}
@@ -0,0 +1,160 @@
+package com.healthcare.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    @Test
+    @DisplayName("Should load once and serve later reads from the cache")
+    void testGet_LoadsOnce() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v", cache.get("k", k -> { loads.incrementAndGet(); return "v"; }));
+        assertEquals("v", cache.get("k", k -> { loads.incrementAndGet(); return "v"; }));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().getHitCount());
+        assertEquals(1, cache.stats().getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should not cache null loader results")
+    void testGet_NullNotCached() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+        assertNull(cache.get("missing", k -> null));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should never exceed the maximum size")
+    void testGet_BoundedSize() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(50);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.get(i, k -> k);
+        }
+
+        assertEquals(50, cache.size());
+        assertEquals(950, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("Should keep frequently used entries during a one-off scan")
+    void testGet_FrequentEntriesSurviveScan() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get(i, k -> k);
+            }
+        }
+
+        for (int i = 1000; i < 1500; i++) {
+            cache.get(i, k -> k);
+        }
+
+        int retained = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.getIfPresent(i) != null) {
+                retained++;
+            }
+        }
+        assertEquals(50, retained);
+    }
+
+    @Test
+    @DisplayName("Should drop invalidated entries")
+    void testInvalidate() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+        cache.get("a", k -> "1");
+        cache.get("b", k -> "2");
+
+        cache.invalidate("a");
+        assertNull(cache.getIfPresent("a"));
+        assertEquals("2", cache.getIfPresent("b"));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should not store a value loaded while the key was invalidated")
+    void testGet_InvalidatedDuringLoad() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+        String value = cache.get("k", k -> {
+            cache.invalidate(k);
+            return "stale";
+        });
+
+        assertEquals("stale", value);
+        assertNull(cache.getIfPresent("k"));
+    }
+
+    @Test
+    @DisplayName("Should store a value loaded while another key was invalidated")
+    void testGet_OtherKeyInvalidatedDuringLoad() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+        cache.get("k", k -> {
+            cache.invalidate("other");
+            return "fresh";
+        });
+
+        assertEquals("fresh", cache.getIfPresent("k"));
+    }
+
+    @Test
+    @DisplayName("Should not store a value loaded across an invalidate-all")
+    void testGet_InvalidateAllDuringLoad() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+        cache.get("k", k -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertNull(cache.getIfPresent("k"));
+    }
+
+    @Test
+    @DisplayName("Should stay bounded and consistent under concurrent reads")
+    void testGet_Concurrent() throws Exception {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+        AtomicInteger wrong = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    int key = (i * 31 + seed) % 300;
+                    Integer value = i % 3 == 0 ? cache.getIfPresent(key) : cache.get(key, k -> k * 2);
+                    if (value != null && value != key * 2) {
+                        wrong.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, wrong.get());
+        assertTrue(cache.size() <= 100);
+        assertEquals(4 * 20_000L, cache.stats().getHitCount() + cache.stats().getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive maximum size")
+    void testConstructor_InvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>(0));
+    }
+}
@@ -0,0 +1,119 @@
+package com.healthcare.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CuckooFilterTest {
+
+    @Test
+    @DisplayName("Should never report an added key as absent")
+    void testMightContain_NoFalseNegatives() {
+        CuckooFilter filter = new CuckooFilter(10_000, 0.01, 1024 * 1024);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("PAT" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("PAT" + i));
+        }
+        assertEquals(10_000, filter.size());
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the configured rate")
+    void testMightContain_FalsePositiveRate() {
+        CuckooFilter filter = new CuckooFilter(10_000, 0.01, 1024 * 1024);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("PAT" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("DOC" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should forget removed keys")
+    void testRemove() {
+        CuckooFilter filter = new CuckooFilter(100, 0.001, 1024);
+        filter.add("PAT001");
+        filter.add("PAT002");
+
+        filter.remove("PAT001");
+
+        assertFalse(filter.mightContain("PAT001"));
+        assertTrue(filter.mightContain("PAT002"));
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    @DisplayName("Should not remove another key's entry from a different table")
+    void testRemove_SharedFingerprintAcrossTables() {
+        int collisions = 0;
+        for (int candidate = 0; candidate < 1_000; candidate++) {
+            CuckooFilter filter = new CuckooFilter(8, 0.5, 1024 * 1024);
+            filter.add("PAT0");
+            long initialMemory = filter.memoryBytes();
+            for (int i = 1; filter.memoryBytes() == initialMemory; i++) {
+                filter.add("PAT" + i);
+            }
+            String other = "DOC" + candidate;
+            filter.add(other);
+
+            filter.remove("PAT0");
+
+            assertTrue(filter.mightContain(other), other);
+            if (filter.isSaturated()) {
+                collisions++;
+            }
+        }
+        assertTrue(collisions > 0);
+    }
+
+    @Test
+    @DisplayName("Should grow past the expected number of keys")
+    void testAdd_GrowsBeyondExpectedKeys() {
+        CuckooFilter filter = new CuckooFilter(100, 0.01, 1024 * 1024);
+        long initialMemory = filter.memoryBytes();
+        for (int i = 0; i < 5_000; i++) {
+            filter.add("PAT" + i);
+        }
+
+        assertFalse(filter.isSaturated());
+        assertTrue(filter.memoryBytes() > initialMemory);
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(filter.mightContain("PAT" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer true for everything once the memory budget is exhausted")
+    void testAdd_SaturatesAtMemoryBudget() {
+        CuckooFilter filter = new CuckooFilter(100, 0.01, 256);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add("PAT" + i);
+        }
+
+        assertTrue(filter.isSaturated());
+        assertTrue(filter.memoryBytes() <= 256);
+        assertTrue(filter.mightContain("UNKNOWN"));
+
+        filter.clear();
+        assertFalse(filter.isSaturated());
+        assertFalse(filter.mightContain("PAT1"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CuckooFilter(0, 0.01, 1024));
+        assertThrows(IllegalArgumentException.class, () -> new CuckooFilter(100, 1.0, 1024));
+        assertThrows(IllegalArgumentException.class, () -> new CuckooFilter(1_000_000, 0.01, 1024));
+    }
+}
@@ -0,0 +1,126 @@
+package com.healthcare.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Should share one execution between concurrent callers")
+    void testExecute_CoalescesConcurrentCalls() throws Exception {
+        SingleFlight<String, List<String>> flight = new SingleFlight<>(ArrayList::new);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<List<String>> leader = executor.submit(() -> flight.execute("DOC001", () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return new ArrayList<>(List.of("APT001"));
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            List<Future<List<String>>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> flight.execute("DOC001", () -> {
+                    loads.incrementAndGet();
+                    return new ArrayList<>();
+                })));
+            }
+            while (flight.getSharedResultCount() < 7) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            List<String> leaderResult = leader.get(5, TimeUnit.SECONDS);
+            for (Future<List<String>> follower : followers) {
+                List<String> result = follower.get(5, TimeUnit.SECONDS);
+                assertEquals(List.of("APT001"), result);
+                assertNotSame(leaderResult, result);
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1, flight.getExecutionCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rethrow the leader's exception to waiting callers")
+    void testExecute_PropagatesFailure() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(v -> v);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> flight.execute("k", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("backend down");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> follower = executor.submit(() -> flight.execute("k", () -> "unused"));
+            while (flight.getSharedResultCount() < 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+            assertInstanceOf(IllegalStateException.class, followerError.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should start a new execution after the key completes or is forgotten")
+    void testExecute_NewExecutionAfterCompletion() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(v -> v);
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.execute("k", loads::incrementAndGet);
+        flight.execute("k", () -> {
+            flight.forgetAll();
+            return flight.execute("k", loads::incrementAndGet);
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals(3, flight.getExecutionCount());
+        assertEquals(0, flight.getSharedResultCount());
+    }
+
+    @Test
+    @DisplayName("Should hand the leader a copy rather than the shared result")
+    void testExecute_LeaderGetsCopy() {
+        SingleFlight<String, List<String>> flight = new SingleFlight<>(ArrayList::new);
+        List<String> loaded = new ArrayList<>(List.of("APT001"));
+
+        List<String> result = flight.execute("DOC001", () -> loaded);
+
+        assertEquals(loaded, result);
+        assertNotSame(loaded, result);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.healthcare.exception;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainExceptionTest {
+
+    @AfterEach
+    void tearDown() {
+        DomainException.setStackless(false);
+    }
+
+    @Test
+    @DisplayName("Should capture a stack trace by default")
+    void testStackTrace_Default() {
+        PatientNotFoundException exception = PatientNotFoundException.forId("PAT001");
+
+        assertTrue(exception.getStackTrace().length > 0);
+    }
+
+    @Test
+    @DisplayName("Should skip the stack trace in stackless mode")
+    void testStackTrace_Stackless() {
+        DomainException.setStackless(true);
+
+        DoctorNotFoundException exception = DoctorNotFoundException.forId("DOC001");
+        InvalidDataException eager = new InvalidDataException("Bad data");
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(0, eager.getStackTrace().length);
+        assertEquals("Doctor not found with ID: DOC001", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should build lazy messages the same way as eager ones")
+    void testGetMessage_Lazy() {
+        assertEquals("Appointment not found with ID: APT001",
+                     AppointmentNotFoundException.forId("APT001").getMessage());
+        assertEquals("Email cannot be empty", InvalidDataException.of("Email", " cannot be empty").getMessage());
+        assertEquals("Invalid email format: null", InvalidDataException.of("Invalid email format: ", null).getMessage());
+        assertTrue(PatientNotFoundException.forId("PAT001").toString().endsWith(": Patient not found with ID: PAT001"));
+    }
+
+    @Test
+    @DisplayName("Should keep the cause of eagerly built exceptions")
+    void testConstructor_WithCause() {
+        IllegalStateException cause = new IllegalStateException("boom");
+
+        InvalidDataException exception = new InvalidDataException("Wrapped", cause);
+
+        assertEquals("Wrapped", exception.getMessage());
+        assertSame(cause, exception.getCause());
+    }
+}
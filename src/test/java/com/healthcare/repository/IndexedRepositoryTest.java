@@ -0,0 +1,366 @@
+package com.healthcare.repository;
+
+import com.healthcare.model.Appointment;
+import com.healthcare.model.AppointmentStatus;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.MedicalRecord;
+import com.healthcare.model.Patient;
+import com.healthcare.model.Prescription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedRepositoryTest {
+
+    private PatientRepository patientRepository;
+    private DoctorRepository doctorRepository;
+    private AppointmentRepository appointmentRepository;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository = new PatientRepository();
+        doctorRepository = new DoctorRepository();
+        appointmentRepository = new AppointmentRepository();
+    }
+
+    @Test
+    @DisplayName("Should find entities through a case-insensitive index")
+    void testMultiIndex_CaseInsensitiveLookup() {
+        patientRepository.save(createPatient("PAT001", "Doe", "A+"));
+        patientRepository.save(createPatient("PAT002", "doe", "B+"));
+        patientRepository.save(createPatient("PAT003", "Smith", "A+"));
+
+        assertEquals(2, patientRepository.findByLastName("DOE").size());
+        assertEquals(2, patientRepository.findByBloodGroup("a+").size());
+        assertTrue(patientRepository.findByLastName("Brown").isEmpty());
+        assertTrue(patientRepository.findByLastName(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should move entity to new index key when indexed field changes")
+    void testSave_ReindexesChangedField() {
+        Doctor doctor = new Doctor("DOC001", "John", "Smith", "Cardiology",
+                                   "9876543210", "john@hospital.com", 10, "MBBS");
+        doctorRepository.save(doctor);
+
+        doctor.setSpecialization("Neurology");
+        doctor.setAvailable(false);
+        doctorRepository.save(doctor);
+
+        assertTrue(doctorRepository.findBySpecialization("Cardiology").isEmpty());
+        assertEquals(1, doctorRepository.findBySpecialization("Neurology").size());
+        assertTrue(doctorRepository.findAvailableDoctors().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reindex when a different instance with the same ID is saved")
+    void testSave_ReplacementInstance() {
+        patientRepository.save(createPatient("PAT001", "Doe", "A+"));
+        patientRepository.save(createPatient("PAT001", "Smith", "O-"));
+
+        assertTrue(patientRepository.findByLastName("Doe").isEmpty());
+        assertEquals(1, patientRepository.findByLastName("Smith").size());
+        assertEquals(1, patientRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should remove entity from every index on delete")
+    void testDelete_UnlinksIndexes() {
+        appointmentRepository.save(createAppointment("APT001", "PAT001", LocalDateTime.now().plusDays(1)));
+
+        appointmentRepository.deleteById("APT001");
+
+        assertTrue(appointmentRepository.findByPatientId("PAT001").isEmpty());
+        assertTrue(appointmentRepository.findByStatus(AppointmentStatus.SCHEDULED).isEmpty());
+        assertTrue(appointmentRepository.findUpcomingAppointments().isEmpty());
+        assertFalse(appointmentRepository.existsById("APT001"));
+    }
+
+    @Test
+    @DisplayName("Should update stored entities in place and skip unknown IDs")
+    void testUpdateAll_ReindexesMutatedField() {
+        appointmentRepository.save(createAppointment("APT001", "PAT001", LocalDateTime.now().plusDays(1)));
+        appointmentRepository.save(createAppointment("APT002", "PAT001", LocalDateTime.now().plusDays(2)));
+
+        int updated = appointmentRepository.updateAll(List.of("APT001", "APT002", "APT999"),
+                                                      a -> a.setPatientId("PAT002"));
+
+        assertEquals(2, updated);
+        assertTrue(appointmentRepository.findByPatientId("PAT001").isEmpty());
+        assertEquals(2, appointmentRepository.findByPatientId("PAT002").size());
+        assertEquals(2, appointmentRepository.findUpcomingAppointments().size());
+        assertEquals(2, appointmentRepository.findById("APT001").get().getVersion());
+    }
+
+    @Test
+    @DisplayName("Should answer date and upcoming queries from sorted index")
+    void testSortedIndex_RangeQueries() {
+        LocalDateTime tomorrow = LocalDate.now().plusDays(1).atTime(10, 0);
+        appointmentRepository.save(createAppointment("APT001", "PAT001", tomorrow.plusHours(2)));
+        appointmentRepository.save(createAppointment("APT002", "PAT001", tomorrow));
+        appointmentRepository.save(createAppointment("APT003", "PAT002", tomorrow.plusDays(1)));
+        Appointment cancelled = createAppointment("APT004", "PAT002", tomorrow.plusHours(1));
+        cancelled.setStatus(AppointmentStatus.CANCELLED);
+        appointmentRepository.save(cancelled);
+
+        assertEquals(3, appointmentRepository.findByDate(tomorrow.toLocalDate()).size());
+
+        List<Appointment> upcoming = appointmentRepository.findUpcomingAppointments();
+        assertEquals(3, upcoming.size());
+        assertEquals("APT002", upcoming.get(0).getAppointmentId());
+        assertEquals("APT001", upcoming.get(1).getAppointmentId());
+        assertEquals("APT003", upcoming.get(2).getAppointmentId());
+    }
+
+    @Test
+    @DisplayName("Should reject a second entity with the same unique key")
+    void testUniqueIndex_RejectsDuplicate() {
+        EmailRepository repository = new EmailRepository();
+        repository.save(createPatient("PAT001", "Doe", "A+"));
+
+        Patient duplicate = createPatient("PAT002", "Roe", "B+");
+        duplicate.setEmail("pat001@example.com");
+        assertThrows(IllegalStateException.class, () -> repository.save(duplicate));
+
+        assertFalse(repository.existsById("PAT002"));
+        assertTrue(repository.findByEmail("pat001@example.com").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should release unique key when owner changes it")
+    void testUniqueIndex_ReleasesOldKey() {
+        EmailRepository repository = new EmailRepository();
+        Patient patient = createPatient("PAT001", "Doe", "A+");
+        repository.save(patient);
+
+        patient.setEmail("new@example.com");
+        repository.save(patient);
+
+        assertFalse(repository.findByEmail("pat001@example.com").isPresent());
+        Patient second = createPatient("PAT002", "Roe", "B+");
+        second.setEmail("pat001@example.com");
+        repository.save(second);
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should empty all indexes on clear")
+    void testClear() {
+        patientRepository.save(createPatient("PAT001", "Doe", "A+"));
+
+        patientRepository.clear();
+
+        assertEquals(0, patientRepository.count());
+        assertTrue(patientRepository.findByLastName("Doe").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not expose stored state to unsaved mutations")
+    void testFindAll_ReturnsSnapshots() {
+        patientRepository.save(createPatient("PAT001", "Doe", "A+"));
+
+        Patient loaded = patientRepository.findAll().get(0);
+        loaded.setLastName("Smith");
+
+        assertEquals("Doe", patientRepository.findById("PAT001").get().getLastName());
+        assertEquals(1, patientRepository.findByLastName("Doe").size());
+        assertTrue(patientRepository.findByLastName("Smith").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should look up several entities at once in the order requested")
+    void testFindAllById() {
+        patientRepository.save(createPatient("PAT001", "Doe", "A+"));
+        patientRepository.save(createPatient("PAT002", "Smith", "B+"));
+
+        Map<String, Patient> found = patientRepository.findAllById(
+                Arrays.asList("PAT002", "PAT404", "PAT001", "PAT002"));
+
+        assertEquals(Arrays.asList("PAT002", "PAT001"), new ArrayList<>(found.keySet()));
+        assertEquals("Smith", found.get("PAT002").getLastName());
+        found.get("PAT001").setLastName("Brown");
+        assertEquals("Doe", patientRepository.findById("PAT001").get().getLastName());
+    }
+
+    @Test
+    @DisplayName("Should track dirty fields and clear them on save")
+    void testSave_ClearsDirtyFields() {
+        Appointment appointment = createAppointment("APT001", "PAT001", LocalDateTime.now().plusDays(1));
+        appointmentRepository.save(appointment);
+        assertFalse(appointment.isDirty());
+
+        Appointment loaded = appointmentRepository.findById("APT001").get();
+        assertFalse(loaded.isDirty());
+        loaded.setStatus(AppointmentStatus.COMPLETED);
+        assertEquals(Appointment.FIELD_STATUS, loaded.getDirtyFields());
+
+        appointmentRepository.save(loaded);
+
+        assertEquals(2, loaded.getVersion());
+        assertTrue(appointmentRepository.findByStatus(AppointmentStatus.SCHEDULED).isEmpty());
+        assertEquals(1, appointmentRepository.findByStatus(AppointmentStatus.COMPLETED).size());
+        assertTrue(appointmentRepository.findUpcomingAppointments().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fully reindex a stale copy saved after a newer version")
+    void testSave_StaleCopyReindexesAllFields() {
+        patientRepository.save(createPatient("PAT001", "Doe", "A+"));
+        Patient first = patientRepository.findById("PAT001").get();
+        Patient second = patientRepository.findById("PAT001").get();
+
+        first.setLastName("Smith");
+        patientRepository.save(first);
+        second.setBloodGroup("O-");
+        patientRepository.save(second);
+
+        assertEquals(1, patientRepository.findByLastName("Doe").size());
+        assertTrue(patientRepository.findByLastName("Smith").isEmpty());
+        assertEquals(1, patientRepository.findByBloodGroup("O-").size());
+    }
+
+    @Test
+    @DisplayName("Should mark prescription dirty when a medication changes")
+    void testPrescription_MedicationChangeIsDirty() {
+        PrescriptionRepository prescriptionRepository = new PrescriptionRepository();
+        Prescription prescription = new Prescription("PRE001", "PAT001", "DOC001", null, "Flu");
+        prescription.addMedication(new Prescription.Medication("Paracetamol", "500mg", "Twice daily", 5));
+        prescriptionRepository.save(prescription);
+
+        Prescription loaded = prescriptionRepository.findById("PRE001").get();
+        assertFalse(loaded.isDirty());
+        loaded.getMedications().get(0).setDosage("650mg");
+
+        assertEquals(Prescription.FIELD_MEDICATIONS, loaded.getDirtyFields());
+        assertThrows(UnsupportedOperationException.class, () -> loaded.getMedications().clear());
+    }
+
+    @Test
+    @DisplayName("Should page through entities in ID order after a given ID")
+    void testFindAll_PagesAfterId() {
+        for (String id : List.of("PAT004", "PAT001", "PAT003", "PAT002", "PAT005")) {
+            patientRepository.save(createPatient(id, id.equals("PAT003") ? "Smith" : "Doe", "A+"));
+        }
+
+        assertEquals(List.of("PAT001", "PAT002"), ids(patientRepository.findAll(null, 2)));
+        assertEquals(List.of("PAT003", "PAT004"), ids(patientRepository.findAll("PAT002", 2)));
+        patientRepository.deleteById("PAT004");
+        assertEquals(List.of("PAT005"), ids(patientRepository.findAll("PAT004", 2)));
+
+        assertEquals(List.of("PAT002", "PAT005"), ids(patientRepository.findByLastName("doe", "PAT001", 5)));
+        assertTrue(patientRepository.findByLastName("Brown", null, 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stream every entity across chunk boundaries without copying all of them up front")
+    void testStream_CrossesChunks() {
+        for (int i = 0; i < 600; i++) {
+            patientRepository.save(createPatient(String.format("PAT%04d", i), i % 2 == 0 ? "Even" : "Odd", "A+"));
+        }
+
+        assertEquals(600, patientRepository.streamAll().count());
+        assertEquals(300, patientRepository.streamByLastName("even").count());
+        assertEquals(List.of("PAT0000", "PAT0001", "PAT0002"),
+                     ids(patientRepository.streamAll().limit(3).collect(Collectors.toList())));
+
+        List<String> streamed = ids(patientRepository.streamAll().collect(Collectors.toList()));
+        assertEquals(ids(patientRepository.findAll()), streamed);
+    }
+
+    @Test
+    @DisplayName("Should stream a sorted range in key order, then ID order within a key")
+    void testSortedIndex_StreamRange() {
+        LocalDateTime day = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        for (int i = 0; i < 600; i++) {
+            appointmentRepository.save(createAppointment(String.format("APT%04d", i), "PAT001",
+                                                         day.plusMinutes(30L * (i % 10))));
+        }
+        appointmentRepository.save(createAppointment("APT-NEXT-DAY", "PAT001", day.plusDays(1)));
+
+        List<Appointment> streamed = appointmentRepository.streamByDate(day.toLocalDate())
+                .collect(Collectors.toList());
+
+        assertEquals(600, streamed.size());
+        assertEquals(appointmentIds(appointmentRepository.findByDate(day.toLocalDate())), appointmentIds(streamed));
+        for (int i = 1; i < streamed.size(); i++) {
+            Appointment previous = streamed.get(i - 1);
+            Appointment current = streamed.get(i);
+            int byTime = previous.getAppointmentDateTime().compareTo(current.getAppointmentDateTime());
+            assertTrue(byTime < 0 || (byTime == 0
+                    && previous.getAppointmentId().compareTo(current.getAppointmentId()) < 0));
+        }
+        assertEquals(601, appointmentRepository.streamUpcomingAppointments(LocalDateTime.now()).count());
+    }
+
+    @Test
+    @DisplayName("Should stream a patient's records newest first, in the order of the sorted listing")
+    void testSortedIndex_StreamRangeDescending() {
+        MedicalRecordRepository recordRepository = new MedicalRecordRepository();
+        LocalDateTime day = LocalDateTime.of(2040, 3, 1, 9, 0);
+        for (int i = 0; i < 600; i++) {
+            MedicalRecord record = new MedicalRecord(String.format("MED%04d", i), "PAT001", "DOC001", null,
+                                                     "Checkup", "Healthy");
+            record.setRecordDateTime(day.plusMinutes(i % 10));
+            recordRepository.save(record);
+        }
+        MedicalRecord other = new MedicalRecord("MED-OTHER", "PAT002", "DOC001", null, "Checkup", "Healthy");
+        other.setRecordDateTime(day.plusMinutes(5));
+        recordRepository.save(other);
+
+        List<String> streamed = recordRepository.streamByPatientIdNewestFirst("PAT001")
+                .map(MedicalRecord::getRecordId)
+                .collect(Collectors.toList());
+
+        assertEquals(600, streamed.size());
+        assertEquals("MED0009", streamed.get(0));
+        assertEquals(recordRepository.findByPatientId("PAT001").stream()
+                             .map(MedicalRecord::getRecordId)
+                             .collect(Collectors.toList()), streamed);
+        assertEquals(List.of("MED-OTHER"), recordRepository.streamByPatientIdNewestFirst("PAT002")
+                .map(MedicalRecord::getRecordId)
+                .collect(Collectors.toList()));
+        assertEquals(0, recordRepository.streamByPatientIdNewestFirst("PAT404").count());
+    }
+
+    private static class EmailRepository extends IndexedRepository<String, Patient> {
+        private final UniqueIndex<String> byEmail;
+
+        EmailRepository() {
+            super(Patient::getPatientId);
+            this.byEmail = uniqueIndex(Patient.FIELD_EMAIL, Patient::getEmail);
+        }
+
+        Optional<Patient> findByEmail(String email) {
+            return byEmail.find(email);
+        }
+    }
+
+    private static List<String> ids(List<Patient> patients) {
+        return patients.stream().map(Patient::getPatientId).collect(Collectors.toList());
+    }
+
+    private static List<String> appointmentIds(List<Appointment> appointments) {
+        return appointments.stream().map(Appointment::getAppointmentId).collect(Collectors.toList());
+    }
+
+    private Patient createPatient(String patientId, String lastName, String bloodGroup) {
+        String suffix = patientId.substring(patientId.length() - 3);
+        return new Patient(patientId, "John", lastName, LocalDate.of(1990, 1, 1), "Male",
+                           "9876543" + suffix, patientId.toLowerCase() + "@example.com", "123 Main St", bloodGroup);
+    }
+
+    private Appointment createAppointment(String appointmentId, String patientId, LocalDateTime dateTime) {
+        return new Appointment(appointmentId, patientId, "DOC001", dateTime, "Checkup");
+    }
+}
@@ -0,0 +1,116 @@
+package com.healthcare.service;
+
+import com.healthcare.model.Drug;
+import com.healthcare.model.Prescription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActiveMedicationIndexTest {
+
+    private MutableClock clock;
+    private ActiveMedicationIndex index;
+    private Drug warfarin;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(LocalDate.of(2040, 3, 1));
+        index = new ActiveMedicationIndex(clock);
+        warfarin = MedicationCatalog.loadDefault().findByName("Warfarin").get();
+    }
+
+    @Test
+    @DisplayName("Should list drugs on prescriptions still valid on the given date, latest expiry first")
+    void testForEachActive_Valid() {
+        index.add(createPrescription("PRE1", LocalDate.of(2040, 3, 1)));
+        index.add(createPrescription("PRE2", LocalDate.of(2040, 3, 15)));
+
+        assertEquals(List.of("PRE2", "PRE1"), activeIds(LocalDate.of(2040, 3, 31), null));
+        assertEquals(List.of("PRE2"), activeIds(LocalDate.of(2040, 3, 31), "PRE1"));
+        assertEquals(List.of("PRE2"), activeIds(LocalDate.of(2040, 4, 1), null));
+    }
+
+    @Test
+    @DisplayName("Should not index a prescription that has already expired")
+    void testAdd_AlreadyExpired() {
+        index.add(createPrescription("PRE1", LocalDate.of(2040, 1, 1)));
+
+        assertTrue(activeIds(LocalDate.of(2040, 1, 15), null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should drop expired entries when a patient's prescriptions change")
+    void testAdd_DropsExpired() {
+        index.add(createPrescription("PRE1", LocalDate.of(2040, 3, 1)));
+        index.add(createPrescription("PRE2", LocalDate.of(2040, 3, 15)));
+        clock.advance(Duration.ofDays(40));
+
+        index.add(createPrescription("PRE3", LocalDate.of(2040, 4, 10)));
+
+        assertEquals(List.of("PRE3", "PRE2"), activeIds(LocalDate.of(2040, 3, 1), null));
+    }
+
+    @Test
+    @DisplayName("Should drop expired entries when a prescription is deleted")
+    void testDeleted_DropsExpired() {
+        index.add(createPrescription("PRE1", LocalDate.of(2040, 3, 1)));
+        Prescription active = createPrescription("PRE2", LocalDate.of(2040, 4, 1));
+        index.add(active);
+        clock.advance(Duration.ofDays(40));
+
+        index.deleted("PRE2", active);
+
+        assertTrue(activeIds(LocalDate.of(2040, 3, 1), null).isEmpty());
+    }
+
+    private Prescription createPrescription(String prescriptionId, LocalDate prescriptionDate) {
+        Prescription prescription = new Prescription(prescriptionId, "PAT1", "DOC1", null, "Atrial fibrillation");
+        prescription.setPrescriptionDate(prescriptionDate);
+        prescription.addMedication(new Prescription.Medication(warfarin, "5mg", "Daily", 30));
+        return prescription;
+    }
+
+    private List<String> activeIds(LocalDate today, String excludedPrescriptionId) {
+        List<String> ids = new ArrayList<>();
+        index.forEachActive("PAT1", today, excludedPrescriptionId, (drug, prescriptionId) -> ids.add(prescriptionId));
+        return ids;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(LocalDate start) {
+            this.instant = start.atStartOfDay().toInstant(ZoneOffset.UTC);
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
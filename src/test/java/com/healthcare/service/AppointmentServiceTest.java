@@ -4,6 +4,7 @@ import com.healthcare.exception.AppointmentNotFoundException;
 import com.healthcare.exception.InvalidDataException;
 import com.healthcare.model.Appointment;
 import com.healthcare.model.AppointmentStatus;
+import com.healthcare.model.AppointmentView;
 import com.healthcare.model.Doctor;
 import com.healthcare.model.Patient;
 import com.healthcare.repository.AppointmentRepository;
@@ -13,8 +14,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -182,6 +186,15 @@ class AppointmentServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Should find appointment by ID without throwing")
+    void testFindAppointmentById() {
+        Appointment scheduled = appointmentService.scheduleAppointment(createValidAppointment());
+
+        assertTrue(appointmentService.findAppointmentById(scheduled.getAppointmentId()).isPresent());
+        assertTrue(appointmentService.findAppointmentById("INVALID_ID").isEmpty());
+    }
+
     @Test
     @DisplayName("Should get all appointments")
     void testGetAllAppointments() {
@@ -256,6 +269,35 @@ class AppointmentServiceTest {
         assertEquals(AppointmentStatus.SCHEDULED, scheduledAppointments.get(0).getStatus());
     }
 
+    @Test
+    @DisplayName("Should reuse status listing until an appointment with that status changes")
+    void testGetAppointmentsByStatus_CachedAndInvalidated() {
+        Appointment scheduled = appointmentService.scheduleAppointment(createValidAppointment());
+        List<Appointment> cancelled = appointmentService.getAppointmentsByStatus(AppointmentStatus.CANCELLED);
+        List<Appointment> first = appointmentService.getAppointmentsByStatus(AppointmentStatus.SCHEDULED);
+        assertEquals(first, appointmentService.getAppointmentsByStatus(AppointmentStatus.SCHEDULED));
+
+        appointmentService.completeAppointment(scheduled.getAppointmentId());
+
+        assertEquals(cancelled, appointmentService.getAppointmentsByStatus(AppointmentStatus.CANCELLED));
+        assertTrue(appointmentService.getAppointmentsByStatus(AppointmentStatus.SCHEDULED).isEmpty());
+        assertEquals(1, appointmentService.getAppointmentsByStatus(AppointmentStatus.COMPLETED).size());
+    }
+
+    @Test
+    @DisplayName("Should not let a caller modify the cached status listing")
+    void testGetAppointmentsByStatus_ReturnsCopies() {
+        appointmentService.scheduleAppointment(createValidAppointment());
+        List<Appointment> first = appointmentService.getAppointmentsByStatus(AppointmentStatus.SCHEDULED);
+
+        first.get(0).setStatus(AppointmentStatus.CANCELLED);
+        first.clear();
+
+        List<Appointment> second = appointmentService.getAppointmentsByStatus(AppointmentStatus.SCHEDULED);
+        assertEquals(1, second.size());
+        assertEquals(AppointmentStatus.SCHEDULED, second.get(0).getStatus());
+    }
+
     @Test
     @DisplayName("Should update appointment status")
     void testUpdateAppointmentStatus() {
@@ -378,6 +420,47 @@ class AppointmentServiceTest {
         assertEquals(2, appointmentService.getTotalAppointmentCount());
     }
 
+    @Test
+    @DisplayName("Should evaluate scheduling and upcoming appointments against the injected clock")
+    void testUpcomingAppointments_FixedClock() {
+        AppointmentRepository appointmentRepo = new AppointmentRepository();
+        Clock clock = Clock.fixed(LocalDateTime.of(2040, 6, 1, 9, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        AppointmentService service = new AppointmentService(appointmentRepo, patientService, doctorService, clock);
+
+        assertThrows(InvalidDataException.class, () -> {
+            service.scheduleAppointment(new Appointment(null, validPatientId, validDoctorId,
+                                                        LocalDateTime.of(2040, 6, 1, 8, 0), "Too early"));
+        });
+        service.scheduleAppointment(new Appointment(null, validPatientId, validDoctorId,
+                                                    LocalDateTime.of(2040, 6, 1, 10, 0), "Checkup"));
+
+        List<Appointment> upcoming = service.getUpcomingAppointments();
+
+        assertEquals(1, upcoming.size());
+        assertTrue(upcoming.get(0).isUpcoming(LocalDateTime.now(clock)));
+        assertFalse(upcoming.get(0).isUpcoming(LocalDateTime.of(2040, 6, 1, 11, 0)));
+    }
+
+    @Test
+    @DisplayName("Should join appointments with their patients and doctors")
+    void testGetAppointmentViews() {
+        Appointment first = appointmentService.scheduleAppointment(createValidAppointment());
+        Appointment second = createValidAppointment();
+        second.setAppointmentDateTime(second.getAppointmentDateTime().plusDays(1));
+        second = appointmentService.scheduleAppointment(second);
+        Appointment orphan = new Appointment("APT404", "PAT404", validDoctorId,
+                                             LocalDateTime.now().plusDays(2), "Checkup");
+
+        List<AppointmentView> views = appointmentService.getAppointmentViews(Arrays.asList(first, second, orphan));
+
+        assertEquals(3, views.size());
+        assertEquals(second.getAppointmentId(), views.get(1).getAppointment().getAppointmentId());
+        assertEquals("John Doe", views.get(0).getPatientName());
+        assertEquals(validDoctorId, views.get(1).getDoctor().getDoctorId());
+        assertNull(views.get(2).getPatient());
+        assertEquals("PAT404", views.get(2).getPatientName());
+    }
+
     private Appointment createValidAppointment() {
         LocalDateTime futureDateTime = LocalDateTime.now().plusDays(7);
         return new Appointment(
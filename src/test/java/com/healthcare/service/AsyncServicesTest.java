@@ -0,0 +1,209 @@
+package com.healthcare.service;
+
+import com.healthcare.exception.PatientNotFoundException;
+import com.healthcare.model.Appointment;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.MedicalRecord;
+import com.healthcare.model.Patient;
+import com.healthcare.model.Prescription;
+import com.healthcare.model.TimelineEntry;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.MedicalRecordRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.PrescriptionRepository;
+import com.healthcare.util.Page;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncServicesTest {
+
+    private PatientService patientService;
+    private DoctorService doctorService;
+    private AppointmentService appointmentService;
+    private PrescriptionService prescriptionService;
+    private MedicalRecordService medicalRecordService;
+    private ExecutorService executor;
+    private AsyncServices async;
+
+    @BeforeEach
+    void setUp() {
+        PatientRepository patientRepo = new PatientRepository();
+        DoctorRepository doctorRepo = new DoctorRepository();
+        AppointmentRepository appointmentRepo = new AppointmentRepository();
+        PrescriptionRepository prescriptionRepo = new PrescriptionRepository();
+        MedicalRecordRepository recordRepo = new MedicalRecordRepository();
+
+        patientService = new PatientService(patientRepo, appointmentRepo, prescriptionRepo, recordRepo);
+        doctorService = new DoctorService(doctorRepo, appointmentRepo, prescriptionRepo, recordRepo);
+        appointmentService = new AppointmentService(appointmentRepo, patientService, doctorService);
+        prescriptionService = new PrescriptionService(prescriptionRepo, patientService, doctorService);
+        medicalRecordService = new MedicalRecordService(recordRepo, patientService, doctorService);
+        executor = Executors.newFixedThreadPool(2);
+        async = asyncOn(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should schedule an appointment and then record it in one chain")
+    void testCompose_ScheduleThenRecord() throws Exception {
+        CompletableFuture<Patient> patient = async.registerPatient(createPatient());
+        CompletableFuture<Doctor> doctor = async.registerDoctor(createDoctor());
+
+        MedicalRecord record = patient.thenCombine(doctor, (p, d) -> new Appointment(
+                        null, p.getPatientId(), d.getDoctorId(), LocalDateTime.now().plusDays(1), "Checkup"))
+                .thenCompose(async::scheduleAppointment)
+                .thenCompose(appointment -> async.createMedicalRecord(new MedicalRecord(
+                        null, appointment.getPatientId(), appointment.getDoctorId(),
+                        appointment.getAppointmentId(), "Fever", "Flu")))
+                .get();
+
+        assertNotNull(record.getRecordId());
+        String appointmentId = record.getAppointmentId();
+        assertEquals(patient.get().getPatientId(), appointmentService.getAppointmentById(appointmentId).getPatientId());
+        assertEquals(1, medicalRecordService.getMedicalRecordsByPatient(patient.get().getPatientId()).size());
+    }
+
+    @Test
+    @DisplayName("Should validate a patient while checking a doctor")
+    void testCombine_IndependentCalls() throws Exception {
+        String doctorId = doctorService.registerDoctor(createDoctor()).getDoctorId();
+        Patient invalid = createPatient();
+        invalid.setEmail("not-an-email");
+
+        boolean ready = async.checkPatient(invalid)
+                .thenCombine(async.findDoctorById(doctorId), (check, doctor) -> check.isValid() && doctor.isPresent())
+                .get();
+
+        assertFalse(ready);
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally with the service's exception")
+    void testCall_Failure() {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> {
+            async.getPatientById("PAT404").get();
+        });
+        assertTrue(e.getCause() instanceof PatientNotFoundException);
+    }
+
+    @Test
+    @DisplayName("Should time out a call that does not finish in time")
+    void testCall_Timeout() {
+        AsyncServices stalled = asyncOn(task -> { }).withTimeout(Duration.ofMillis(50));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> {
+            stalled.getPatientById("PAT001").get();
+        });
+        assertTrue(e.getCause() instanceof TimeoutException);
+        assertEquals(AsyncServices.DEFAULT_TIMEOUT, async.getTimeout());
+    }
+
+    @Test
+    @DisplayName("Should skip a call cancelled before it starts")
+    void testCall_CancelledBeforeStart() {
+        List<Runnable> queued = new ArrayList<>();
+        AtomicBoolean ran = new AtomicBoolean();
+        CompletableFuture<Void> future = asyncOn(queued::add).run(() -> ran.set(true));
+
+        assertTrue(future.cancel(false));
+        queued.forEach(Runnable::run);
+
+        assertFalse(ran.get());
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    @DisplayName("Should update and delete through the async variants")
+    void testWrites_UpdateAndDelete() throws Exception {
+        Patient patient = async.registerPatient(createPatient()).get();
+        Doctor doctor = async.registerDoctor(createDoctor()).get();
+        Appointment appointment = async.scheduleAppointment(new Appointment(
+                null, patient.getPatientId(), doctor.getDoctorId(), LocalDateTime.now().plusDays(1), "Checkup")).get();
+        Prescription prescription = async.createPrescription(new Prescription(
+                null, patient.getPatientId(), doctor.getDoctorId(), null, "Flu")).get();
+        MedicalRecord record = async.createMedicalRecord(new MedicalRecord(
+                null, patient.getPatientId(), doctor.getDoctorId(), null, "Fever", "Flu")).get();
+
+        LocalDateTime later = LocalDateTime.now().plusDays(3).withNano(0);
+        assertEquals(later, async.rescheduleAppointment(appointment.getAppointmentId(), later).get()
+                .getAppointmentDateTime());
+        assertEquals(1, async.addMedication(prescription.getPrescriptionId(),
+                new Prescription.Medication("Paracetamol", "500mg", "Twice daily", 5)).get().getMedications().size());
+        record.setDiagnosis("Cold");
+        assertEquals("Cold", async.updateMedicalRecord(record.getRecordId(), record).get().getDiagnosis());
+        async.setDoctorAvailability(doctor.getDoctorId(), false).get();
+        assertTrue(async.getAvailableDoctors().get().isEmpty());
+
+        async.deleteAppointment(appointment.getAppointmentId()).get();
+        async.deletePrescription(prescription.getPrescriptionId()).get();
+        async.deleteMedicalRecord(record.getRecordId()).get();
+        async.deleteDoctor(doctor.getDoctorId()).get();
+
+        assertFalse(async.findAppointmentById(appointment.getAppointmentId()).get().isPresent());
+        assertFalse(async.findPrescriptionById(prescription.getPrescriptionId()).get().isPresent());
+        assertFalse(async.findMedicalRecordById(record.getRecordId()).get().isPresent());
+        assertFalse(async.doctorExists(doctor.getDoctorId()).get());
+    }
+
+    @Test
+    @DisplayName("Should fan the timeline out on the given timeline executor")
+    void testGetTimeline_TimelineExecutor() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        AsyncServices withTimeline = new AsyncServices(patientService, doctorService, appointmentService,
+                                                       prescriptionService, medicalRecordService, executor,
+                                                       task -> {
+                                                           lookups.incrementAndGet();
+                                                           task.run();
+                                                       });
+
+        Page<TimelineEntry> page = withTimeline.getTimeline("PAT404", null, 10).get();
+
+        assertTrue(page.getItems().isEmpty());
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive timeout")
+    void testWithTimeout_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            async.withTimeout(Duration.ZERO);
+        });
+    }
+
+    private AsyncServices asyncOn(Executor executor) {
+        return new AsyncServices(patientService, doctorService, appointmentService, prescriptionService,
+                                 medicalRecordService, executor);
+    }
+
+    private static Patient createPatient() {
+        return new Patient(null, "John", "Doe", LocalDate.of(1990, 1, 1), "Male", "9876543210",
+                           "john@example.com", "123 Main St", "A+");
+    }
+
+    private static Doctor createDoctor() {
+        return new Doctor(null, "Jane", "Smith", "Cardiology", "9876543211", "jane@hospital.com", 10, "MBBS, MD");
+    }
+}
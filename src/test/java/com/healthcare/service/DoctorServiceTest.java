@@ -2,15 +2,27 @@ package com.healthcare.service;
 
 import com.healthcare.exception.DoctorNotFoundException;
 import com.healthcare.exception.InvalidDataException;
+import com.healthcare.model.Appointment;
+import com.healthcare.model.DeletionReport;
 import com.healthcare.model.Doctor;
+import com.healthcare.model.MedicalRecord;
+import com.healthcare.model.Prescription;
+import com.healthcare.repository.AppointmentRepository;
 import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.MedicalRecordRepository;
+import com.healthcare.repository.PrescriptionRepository;
+import com.healthcare.util.StringDictionary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -18,11 +30,18 @@ class DoctorServiceTest {
 
     private DoctorService doctorService;
     private DoctorRepository doctorRepository;
+    private AppointmentRepository appointmentRepository;
+    private PrescriptionRepository prescriptionRepository;
+    private MedicalRecordRepository recordRepository;
 
     @BeforeEach
     void setUp() {
         doctorRepository = new DoctorRepository();
-        doctorService = new DoctorService(doctorRepository);
+        appointmentRepository = new AppointmentRepository();
+        prescriptionRepository = new PrescriptionRepository();
+        recordRepository = new MedicalRecordRepository();
+        doctorService = new DoctorService(doctorRepository, appointmentRepository,
+                                          prescriptionRepository, recordRepository);
     }
 
     @Test
@@ -249,6 +268,23 @@ class DoctorServiceTest {
         assertTrue(cardiologists.stream().allMatch(d -> d.getSpecialization().equals("Cardiology")));
     }
 
+    @Test
+    @DisplayName("Should share one instance of each specialization and qualification")
+    void testRegisterDoctor_CanonicalStrings() {
+        Doctor doctor1 = createValidDoctor();
+        doctor1.setSpecialization(new String("Dermatology"));
+        Doctor doctor2 = createAnotherValidDoctor();
+        doctor2.setSpecialization(new String("Dermatology"));
+        doctor2.setQualification(new String(doctor1.getQualification()));
+
+        Doctor first = doctorService.registerDoctor(doctor1);
+        Doctor second = doctorService.registerDoctor(doctor2);
+
+        assertSame(first.getSpecialization(), second.getSpecialization());
+        assertSame(doctorService.getDoctorById(first.getDoctorId()).getQualification(),
+                   doctorService.getDoctorById(second.getDoctorId()).getQualification());
+    }
+
     @Test
     @DisplayName("Should return empty list when no doctors match specialization")
     void testGetDoctorsBySpecialization_NotFound() {
@@ -259,6 +295,55 @@ class DoctorServiceTest {
         assertTrue(doctors.isEmpty());
     }
 
+    @Test
+    @DisplayName("Should index specializations by code and keep each doctor's spelling")
+    void testGetDoctorsBySpecialization_ByCode() {
+        Doctor first = doctorService.registerDoctor(createValidDoctor());
+        Doctor second = createAnotherValidDoctor();
+        second.setSpecialization("CARDIOLOGY");
+        second = doctorService.registerDoctor(second);
+
+        assertEquals(first.getSpecializationCode(), second.getSpecializationCode());
+        assertEquals("Cardiology", first.getSpecialization());
+        assertEquals("CARDIOLOGY", second.getSpecialization());
+        assertEquals(2, doctorService.getDoctorsBySpecialization("cardiology").size());
+        assertEquals(StringDictionary.NONE, Doctor.specializationCode("Never Registered"));
+        assertTrue(doctorService.getDoctorsBySpecialization("Never Registered").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reuse specialization listing until a doctor in it changes")
+    void testGetDoctorsBySpecialization_CachedAndInvalidated() {
+        Doctor cardiologist = doctorService.registerDoctor(createValidDoctor());
+        doctorService.registerDoctor(createAnotherValidDoctor());
+
+        List<Doctor> first = doctorService.getDoctorsBySpecialization("Cardiology");
+        assertEquals(first, doctorService.getDoctorsBySpecialization("CARDIOLOGY"));
+
+        doctorService.setDoctorAvailability(doctorService.getDoctorsBySpecialization("Pediatrics").get(0).getDoctorId(),
+                                            false);
+        assertEquals(first, doctorService.getDoctorsBySpecialization("Cardiology"));
+
+        cardiologist.setSpecialization("Pediatrics");
+        doctorService.updateDoctor(cardiologist.getDoctorId(), cardiologist);
+        assertTrue(doctorService.getDoctorsBySpecialization("Cardiology").isEmpty());
+        assertEquals(2, doctorService.getDoctorsBySpecialization("Pediatrics").size());
+    }
+
+    @Test
+    @DisplayName("Should not let a caller modify the cached specialization listing")
+    void testGetDoctorsBySpecialization_ReturnsCopies() {
+        doctorService.registerDoctor(createValidDoctor());
+        List<Doctor> first = doctorService.getDoctorsBySpecialization("Cardiology");
+
+        first.get(0).setAvailable(false);
+        first.clear();
+
+        List<Doctor> second = doctorService.getDoctorsBySpecialization("Cardiology");
+        assertEquals(1, second.size());
+        assertTrue(second.get(0).isAvailable());
+    }
+
     @Test
     @DisplayName("Should get available doctors only")
     void testGetAvailableDoctors_Success() {
@@ -282,6 +367,31 @@ class DoctorServiceTest {
         assertTrue(availableDoctors.stream().allMatch(Doctor::isAvailable));
     }
 
+    @Test
+    @DisplayName("Should reject registration with an email or phone already in use")
+    void testRegisterDoctor_DuplicateContactDetails() {
+        doctorService.registerDoctor(createValidDoctor());
+
+        Doctor sameEmail = createAnotherValidDoctor();
+        sameEmail.setEmail("JOHN.SMITH@hospital.com");
+        Doctor samePhone = createAnotherValidDoctor();
+        samePhone.setPhoneNumber("9876543210");
+
+        assertThrows(InvalidDataException.class, () -> doctorService.registerDoctor(sameEmail));
+        assertThrows(InvalidDataException.class, () -> doctorService.registerDoctor(samePhone));
+        assertEquals(1, doctorService.getTotalDoctorCount());
+    }
+
+    @Test
+    @DisplayName("Should find doctor by email and phone")
+    void testFindDoctorByEmailAndPhone() {
+        Doctor registered = doctorService.registerDoctor(createValidDoctor());
+
+        assertTrue(doctorService.findDoctorByEmail("john.smith@hospital.com").isPresent());
+        assertEquals(registered.getDoctorId(),
+                     doctorService.findDoctorByPhone("9876543210").get().getDoctorId());
+    }
+
     @Test
     @DisplayName("Should update doctor successfully")
     void testUpdateDoctor_Success() {
@@ -355,6 +465,37 @@ class DoctorServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Should delete dependent appointments, prescriptions and records with doctor")
+    void testDeleteDoctor_CascadesToDependents() {
+        String doctorId = doctorService.registerDoctor(createValidDoctor()).getDoctorId();
+        String otherId = doctorService.registerDoctor(createAnotherValidDoctor()).getDoctorId();
+        addDependents(doctorId, "1");
+        addDependents(otherId, "2");
+
+        DeletionReport report = doctorService.deleteDoctor(doctorId, false);
+
+        assertEquals(3, report.getTotalDependents());
+        assertFalse(doctorService.doctorExists(doctorId));
+        assertTrue(appointmentRepository.findByDoctorId(doctorId).isEmpty());
+        assertTrue(prescriptionRepository.findByDoctorId(doctorId).isEmpty());
+        assertTrue(recordRepository.findByDoctorId(doctorId).isEmpty());
+        assertEquals(1, appointmentRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should report dependents without deleting on dry run")
+    void testDeleteDoctor_DryRun() {
+        String doctorId = doctorService.registerDoctor(createValidDoctor()).getDoctorId();
+        addDependents(doctorId, "1");
+
+        DeletionReport report = doctorService.deleteDoctor(doctorId, true);
+
+        assertEquals(3, report.getTotalDependents());
+        assertTrue(doctorService.doctorExists(doctorId));
+        assertEquals(1, prescriptionRepository.count());
+    }
+
     @Test
     @DisplayName("Should check if doctor exists")
     void testDoctorExists_True() {
@@ -370,6 +511,18 @@ class DoctorServiceTest {
         assertFalse(doctorService.doctorExists("INVALID_ID"));
     }
 
+    @Test
+    @DisplayName("Should refresh cached doctor after availability change")
+    void testGetDoctorById_CacheInvalidatedOnWrite() {
+        String doctorId = doctorService.registerDoctor(createValidDoctor()).getDoctorId();
+        assertTrue(doctorService.getDoctorById(doctorId).isAvailable());
+
+        doctorService.setDoctorAvailability(doctorId, false);
+
+        assertFalse(doctorService.getDoctorById(doctorId).isAvailable());
+        assertTrue(doctorService.getCacheStats().getMissCount() >= 2);
+    }
+
     @Test
     @DisplayName("Should return false when doctor ID is null")
     void testDoctorExists_Null() {
@@ -388,6 +541,32 @@ class DoctorServiceTest {
         assertEquals(2, doctorService.getTotalDoctorCount());
     }
 
+    private void addDependents(String doctorId, String suffix) {
+        appointmentRepository.save(new Appointment("APT" + suffix, "PAT001", doctorId,
+                                                   LocalDateTime.now().plusDays(1), "Checkup"));
+        prescriptionRepository.save(new Prescription("PRE" + suffix, "PAT001", doctorId, null, "Flu"));
+        recordRepository.save(new MedicalRecord("REC" + suffix, "PAT001", doctorId, null, "Fever", "Flu"));
+    }
+
+    @Test
+    @DisplayName("Should look up several doctors at once from cache and repository")
+    void testGetDoctorsByIds() {
+        String first = doctorService.registerDoctor(createValidDoctor()).getDoctorId();
+        String second = doctorService.registerDoctor(createAnotherValidDoctor()).getDoctorId();
+        doctorService.getDoctorById(first);
+        long hits = doctorService.getCacheStats().getHitCount();
+
+        Map<String, Doctor> found = doctorService.getDoctorsByIds(Arrays.asList(second, "DOC404", first, null, second));
+
+        assertEquals(Arrays.asList(second, first), new ArrayList<>(found.keySet()));
+        assertEquals("Johnson", found.get(second).getLastName());
+        assertEquals("Smith", found.get(first).getLastName());
+        assertEquals(hits + 1, doctorService.getCacheStats().getHitCount());
+
+        found.get(first).setLastName("Changed");
+        assertEquals("Smith", doctorService.getDoctorById(first).getLastName());
+    }
+
     private Doctor createValidDoctor() {
         return new Doctor(
             null,
@@ -0,0 +1,72 @@
+package com.healthcare.service;
+
+import com.healthcare.model.Drug;
+import com.healthcare.model.DrugInteraction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DrugInteractionTableTest {
+
+    @Test
+    @DisplayName("Should find a pair in either order")
+    void testFind_EitherOrder() throws IOException {
+        MedicationCatalog catalog = new MedicationCatalog();
+        Drug warfarin = catalog.register("Warfarin", List.of());
+        Drug aspirin = catalog.register("Aspirin", List.of());
+        Drug metformin = catalog.register("Metformin", List.of());
+
+        DrugInteractionTable table = DrugInteractionTable.load(new StringReader(
+                "# comment\nwarfarin|ASPIRIN|major|Bleeding\nWarfarin|Unknown|MINOR|Skipped\n"), catalog);
+
+        assertEquals(1, table.size());
+        DrugInteraction interaction = table.find(aspirin.getDrugId(), warfarin.getDrugId());
+        assertSame(interaction, table.find(warfarin.getDrugId(), aspirin.getDrugId()));
+        assertEquals(DrugInteraction.Severity.MAJOR, interaction.getSeverity());
+        assertEquals("Bleeding", interaction.getDescription());
+        assertNull(table.find(warfarin.getDrugId(), metformin.getDrugId()));
+        assertNull(table.find(-1, warfarin.getDrugId()));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown severity")
+    void testLoad_InvalidSeverity() {
+        MedicationCatalog catalog = new MedicationCatalog();
+        catalog.register("Warfarin", List.of());
+        catalog.register("Aspirin", List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            DrugInteractionTable.load(new StringReader("Warfarin|Aspirin|SEVERE|Bleeding"), catalog);
+        });
+    }
+
+    @Test
+    @DisplayName("Should find every pair of a densely populated table")
+    void testFind_ManyPairs() {
+        List<Drug> drugs = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            drugs.add(new Drug(i, "Drug" + i, List.of()));
+        }
+        List<DrugInteraction> pairs = new ArrayList<>();
+        for (int i = 0; i < drugs.size(); i += 2) {
+            for (int j = i + 1; j < drugs.size(); j += 3) {
+                pairs.add(new DrugInteraction(drugs.get(i), drugs.get(j), DrugInteraction.Severity.MINOR, null));
+            }
+        }
+
+        DrugInteractionTable table = DrugInteractionTable.of(pairs);
+
+        assertEquals(pairs.size(), table.size());
+        for (DrugInteraction pair : pairs) {
+            assertSame(pair, table.find(pair.getSecond().getDrugId(), pair.getFirst().getDrugId()));
+        }
+        assertNull(table.find(1, 2));
+        assertTrue(DrugInteractionTable.loadDefault(MedicationCatalog.loadDefault()).size() > 20);
+    }
+}
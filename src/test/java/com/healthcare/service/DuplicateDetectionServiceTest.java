@@ -0,0 +1,110 @@
+package com.healthcare.service;
+
+import com.healthcare.model.DuplicateCluster;
+import com.healthcare.model.Patient;
+import com.healthcare.repository.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicateDetectionServiceTest {
+
+    private PatientRepository patientRepository;
+    private DuplicateDetectionService detectionService;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository = new PatientRepository();
+        detectionService = new DuplicateDetectionService(patientRepository);
+        sequence = 0;
+    }
+
+    @Test
+    @DisplayName("Should cluster charts with similar names and the same date of birth")
+    void testFindDuplicateClusters_SimilarNames() {
+        Patient original = save("John", "Smith", LocalDate.of(1990, 1, 15));
+        Patient typo = save("Jon", "Smyth", LocalDate.of(1990, 1, 15));
+        save("Mary", "Jones", LocalDate.of(1985, 6, 1));
+
+        List<DuplicateCluster> clusters = detectionService.findDuplicateClusters();
+
+        assertEquals(1, clusters.size());
+        DuplicateCluster cluster = clusters.get(0);
+        assertEquals(2, cluster.getPatientIds().size());
+        assertTrue(cluster.getPatientIds().contains(original.getPatientId()));
+        assertTrue(cluster.getPatientIds().contains(typo.getPatientId()));
+        assertEquals(1, cluster.getMatches().size());
+        assertTrue(cluster.getScore() >= DuplicateDetectionService.DEFAULT_THRESHOLD);
+    }
+
+    @Test
+    @DisplayName("Should not cluster twins with different first names")
+    void testFindDuplicateClusters_Twins() {
+        save("Alice", "Brown", LocalDate.of(2000, 3, 3));
+        save("Robert", "Brown", LocalDate.of(2000, 3, 3));
+
+        assertTrue(detectionService.findDuplicateClusters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find a chart whose last name changed through the first-name block")
+    void testFindDuplicateClusters_LastNameChanged() {
+        save("Priya", "Sharma", LocalDate.of(1978, 11, 30));
+        save("Priya", "Sharma-Patel", LocalDate.of(1978, 11, 30));
+
+        List<DuplicateCluster> clusters = detectionService.findDuplicateClusters(0.7);
+
+        assertEquals(1, clusters.size());
+    }
+
+    @Test
+    @DisplayName("Should merge transitive matches into one cluster with the oldest chart as survivor")
+    void testFindDuplicateClusters_TransitiveCluster() {
+        Patient first = save("Katherine", "Miller", LocalDate.of(1970, 2, 2));
+        first.setRegistrationDate(LocalDate.of(2010, 1, 1));
+        patientRepository.save(first);
+        save("Kathrine", "Miller", LocalDate.of(1970, 2, 2));
+        save("Kathryn", "Millar", LocalDate.of(1970, 2, 2));
+
+        List<DuplicateCluster> clusters = detectionService.findDuplicateClusters();
+
+        assertEquals(1, clusters.size());
+        assertEquals(3, clusters.get(0).getPatientIds().size());
+        assertEquals(first.getPatientId(), clusters.get(0).getSurvivorId());
+    }
+
+    @Test
+    @DisplayName("Should use windowed comparison for oversized blocks")
+    void testFindDuplicateClusters_OversizedBlock() {
+        DuplicateDetectionService windowed = new DuplicateDetectionService(patientRepository, new ForkJoinPool(2), 3);
+        for (int i = 0; i < 10; i++) {
+            save("Person" + (char) ('A' + i), "Taylor", LocalDate.of(1960 + i, 1, 1));
+        }
+        save("Sam", "Taylor", LocalDate.of(1995, 5, 5));
+        save("Samuel", "Taylor", LocalDate.of(1995, 5, 5));
+
+        assertEquals(1, windowed.findDuplicateClusters(0.7).size());
+    }
+
+    @Test
+    @DisplayName("Should reject threshold outside (0, 1]")
+    void testFindDuplicateClusters_InvalidThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> detectionService.findDuplicateClusters(0));
+        assertThrows(IllegalArgumentException.class, () -> detectionService.findDuplicateClusters(1.5));
+    }
+
+    private Patient save(String firstName, String lastName, LocalDate dateOfBirth) {
+        sequence++;
+        Patient patient = new Patient(String.format("PAT%03d", sequence), firstName, lastName, dateOfBirth,
+                                      "Other", String.format("9000000%03d", sequence),
+                                      firstName.toLowerCase() + sequence + "@example.com", "1 Main St", "O+");
+        return patientRepository.save(patient);
+    }
+}
@@ -12,7 +12,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -203,6 +205,21 @@ class MedicalRecordServiceTest {
         assertTrue(records.stream().allMatch(r -> r.getPatientId().equals(validPatientId)));
     }
 
+    @Test
+    @DisplayName("Should stream a patient's records newest first")
+    void testStreamMedicalRecordsByPatient_NewestFirst() {
+        MedicalRecord older = createValidMedicalRecord();
+        older.setRecordDateTime(LocalDateTime.now().minusDays(2));
+        older = medicalRecordService.createMedicalRecord(older);
+        MedicalRecord newer = medicalRecordService.createMedicalRecord(createValidMedicalRecord());
+
+        List<String> streamed = medicalRecordService.streamMedicalRecordsByPatient(validPatientId)
+                .map(MedicalRecord::getRecordId)
+                .collect(Collectors.toList());
+
+        assertEquals(List.of(newer.getRecordId(), older.getRecordId()), streamed);
+    }
+
     @Test
     @DisplayName("Should throw exception when getting records with empty patient ID")
     void testGetMedicalRecordsByPatient_EmptyId() {
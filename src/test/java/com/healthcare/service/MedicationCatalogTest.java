@@ -0,0 +1,60 @@
+package com.healthcare.service;
+
+import com.healthcare.model.Drug;
+import com.healthcare.model.Prescription;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MedicationCatalogTest {
+
+    @Test
+    @DisplayName("Should load drugs and skip comments and blank lines")
+    void testLoad_Success() throws IOException {
+        MedicationCatalog catalog = new MedicationCatalog();
+        catalog.load(new StringReader("# comment\n\nIbuprofen|200mg, 400mg\nSaline\n"));
+
+        assertEquals(2, catalog.size());
+        Drug ibuprofen = catalog.findByName("IBUPROFEN").orElseThrow();
+        assertEquals(List.of("200mg", "400mg"), ibuprofen.getStandardStrengths());
+        assertTrue(catalog.findByName("Saline").orElseThrow().getStandardStrengths().isEmpty());
+        assertSame(ibuprofen, catalog.findById(ibuprofen.getDrugId()).orElseThrow());
+        assertFalse(catalog.findById(99).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should return the existing drug when a name is registered twice")
+    void testRegister_Idempotent() {
+        MedicationCatalog catalog = new MedicationCatalog();
+        Drug first = catalog.register("Warfarin", List.of("5mg"));
+
+        assertSame(first, catalog.register(" warfarin", List.of()));
+        assertEquals(1, catalog.size());
+        assertThrows(IllegalArgumentException.class, () -> {
+            catalog.register("  ", List.of());
+        });
+    }
+
+    @Test
+    @DisplayName("Should share one drug instance across resolved medications")
+    void testResolve_SharesDrug() {
+        MedicationCatalog catalog = MedicationCatalog.loadDefault();
+        Prescription.Medication first = new Prescription.Medication("Aspirin", "81mg", "Daily", 30);
+        Prescription.Medication second = new Prescription.Medication("aspirin", "325mg", "Daily", 5);
+        Prescription.Medication unknown = new Prescription.Medication("Aspirn", "81mg", "Daily", 30);
+
+        assertTrue(catalog.resolve(first));
+        assertTrue(catalog.resolve(second));
+        assertFalse(catalog.resolve(unknown));
+
+        assertSame(first.getDrug(), second.getDrug());
+        assertEquals("Aspirin", second.getMedicineName());
+        assertNull(unknown.getDrug());
+        assertEquals("Aspirn", unknown.getMedicineName());
+    }
+}
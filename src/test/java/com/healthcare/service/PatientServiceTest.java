@@ -2,8 +2,22 @@ package com.healthcare.service;
 
 import com.healthcare.exception.InvalidDataException;
 import com.healthcare.exception.PatientNotFoundException;
+import com.healthcare.model.Appointment;
+import com.healthcare.model.BloodGroup;
+import com.healthcare.model.DeletionReport;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.Gender;
+import com.healthcare.model.MedicalRecord;
+import com.healthcare.model.MergeReport;
 import com.healthcare.model.Patient;
+import com.healthcare.model.Prescription;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.MedicalRecordRepository;
 import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.PrescriptionRepository;
+import com.healthcare.util.Page;
+import com.healthcare.util.ValidationResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -11,7 +25,20 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,11 +46,18 @@ class PatientServiceTest {
 
     private PatientService patientService;
     private PatientRepository patientRepository;
+    private AppointmentRepository appointmentRepository;
+    private PrescriptionRepository prescriptionRepository;
+    private MedicalRecordRepository recordRepository;
 
     @BeforeEach
     void setUp() {
         patientRepository = new PatientRepository();
-        patientService = new PatientService(patientRepository);
+        appointmentRepository = new AppointmentRepository();
+        prescriptionRepository = new PrescriptionRepository();
+        recordRepository = new MedicalRecordRepository();
+        patientService = new PatientService(patientRepository, appointmentRepository,
+                                            prescriptionRepository, recordRepository);
     }
 
     @Test
@@ -67,6 +101,105 @@ class PatientServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Should report every invalid patient field at once")
+    void testCheckPatient_CollectsAllErrors() {
+        Patient patient = createValidPatient();
+        patient.setEmail("invalid-email");
+        patient.setPhoneNumber("123");
+        patient.setBloodGroup("Z+");
+
+        ValidationResult result = patientService.checkPatient(patient);
+
+        assertEquals(3, result.getErrors().size());
+        assertEquals("Phone number", result.getErrors().get(0).getField());
+        assertEquals("Email", result.getErrors().get(1).getField());
+        assertEquals("Blood group", result.getErrors().get(2).getField());
+        assertTrue(patientService.checkPatient(createValidPatient()).isValid());
+        assertFalse(patientService.checkPatient(null).isValid());
+    }
+
+    @Test
+    @DisplayName("Should store gender and blood group as dictionary codes and keep the gender as given")
+    void testRegisterPatient_DictionaryCodes() {
+        Patient patient = createValidPatient();
+        patient.setGender("female");
+
+        Patient registered = patientService.registerPatient(patient);
+
+        assertSame(Gender.FEMALE, registered.getGenderCode());
+        assertEquals("female", registered.getGender());
+        assertSame(BloodGroup.fromCode(registered.getBloodGroup()), registered.getBloodGroupCode());
+        assertEquals(1, patientService.getPatientsByBloodGroup(registered.getBloodGroup()).size());
+    }
+
+    @Test
+    @DisplayName("Should keep an unrecognized gender as given and reject it")
+    void testRegisterPatient_UnrecognizedGender() {
+        Patient patient = createValidPatient();
+        patient.setGender("Unknown");
+
+        assertNull(patient.getGenderCode());
+        assertEquals("Unknown", patient.getGender());
+        assertThrows(InvalidDataException.class, () -> {
+            patientService.registerPatient(patient);
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject registration with an email already in use")
+    void testRegisterPatient_DuplicateEmail() {
+        patientService.registerPatient(createValidPatient());
+
+        Patient duplicate = createAnotherValidPatient();
+        duplicate.setEmail("  John.Doe@Example.com ");
+
+        InvalidDataException exception = assertThrows(InvalidDataException.class, () -> {
+            patientService.registerPatient(duplicate);
+        });
+        assertTrue(exception.getMessage().contains("email"));
+        assertEquals(1, patientService.getTotalPatientCount());
+    }
+
+    @Test
+    @DisplayName("Should reject registration with a phone number already in use")
+    void testRegisterPatient_DuplicatePhone() {
+        patientService.registerPatient(createValidPatient());
+
+        Patient duplicate = createAnotherValidPatient();
+        duplicate.setPhoneNumber("9876543210");
+
+        assertThrows(InvalidDataException.class, () -> {
+            patientService.registerPatient(duplicate);
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject update that takes another patient's email")
+    void testUpdatePatient_DuplicateEmail() {
+        patientService.registerPatient(createValidPatient());
+        Patient other = patientService.registerPatient(createAnotherValidPatient());
+
+        Patient updatedData = createAnotherValidPatient();
+        updatedData.setEmail("john.doe@example.com");
+
+        assertThrows(InvalidDataException.class, () -> {
+            patientService.updatePatient(other.getPatientId(), updatedData);
+        });
+    }
+
+    @Test
+    @DisplayName("Should find patient by normalized email and phone")
+    void testFindPatientByEmailAndPhone() {
+        Patient registered = patientService.registerPatient(createValidPatient());
+
+        assertEquals(registered.getPatientId(),
+                     patientService.findPatientByEmail("JOHN.DOE@example.com").get().getPatientId());
+        assertEquals(registered.getPatientId(),
+                     patientService.findPatientByPhone("9876543210").get().getPatientId());
+        assertFalse(patientService.findPatientByEmail("nobody@example.com").isPresent());
+    }
+
     @Test
     @DisplayName("Should throw exception when first name is null")
     void testRegisterPatient_NullFirstName() {
@@ -191,6 +324,16 @@ class PatientServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Should find patient by ID without throwing")
+    void testFindPatientById() {
+        Patient registered = patientService.registerPatient(createValidPatient());
+
+        assertEquals("John", patientService.findPatientById(registered.getPatientId()).orElseThrow().getFirstName());
+        assertTrue(patientService.findPatientById("INVALID_ID").isEmpty());
+        assertTrue(patientService.findPatientById(null).isEmpty());
+    }
+
     @Test
     @DisplayName("Should throw exception when patient ID is empty")
     void testGetPatientById_EmptyId() {
@@ -330,6 +473,101 @@ class PatientServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Should delete dependent appointments, prescriptions and records with patient")
+    void testDeletePatient_CascadesToDependents() {
+        String patientId = patientService.registerPatient(createValidPatient()).getPatientId();
+        String otherId = patientService.registerPatient(createAnotherValidPatient()).getPatientId();
+        addDependents(patientId, "1");
+        addDependents(otherId, "2");
+
+        DeletionReport report = patientService.deletePatient(patientId, false);
+
+        assertEquals(3, report.getTotalDependents());
+        assertFalse(patientService.patientExists(patientId));
+        assertTrue(appointmentRepository.findByPatientId(patientId).isEmpty());
+        assertTrue(prescriptionRepository.findByPatientId(patientId).isEmpty());
+        assertTrue(recordRepository.findByPatientId(patientId).isEmpty());
+        assertEquals(1, appointmentRepository.count());
+        assertEquals(1, prescriptionRepository.count());
+        assertEquals(1, recordRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should report dependents without deleting on dry run")
+    void testDeletePatient_DryRun() {
+        String patientId = patientService.registerPatient(createValidPatient()).getPatientId();
+        addDependents(patientId, "1");
+
+        DeletionReport report = patientService.deletePatient(patientId, true);
+
+        assertTrue(report.isDryRun());
+        assertEquals(List.of("APT1"), report.getAppointmentIds());
+        assertEquals(List.of("PRE1"), report.getPrescriptionIds());
+        assertEquals(List.of("REC1"), report.getRecordIds());
+        assertTrue(patientService.patientExists(patientId));
+        assertEquals(1, appointmentRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should move all dependents to the survivor and remove the duplicate")
+    void testMergePatients_Success() {
+        String survivorId = patientService.registerPatient(createValidPatient()).getPatientId();
+        String duplicateId = patientService.registerPatient(createAnotherValidPatient()).getPatientId();
+        addDependents(survivorId, "1");
+        addDependents(duplicateId, "2");
+
+        MergeReport report = patientService.mergePatients(survivorId, duplicateId);
+
+        assertEquals(3, report.getTotalMoved());
+        assertFalse(patientService.patientExists(duplicateId));
+        assertEquals(2, appointmentRepository.findByPatientId(survivorId).size());
+        assertEquals(2, prescriptionRepository.findByPatientId(survivorId).size());
+        assertEquals(2, recordRepository.findByPatientId(survivorId).size());
+        assertTrue(appointmentRepository.findByPatientId(duplicateId).isEmpty());
+        assertEquals(survivorId, prescriptionRepository.findById("PRE2").get().getPatientId());
+        assertEquals(2, appointmentRepository.findByDoctorId("DOC001").size());
+    }
+
+    @Test
+    @DisplayName("Should not let a delete run between a record's patient check and its save")
+    void testDeletePatient_ConcurrentCreate() throws Exception {
+        createRecordRacing(service -> service.registerPatient(createValidPatient()).getPatientId(),
+                           (service, patientId) -> service.deletePatient(patientId));
+    }
+
+    @Test
+    @DisplayName("Should move a record created for the duplicate while the merge runs")
+    void testMergePatients_ConcurrentCreate() throws Exception {
+        String[] survivorId = new String[1];
+        createRecordRacing(service -> {
+            survivorId[0] = service.registerPatient(createAnotherValidPatient()).getPatientId();
+            return service.registerPatient(createValidPatient()).getPatientId();
+        }, (service, duplicateId) -> service.mergePatients(survivorId[0], duplicateId));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when merging into a missing patient")
+    void testMergePatients_NotFound() {
+        String duplicateId = patientService.registerPatient(createValidPatient()).getPatientId();
+        addDependents(duplicateId, "1");
+
+        assertThrows(PatientNotFoundException.class, () -> {
+            patientService.mergePatients("INVALID_ID", duplicateId);
+        });
+        assertEquals(duplicateId, appointmentRepository.findById("APT1").get().getPatientId());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when merging a patient into itself")
+    void testMergePatients_SameId() {
+        String patientId = patientService.registerPatient(createValidPatient()).getPatientId();
+
+        assertThrows(InvalidDataException.class, () -> {
+            patientService.mergePatients(patientId, patientId);
+        });
+    }
+
     @Test
     @DisplayName("Should check if patient exists")
     void testPatientExists_True() {
@@ -345,6 +583,38 @@ class PatientServiceTest {
         assertFalse(patientService.patientExists("INVALID_ID"));
     }
 
+    @Test
+    @DisplayName("Should see patients saved before the service was created")
+    void testPatientExists_PreexistingData() {
+        PatientRepository repository = new PatientRepository();
+        Patient patient = createValidPatient();
+        patient.setPatientId("PAT001");
+        repository.save(patient);
+
+        PatientService service = new PatientService(repository);
+
+        assertTrue(service.patientExists("PAT001"));
+        assertFalse(service.patientExists("PAT002"));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from cache and see repository writes")
+    void testGetPatientById_CachedAndInvalidated() {
+        String patientId = patientService.registerPatient(createValidPatient()).getPatientId();
+
+        assertTrue(patientService.patientExists(patientId));
+        Patient loaded = patientService.getPatientById(patientId);
+        loaded.setFirstName("Changed");
+        assertEquals("John", patientService.getPatientById(patientId).getFirstName());
+        assertEquals(2, patientService.getCacheStats().getHitCount());
+
+        patientRepository.save(loaded);
+        assertEquals("Changed", patientService.getPatientById(patientId).getFirstName());
+
+        patientRepository.deleteById(patientId);
+        assertFalse(patientService.patientExists(patientId));
+    }
+
     @Test
     @DisplayName("Should return false when patient ID is null")
     void testPatientExists_Null() {
@@ -363,6 +633,123 @@ class PatientServiceTest {
         assertEquals(2, patientService.getTotalPatientCount());
     }
 
+    @Test
+    @DisplayName("Should look up several patients at once from cache and repository")
+    void testGetPatientsByIds() {
+        String first = patientService.registerPatient(createValidPatient()).getPatientId();
+        String second = patientService.registerPatient(createAnotherValidPatient()).getPatientId();
+        patientService.getPatientById(first);
+
+        Map<String, Patient> found = patientService.getPatientsByIds(Arrays.asList(second, "PAT404", first, null));
+
+        assertEquals(Arrays.asList(second, first), new ArrayList<>(found.keySet()));
+        assertEquals("Smith", found.get(second).getLastName());
+        assertEquals("Doe", found.get(first).getLastName());
+    }
+
+    @Test
+    @DisplayName("Should page through all patients with cursors")
+    void testGetAllPatients_Paged() {
+        for (int i = 0; i < 5; i++) {
+            Patient patient = createValidPatient();
+            patient.setEmail("patient" + i + "@example.com");
+            patient.setPhoneNumber("987654330" + i);
+            patientService.registerPatient(patient);
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Page<Patient> page = patientService.getAllPatients(cursor, 2);
+            page.getItems().forEach(patient -> seen.add(patient.getPatientId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(5, seen.size());
+        List<String> sorted = new ArrayList<>(seen);
+        Collections.sort(sorted);
+        assertEquals(sorted, seen);
+        assertEquals(5, patientService.streamAllPatients().count());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid page limits and cursors")
+    void testGetAllPatients_InvalidPage() {
+        assertThrows(InvalidDataException.class, () -> {
+            patientService.getAllPatients(null, 0);
+        });
+        assertThrows(InvalidDataException.class, () -> {
+            patientService.getAllPatients(null, Page.MAX_LIMIT + 1);
+        });
+        assertThrows(InvalidDataException.class, () -> {
+            patientService.getAllPatients("%%%", 10);
+        });
+    }
+
+    private void addDependents(String patientId, String suffix) {
+        appointmentRepository.save(new Appointment("APT" + suffix, patientId, "DOC001",
+                                                   LocalDateTime.now().plusDays(1), "Checkup"));
+        prescriptionRepository.save(new Prescription("PRE" + suffix, patientId, "DOC001", null, "Flu"));
+        recordRepository.save(new MedicalRecord("REC" + suffix, patientId, "DOC001", null, "Fever", "Flu"));
+    }
+
+    /**
+     * Starts creating a medical record for the patient returned by
+     * {@code setup}, holds it inside the save while {@code write} runs on
+     * another thread, then checks that no record was left pointing at a
+     * patient that no longer exists.
+     */
+    private void createRecordRacing(Function<PatientService, String> setup,
+                                    BiConsumer<PatientService, String> write) throws Exception {
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MedicalRecordRepository records = new MedicalRecordRepository() {
+            @Override
+            public MedicalRecord save(MedicalRecord record) {
+                saving.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.save(record);
+            }
+        };
+        PatientService service = new PatientService(new PatientRepository(), new AppointmentRepository(),
+                                                    new PrescriptionRepository(), records);
+        DoctorService doctorService = new DoctorService(new DoctorRepository());
+        MedicalRecordService recordService = new MedicalRecordService(records, service, doctorService);
+        String patientId = setup.apply(service);
+        String doctorId = doctorService.registerDoctor(new Doctor(null, "Jane", "Smith", "Cardiology",
+                "9876543211", "jane@hospital.com", 10, "MBBS")).getDoctorId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MedicalRecord> create = executor.submit(() -> recordService.createMedicalRecord(
+                    new MedicalRecord(null, patientId, doctorId, null, "Fever", "Flu")));
+            assertTrue(saving.await(5, TimeUnit.SECONDS));
+            Future<?> written = executor.submit(() -> write.accept(service, patientId));
+            try {
+                written.get(200, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Expected: the write waits for the create to finish.
+            }
+            release.countDown();
+            create.get(5, TimeUnit.SECONDS);
+            written.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        for (MedicalRecord record : records.findAll()) {
+            assertTrue(service.patientExists(record.getPatientId()), "Orphaned record " + record.getRecordId());
+        }
+    }
+
     private Patient createValidPatient() {
         return new Patient(
             null,
@@ -0,0 +1,132 @@
+package com.healthcare.service;
+
+import com.healthcare.exception.InvalidDataException;
+import com.healthcare.model.Appointment;
+import com.healthcare.model.MedicalRecord;
+import com.healthcare.model.Prescription;
+import com.healthcare.model.TimelineEntry;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.MedicalRecordRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.PrescriptionRepository;
+import com.healthcare.util.Page;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientTimelineServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 3, 1);
+
+    private AppointmentRepository appointmentRepository;
+    private PrescriptionRepository prescriptionRepository;
+    private MedicalRecordRepository recordRepository;
+    private PatientTimelineService timelineService;
+    private AtomicInteger submitted;
+
+    @BeforeEach
+    void setUp() {
+        PatientRepository patientRepository = new PatientRepository();
+        DoctorRepository doctorRepository = new DoctorRepository();
+        appointmentRepository = new AppointmentRepository();
+        prescriptionRepository = new PrescriptionRepository();
+        recordRepository = new MedicalRecordRepository();
+
+        PatientService patientService = new PatientService(patientRepository);
+        DoctorService doctorService = new DoctorService(doctorRepository);
+        submitted = new AtomicInteger();
+        timelineService = new PatientTimelineService(
+                new AppointmentService(appointmentRepository, patientService, doctorService),
+                new PrescriptionService(prescriptionRepository, patientService, doctorService),
+                new MedicalRecordService(recordRepository, patientService, doctorService),
+                task -> {
+                    submitted.incrementAndGet();
+                    new Thread(task).start();
+                });
+
+        addAppointment("APT1", "PAT001", DAY.atTime(10, 0));
+        addAppointment("APT2", "PAT001", DAY.plusDays(2).atTime(10, 0));
+        addPrescription("PRE1", "PAT001", DAY.plusDays(1));
+        addPrescription("PRE2", "PAT001", DAY.plusDays(2));
+        addRecord("REC1", "PAT001", DAY.atTime(9, 0));
+        addRecord("REC2", "PAT001", DAY.plusDays(3).atTime(8, 0));
+        addAppointment("APT3", "PAT002", DAY.atTime(11, 0));
+    }
+
+    @Test
+    @DisplayName("Should merge all three sources in chronological order")
+    void testStreamTimeline_MergesChronologically() {
+        List<String> ids = timelineService.streamTimeline("PAT001")
+                .map(TimelineEntry::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("REC1", "APT1", "PRE1", "PRE2", "APT2", "REC2"), ids);
+        assertEquals(2, submitted.get());
+    }
+
+    @Test
+    @DisplayName("Should page through the timeline with cursors")
+    void testGetTimeline_Paged() {
+        Page<TimelineEntry> first = timelineService.getTimeline("PAT001", null, 4);
+        assertEquals(4, first.getItems().size());
+        assertTrue(first.hasNext());
+        assertEquals(TimelineEntry.Type.MEDICAL_RECORD, first.getItems().get(0).getType());
+        assertEquals("Fever", first.getItems().get(0).getMedicalRecord().getChiefComplaint());
+
+        addRecord("REC0", "PAT001", DAY.minusDays(1).atStartOfDay());
+        Page<TimelineEntry> second = timelineService.getTimeline("PAT001", first.getNextCursor(), 4);
+        List<String> ids = new ArrayList<>();
+        second.getItems().forEach(entry -> ids.add(entry.getId()));
+
+        assertEquals(Arrays.asList("APT2", "REC2"), ids);
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should return an empty timeline for a patient without history")
+    void testGetTimeline_Empty() {
+        Page<TimelineEntry> page = timelineService.getTimeline("PAT404", null, 10);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed timeline cursor")
+    void testGetTimeline_InvalidCursor() {
+        String cursor = Base64.getUrlEncoder().encodeToString("garbage".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidDataException.class, () -> {
+            timelineService.getTimeline("PAT001", cursor, 10);
+        });
+    }
+
+    private void addAppointment(String appointmentId, String patientId, LocalDateTime dateTime) {
+        appointmentRepository.save(new Appointment(appointmentId, patientId, "DOC001", dateTime, "Checkup"));
+    }
+
+    private void addPrescription(String prescriptionId, String patientId, LocalDate date) {
+        Prescription prescription = new Prescription(prescriptionId, patientId, "DOC001", null, "Flu");
+        prescription.setPrescriptionDate(date);
+        prescriptionRepository.save(prescription);
+    }
+
+    private void addRecord(String recordId, String patientId, LocalDateTime dateTime) {
+        MedicalRecord record = new MedicalRecord(recordId, patientId, "DOC001", null, "Fever", "Flu");
+        record.setRecordDateTime(dateTime);
+        recordRepository.save(record);
+    }
+}
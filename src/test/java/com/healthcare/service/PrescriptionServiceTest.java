@@ -2,8 +2,11 @@ package com.healthcare.service;
 
 import com.healthcare.exception.InvalidDataException;
 import com.healthcare.model.Doctor;
+import com.healthcare.model.Drug;
+import com.healthcare.model.DrugInteraction;
 import com.healthcare.model.Patient;
 import com.healthcare.model.Prescription;
+import com.healthcare.model.PrescriptionView;
 import com.healthcare.repository.DoctorRepository;
 import com.healthcare.repository.PatientRepository;
 import com.healthcare.repository.PrescriptionRepository;
@@ -11,8 +14,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -181,6 +194,37 @@ class PrescriptionServiceTest {
         assertTrue(prescriptions.stream().allMatch(p -> p.getDoctorId().equals(validDoctorId)));
     }
 
+    @Test
+    @DisplayName("Should reuse doctor listing until one of the doctor's prescriptions changes")
+    void testGetPrescriptionsByDoctor_CachedAndInvalidated() {
+        Prescription prescription = prescriptionService.createPrescription(createValidPrescription());
+        List<Prescription> first = prescriptionService.getPrescriptionsByDoctor(validDoctorId);
+        List<Prescription> other = prescriptionService.getPrescriptionsByDoctor("DOC999");
+        assertEquals(first, prescriptionService.getPrescriptionsByDoctor(validDoctorId));
+
+        prescriptionService.addMedication(prescription.getPrescriptionId(),
+                                          new Prescription.Medication("Aspirin", "100mg", "Once daily", 7));
+
+        assertEquals(other, prescriptionService.getPrescriptionsByDoctor("DOC999"));
+        List<Prescription> refreshed = prescriptionService.getPrescriptionsByDoctor(validDoctorId);
+        assertTrue(first.get(0).getMedications().isEmpty());
+        assertEquals(1, refreshed.get(0).getMedications().size());
+    }
+
+    @Test
+    @DisplayName("Should not let a caller modify the cached doctor listing")
+    void testGetPrescriptionsByDoctor_ReturnsCopies() {
+        prescriptionService.createPrescription(createValidPrescription());
+        List<Prescription> first = prescriptionService.getPrescriptionsByDoctor(validDoctorId);
+
+        first.get(0).addMedication(new Prescription.Medication("Aspirin", "100mg", "Once daily", 7));
+        first.clear();
+
+        List<Prescription> second = prescriptionService.getPrescriptionsByDoctor(validDoctorId);
+        assertEquals(1, second.size());
+        assertTrue(second.get(0).getMedications().isEmpty());
+    }
+
     @Test
     @DisplayName("Should get valid prescriptions only")
     void testGetValidPrescriptions() {
@@ -194,6 +238,27 @@ class PrescriptionServiceTest {
         assertTrue(validPrescriptions.get(0).isValid());
     }
 
+    @Test
+    @DisplayName("Should evaluate validity against the injected clock")
+    void testGetValidPrescriptions_FixedClock() {
+        Clock clock = Clock.fixed(LocalDate.of(2040, 3, 31).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        PrescriptionService service = new PrescriptionService(new PrescriptionRepository(), patientService,
+                                                              doctorService, clock);
+        Prescription lastDay = createValidPrescription();
+        lastDay.setPrescriptionDate(LocalDate.of(2040, 3, 1));
+        service.createPrescription(lastDay);
+        Prescription expired = createValidPrescription();
+        expired.setPrescriptionDate(LocalDate.of(2040, 2, 29));
+        service.createPrescription(expired);
+
+        List<Prescription> valid = service.getValidPrescriptions();
+
+        assertEquals(1, valid.size());
+        assertEquals(LocalDate.of(2040, 3, 1), valid.get(0).getPrescriptionDate());
+        assertTrue(valid.get(0).isValid(LocalDate.now(clock)));
+        assertFalse(valid.get(0).isValid(LocalDate.of(2040, 4, 1)));
+    }
+
     @Test
     @DisplayName("Should add medication to prescription")
     void testAddMedication_Success() {
@@ -288,6 +353,221 @@ class PrescriptionServiceTest {
         assertEquals(2, prescriptionService.getTotalPrescriptionCount());
     }
 
+    @Test
+    @DisplayName("Should link catalog medications and find prescriptions by drug")
+    void testGetPrescriptionsByDrug_Success() {
+        Prescription prescription = createValidPrescription();
+        prescription.addMedication(new Prescription.Medication("amoxicillin ", "500mg", "Twice daily", 7));
+        prescription.addMedication(new Prescription.Medication("Herbal Tea", "1 cup", "Daily", 7));
+        Prescription created = prescriptionService.createPrescription(prescription);
+
+        Prescription.Medication linked = created.getMedications().get(0);
+        assertNotNull(linked.getDrug());
+        assertEquals("Amoxicillin", linked.getMedicineName());
+        assertEquals(-1, created.getMedications().get(1).getDrugId());
+
+        List<Prescription> found = prescriptionService.getPrescriptionsByDrug("AMOXICILLIN");
+        assertEquals(1, found.size());
+        assertEquals(created.getPrescriptionId(), found.get(0).getPrescriptionId());
+        assertSame(linked.getDrug(), found.get(0).getMedications().get(0).getDrug());
+        assertTrue(prescriptionService.getPrescriptionsByDrug("Herbal Tea").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the medicine name when a medication is unlinked from the catalog")
+    void testSetDrug_UnlinkKeepsName() {
+        Prescription prescription = createValidPrescription();
+        prescription.addMedication(new Prescription.Medication("Amoxicillin", "500mg", "Twice daily", 7));
+        Prescription.Medication medication = prescriptionService.createPrescription(prescription)
+                .getMedications().get(0);
+        assertNotNull(medication.getDrug());
+
+        medication.setDrug(null);
+
+        assertNull(medication.getDrug());
+        assertEquals("Amoxicillin", medication.getMedicineName());
+    }
+
+    @Test
+    @DisplayName("Should index medications added after creation")
+    void testAddMedication_IndexesDrug() {
+        Prescription created = prescriptionService.createPrescription(createValidPrescription());
+        assertTrue(prescriptionService.getPrescriptionsByDrug("Metformin").isEmpty());
+
+        prescriptionService.addMedication(created.getPrescriptionId(),
+                new Prescription.Medication("Metformin", "500mg", "Twice daily", 30));
+
+        assertEquals(1, prescriptionService.getPrescriptionsByDrug("metformin").size());
+    }
+
+    @Test
+    @DisplayName("Should suggest catalog medications by prefix")
+    void testSuggestMedications() {
+        List<Drug> suggestions = prescriptionService.suggestMedications("amo", 10);
+
+        assertEquals(2, suggestions.size());
+        assertEquals("Amoxicillin", suggestions.get(0).getName());
+        assertEquals("Amoxicillin-Clavulanate", suggestions.get(1).getName());
+        assertTrue(suggestions.get(0).getStandardStrengths().contains("500mg"));
+    }
+
+    @Test
+    @DisplayName("Should reject a medication with a major interaction with an active drug")
+    void testAddMedication_MajorInteraction() {
+        Prescription warfarin = createValidPrescription();
+        warfarin.addMedication(new Prescription.Medication("Warfarin", "5mg", "Daily", 30));
+        prescriptionService.createPrescription(warfarin);
+        Prescription other = prescriptionService.createPrescription(createValidPrescription());
+
+        InvalidDataException exception = assertThrows(InvalidDataException.class, () -> {
+            prescriptionService.addMedication(other.getPrescriptionId(),
+                    new Prescription.Medication("Aspirin", "81mg", "Daily", 30));
+        });
+
+        assertTrue(exception.getMessage().contains("Warfarin + Aspirin (MAJOR)"));
+        assertTrue(prescriptionService.getPrescriptionById(other.getPrescriptionId()).getMedications().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a prescription whose own drugs interact")
+    void testCreatePrescription_InteractionWithinPrescription() {
+        Prescription prescription = createValidPrescription();
+        prescription.addMedication(new Prescription.Medication("Sertraline", "50mg", "Daily", 30));
+        prescription.addMedication(new Prescription.Medication("Tramadol", "50mg", "Twice daily", 5));
+
+        assertThrows(InvalidDataException.class, () -> {
+            prescriptionService.createPrescription(prescription);
+        });
+        assertEquals(0, prescriptionService.getTotalPrescriptionCount());
+    }
+
+    @Test
+    @DisplayName("Should report all interactions and allow non-major ones")
+    void testCheckInteractions_ReturnsAllConflicts() {
+        Prescription prescription = createValidPrescription();
+        prescription.addMedication(new Prescription.Medication("Warfarin", "5mg", "Daily", 30));
+        prescription.addMedication(new Prescription.Medication("Aspirin", "81mg", "Daily", 30));
+        assertThrows(InvalidDataException.class, () -> {
+            prescriptionService.createPrescription(prescription);
+        });
+        Prescription aspirin = createValidPrescription();
+        aspirin.addMedication(new Prescription.Medication("Aspirin", "81mg", "Daily", 30));
+        prescriptionService.createPrescription(aspirin);
+        Prescription antibiotic = createValidPrescription();
+        antibiotic.addMedication(new Prescription.Medication("Ciprofloxacin", "500mg", "Twice daily", 7));
+        prescriptionService.createPrescription(antibiotic);
+
+        List<DrugInteraction> conflicts = prescriptionService.checkInteractions(validPatientId, "warfarin");
+
+        assertEquals(2, conflicts.size());
+        assertTrue(conflicts.stream().anyMatch(c -> c.getSeverity() == DrugInteraction.Severity.MAJOR));
+        assertTrue(conflicts.stream().anyMatch(c -> c.getSeverity() == DrugInteraction.Severity.MODERATE));
+        assertTrue(prescriptionService.checkInteractions(validPatientId, "Metformin").isEmpty());
+        assertTrue(prescriptionService.checkInteractions("PAT999", "Warfarin").isEmpty());
+
+        prescriptionService.addMedication(aspirin.getPrescriptionId(),
+                new Prescription.Medication("Ibuprofen", "400mg", "As needed", 5));
+        assertEquals(3, prescriptionService.checkInteractions(validPatientId, "Warfarin").size());
+    }
+
+    @Test
+    @DisplayName("Should reject the second of two interacting prescriptions created concurrently")
+    void testCreatePrescription_ConcurrentInteraction() throws Exception {
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PrescriptionRepository prescriptions = new PrescriptionRepository() {
+            @Override
+            public Prescription save(Prescription prescription) {
+                saving.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.save(prescription);
+            }
+        };
+        PrescriptionService service = new PrescriptionService(prescriptions, patientService, doctorService);
+        Prescription warfarin = createValidPrescription();
+        warfarin.addMedication(new Prescription.Medication("Warfarin", "5mg", "Daily", 30));
+        Prescription aspirin = createValidPrescription();
+        aspirin.addMedication(new Prescription.Medication("Aspirin", "81mg", "Daily", 30));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Prescription> first = executor.submit(() -> service.createPrescription(warfarin));
+            assertTrue(saving.await(5, TimeUnit.SECONDS));
+            Future<Prescription> second = executor.submit(() -> service.createPrescription(aspirin));
+            try {
+                second.get(200, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Expected: the second create waits for the first to be saved.
+            }
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> {
+                second.get(5, TimeUnit.SECONDS);
+            });
+            assertTrue(exception.getCause() instanceof InvalidDataException);
+            assertTrue(exception.getCause().getMessage().contains("Warfarin + Aspirin (MAJOR)"));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, service.getTotalPrescriptionCount());
+    }
+
+    @Test
+    @DisplayName("Should ignore drugs on expired or deleted prescriptions")
+    void testCheckInteractions_ExpiredAndDeleted() {
+        Clock clock = Clock.fixed(LocalDate.of(2040, 3, 31).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        PrescriptionService service = new PrescriptionService(new PrescriptionRepository(), patientService,
+                                                              doctorService, clock);
+        Prescription expired = createValidPrescription();
+        expired.setPrescriptionDate(LocalDate.of(2040, 2, 29));
+        expired.addMedication(new Prescription.Medication("Warfarin", "5mg", "Daily", 30));
+        service.createPrescription(expired);
+        Prescription active = createValidPrescription();
+        active.setPrescriptionDate(LocalDate.of(2040, 3, 1));
+        active.addMedication(new Prescription.Medication("Warfarin", "5mg", "Daily", 30));
+        service.createPrescription(active);
+
+        assertEquals(1, service.checkInteractions(validPatientId, "Aspirin").size());
+
+        service.deletePrescription(active.getPrescriptionId());
+
+        assertTrue(service.checkInteractions(validPatientId, "Aspirin").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should join prescriptions with their patients and doctors from cache and repository")
+    void testGetPrescriptionViews() {
+        String otherDoctorId = doctorService.registerDoctor(new Doctor(
+                null, "Sarah", "Johnson", "Pediatrics", "9876543212", "sarah@hospital.com", 8, "MBBS")).getDoctorId();
+        Prescription first = prescriptionService.createPrescription(createValidPrescription());
+        Prescription second = createValidPrescription();
+        second.setDoctorId(otherDoctorId);
+        second = prescriptionService.createPrescription(second);
+        Prescription orphan = new Prescription("PRE404", "PAT404", "DOC404", null, "Flu");
+        doctorService.getDoctorById(validDoctorId);
+        doctorService.setDoctorAvailability(otherDoctorId, false);
+        long hits = doctorService.getCacheStats().getHitCount();
+
+        List<PrescriptionView> views = prescriptionService.getPrescriptionViews(Arrays.asList(second, orphan, first));
+
+        assertEquals(3, views.size());
+        assertEquals(second.getPrescriptionId(), views.get(0).getPrescription().getPrescriptionId());
+        assertEquals(first.getPrescriptionId(), views.get(2).getPrescription().getPrescriptionId());
+        assertEquals("John Doe", views.get(2).getPatientName());
+        assertEquals(validDoctorId, views.get(2).getDoctor().getDoctorId());
+        assertEquals(otherDoctorId, views.get(0).getDoctor().getDoctorId());
+        assertNull(views.get(1).getPatient());
+        assertNull(views.get(1).getDoctor());
+        assertEquals("DOC404", views.get(1).getDoctorName());
+        assertEquals(hits + 1, doctorService.getCacheStats().getHitCount());
+    }
+
     private Prescription createValidPrescription() {
         return new Prescription(
             null,
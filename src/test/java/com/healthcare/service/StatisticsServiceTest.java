@@ -0,0 +1,212 @@
+package com.healthcare.service;
+
+import com.healthcare.model.Appointment;
+import com.healthcare.model.AppointmentStatus;
+import com.healthcare.model.Doctor;
+import com.healthcare.model.MedicalRecord;
+import com.healthcare.model.Patient;
+import com.healthcare.model.Prescription;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.MedicalRecordRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.PrescriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatisticsServiceTest {
+
+    private PatientRepository patientRepository;
+    private DoctorRepository doctorRepository;
+    private AppointmentRepository appointmentRepository;
+    private PrescriptionRepository prescriptionRepository;
+    private MedicalRecordRepository recordRepository;
+    private StatisticsService statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        patientRepository = new PatientRepository();
+        doctorRepository = new DoctorRepository();
+        appointmentRepository = new AppointmentRepository();
+        prescriptionRepository = new PrescriptionRepository();
+        recordRepository = new MedicalRecordRepository();
+        statisticsService = new StatisticsService(patientRepository, doctorRepository, appointmentRepository,
+                                                  prescriptionRepository, recordRepository);
+    }
+
+    @Test
+    @DisplayName("Should count entities seeded before the service was created")
+    void testConstructor_SeedsFromRepositories() {
+        PatientRepository patients = new PatientRepository();
+        patients.save(createPatient("PAT001"));
+        DoctorRepository doctors = new DoctorRepository();
+        doctors.save(createDoctor("DOC001", true));
+        doctors.save(createDoctor("DOC002", false));
+
+        StatisticsService service = new StatisticsService(patients, doctors, new AppointmentRepository(),
+                                                          new PrescriptionRepository(), new MedicalRecordRepository());
+
+        assertEquals(1, service.getTotalPatients());
+        assertEquals(2, service.getTotalDoctors());
+        assertEquals(1, service.getAvailableDoctors());
+    }
+
+    @Test
+    @DisplayName("Should track doctor availability changes")
+    void testAvailableDoctors() {
+        Doctor doctor = doctorRepository.save(createDoctor("DOC001", true));
+        doctorRepository.save(createDoctor("DOC002", true));
+        assertEquals(2, statisticsService.getAvailableDoctors());
+
+        doctor.setAvailable(false);
+        doctorRepository.save(doctor);
+        assertEquals(1, statisticsService.getAvailableDoctors());
+
+        doctorRepository.deleteById("DOC002");
+        assertEquals(0, statisticsService.getAvailableDoctors());
+        assertEquals(1, statisticsService.getTotalDoctors());
+    }
+
+    @Test
+    @DisplayName("Should move appointments between status counters")
+    void testAppointmentStatusCounts() {
+        Appointment appointment = appointmentRepository.save(createAppointment("APT001", LocalDateTime.now().plusDays(1)));
+        appointmentRepository.save(createAppointment("APT002", LocalDateTime.now().plusDays(2)));
+        assertEquals(2, statisticsService.getAppointmentCount(AppointmentStatus.SCHEDULED));
+        assertEquals(2, statisticsService.getUpcomingAppointments());
+
+        appointment.setStatus(AppointmentStatus.CANCELLED);
+        appointmentRepository.save(appointment);
+
+        assertEquals(1, statisticsService.getAppointmentCount(AppointmentStatus.SCHEDULED));
+        assertEquals(1, statisticsService.getAppointmentCount(AppointmentStatus.CANCELLED));
+        assertEquals(1, statisticsService.getUpcomingAppointments());
+        assertEquals(2, statisticsService.getTotalAppointments());
+    }
+
+    @Test
+    @DisplayName("Should stop counting appointments once their time has passed")
+    void testUpcomingAppointments_Rollover() {
+        MutableClock clock = new MutableClock(LocalDateTime.of(2030, 1, 1, 9, 0));
+        StatisticsService service = new StatisticsService(patientRepository, doctorRepository, appointmentRepository,
+                                                          prescriptionRepository, recordRepository, clock);
+        appointmentRepository.save(createAppointment("APT001", LocalDateTime.of(2030, 1, 1, 10, 0)));
+        appointmentRepository.save(createAppointment("APT002", LocalDateTime.of(2029, 12, 31, 10, 0)));
+        appointmentRepository.save(createAppointment("APT003", LocalDateTime.of(2030, 1, 2, 10, 0)));
+        assertEquals(2, service.getUpcomingAppointments());
+
+        clock.advance(Duration.ofHours(2));
+
+        assertEquals(1, service.getUpcomingAppointments());
+        assertEquals(appointmentRepository.findUpcomingAppointments(LocalDateTime.now(clock)).size(),
+                     service.getUpcomingAppointments());
+
+        appointmentRepository.deleteById("APT001");
+        assertEquals(1, service.getUpcomingAppointments());
+    }
+
+    @Test
+    @DisplayName("Should expire prescriptions when the clock passes their expiry date")
+    void testValidPrescriptions_Rollover() {
+        MutableClock clock = new MutableClock(LocalDateTime.of(2030, 1, 1, 9, 0));
+        StatisticsService service = new StatisticsService(patientRepository, doctorRepository, appointmentRepository,
+                                                          prescriptionRepository, recordRepository, clock);
+        Prescription prescription = new Prescription("PRE001", "PAT001", "DOC001", null, "Flu");
+        prescription.setPrescriptionDate(LocalDate.of(2030, 1, 1));
+        prescriptionRepository.save(prescription);
+
+        clock.advance(Duration.ofDays(30));
+        assertEquals(1, service.getValidPrescriptions());
+
+        clock.advance(Duration.ofDays(1));
+        assertEquals(0, service.getValidPrescriptions());
+        assertEquals(1, service.getTotalPrescriptions());
+    }
+
+    @Test
+    @DisplayName("Should count only unexpired prescriptions as valid")
+    void testValidPrescriptions() {
+        prescriptionRepository.save(new Prescription("PRE001", "PAT001", "DOC001", null, "Flu"));
+        Prescription expired = new Prescription("PRE002", "PAT001", "DOC001", null, "Cold");
+        expired.setPrescriptionDate(LocalDate.now().minusDays(60));
+        prescriptionRepository.save(expired);
+
+        assertEquals(2, statisticsService.getTotalPrescriptions());
+        assertEquals(1, statisticsService.getValidPrescriptions());
+
+        expired.setValidityDays(90);
+        prescriptionRepository.save(expired);
+        assertEquals(2, statisticsService.getValidPrescriptions());
+    }
+
+    @Test
+    @DisplayName("Should count medical records per day")
+    void testRecordsPerDay() {
+        recordRepository.save(new MedicalRecord("REC001", "PAT001", "DOC001", null, "Fever", "Flu"));
+        MedicalRecord old = new MedicalRecord("REC002", "PAT001", "DOC001", null, "Cough", "Cold");
+        old.setRecordDateTime(LocalDateTime.now().minusDays(3));
+        recordRepository.save(old);
+
+        assertEquals(1, statisticsService.getRecordsToday());
+        assertEquals(1, statisticsService.getRecordsOn(LocalDate.now().minusDays(3)));
+        assertEquals(2, statisticsService.getTotalRecords());
+
+        recordRepository.clear();
+        assertEquals(0, statisticsService.getRecordsToday());
+        assertEquals(0, statisticsService.getTotalRecords());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(LocalDateTime start) {
+            this.instant = start.toInstant(ZoneOffset.UTC);
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    private Patient createPatient(String id) {
+        return new Patient(id, "John", "Doe", LocalDate.of(1990, 1, 1), "Male",
+                           "9876543210", "john.doe@example.com", "123 Main St", "O+");
+    }
+
+    private Doctor createDoctor(String id, boolean available) {
+        Doctor doctor = new Doctor(id, "John", "Smith", "Cardiology", "98765432" + id.substring(4),
+                                   id.toLowerCase() + "@hospital.com", 10, "MBBS");
+        doctor.setAvailable(available);
+        return doctor;
+    }
+
+    private Appointment createAppointment(String id, LocalDateTime dateTime) {
+        return new Appointment(id, "PAT001", "DOC001", dateTime, "Checkup");
+    }
+}
@@ -5,8 +5,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -314,4 +316,81 @@ class DateUtilTest {
         
         assertTrue(age >= 24);
     }
+
+    @Test
+    @DisplayName("Should calculate age against a supplied date")
+    void testCalculateAge_AsOfDate() {
+        LocalDate birthDate = LocalDate.of(2000, 2, 29);
+
+        assertEquals(23, DateUtil.calculateAge(birthDate, LocalDate.of(2024, 2, 28)));
+        assertEquals(24, DateUtil.calculateAge(birthDate, LocalDate.of(2024, 2, 29)));
+    }
+
+    @Test
+    @DisplayName("Should compare date-times against a supplied instant")
+    void testIsFutureDateTime_AsOf() {
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        assertTrue(DateUtil.isFutureDateTime(now.plusSeconds(1), now));
+        assertFalse(DateUtil.isFutureDateTime(now, now));
+        assertTrue(DateUtil.isPastDateTime(now.minusSeconds(1), now));
+        assertFalse(DateUtil.isFutureDateTime(null, now));
+    }
+
+    @Test
+    @DisplayName("Should parse and format dates the same way as the formatter")
+    void testParseEpochDay_MatchesFormatter() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        StringBuilder out = new StringBuilder();
+        for (LocalDate date = LocalDate.of(1896, 1, 1); date.getYear() < 2104; date = date.plusDays(1)) {
+            String text = date.format(formatter);
+            assertEquals(date.toEpochDay(), DateUtil.parseEpochDay(text, 0, text.length()));
+            out.setLength(0);
+            assertEquals(text, DateUtil.appendDate(out, date).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should parse dates from a slice of a byte buffer")
+    void testParseEpochDay_Bytes() {
+        byte[] row = "PAT001,2024-12-25 ,2024-12-25 14:30".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(LocalDate.of(2024, 12, 25).toEpochDay(), DateUtil.parseEpochDay(row, 7, 11));
+        assertEquals(LocalDateTime.of(2024, 12, 25, 14, 30),
+                     DateUtil.toLocalDateTime(DateUtil.parseEpochMinute(row, 19, 16)));
+        assertEquals(DateUtil.INVALID, DateUtil.parseEpochDay(row, 0, 10));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2024-1-25", "2024-00-10", "2024-12-32", "0000-01-01", "2024_12-25", "12024-12-25", ""})
+    @DisplayName("Should return the sentinel for invalid dates")
+    void testParseEpochDay_Invalid(String text) {
+        assertEquals(DateUtil.INVALID, DateUtil.parseEpochDay(text, 0, text.length()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2024-12-25 24:00", "2024-12-25 12:60", "2024-12-25T12:30", "2024-12-25 1:30"})
+    @DisplayName("Should return the sentinel for invalid datetimes")
+    void testParseEpochMinute_Invalid(String text) {
+        assertEquals(DateUtil.INVALID, DateUtil.parseEpochMinute(text, 0, text.length()));
+    }
+
+    @Test
+    @DisplayName("Should resolve a day past the month end to the last day like the formatter")
+    void testParseDate_ClampsDayOfMonth() {
+        assertEquals(LocalDate.of(2023, 2, 28), DateUtil.parseDate("2023-02-30"));
+        assertEquals(LocalDate.of(2024, 2, 29), DateUtil.parseDate("2024-02-31"));
+    }
+
+    @Test
+    @DisplayName("Should append datetimes to a caller-supplied builder")
+    void testAppendDateTime() {
+        StringBuilder out = new StringBuilder("at ");
+
+        DateUtil.appendDateTime(out, LocalDateTime.of(2024, 3, 5, 7, 9));
+        DateUtil.appendDateTime(out, null);
+
+        assertEquals("at 2024-03-05 07:09", out.toString());
+        assertEquals("+10000-01-01", DateUtil.formatDate(LocalDate.of(10000, 1, 1)));
+    }
 }
@@ -0,0 +1,42 @@
+package com.healthcare.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixTrieTest {
+
+    @Test
+    @DisplayName("Should store and replace values by key")
+    void testPutAndGet() {
+        PrefixTrie<Integer> trie = new PrefixTrie<>();
+
+        assertNull(trie.put("aspirin", 1));
+        assertEquals(1, trie.put("aspirin", 2));
+        trie.put("asp", 3);
+
+        assertEquals(2, trie.get("aspirin"));
+        assertEquals(3, trie.get("asp"));
+        assertNull(trie.get("as"));
+        assertNull(trie.get("aspirins"));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    @DisplayName("Should complete a prefix in key order")
+    void testComplete_Ordered() {
+        PrefixTrie<String> trie = new PrefixTrie<>();
+        for (String key : List.of("metoprolol", "metformin", "methotrexate", "metronidazole", "losartan")) {
+            trie.put(key, key);
+        }
+
+        assertEquals(List.of("metformin", "methotrexate", "metoprolol", "metronidazole"), trie.complete("met", 10));
+        assertEquals(List.of("metformin", "methotrexate"), trie.complete("met", 2));
+        assertEquals(5, trie.complete("", 10).size());
+        assertTrue(trie.complete("x", 10).isEmpty());
+        assertTrue(trie.complete("met", 0).isEmpty());
+    }
+}
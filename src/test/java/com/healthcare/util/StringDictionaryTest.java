@@ -0,0 +1,62 @@
+package com.healthcare.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDictionaryTest {
+
+    @Test
+    @DisplayName("Should assign dense codes and decode them")
+    void testEncode_DenseCodes() {
+        StringDictionary dictionary = new StringDictionary();
+
+        assertEquals(0, dictionary.encode("Cardiology"));
+        assertEquals(1, dictionary.encode("Pediatrics"));
+        assertEquals(0, dictionary.encode(new String("Cardiology")));
+
+        assertEquals("Pediatrics", dictionary.decode(1));
+        assertEquals(2, dictionary.size());
+        assertEquals(StringDictionary.NONE, dictionary.encode(null));
+        assertNull(dictionary.decode(StringDictionary.NONE));
+    }
+
+    @Test
+    @DisplayName("Should share a code between values that normalize alike")
+    void testEncode_Normalized() {
+        StringDictionary dictionary = new StringDictionary(value -> value.toLowerCase(Locale.ROOT));
+
+        int code = dictionary.encode("Cardiology");
+
+        assertEquals(code, dictionary.encode("CARDIOLOGY"));
+        assertEquals(code, dictionary.lookup("cardiology"));
+        assertEquals("Cardiology", dictionary.decode(code));
+    }
+
+    @Test
+    @DisplayName("Should look up a value without assigning it a code")
+    void testLookup_Unknown() {
+        StringDictionary dictionary = new StringDictionary();
+
+        assertEquals(StringDictionary.NONE, dictionary.lookup("Neurology"));
+        assertEquals(0, dictionary.size());
+    }
+
+    @Test
+    @DisplayName("Should keep codes stable as the dictionary grows")
+    void testEncode_Grows() {
+        StringDictionary dictionary = new StringDictionary();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, dictionary.encode("value" + i));
+        }
+
+        assertEquals("value7", dictionary.decode(7));
+        assertEquals(99, dictionary.lookup("value99"));
+        assertThrows(IllegalArgumentException.class, () -> {
+            dictionary.decode(100);
+        });
+    }
+}
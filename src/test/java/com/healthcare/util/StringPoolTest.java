@@ -0,0 +1,45 @@
+package com.healthcare.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringPoolTest {
+
+    @Test
+    @DisplayName("Should return one shared instance for equal strings")
+    void testCanonical_SharesInstances() {
+        StringPool pool = new StringPool(10);
+
+        String first = pool.canonical(new String("Twice daily"));
+        String second = pool.canonical(new String("Twice daily"));
+
+        assertSame(first, second);
+        assertEquals(1, pool.size());
+        assertNull(pool.canonical(null));
+    }
+
+    @Test
+    @DisplayName("Should stop adding values once full")
+    void testCanonical_Bounded() {
+        StringPool pool = new StringPool(2);
+        String pooled = pool.canonical("500mg");
+        pool.canonical("250mg");
+
+        String overflow = new String("100mg");
+
+        assertSame(overflow, pool.canonical(overflow));
+        assertNotSame(pool.canonical(new String("100mg")), overflow);
+        assertSame(pooled, pool.canonical(new String("500mg")));
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive maximum size")
+    void testConstructor_InvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new StringPool(0);
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.healthcare.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringSimilarityTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "Robert, R163",
+        "Rupert, R163",
+        "Ashcraft, A261",
+        "Tymczak, T522",
+        "Pfister, P236",
+        "Smith, S530",
+        "Smyth, S530",
+        "Lee, L000"
+    })
+    @DisplayName("Should compute standard soundex codes")
+    void testSoundex(String name, String expected) {
+        assertEquals(expected, StringSimilarity.soundex(name));
+    }
+
+    @Test
+    @DisplayName("Should ignore case and non-letters in soundex")
+    void testSoundex_IgnoresCaseAndSymbols() {
+        assertEquals(StringSimilarity.soundex("O'Brien"), StringSimilarity.soundex("obrien"));
+        assertEquals("", StringSimilarity.soundex("123"));
+        assertEquals("", StringSimilarity.soundex(null));
+    }
+
+    @Test
+    @DisplayName("Should score identical strings as 1 regardless of case")
+    void testJaroWinkler_Identical() {
+        assertEquals(1.0, StringSimilarity.jaroWinkler("Martha", "MARTHA"));
+    }
+
+    @Test
+    @DisplayName("Should match known Jaro-Winkler reference values")
+    void testJaroWinkler_ReferenceValues() {
+        assertEquals(0.961, StringSimilarity.jaroWinkler("MARTHA", "MARHTA"), 0.001);
+        assertEquals(0.840, StringSimilarity.jaroWinkler("DWAYNE", "DUANE"), 0.001);
+        assertEquals(0.813, StringSimilarity.jaroWinkler("DIXON", "DICKSONX"), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should score unrelated or missing strings as 0")
+    void testJaroWinkler_NoMatch() {
+        assertEquals(0.0, StringSimilarity.jaroWinkler("abc", "xyz"));
+        assertEquals(0.0, StringSimilarity.jaroWinkler(null, "xyz"));
+        assertEquals(0.0, StringSimilarity.jaroWinkler("", "xyz"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.healthcare.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    @DisplayName("Should keep the prefix and a fixed-width suffix")
+    void testNextId_Format() {
+        String id = IdGenerator.timeOrdered().nextId("PAT");
+
+        assertTrue(id.startsWith("PAT"));
+        assertEquals(16, id.length());
+        assertTrue(id.substring(3).chars().allMatch(c -> "0123456789ABCDEFGHJKMNPQRSTVWXYZ".indexOf(c) >= 0));
+    }
+
+    @Test
+    @DisplayName("Should sort IDs by creation time")
+    void testNextId_SortsByTime() {
+        String earlier = new TimeOrderedIdGenerator(fixedAt("2025-06-01T10:00:00Z")).nextId("APT");
+        String later = new TimeOrderedIdGenerator(fixedAt("2025-06-01T10:00:00.001Z")).nextId("APT");
+
+        assertTrue(earlier.compareTo(later) < 0);
+    }
+
+    @Test
+    @DisplayName("Should keep increasing when one millisecond's sequence is exhausted")
+    void testNextId_SequenceOverflow() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(fixedAt("2025-06-01T10:00:00Z"));
+        String previous = generator.nextId("REC");
+        for (int i = 0; i < 200_000; i++) {
+            String next = generator.nextId("REC");
+            assertTrue(previous.compareTo(next) < 0, previous + " >= " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should not repeat IDs across concurrent threads")
+    void testNextId_ConcurrentUnique() throws InterruptedException {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(fixedAt("2025-06-01T10:00:00Z"));
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                Set<String> local = new HashSet<>();
+                for (int i = 0; i < 50_000; i++) {
+                    local.add(generator.nextId("DOC"));
+                }
+                ids.addAll(local);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(8 * 50_000, ids.size());
+    }
+
+    private static Clock fixedAt(String instant) {
+        return Clock.fixed(Instant.parse(instant), ZoneOffset.UTC);
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.regex.Pattern;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ValidationUtilTest {
@@ -291,4 +293,60 @@ class ValidationUtilTest {
         assertFalse(ValidationUtil.isValidBloodGroup("Invalid"));
         assertFalse(ValidationUtil.isValidBloodGroup(null));
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "a@b.co", "first.last+tag@mail.example.org", "a_b-c@x-y.io", "@example.com", "user@", "user@example",
+        "user@.com", "user@example.c", "user@example.c0m", "user@@example.com", "us er@example.com",
+        "user@exa_mple.com", "user@example..com", "user@example.com.", "user@example.com1", ".@..ab", "a@-.ab",
+        "user@ex+ample.com", "user@example.COM", "ü@example.com"
+    })
+    @DisplayName("Should accept exactly the emails the previous pattern accepted")
+    void testIsValidEmail_MatchesPattern(String email) {
+        Pattern pattern = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+        assertEquals(pattern.matcher(email).matches(), ValidationUtil.isValidEmail(email));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"A+", "AB-", "O-", "BA+", "AO+", "OB-", "ab+", "A*", "+", "AB", "AB+ "})
+    @DisplayName("Should accept exactly the blood groups the previous pattern accepted")
+    void testIsValidBloodGroup_MatchesPattern(String bloodGroup) {
+        Pattern pattern = Pattern.compile("^(A|B|AB|O)[+-]$");
+
+        assertEquals(pattern.matcher(bloodGroup).matches(), ValidationUtil.isValidBloodGroup(bloodGroup));
+    }
+
+    @Test
+    @DisplayName("Should collect every failed check without throwing")
+    void testCheck_CollectsAllErrors() {
+        ValidationResult result = new ValidationResult();
+
+        assertTrue(ValidationUtil.checkNotEmpty("John", "First name", result));
+        assertFalse(ValidationUtil.checkNotEmpty(" ", "Last name", result));
+        assertFalse(ValidationUtil.checkEmail("not-an-email", result));
+        assertFalse(ValidationUtil.checkPhoneNumber("12345", result));
+
+        assertFalse(result.isValid());
+        assertEquals(3, result.getErrors().size());
+        assertEquals("Last name", result.getErrors().get(0).getField());
+        assertEquals("Phone number", result.getErrors().get(2).getField());
+        InvalidDataException exception = assertThrows(InvalidDataException.class, () -> {
+            result.throwIfInvalid();
+        });
+        assertEquals("Last name cannot be empty", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should report a valid result when no check fails")
+    void testCheck_Valid() {
+        ValidationResult result = new ValidationResult();
+
+        assertTrue(ValidationUtil.checkBloodGroup("AB+", result));
+        assertTrue(ValidationUtil.checkGender("female", result));
+
+        assertTrue(result.isValid());
+        assertTrue(result.getErrors().isEmpty());
+        assertDoesNotThrow(result::throwIfInvalid);
+    }
 }